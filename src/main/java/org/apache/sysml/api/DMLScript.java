@@ -57,6 +57,7 @@ import org.apache.sysml.hops.HopsException;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.OptimizerUtils.OptimizationLevel;
 import org.apache.sysml.hops.codegen.SpoofCompiler;
+import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
 import org.apache.sysml.hops.codegen.SpoofCompiler.PlanCache;
 import org.apache.sysml.hops.globalopt.GlobalOptimizerWrapper;
 import org.apache.sysml.lops.Lop;
@@ -600,6 +601,8 @@ public class DMLScript
 			SpoofCompiler.PLAN_CACHE_POLICY = PlanCache.getPolicy(
 					dmlconf.getBooleanValue(DMLConfig.CODEGEN_PLANCACHE),
 					dmlconf.getIntValue(DMLConfig.CODEGEN_LITERALS)==2);
+			SpoofCompiler.JAVA_COMPILER = CompilerType.getType(
+					dmlconf.getTextValue(DMLConfig.CODEGEN_COMPILER));
 			dmlt.codgenHopsDAG(prog);
 		}
 		
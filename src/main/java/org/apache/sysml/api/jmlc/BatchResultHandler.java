@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.api.jmlc;
+
+import org.apache.sysml.api.DMLException;
+
+/**
+ * Callback for consuming the results of a batched script execution via 
+ * {@link PreparedScript#executeScriptBatched(String, java.util.Iterator, BatchResultHandler)}.
+ * The handler is invoked once per input batch, in order, and the passed
+ * result variables are released after the call returns. Hence, handlers 
+ * should copy or write out the data they want to retain.
+ */
+public interface BatchResultHandler 
+{
+	/**
+	 * Consumes the results of a single input batch.
+	 * 
+	 * @param batchIndex zero-based index of the input batch
+	 * @param rowOffset zero-based row offset of the batch in the overall input
+	 * @param results result variables of this batch
+	 * @throws DMLException if DMLException occurs
+	 */
+	public void handleBatch(int batchIndex, long rowOffset, ResultVariables results) 
+		throws DMLException;
+}
@@ -25,6 +25,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -93,13 +94,32 @@ import org.apache.wink.json4j.JSONObject;
  */
 public class Connection implements Closeable
 {		
+	//compiler configurations that can be enabled per connection
+	private static final EnumSet<ConfigType> ALLOWED_CONFIGS = EnumSet.of(
+		ConfigType.JMLC_PINNED_INPUTS, ConfigType.PARALLEL_CP_MATRIX_OPERATIONS);
+	
 	private DMLConfig _dmlconf = null;
+	private final LatencyStatistics _stats = new LatencyStatistics();
 
 	/**
 	 * Connection constructor, the starting point for any other JMLC API calls.
 	 * 
 	 */
-	public Connection()
+	public Connection() {
+		this(new ConfigType[0]);
+	}
+	
+	/**
+	 * Connection constructor, the starting point for any other JMLC API calls.
+	 * The given compiler configurations are enabled in addition to the JMLC 
+	 * defaults, where only {@link ConfigType#JMLC_PINNED_INPUTS} (for low-latency 
+	 * execution over small in-memory inputs) and 
+	 * {@link ConfigType#PARALLEL_CP_MATRIX_OPERATIONS} are supported.
+	 * 
+	 * @param configs compiler configurations to enable
+	 * @throws IllegalArgumentException if an unsupported configuration is given
+	 */
+	public Connection(ConfigType... configs)
 	{
 		DMLScript.rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
 		
@@ -118,6 +138,11 @@ public class Connection implements Closeable
 		cconf.set(ConfigType.ALLOW_DYN_RECOMPILATION, false);
 		cconf.set(ConfigType.ALLOW_INDIVIDUAL_SB_SPECIFIC_OPS, false);
 		cconf.set(ConfigType.ALLOW_CSE_PERSISTENT_READS, false);
+		for( ConfigType configType : configs ) {
+			if( !ALLOWED_CONFIGS.contains(configType) )
+				throw new IllegalArgumentException("Unsupported JMLC configuration: "+configType);
+			cconf.set(configType, true);
+		}
 		ConfigurationManager.setLocalConfig(cconf);
 		
 		//disable caching globally 
@@ -203,7 +228,7 @@ public class Connection implements Closeable
 		}
 			
 		//return newly create precompiled script 
-		return new PreparedScript(rtprog, inputs, outputs);
+		return new PreparedScript(rtprog, inputs, outputs, _stats);
 	}
 	
 	/**
@@ -216,6 +241,16 @@ public class Connection implements Closeable
 		ConfigurationManager.clearLocalConfigs();
 	}
 	
+	/**
+	 * Gets the per-call latency statistics of all executions of 
+	 * scripts prepared by this connection, including p50 and p99.
+	 * 
+	 * @return latency statistics
+	 */
+	public LatencyStatistics getLatencyStatistics() {
+		return _stats;
+	}
+	
 	/**
 	 * Read a DML or PyDML file as a string.
 	 * 
@@ -408,6 +443,49 @@ public class Connection implements Closeable
 		return ret;
 	}
 	
+	/**
+	 * Opens an input stream of a csv matrix (default csv properties) 
+	 * for reading it in row batches, which allows for batched scoring via 
+	 * {@link PreparedScript#executeScriptBatched(String, java.util.Iterator, BatchResultHandler)}
+	 * with memory requirements bounded by the batch size.
+	 * 
+	 * @param input InputStream to a string matrix in csv format
+	 * @param cols number of columns in the matrix
+	 * @param batchRows maximum number of rows per batch
+	 * @return iterator over matrix row batches
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBatchReader readDoubleMatrixBatches(InputStream input, int cols, int batchRows) 
+		throws IOException
+	{
+		return readDoubleMatrixBatches(input, cols, batchRows, DataExpression.DEFAULT_DELIM_HAS_HEADER_ROW, 
+			DataExpression.DEFAULT_DELIM_DELIMITER, DataExpression.DEFAULT_DELIM_FILL, 
+			DataExpression.DEFAULT_DELIM_FILL_VALUE);
+	}
+	
+	/**
+	 * Opens an input stream of a csv matrix for reading it in row batches,
+	 * which allows for batched scoring via 
+	 * {@link PreparedScript#executeScriptBatched(String, java.util.Iterator, BatchResultHandler)}
+	 * with memory requirements bounded by the batch size.
+	 * 
+	 * @param input InputStream to a string matrix in csv format
+	 * @param cols number of columns in the matrix
+	 * @param batchRows maximum number of rows per batch
+	 * @param hasHeader if true, the first line is skipped
+	 * @param delim column delimiter
+	 * @param fill if true, empty fields are filled with the fill value
+	 * @param fillValue fill value for empty fields
+	 * @return iterator over matrix row batches
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBatchReader readDoubleMatrixBatches(InputStream input, int cols, int batchRows, 
+			boolean hasHeader, String delim, boolean fill, double fillValue) 
+		throws IOException
+	{
+		return new MatrixBatchReader(input, cols, batchRows, hasHeader, delim, fill, fillValue);
+	}
+	
 	////////////////////////////////////////////
 	// Read frames
 	////////////////////////////////////////////
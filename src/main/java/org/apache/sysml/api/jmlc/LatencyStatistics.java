@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.api.jmlc;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-call latency statistics of script executions via a {@link Connection}.
+ * Latencies are recorded lock-free into a sliding window of the most recent
+ * calls, from which percentiles such as p50 and p99 are computed on request.
+ * Count, mean, and max refer to all calls since the last reset. Under
+ * concurrent executions, the percentiles are approximate because a snapshot 
+ * may miss entries that are concurrently written.
+ */
+public class LatencyStatistics 
+{
+	public static final int DEFAULT_WINDOW_SIZE = 16384;
+	
+	private final AtomicLongArray _window; //latencies in ns
+	private final AtomicLong _count = new AtomicLong(0);
+	private final AtomicLong _total = new AtomicLong(0);
+	private final AtomicLong _max = new AtomicLong(0);
+	
+	public LatencyStatistics() {
+		this(DEFAULT_WINDOW_SIZE);
+	}
+	
+	public LatencyStatistics(int windowSize) {
+		if( windowSize <= 0 )
+			throw new IllegalArgumentException("Invalid window size: "+windowSize);
+		_window = new AtomicLongArray(windowSize);
+	}
+	
+	/**
+	 * Records the latency of a single call.
+	 * 
+	 * @param latency latency in nanoseconds
+	 */
+	public void addLatency(long latency) {
+		long pos = _count.getAndIncrement();
+		_window.set((int)(pos % _window.length()), latency);
+		_total.addAndGet(latency);
+		long max = _max.get();
+		while( latency > max && !_max.compareAndSet(max, latency) )
+			max = _max.get();
+	}
+	
+	/**
+	 * Gets the number of recorded calls.
+	 * 
+	 * @return number of calls
+	 */
+	public long getCount() {
+		return _count.get();
+	}
+	
+	/**
+	 * Gets the mean latency over all recorded calls.
+	 * 
+	 * @return mean latency in milliseconds
+	 */
+	public double getMean() {
+		long count = _count.get();
+		return (count > 0) ? (double)_total.get() / count / 1e6 : 0;
+	}
+	
+	/**
+	 * Gets the maximum latency over all recorded calls.
+	 * 
+	 * @return max latency in milliseconds
+	 */
+	public double getMax() {
+		return _max.get() / 1e6;
+	}
+	
+	/**
+	 * Gets the 50th percentile (median) latency over the window of recent calls.
+	 * 
+	 * @return p50 latency in milliseconds
+	 */
+	public double getP50() {
+		return getPercentile(0.5);
+	}
+	
+	/**
+	 * Gets the 99th percentile latency over the window of recent calls.
+	 * 
+	 * @return p99 latency in milliseconds
+	 */
+	public double getP99() {
+		return getPercentile(0.99);
+	}
+	
+	/**
+	 * Gets the given percentile latency over the window of recent calls.
+	 * 
+	 * @param p percentile in (0,1]
+	 * @return latency in milliseconds
+	 */
+	public double getPercentile(double p) {
+		if( p <= 0 || p > 1 )
+			throw new IllegalArgumentException("Invalid percentile: "+p);
+		int n = (int) Math.min(_count.get(), _window.length());
+		if( n == 0 )
+			return 0;
+		long[] tmp = new long[n];
+		for( int i=0; i<n; i++ )
+			tmp[i] = _window.get(i);
+		Arrays.sort(tmp);
+		return tmp[Math.max((int)Math.ceil(p * n) - 1, 0)] / 1e6;
+	}
+	
+	/**
+	 * Clears all recorded latencies.
+	 */
+	public void reset() {
+		_count.set(0);
+		_total.set(0);
+		_max.set(0);
+		for( int i=0; i<_window.length(); i++ )
+			_window.set(i, 0);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("calls=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms",
+			getCount(), getMean(), getP50(), getP99(), getMax());
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.api.jmlc;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Iterator over row batches of a csv matrix input stream, which allows 
+ * streaming arbitrarily large inputs through a prepared script with
+ * memory bounded by the batch size. Batches are parsed lazily on 
+ * {@link #next()}; the last batch may contain fewer rows.
+ */
+public class MatrixBatchReader implements Iterator<MatrixBlock>, Closeable
+{
+	private final BufferedReader _in;
+	private final int _clen;
+	private final int _batchRows;
+	private final String _delim;
+	private final boolean _fill;
+	private final double _fillValue;
+	
+	private String _nextLine = null;
+	private long _row = 0;
+	
+	protected MatrixBatchReader(InputStream input, int clen, int batchRows, 
+			boolean hasHeader, String delim, boolean fill, double fillValue) 
+		throws IOException
+	{
+		if( clen <= 0 || batchRows <= 0 )
+			throw new IOException("Invalid number of columns or batch rows: "+clen+", "+batchRows);
+		_in = new BufferedReader(new InputStreamReader(input));
+		_clen = clen;
+		_batchRows = batchRows;
+		_delim = delim;
+		_fill = fill;
+		_fillValue = fillValue;
+		
+		//skip header and prefetch first line
+		if( hasHeader )
+			_in.readLine();
+		_nextLine = readLine();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return (_nextLine != null);
+	}
+
+	@Override
+	public MatrixBlock next() {
+		if( !hasNext() )
+			throw new NoSuchElementException();
+		
+		try {
+			//collect the lines of the next batch
+			ArrayList<String> lines = new ArrayList<String>();
+			while( _nextLine != null && lines.size() < _batchRows ) {
+				lines.add(_nextLine);
+				_nextLine = readLine();
+			}
+			
+			//parse rows directly into dense output block
+			int rlen = lines.size();
+			MatrixBlock ret = new MatrixBlock(rlen, _clen, false);
+			ret.allocateDenseBlock();
+			double[] a = ret.getDenseBlock();
+			String[] parts = new String[_clen];
+			long lnnz = 0;
+			for( int i=0, aix=0; i<rlen; i++, aix+=_clen ) {
+				_row++;
+				String line = lines.get(i);
+				if( IOUtilFunctions.countTokensCSV(line, _delim) != _clen )
+					throw new IOException("Invalid number of columns in row "+_row
+						+": found "+IOUtilFunctions.countTokensCSV(line, _delim)+", expected "+_clen+".");
+				IOUtilFunctions.splitCSV(line, _delim, parts);
+				for( int j=0; j<_clen; j++ ) {
+					String part = parts[j].trim();
+					double val = part.isEmpty() ? 
+						parseEmpty(j) : UtilFunctions.parseToDouble(part);
+					a[aix+j] = val;
+					lnnz += (val != 0) ? 1 : 0;
+				}
+			}
+			ret.setNonZeros(lnnz);
+			ret.examSparsity();
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new RuntimeException("Failed to read matrix batch at row "+(_row+1)+".", ex);
+		}
+	}
+	
+	/**
+	 * Gets the number of rows read so far.
+	 * 
+	 * @return number of rows
+	 */
+	public long getNumRowsRead() {
+		return _row;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		_in.close();
+	}
+	
+	private String readLine() throws IOException {
+		String line = _in.readLine();
+		//skip empty lines, incl trailing ones
+		while( line != null && line.trim().isEmpty() )
+			line = _in.readLine();
+		return line;
+	}
+	
+	private double parseEmpty(int col) throws IOException {
+		if( !_fill )
+			throw new IOException("Empty field in row "+_row+", column "+(col+1)
+				+" w/o fill enabled.");
+		return _fillValue;
+	}
+}
@@ -24,15 +24,21 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.sysml.api.DMLException;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
@@ -54,36 +60,63 @@ import org.apache.sysml.utils.Explain;
 
 /**
  * Representation of a prepared (precompiled) DML/PyDML script.
+ * 
+ * <p>
+ * A prepared script can be executed concurrently by multiple threads. 
+ * The compiled program and inputs bound for reuse are shared, while 
+ * all other bound inputs are scoped to the calling thread, i.e., each 
+ * thread binds its inputs, executes, and obtains its results independently 
+ * of other threads. Every execution consumes the inputs bound by the
+ * calling thread, and runs over a new symbol table, which is not
+ * referenced by the prepared script after the execution.
  */
 public class PreparedScript 
 {
 	//input/output specification
-	private HashSet<String> _inVarnames = null;
-	private HashSet<String> _outVarnames = null;
-	private HashMap<String,Data> _inVarReuse = null;
+	private final HashSet<String> _inVarnames;
+	private final HashSet<String> _outVarnames;
+	private final ConcurrentHashMap<String,Data> _inVarReuse;
+	
+	//internal state (shared by concurrent executions, where instructions
+	//create any call-specific state, e.g., operators, per execution)
+	private final Program _prog;
+	private final DMLConfig _dmlconf;
+	private final CompilerConfig _cconf;
+	private final boolean _pinnedInputs;
+	private final LatencyStatistics _stats;
 	
-	//internal state (reused)
-	private Program _prog = null;
-	private LocalVariableMap _vars = null; 
+	//per-thread bound inputs until the next execution (for concurrent execution)
+	private final ThreadLocal<LocalVariableMap> _vars = new ThreadLocal<LocalVariableMap>() {
+		@Override
+		protected LocalVariableMap initialValue() {
+			return new LocalVariableMap();
+		}
+	};
 	
 	/**
-	 * Meant to be invoked only from Connection.
+	 * Meant to be invoked only from Connection. The dml and compiler 
+	 * configurations of the calling thread are bound to the prepared 
+	 * script in order to allow its execution from arbitrary threads.
 	 * 
 	 * @param prog the DML/PyDML program
 	 * @param inputs input variables to register
 	 * @param outputs output variables to register
+	 * @param stats latency statistics of the connection
 	 */
-	protected PreparedScript( Program prog, String[] inputs, String[] outputs ) 
+	protected PreparedScript( Program prog, String[] inputs, String[] outputs, LatencyStatistics stats ) 
 	{
 		_prog = prog;
-		_vars = new LocalVariableMap();
+		_dmlconf = ConfigurationManager.getDMLConfig();
+		_cconf = ConfigurationManager.getCompilerConfig();
+		_pinnedInputs = ConfigurationManager.getCompilerConfigFlag(ConfigType.JMLC_PINNED_INPUTS);
+		_stats = stats;
 		
 		//populate input/output vars
 		_inVarnames = new HashSet<String>();
 		Collections.addAll(_inVarnames, inputs);
 		_outVarnames = new HashSet<String>();
 		Collections.addAll(_outVarnames, outputs);
-		_inVarReuse = new HashMap<String, Data>();
+		_inVarReuse = new ConcurrentHashMap<String, Data>();
 	}
 	
 	/**
@@ -193,7 +226,7 @@ public class PreparedScript
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
 		
-		_vars.put(varname, scalar);
+		_vars.get().put(varname, scalar);
 	}
 
 	/**
@@ -243,9 +276,10 @@ public class PreparedScript
 		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, OptimizerUtils.getUniqueTempFileName(), meta);
 		mo.acquireModify(matrix); 
 		mo.release();
+		mo.setPinnedInMemory(_pinnedInputs);
 		
 		//put create matrix wrapper into symbol table
-		_vars.put(varname, mo);
+		_vars.get().put(varname, mo);
 		if( reuse ) {
 			mo.enableCleanup(false); //prevent cleanup
 			_inVarReuse.put(varname, mo);
@@ -350,9 +384,10 @@ public class PreparedScript
 		FrameObject fo = new FrameObject(OptimizerUtils.getUniqueTempFileName(), meta);
 		fo.acquireModify(frame);
 		fo.release();
+		fo.setPinnedInMemory(_pinnedInputs);
 		
 		//put create matrix wrapper into symbol table
-		_vars.put(varname, fo);
+		_vars.get().put(varname, fo);
 		if( reuse ) {
 			fo.enableCleanup(false); //prevent cleanup
 			_inVarReuse.put(varname, fo);
@@ -360,16 +395,19 @@ public class PreparedScript
 	}
 	
 	/**
-	 * Remove all current values bound to input or output variables.
+	 * Remove all current values bound to input or output variables
+	 * of the calling thread.
 	 * 
 	 */
 	public void clearParameters() {
-		_vars.removeAll();
+		_vars.remove();
 	}
 	
 	/**
 	 * Executes the prepared script over the bound inputs, creating the
-	 * result variables according to bound and registered outputs.
+	 * result variables according to bound and registered outputs. 
+	 * This method is thread-safe, and operates on the inputs bound by 
+	 * the calling thread.
 	 * 
 	 * @return ResultVariables object encapsulating output results
 	 * @throws DMLException if DMLException occurs
@@ -377,32 +415,118 @@ public class PreparedScript
 	public ResultVariables executeScript() 
 		throws DMLException
 	{
+		long t0 = System.nanoTime();
+		
+		//create new symbol table w/ the inputs bound by the calling thread,
+		//and release these bindings to not keep inputs and outputs reachable
+		LocalVariableMap vars = new LocalVariableMap(_vars.get());
+		_vars.remove();
+		
 		//add reused variables
 		for( Entry<String,Data> e : _inVarReuse.entrySet() )
-			_vars.put(e.getKey(), e.getValue());
+			vars.put(e.getKey(), e.getValue());
 		
 		//create and populate execution context
 		ExecutionContext ec = ExecutionContextFactory.createContext(_prog);	
-		ec.setVariables(_vars);
+		ec.setVariables(vars);
 		
-		//core execute runtime program	
-		_prog.execute( ec );  
+		//core execute runtime program w/ configurations of the 
+		//preparing thread (thread-local configs of other threads)
+		DMLConfig dmlconf = ConfigurationManager.getDMLConfig();
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		ConfigurationManager.setLocalConfig(_dmlconf);
+		ConfigurationManager.setLocalConfig(_cconf);
+		try {
+			_prog.execute( ec );
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(dmlconf);
+			ConfigurationManager.setLocalConfig(cconf);
+		}
 		
 		//cleanup unnecessary outputs
-		Collection<String> tmpVars = new ArrayList<String>(_vars.keySet());
+		Collection<String> tmpVars = new ArrayList<String>(vars.keySet());
 		for( String var :  tmpVars )
 			if( !_outVarnames.contains(var) )
-				_vars.remove(var);
+				vars.remove(var);
 		
 		//construct results
 		ResultVariables rvars = new ResultVariables();
 		for( String ovar : _outVarnames )
-			if( _vars.keySet().contains(ovar) )
-				rvars.addResult(ovar, _vars.get(ovar));
-			
+			if( vars.keySet().contains(ovar) )
+				rvars.addResult(ovar, vars.get(ovar));
+		
+		_stats.addLatency(System.nanoTime() - t0);
+		
 		return rvars;
 	}
 	
+	/**
+	 * Executes the prepared script in a streaming manner over row batches of 
+	 * the given input variable. All other inputs bound before this call (e.g., 
+	 * pinned model variables) are reused across batches, while each batch and 
+	 * its outputs are released after the handler returned. Hence, the memory
+	 * requirements are bounded by the batch size instead of the overall input.
+	 * Note that this is only valid for scripts that process rows independently
+	 * (e.g., scoring), because the script is executed separately per batch.
+	 * 
+	 * @param varname registered input variable to bind the batches to
+	 * @param batches iterator over input row batches
+	 * @param handler callback for consuming the results of each batch
+	 * @return total number of input rows processed
+	 * @throws DMLException if DMLException occurs
+	 */
+	public long executeScriptBatched(String varname, Iterator<MatrixBlock> batches, BatchResultHandler handler)
+		throws DMLException
+	{
+		if( !_inVarnames.contains(varname) )
+			throw new DMLException("Unspecified input variable: "+varname);
+		if( _inVarReuse.containsKey(varname) )
+			throw new DMLException("Batched input variable must not be bound for reuse: "+varname);
+		
+		//keep all inputs bound so far, and prevent their cleanup by 
+		//rmvar instructions so they survive the individual executions
+		//(reused inputs are shared across threads and never cleaned up)
+		LocalVariableMap bound = new LocalVariableMap(_vars.get());
+		bound.remove(varname);
+		HashMap<CacheableData<?>, Boolean> cleanup = new HashMap<CacheableData<?>, Boolean>();
+		for( String var : bound.keySet() )
+			if( bound.get(var) instanceof CacheableData && !_inVarReuse.containsKey(var) ) {
+				CacheableData<?> cd = (CacheableData<?>) bound.get(var);
+				cleanup.put(cd, cd.isCleanupEnabled());
+				cd.enableCleanup(false);
+			}
+		
+		long rowOffset = 0;
+		try {
+			for( int bix=0; batches.hasNext(); bix++ ) {
+				MatrixBlock batch = batches.next();
+				
+				//rebind inputs and execute script over current batch
+				LocalVariableMap vars = _vars.get();
+				for( String var : bound.keySet() )
+					vars.put(var, bound.get(var));
+				setMatrix(varname, batch, false);
+				ResultVariables rvars = executeScript();
+				
+				//pass results of current batch
+				handler.handleBatch(bix, rowOffset, rvars);
+				rowOffset += batch.getNumRows();
+			}
+		}
+		finally {
+			//restore inputs bound before batched execution
+			LocalVariableMap vars = _vars.get();
+			vars.removeAll();
+			for( String var : bound.keySet() )
+				vars.put(var, bound.get(var));
+			for( Entry<CacheableData<?>, Boolean> e : cleanup.entrySet() )
+				e.getKey().enableCleanup(e.getValue());
+		}
+		
+		return rowOffset;
+	}
+	
 	/**
 	 * Explain the DML/PyDML program and view result as a string.
 	 * 
@@ -22,6 +22,7 @@ package org.apache.sysml.conf;
 import java.util.HashMap;
 
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 
 /**
  * Basic wrapper for all compiler configurations that are configured
@@ -45,6 +46,9 @@ public class CompilerConfig
 		//Enables multi-threaded operations for mm, mmchain, and tsmm, rand, wdivmm, 
 		//wsloss, wumm, wcemm, uagg, tak, and groupedaggregate.
 		PARALLEL_CP_MATRIX_OPERATIONS,
+		//Enables the use of a shared, process-wide thread pool for all multi-threaded
+		//operations, instead of dedicated thread pools per operation.
+		PARALLEL_CP_SHARED_THREADPOOL,
 		//Enables multi-threaded local or distributed remote parfor operators. Otherwise 
 		//parfor is restricted to parfor local with par=1.
 		PARALLEL_LOCAL_OR_REMOTE_PARFOR,
@@ -71,7 +75,11 @@ public class CompilerConfig
 		//data on mlcontext (local) /jmlc (global); ignore unknowns on jmlc
 		IGNORE_READ_WRITE_METADATA, // global skip meta data reads
 		REJECT_READ_WRITE_UNKNOWNS, // ignore missing meta data	
-		MLCONTEXT // execution via new MLContext
+		MLCONTEXT, // execution via new MLContext
+		
+		//Enables pinned in-memory inputs for jmlc, which are never evicted and skip 
+		//all cache status transitions on read-only acquire/release
+		JMLC_PINNED_INPUTS
 	}
 	
 	//default flags (exposed for testing purposes only)
@@ -79,8 +87,11 @@ public class CompilerConfig
 	public static boolean FLAG_PARREADWRITE_TEXT = true;
 	public static boolean FLAG_PARREADWRITE_BINARY = true;
 	
+	private static final IDSequence _seqVersion = new IDSequence();
+	
 	private HashMap<ConfigType, Boolean> _bmap = null;
 	private HashMap<ConfigType, Integer> _imap = null;
+	private long _version = _seqVersion.getNextID(); //unique, updated on changes
 	
 	public CompilerConfig() {
 		_bmap = new HashMap<ConfigType, Boolean>();
@@ -89,6 +100,7 @@ public class CompilerConfig
 		_bmap.put(ConfigType.PARALLEL_CP_READ_BINARYFORMATS, FLAG_PARREADWRITE_BINARY);
 		_bmap.put(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS, FLAG_PARREADWRITE_BINARY);
 		_bmap.put(ConfigType.PARALLEL_CP_MATRIX_OPERATIONS, true);
+		_bmap.put(ConfigType.PARALLEL_CP_SHARED_THREADPOOL, true);
 		_bmap.put(ConfigType.PARALLEL_LOCAL_OR_REMOTE_PARFOR, true);
 		_bmap.put(ConfigType.ALLOW_DYN_RECOMPILATION,          FLAG_DYN_RECOMPILE);
 		_bmap.put(ConfigType.ALLOW_PARALLEL_DYN_RECOMPILATION, FLAG_DYN_RECOMPILE);
@@ -98,6 +110,7 @@ public class CompilerConfig
 		_bmap.put(ConfigType.IGNORE_READ_WRITE_METADATA, false);
 		_bmap.put(ConfigType.REJECT_READ_WRITE_UNKNOWNS, true);
 		_bmap.put(ConfigType.MLCONTEXT, false);
+		_bmap.put(ConfigType.JMLC_PINNED_INPUTS, false);
 		
 		_imap = new HashMap<CompilerConfig.ConfigType, Integer>();
 		_imap.put(ConfigType.BLOCK_SIZE, OptimizerUtils.DEFAULT_BLOCKSIZE);
@@ -112,10 +125,22 @@ public class CompilerConfig
 	
 	public void set( ConfigType key, boolean value ) {
 		_bmap.put(key, value);
+		_version = _seqVersion.getNextID();
 	}
 	
 	public void set( ConfigType key, int value ) {
 		_imap.put(key, value);
+		_version = _seqVersion.getNextID();
+	}
+	
+	/**
+	 * Gets the version of this configuration, which is unique across 
+	 * configuration objects and changes on every update of config values.
+	 * 
+	 * @return configuration version
+	 */
+	public long getVersion() {
+		return _version;
 	}
 	
 	public boolean getBool( ConfigType key ) {
@@ -21,6 +21,7 @@ package org.apache.sysml.conf;
 
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.hops.recompile.RecompilePlanCache;
 
 
 
@@ -85,6 +86,9 @@ public class ConfigurationManager
 		
 		//reinitialize thread-local dml configs w/ _dmlconf
 		_ldmlconf = new ThreadLocalDMLConfig();
+		
+		//invalidate plans of dynamic recompilation
+		RecompilePlanCache.invalidateAll();
 	}
 	
 	/**
@@ -110,6 +114,9 @@ public class ConfigurationManager
 		
 		//reinitialize thread-local compiler configs w/ _cconf
 		_lcconf = new ThreadLocalCompilerConfig();
+		
+		//invalidate plans of dynamic recompilation
+		RecompilePlanCache.invalidateAll();
 	}
 	
 	/**
@@ -174,6 +181,10 @@ public class ConfigurationManager
 		return getCompilerConfigFlag(ConfigType.PARALLEL_CP_MATRIX_OPERATIONS);
 	}
 	
+	public static boolean isSharedThreadPool() {
+		return getCompilerConfigFlag(ConfigType.PARALLEL_CP_SHARED_THREADPOOL);
+	}
+	
 	public static boolean isParallelParFor() {
 		return getCompilerConfigFlag(ConfigType.PARALLEL_LOCAL_OR_REMOTE_PARFOR);
 	}
@@ -46,6 +46,7 @@ import org.xml.sax.SAXException;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.ParseException;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 
@@ -70,10 +71,17 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE        = "dml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_MATRIXMULT = "cp.parallel.matrixmult";
 	public static final String CP_PARALLEL_TEXTIO   = "cp.parallel.textio";
+	public static final String CP_PARALLEL_THREADPOOL = "cp.parallel.threadpool";
+	public static final String CP_CACHING_POLICY    = "cp.caching.policy"; //fifo, lru, cost
+	public static final String CP_SPARSE_READ_CSR   = "cp.sparse.read.csr"; //boolean
+	public static final String RECOMPILE_PLANCACHE  = "recompile.plancache"; //boolean
+	public static final String RECOMPILE_PLANCACHE_SPARSITY_BUCKETS = "recompile.plancache.sparsitybuckets"; //0 for exact nnz
 	public static final String COMPRESSED_LINALG    = "compressed.linalg";
 	public static final String CODEGEN              = "codegen.enabled"; //boolean
 	public static final String CODEGEN_PLANCACHE    = "codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_COMPILER     = "codegen.compiler"; //janino, javac
+	public static final String CODEGEN_CLASSCACHE   = "codegen.classcache"; //local dir, empty for none
 	public static final String EXTRA_GPU_STATS			= "systemml.stats.extraGPU"; //boolean
 	public static final String EXTRA_DNN_STATS			= "systemml.stats.extraDNN"; //boolean
 
@@ -93,9 +101,11 @@ public class DMLConfig
 	
 	//configuration default values
 	private static HashMap<String, String> _defaultVals = null;
+	private static final IDSequence _seqVersion = new IDSequence();
 
     private String _fileName = null;
 	private Element _xmlRoot = null;
+	private long _version = _seqVersion.getNextID(); //unique, updated on changes
 	
 	static
 	{
@@ -112,10 +122,17 @@ public class DMLConfig
 		_defaultVals.put(YARN_APPQUEUE,    	     "default" );
 		_defaultVals.put(CP_PARALLEL_MATRIXMULT, "true" );
 		_defaultVals.put(CP_PARALLEL_TEXTIO,     "true" );
+		_defaultVals.put(CP_PARALLEL_THREADPOOL, "true" );
+		_defaultVals.put(CP_CACHING_POLICY,      "fifo" );
+		_defaultVals.put(CP_SPARSE_READ_CSR,     "false" );
+		_defaultVals.put(RECOMPILE_PLANCACHE,    "false" );
+		_defaultVals.put(RECOMPILE_PLANCACHE_SPARSITY_BUCKETS, "0" );
 		_defaultVals.put(COMPRESSED_LINALG,      "false" );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_COMPILER,       "janino" );
+		_defaultVals.put(CODEGEN_CLASSCACHE,     "" );
 
 		_defaultVals.put(EXTRA_GPU_STATS,       "false" );
 		_defaultVals.put(EXTRA_DNN_STATS,       "false" );
@@ -266,6 +283,7 @@ public class DMLConfig
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
 	public void setTextValue(String paramName, String paramValue) throws DMLRuntimeException {
+		_version = _seqVersion.getNextID();
 		if(_xmlRoot != null)
 			DMLConfig.setTextValue(_xmlRoot, paramName, paramValue);
 		else {
@@ -405,8 +423,10 @@ public class DMLConfig
 				LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL,
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
-				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO,
+				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO, CP_PARALLEL_THREADPOOL,
+				CP_CACHING_POLICY, CP_SPARSE_READ_CSR, RECOMPILE_PLANCACHE, RECOMPILE_PLANCACHE_SPARSITY_BUCKETS,
 				COMPRESSED_LINALG, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE,
+				CODEGEN_COMPILER, CODEGEN_CLASSCACHE,
 				EXTRA_GPU_STATS, EXTRA_DNN_STATS
 		}; 
 		
@@ -425,6 +445,8 @@ public class DMLConfig
 	
 	public void updateYarnMemorySettings(String amMem, String mrMem)
 	{
+		_version = _seqVersion.getNextID();
+		
 		//app master memory
 		NodeList list1 = _xmlRoot.getElementsByTagName(YARN_APPMASTERMEM);
 		if (list1 != null && list1.getLength() > 0) {
@@ -440,6 +462,16 @@ public class DMLConfig
 		}
 	}
 
+	/**
+	 * Gets the version of this configuration, which is unique across 
+	 * configuration objects and changes on every update of config values.
+	 * 
+	 * @return configuration version
+	 */
+	public long getVersion() {
+		return _version;
+	}
+	
 	public static String getDefaultTextValue( String key ) {
 		return _defaultVals.get( key );
 	}
@@ -425,8 +425,9 @@ public class DataOp extends Hop
 		{
 			checkAndSetForcedPlatform();
 
-			//additional check for write only
-			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR) )
+			//additional check for write only (columnar files are only written in CP)
+			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR)
+				|| (_dataop == DataOpTypes.PERSISTENTWRITE && _inFormat == FileFormatTypes.COLUMNAR) )
 				_etypeForced = ExecType.CP;
 			
 			if( _etypeForced != null ) 			
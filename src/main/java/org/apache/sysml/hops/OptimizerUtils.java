@@ -371,7 +371,12 @@ public class OptimizerUtils
 		//handle parallel matrix mult / rand configuration
 		if (!dmlconf.getBooleanValue(DMLConfig.CP_PARALLEL_MATRIXMULT)) {
 			cconf.set(ConfigType.PARALLEL_CP_MATRIX_OPERATIONS, false);
-		}	
+		}
+		
+		//handle shared thread pool for multi-threaded operations
+		if (!dmlconf.getBooleanValue(DMLConfig.CP_PARALLEL_THREADPOOL)) {
+			cconf.set(ConfigType.PARALLEL_CP_SHARED_THREADPOOL, false);
+		}
 		
 		return cconf;
 	}
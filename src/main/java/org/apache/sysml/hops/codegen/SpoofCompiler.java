@@ -85,6 +85,7 @@ public class SpoofCompiler
 	public static boolean LDEBUG = false;
 	public static final boolean RECOMPILE_CODEGEN = true;
 	public static PlanCache PLAN_CACHE_POLICY = PlanCache.CSLH;
+	public static CompilerType JAVA_COMPILER = CompilerType.JANINO;
 	public static final PlanSelector PLAN_SEL_POLICY = PlanSelector.FUSE_ALL; 
 	public static final boolean PRUNE_REDUNDANT_PLANS = true;
 	
@@ -94,6 +95,16 @@ public class SpoofCompiler
 		FUSE_COST_BASED,      //cost-based decision on materialization points
 	}
 
+	public enum CompilerType {
+		JAVAC,  //system java compiler via temporary source and class files
+		JANINO, //in-memory compilation via janino
+		;
+		
+		public static CompilerType getType(String compiler) {
+			return valueOf(compiler.trim().toUpperCase());
+		}
+	}
+	
 	public enum PlanCache {
 		CONSTANT, //plan cache, with always compile literals
 		CSLH,     //plan cache, with context-sensitive literal replacement heuristic
@@ -108,9 +119,14 @@ public class SpoofCompiler
 	//for equal operators from (1) different hop dags and (2) repeated recompilation 
 	private static ConcurrentHashMap<CNode, Class<?>> planCache = new ConcurrentHashMap<CNode, Class<?>>();
 	
-	private static ProgramRewriter rewriteCSE = new ProgramRewriter(
-			new RewriteCommonSubexpressionElimination(true),
-			new RewriteRemoveUnnecessaryCasts());
+	//thread-local rewriter for concurrent (re)compilation of hop dags
+	private static ThreadLocal<ProgramRewriter> rewriteCSE = new ThreadLocal<ProgramRewriter>() {
+		@Override protected ProgramRewriter initialValue() {
+			return new ProgramRewriter(
+				new RewriteCommonSubexpressionElimination(true),
+				new RewriteRemoveUnnecessaryCasts());
+		}
+	};
 	
 	public static void generateCode(DMLProgram dmlp) 
 		throws LanguageException, HopsException, DMLRuntimeException
@@ -288,7 +304,7 @@ public class SpoofCompiler
 				ret = constructModifiedHopDag(roots, cplans, clas);
 				
 				//run common subexpression elimination and other rewrites
-				ret = rewriteCSE.rewriteHopDAGs(ret, new ProgramRewriteStatus());	
+				ret = rewriteCSE.get().rewriteHopDAGs(ret, new ProgramRewriteStatus());	
 				
 				//explain after modification
 				if( LDEBUG ) {
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.recompile;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.AggUnaryOp;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
+import org.apache.sysml.hops.Hop.OpOp1;
+import org.apache.sysml.hops.IndexingOp;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.UnaryOp;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.utils.Explain.ExplainType;
+
+/**
+ * Per-statement-block cache of instructions generated by dynamic recompilation,
+ * keyed by a signature of the hop dag and the characteristics of its inputs
+ * (dimensions, block sizes, optionally bucketed sparsity, and scalar values).
+ * Repeated recompilation of a loop body with unchanged input characteristics 
+ * then reuses the generated instructions, similar to a loop body without
+ * recompilation.
+ * 
+ * Dags with literal replacements that depend on matrix values (e.g., as.scalar 
+ * or full aggregates over small matrices) or with persistent reads of unknown 
+ * size are never cached. Plans are evicted in LRU order, and caching is disabled
+ * for statement blocks that repeatedly miss (e.g., for scalar loop counters, 
+ * which are embedded into the instructions by literal replacement). All caches 
+ * are invalidated on configuration changes and in-place modifications of hop 
+ * dags. The plan cache is disabled by default (see recompile.plancache).
+ */
+public class RecompilePlanCache 
+{
+	//max number of plans per statement block (least recently used evicted)
+	private static final int MAX_PLANS_PER_BLOCK = 16;
+	
+	//max number of consecutive misses before caching is disabled for a block
+	private static final int MAX_MISSES_PER_BLOCK = 2 * MAX_PLANS_PER_BLOCK;
+	
+	//global epoch for invalidation of all plan caches
+	private static final AtomicLong _epoch = new AtomicLong(0);
+	
+	private final LinkedHashMap<String, ArrayList<Instruction>> _plans = 
+		new LinkedHashMap<String, ArrayList<Instruction>>(MAX_PLANS_PER_BLOCK, 0.75f, true) {
+			private static final long serialVersionUID = -1717463286178227843L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ArrayList<Instruction>> eldest) {
+				return size() > MAX_PLANS_PER_BLOCK;
+			}
+		};
+	private long _lepoch = _epoch.get();
+	private int _misses = 0; //consecutive misses
+	
+	/**
+	 * Invalidates all plan caches, e.g., on changes of the dml or 
+	 * compiler configuration or in-place modification of hop dags.
+	 */
+	public static void invalidateAll() {
+		_epoch.incrementAndGet();
+	}
+	
+	/**
+	 * Indicates if recompilation plan caching is enabled for the 
+	 * current thread-local configuration.
+	 * 
+	 * @return true if plan caching is enabled
+	 */
+	public static boolean isEnabled() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		return conf != null && conf.getBooleanValue(DMLConfig.RECOMPILE_PLANCACHE)
+			&& DMLScript.EXPLAIN != ExplainType.RECOMPILE_HOPS
+			&& DMLScript.EXPLAIN != ExplainType.RECOMPILE_RUNTIME;
+	}
+	
+	/**
+	 * Indicates if this plan cache is active, i.e., if the statement block 
+	 * did not exceed the max number of consecutive misses since the last
+	 * invalidation. Inactive caches neither create keys nor store plans.
+	 * 
+	 * @return true if plan caching is active for this block
+	 */
+	public synchronized boolean isActive() {
+		checkEpoch();
+		return _misses < MAX_MISSES_PER_BLOCK;
+	}
+	
+	/**
+	 * Obtains the plan for the given key, or null if not existing.
+	 * 
+	 * @param key plan signature (see {@link #createKey(ArrayList, LocalVariableMap)})
+	 * @return copy of the cached instructions or null
+	 */
+	public synchronized ArrayList<Instruction> get(String key) {
+		if( key == null || !checkEpoch() )
+			return null;
+		ArrayList<Instruction> ret = _plans.get(key);
+		_misses = (ret != null) ? 0 : _misses + 1;
+		return (ret != null) ? new ArrayList<Instruction>(ret) : null;
+	}
+	
+	public synchronized void put(String key, ArrayList<Instruction> inst) {
+		if( key == null || !isActive() )
+			return;
+		_plans.put(key, new ArrayList<Instruction>(inst));
+	}
+	
+	public synchronized int size() {
+		return _plans.size();
+	}
+	
+	private boolean checkEpoch() {
+		long epoch = _epoch.get();
+		if( _lepoch != epoch ) {
+			_plans.clear();
+			_lepoch = epoch;
+			_misses = 0;
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Creates the plan signature of the given hop dag w.r.t. the current 
+	 * variables and configuration, or null if the dag is not cacheable.
+	 * 
+	 * @param hops list of dag root nodes
+	 * @param vars local variable map
+	 * @return plan signature or null
+	 */
+	public static String createKey(ArrayList<Hop> hops, LocalVariableMap vars) 
+	{
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		int buckets = conf.getIntValue(DMLConfig.RECOMPILE_PLANCACHE_SPARSITY_BUCKETS);
+		
+		//configuration and memory budget (e.g., thread-local in parfor)
+		StringBuilder sb = new StringBuilder();
+		sb.append(_epoch.get());
+		sb.append(',');
+		sb.append(conf.getVersion());
+		sb.append(',');
+		sb.append(ConfigurationManager.getCompilerConfig().getVersion());
+		sb.append(',');
+		sb.append(DMLScript.rtplatform.ordinal());
+		sb.append(',');
+		sb.append((long)OptimizerUtils.getLocalMemBudget());
+		
+		//hop dag and input characteristics
+		HashSet<Long> memo = new HashSet<Long>();
+		for( Hop root : hops )
+			if( !rAppendSignature(root, vars, buckets, memo, sb) )
+				return null;
+		
+		return sb.toString();
+	}
+	
+	private static boolean rAppendSignature(Hop hop, LocalVariableMap vars, int buckets, HashSet<Long> memo, StringBuilder sb) 
+	{
+		if( !memo.add(hop.getHopID()) )
+			return true;
+		
+		//check for non-cacheable operations 
+		if( isValueDependentLiteralReplacement(hop) 
+			|| (hop instanceof DataOp && ((DataOp)hop).getDataOpType()==DataOpTypes.PERSISTENTREAD 
+				&& !hop.dimsKnown()) )
+			return false;
+		
+		for( Hop c : hop.getInput() )
+			if( !rAppendSignature(c, vars, buckets, memo, sb) )
+				return false;
+		
+		//basic hop properties (incl in-place modifications)
+		sb.append('|');
+		sb.append(hop.getHopID());
+		sb.append(',');
+		sb.append(hop.getForcedExecType());
+		sb.append(',');
+		sb.append(hop.getDim1());
+		sb.append(',');
+		sb.append(hop.getDim2());
+		sb.append(',');
+		sb.append(hop.getNnz());
+		if( hop instanceof MultiThreadedHop ) {
+			sb.append(',');
+			sb.append(((MultiThreadedHop)hop).getMaxNumThreads());
+		}
+		
+		//input characteristics of transient reads/writes
+		if( hop instanceof DataOp && ((DataOp)hop).getDataOpType()!=DataOpTypes.PERSISTENTREAD ) {
+			sb.append(',');
+			appendDataSignature(vars.get(hop.getName()), buckets, sb);
+		}
+		
+		return true;
+	}
+	
+	private static void appendDataSignature(Data dat, int buckets, StringBuilder sb) 
+	{
+		if( dat instanceof MatrixObject ) {
+			MatrixObject mo = (MatrixObject) dat;
+			long rows = mo.getNumRows(), cols = mo.getNumColumns(), nnz = mo.getNnz();
+			sb.append(rows);
+			sb.append('x');
+			sb.append(cols);
+			sb.append('x');
+			sb.append(mo.getNumRowsPerBlock());
+			sb.append('x');
+			sb.append(mo.getNumColumnsPerBlock());
+			sb.append('x');
+			sb.append(getSparsityBucket(rows, cols, nnz, buckets));
+		}
+		else if( dat instanceof FrameObject ) {
+			FrameObject fo = (FrameObject) dat;
+			sb.append(fo.getNumRows());
+			sb.append('x');
+			sb.append(fo.getNumColumns());
+		}
+		else if( dat instanceof ScalarObject ) {
+			ScalarObject so = (ScalarObject) dat;
+			sb.append(so.getValueType().ordinal());
+			sb.append(':');
+			sb.append(so.getStringValue());
+		}
+		else {
+			sb.append((dat != null) ? dat.getDataType().name() : "null");
+		}
+	}
+	
+	/**
+	 * Maps the number of non-zeros to a sparsity bucket, where empty, 
+	 * fully dense, and unknown inputs are always separate buckets.
+	 * 
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param nnz number of non-zeros
+	 * @param buckets number of sparsity buckets, exact nnz if &lt;= 0
+	 * @return sparsity bucket
+	 */
+	protected static long getSparsityBucket(long rows, long cols, long nnz, int buckets) {
+		if( buckets <= 0 || nnz <= 0 || rows <= 0 || cols <= 0 )
+			return nnz;
+		double cells = (double)rows * cols;
+		if( nnz >= cells )
+			return buckets + 1;
+		return (long) Math.ceil(nnz / cells * buckets);
+	}
+	
+	private static boolean isValueDependentLiteralReplacement(Hop hop) {
+		//see LiteralReplacement for data-dependent replacement rules
+		boolean cast = hop instanceof UnaryOp && ((UnaryOp)hop).getOp()==OpOp1.CAST_AS_SCALAR;
+		boolean agg = hop instanceof AggUnaryOp && hop.getDataType()==DataType.SCALAR;
+		if( (cast || agg) && !hop.getInput().isEmpty() ) {
+			Hop in = hop.getInput().get(0);
+			return in.getDataType()==DataType.MATRIX
+				&& (in instanceof DataOp || in instanceof IndexingOp);
+		}
+		return false;
+	}
+}
@@ -105,6 +105,7 @@ import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.utils.Explain;
 import org.apache.sysml.utils.Explain.ExplainType;
 import org.apache.sysml.utils.JSONHelper;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Dynamic recompilation of hop dags to runtime instructions, which includes the 
@@ -140,6 +141,7 @@ public class Recompiler
 	 */
 	public static void reinitRecompiler() {
 		_rewriter.set(new ProgramRewriter(false, true));
+		RecompilePlanCache.invalidateAll();
 	}
 	
 	/**
@@ -165,20 +167,45 @@ public class Recompiler
 		throws DMLRuntimeException, HopsException, LopsException, IOException
 	{
 		ArrayList<Instruction> newInst = null;
+		
+		//probe recompilation plan cache for unchanged input characteristics
+		String pkey = null;
+		if( sb != null && status == null && !inplace && RecompilePlanCache.isEnabled() 
+			&& sb.getRecompilePlanCache().isActive() ) {
+			synchronized( hops ) {
+				pkey = RecompilePlanCache.createKey(hops, vars);
+			}
+			if( pkey != null ) {
+				newInst = sb.getRecompilePlanCache().get(pkey);
+				if( DMLScript.STATISTICS )
+					Statistics.incrementHOPRecompilePlanCache(newInst != null);
+				if( newInst != null ) //replace thread ids in cached instructions
+					return (tid != 0) ? ProgramConverter.createDeepCopyInstructionSet(
+						newInst, tid, -1, null, null, null, false, false) : newInst;
+			}
+		}
+		else if( inplace ) {
+			//in-place modification of the shared hop dag
+			RecompilePlanCache.invalidateAll();
+		}
 
-		//need for synchronization as we do temp changes in shared hops/lops
-		//however, we create deep copies for most dags to allow for concurrent recompile
+		// prepare hops dag for recompile
+		if( !inplace ) {
+			// deep copy hop dag (for non-reversable rewrites), where we only need
+			// to synchronize the copy, all other steps work on the private copy
+			synchronized( hops ) {
+				hops = deepCopyHopsDag(hops);
+			}
+		}
+		
+		//need for synchronization as in-place recompilation does temp changes in 
+		//shared hops/lops, otherwise the monitor of the private copy is uncontended
 		synchronized( hops ) 
 		{	
 			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
 					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 	
-			// prepare hops dag for recompile
-			if( !inplace ){ 
-				// deep copy hop dag (for non-reversable rewrites)
-				hops = deepCopyHopsDag(hops);
-			}
-			else {
+			if( inplace ) {
 				// clear existing lops
 				Hop.resetVisitStatus(hops);
 				for( Hop hopRoot : hops )
@@ -230,6 +257,10 @@ public class Recompiler
 			newInst = dag.getJobs(sb, ConfigurationManager.getDMLConfig());	
 		}
 		
+		// maintain recompilation plan cache (before thread id replacement)
+		if( pkey != null )
+			sb.getRecompilePlanCache().put(pkey, newInst);
+		
 		// replace thread ids in new instructions
 		if( tid != 0 ) //only in parfor context
 			newInst = ProgramConverter.createDeepCopyInstructionSet(newInst, tid, -1, null, null, null, false, false);
@@ -274,19 +305,23 @@ public class Recompiler
 	{
 		ArrayList<Instruction> newInst = null;
 
-		//need for synchronization as we do temp changes in shared hops/lops
+		// prepare hops dag for recompile
+		if( !inplace ) {
+			// deep copy hop dag (for non-reversable rewrites), where we only need
+			// to synchronize the copy (this also clears existing lops in the created dag) 
+			synchronized( hops ) {
+				hops = deepCopyHopsDag(hops);
+			}
+		}
+		
+		//need for synchronization as in-place recompilation does temp changes in 
+		//shared hops/lops, otherwise the monitor of the private copy is uncontended
 		synchronized( hops ) 
 		{	
 			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
 					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 
-			// prepare hops dag for recompile
-			if( !inplace ) {
-				// deep copy hop dag (for non-reversable rewrites)
-				//(this also clears existing lops in the created dag) 
-				hops = deepCopyHopsDag(hops);	
-			}
-			else {
+			if( inplace ) {
 				// clear existing lops
 				hops.resetVisitStatus();
 				rClearLops( hops );	
@@ -113,6 +113,10 @@ public class Binary extends Lop
 		return operation;
 	}
 
+	public int getNumThreads() {
+		return numThreads;
+	}
+
 	private String getOpcode()
 	{
 		return getOpcode( operation );
@@ -202,8 +206,8 @@ public class Binary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
-		//append degree of parallelism for matrix multiplications
-		if( operation == OperationTypes.MATMULT && getExecType()==ExecType.CP ) {
+		//append degree of parallelism for cp matrix multiplications and cell-wise ops
+		if( getExecType()==ExecType.CP ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( numThreads );
 		}
@@ -1501,7 +1501,11 @@ public class Dag<N extends Lop>
 				try {
 					if( LOG.isTraceEnabled() )
 						LOG.trace("Generating instruction - "+ inst_string);
-					Instruction currInstr = InstructionParser.parseSingleInstruction(inst_string);
+					//direct construction of common cp instructions w/o instruction parsing, 
+					//the instruction string is only kept for explain and remote shipping
+					Instruction currInstr = CPInstructionParser.createInstruction(node, inst_string);
+					if( currInstr == null )
+						currInstr = InstructionParser.parseSingleInstruction(inst_string);
 					if(currInstr == null) {
 						 throw new LopsException("Error parsing the instruction:" + inst_string);
 					}
@@ -2281,6 +2285,9 @@ public class Dag<N extends Lop>
 			else if ( oparams.getFormat() == Format.CSV ) {
 				oinfo = OutputInfo.CSVOutputInfo;
 			}
+			else if ( oparams.getFormat() == Format.COLUMNAR ) {
+				oinfo = OutputInfo.ColumnarBlockOutputInfo;
+			}
 			else {
 				oinfo = OutputInfo.BinaryCellOutputInfo;
 			}
@@ -901,7 +901,8 @@ public class DMLTranslator
 					case TEXT:
 					case MM:
 					case CSV:
-						// write output in textcell format
+					case COLUMNAR:
+						// write output in textcell format (or unblocked columnar format)
 						ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1, -1);
 						break;
 						
@@ -22,9 +22,15 @@ package org.apache.sysml.runtime.codegen;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -38,16 +44,33 @@ import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.codegen.SpoofCompiler;
+import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.utils.Statistics;
+import org.codehaus.janino.ByteArrayClassLoader;
+import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Java.CompilationUnit;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 
 public class CodegenUtils 
 {
+	private static final Log LOG = LogFactory.getLog(CodegenUtils.class.getName());
+	
 	//cache to reuse compiled and loaded classes 
 	private static ConcurrentHashMap<String, Class<?>> _cache = new ConcurrentHashMap<String,Class<?>>();
+	//class bytes of in-memory compiled classes (for shipping to remote workers)
+	private static ConcurrentHashMap<String, byte[]> _bytes = new ConcurrentHashMap<String,byte[]>();
 	private static String _workingDir = null;
 	
 	public static Class<?> compileClass(String name, String src) 
@@ -58,68 +81,44 @@ public class CodegenUtils
 		if( ret != null ) 
 			return ret;
 		
+		//probe persistent class cache, if configured
+		String cacheDir = getClassCacheDir();
+		if( cacheDir != null ) {
+			//content-addressed class name (unique across JVMs)
+			String cname = getContentAddressedName(name, src);
+			src = src.replaceAll("\\b"+name+"\\b", cname);
+			ret = readPersistentClass(cacheDir, cname);
+			if( DMLScript.STATISTICS )
+				Statistics.incrementCodegenClassCacheTotal(ret != null);
+			if( ret == null ) {
+				ret = compileClass0(cname, src);
+				writePersistentClass(cacheDir, cname);
+			}
+			_cache.put(name, ret);
+			return ret;
+		}
+		
+		return compileClass0(name, src);
+	}
+	
+	private static Class<?> compileClass0(String name, String src) 
+		throws DMLRuntimeException
+	{
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
-		try
-		{
-			//create working dir on demand
-			if( _workingDir == null )
-				createWorkingDir();
-			
-			//write input file (for debugging / classpath handling)
-			File ftmp = new File(_workingDir+"/codegen/"+name+".java");
-			if( !ftmp.getParentFile().exists() )
-				ftmp.getParentFile().mkdirs();
-			LocalFileUtils.writeTextFile(ftmp, src);
-			
-			//get system java compiler
-			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-			if( compiler == null )
-				throw new RuntimeException("Unable to obtain system java compiler.");
-		
-			//prepare file manager
-			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>(); 
-			StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
-			
-			//prepare input source code
-			Iterable<? extends JavaFileObject> sources = fileManager
-					.getJavaFileObjectsFromFiles(Arrays.asList(ftmp));
-			
-			//prepare class path 
-			URL runDir = CodegenUtils.class.getProtectionDomain().getCodeSource().getLocation(); 
-			String classpath = System.getProperty("java.class.path") + 
-					File.pathSeparator + runDir.getPath();
-			List<String> options = Arrays.asList("-classpath",classpath);
-			
-			//compile source code
-			CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sources);
-			Boolean success = task.call();
-			
-			//output diagnostics and error handling
-			for(Diagnostic<? extends JavaFileObject> tmp : diagnostics.getDiagnostics())
-				if( tmp.getKind()==Kind.ERROR )
-					System.err.println("ERROR: "+tmp.toString());				
-			if( success == null || !success )
-				throw new RuntimeException("Failed to compile class "+name);
-			
-			//dynamically load compiled class
-			URLClassLoader classLoader = null;
-			try {
-				classLoader = new URLClassLoader(
-					new URL[]{new File(_workingDir).toURI().toURL(), runDir}, 
-					CodegenUtils.class.getClassLoader());
-				ret = classLoader.loadClass("codegen."+name);
-			}
-			finally {
-				IOUtilFunctions.closeSilently(classLoader);
-			}
+		//compile java source w/ selected compiler
+		Class<?> ret = null;
+		try {
+			ret = (SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO) ?
+				compileClassJanino(name, src) : compileClassJavac(name, src);
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
 		}
 		
-		//keep compiled class for reuse
+		//keep compiled class for reuse (by name and full class name)
 		_cache.put(name, ret);
+		_cache.put(ret.getName(), ret);
 		
 		if( DMLScript.STATISTICS ) {
 			Statistics.incrementCodegenClassCompile();
@@ -129,6 +128,177 @@ public class CodegenUtils
 		return ret;
 	}
 	
+	/**
+	 * Obtains a content-addressed class name for the given generated 
+	 * source code, which is a canonical representation of the codegen 
+	 * plan. The hash excludes the JVM-specific class name but includes 
+	 * the SystemML version to invalidate classes of other releases.
+	 * 
+	 * @param name class name
+	 * @param src java source code
+	 * @return content-addressed class name
+	 * @throws DMLRuntimeException if hashing fails
+	 */
+	private static String getContentAddressedName(String name, String src) 
+		throws DMLRuntimeException
+	{
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			String version = CodegenUtils.class.getPackage().getImplementationVersion();
+			md.update(String.valueOf(version).getBytes(StandardCharsets.UTF_8));
+			md.update(src.replaceAll("\\b"+name+"\\b", "%TMP%").getBytes(StandardCharsets.UTF_8));
+			byte[] hash = md.digest();
+			StringBuilder sb = new StringBuilder("TMP");
+			for( int i=0; i<16; i++ ) //128bit prefix
+				sb.append(String.format("%02x", hash[i]));
+			return sb.toString();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static String getClassCacheDir() {
+		String dir = ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.CODEGEN_CLASSCACHE);
+		return (dir == null || dir.trim().isEmpty()) ? null : dir.trim();
+	}
+	
+	private static Class<?> readPersistentClass(String dir, String cname) 
+		throws DMLRuntimeException
+	{
+		File f = new File(dir, cname+".class");
+		if( !f.exists() )
+			return null;
+		try {
+			//load class via byte class loader and keep bytes for shipping
+			byte[] classBytes = Files.readAllBytes(f.toPath());
+			Class<?> ret = loadClass("codegen."+cname, classBytes);
+			_bytes.put(ret.getName(), classBytes);
+			return ret;
+		}
+		catch(Exception | LinkageError ex) {
+			//robustness for unreadable or corrupted class files (recompiled and overwritten)
+			LOG.warn("Failed to read class "+cname+" from codegen class cache.", ex);
+			return null;
+		}
+	}
+	
+	private static void writePersistentClass(String dir, String cname) 
+		throws DMLRuntimeException
+	{
+		byte[] classBytes = getClassAsByteArray("codegen."+cname);
+		File ftmp = null;
+		try {
+			//write to temporary file and atomic rename, which ensures that
+			//concurrent JVMs never read partially written class files 
+			File fdir = new File(dir);
+			if( !fdir.exists() )
+				fdir.mkdirs();
+			ftmp = File.createTempFile(cname, ".tmp", fdir);
+			Files.write(ftmp.toPath(), classBytes);
+			Files.move(ftmp.toPath(), new File(fdir, cname+".class").toPath(), 
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to write class "+cname+" to codegen class cache.", ex);
+			//cleanup temporary file of failed rename
+			if( ftmp != null )
+				ftmp.delete();
+		}
+	}
+	
+	private static Class<?> compileClassJanino(String name, String src) 
+		throws Exception
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		//parse and compile source code into class files (in-memory)
+		ClassLoader parent = CodegenUtils.class.getClassLoader();
+		CompilationUnit cu = new Parser(new Scanner(name, new StringReader(src)))
+			.parseCompilationUnit();
+		ClassFile[] cfs = new UnitCompiler(cu, new ClassLoaderIClassLoader(parent))
+			.compileUnit(false, false, false);
+		HashMap<String, byte[]> classes = new HashMap<String, byte[]>();
+		for( ClassFile cf : cfs )
+			classes.put(cf.getThisClassName(), cf.toByteArray());
+		
+		long t1 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		//define compiled classes and keep class bytes for shipping 
+		Class<?> ret = new ByteArrayClassLoader(classes, parent).loadClass("codegen."+name);
+		_bytes.putAll(classes);
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCodegenClassCompileTime(t1-t0, System.nanoTime()-t1);
+		return ret;
+	}
+	
+	private static Class<?> compileClassJavac(String name, String src) 
+		throws Exception
+	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		//create working dir on demand
+		if( _workingDir == null )
+			createWorkingDir();
+		
+		//write input file (for debugging / classpath handling)
+		File ftmp = new File(_workingDir+"/codegen/"+name+".java");
+		if( !ftmp.getParentFile().exists() )
+			ftmp.getParentFile().mkdirs();
+		LocalFileUtils.writeTextFile(ftmp, src);
+		
+		//get system java compiler
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if( compiler == null )
+			throw new RuntimeException("Unable to obtain system java compiler.");
+	
+		//prepare file manager
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>(); 
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+		
+		//prepare input source code
+		Iterable<? extends JavaFileObject> sources = fileManager
+				.getJavaFileObjectsFromFiles(Arrays.asList(ftmp));
+		
+		//prepare class path 
+		URL runDir = CodegenUtils.class.getProtectionDomain().getCodeSource().getLocation(); 
+		String classpath = System.getProperty("java.class.path") + 
+				File.pathSeparator + runDir.getPath();
+		List<String> options = Arrays.asList("-classpath",classpath);
+		
+		//compile source code
+		CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+		Boolean success = task.call();
+		
+		//output diagnostics and error handling
+		for(Diagnostic<? extends JavaFileObject> tmp : diagnostics.getDiagnostics())
+			if( tmp.getKind()==Kind.ERROR )
+				System.err.println("ERROR: "+tmp.toString());				
+		if( success == null || !success )
+			throw new RuntimeException("Failed to compile class "+name);
+		
+		long t1 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		//dynamically load compiled class
+		Class<?> ret = null;
+		URLClassLoader classLoader = null;
+		try {
+			classLoader = new URLClassLoader(
+				new URL[]{new File(_workingDir).toURI().toURL(), runDir}, 
+				CodegenUtils.class.getClassLoader());
+			ret = classLoader.loadClass("codegen."+name);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(classLoader);
+		}
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCodegenClassCompileTime(t1-t0, System.nanoTime()-t1);
+		return ret;
+	}
+	
 	public static Class<?> loadClass(String name) throws DMLRuntimeException {
 		return loadClass(name, null);
 	}
@@ -195,6 +365,11 @@ public class CodegenUtils
 	public static byte[] getClassAsByteArray(String name) 
 		throws DMLRuntimeException
 	{
+		//probe in-memory compiled classes
+		byte[] ret = _bytes.get(name);
+		if( ret != null )
+			return ret;
+		
 		String classAsPath = name.replace('.', '/') + ".class";
 		
 		URLClassLoader classLoader = null;
@@ -231,6 +406,7 @@ public class CodegenUtils
 	
 	public static void clearClassCache() {
 		_cache.clear();
+		_bytes.clear();
 	}
 	
 	private static void createWorkingDir() throws DMLRuntimeException  {
@@ -28,7 +28,9 @@ import java.util.List;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix
@@ -154,7 +156,23 @@ public abstract class ColGroup implements Serializable
 	 * @param rl row lower
 	 * @param ru row upper
 	 */
-	public abstract void decompressToBlock(MatrixBlock target, int rl, int ru);
+	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+		decompressToBlock(target, rl, ru, rl);
+	}
+	
+	/**
+	 * Decompress the rows [rl,ru) of this column group into the specified 
+	 * matrix block, starting at row offT of the target. This allows for
+	 * decompressing row ranges into blocks of size ru-rl.
+	 * 
+	 * @param target
+	 *            a matrix block where the columns covered by this column group
+	 *            have not yet been filled in.
+	 * @param rl row lower
+	 * @param ru row upper
+	 * @param offT target row offset of row rl
+	 */
+	public abstract void decompressToBlock(MatrixBlock target, int rl, int ru, int offT);
 
 	/**
 	 * Decompress the contents of this column group into uncompressed packed
@@ -255,6 +273,34 @@ public abstract class ColGroup implements Serializable
 	 */
 	public abstract ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException;
+	
+	/**
+	 * Perform the specified unary (cell-wise) operation directly on the 
+	 * compressed column group, without decompressing individual cells 
+	 * if possible.
+	 * 
+	 * @param op
+	 *            operation to perform
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Perform the specified binary operation of this column group (left) 
+	 * and a row vector (right) directly on the compressed column group,
+	 * without decompressing individual cells if possible.
+	 * 
+	 * @param op
+	 *            operation to perform
+	 * @param v
+	 *            dense row vector of the entire matrix width
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException;
 
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result)
 		throws DMLRuntimeException;
@@ -58,12 +58,12 @@ public abstract class ColGroupDDC extends ColGroupValue
 	}
 	
 	@Override
-	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
-		for( int i = rl; i < ru; i++ ) {
+	public void decompressToBlock(MatrixBlock target, int rl, int ru, int offT) {
+		for( int i = rl, ix = offT; i < ru; i++, ix++ ) {
 			for( int colIx = 0; colIx < _colIndexes.length; colIx++ ) {
 				int col = _colIndexes[colIx];
 				double cellVal = getData(i, colIx);
-				target.quickSetValue(i, col, cellVal);
+				target.quickSetValue(ix, col, cellVal);
 			}
 		}
 	}
@@ -77,6 +77,10 @@ public class ColGroupDDC1 extends ColGroupDDC
 		_data = data;
 	}
 
+	public byte[] getData() {
+		return _data;
+	}
+	
 	@Override
 	public CompressionType getCompType() {
 		return CompressionType.DDC1;
@@ -160,11 +164,11 @@ public class ColGroupDDC1 extends ColGroupDDC
 	}
 	
 	@Override
-	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+	public void decompressToBlock(MatrixBlock target, int rl, int ru, int offT) {
 		int ncol = getNumCols();
-		for( int i = rl; i < ru; i++ )
+		for( int i = rl, ix = offT; i < ru; i++, ix++ )
 			for( int j=0; j<ncol; j++ )
-				target.appendValue(i, _colIndexes[j], _values[(_data[i]&0xFF)*ncol+j]);
+				target.appendValue(ix, _colIndexes[j], _values[(_data[i]&0xFF)*ncol+j]);
 		//note: append ok because final sort per row 
 	}
 	
@@ -355,4 +359,10 @@ public class ColGroupDDC1 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC1(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+	
+	@Override
+	protected ColGroup applyValueOperation(double[] values, double[] zvalues) {
+		//zeros are represented as values, so shallow copy of data suffices
+		return new ColGroupDDC1(_colIndexes, _numRows, values, _data);
+	}
 }
@@ -79,6 +79,10 @@ public class ColGroupDDC2 extends ColGroupDDC
 		_data = data;
 	}
 
+	public char[] getData() {
+		return _data;
+	}
+	
 	@Override
 	public CompressionType getCompType() {
 		return CompressionType.DDC2;
@@ -162,11 +166,11 @@ public class ColGroupDDC2 extends ColGroupDDC
 	}
 	
 	@Override
-	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+	public void decompressToBlock(MatrixBlock target, int rl, int ru, int offT) {
 		int ncol = getNumCols();
-		for( int i = rl; i < ru; i++ )
+		for( int i = rl, ix = offT; i < ru; i++, ix++ )
 			for( int j=0; j<ncol; j++ )
-				target.appendValue(i, _colIndexes[j], _values[_data[i]*ncol+j]);
+				target.appendValue(ix, _colIndexes[j], _values[_data[i]*ncol+j]);
 		//note: append ok because final sort per row 
 	}
 	
@@ -309,4 +313,10 @@ public class ColGroupDDC2 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC2(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+	
+	@Override
+	protected ColGroup applyValueOperation(double[] values, double[] zvalues) {
+		//zeros are represented as values, so shallow copy of data suffices
+		return new ColGroupDDC2(_colIndexes, _numRows, values, _data);
+	}
 }
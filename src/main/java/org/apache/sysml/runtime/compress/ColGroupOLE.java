@@ -119,7 +119,7 @@ public class ColGroupOLE extends ColGroupOffset
 	}
 	
 	@Override
-	public void decompressToBlock(MatrixBlock target, int rl, int ru) 
+	public void decompressToBlock(MatrixBlock target, int rl, int ru, int offT) 
 	{
 		if( LOW_LEVEL_OPT && getNumValues() > 1 )
 		{
@@ -128,10 +128,12 @@ public class ColGroupOLE extends ColGroupOffset
 			final int numVals = getNumValues();
 			
 			//cache blocking config and position array
-			int[] apos = skipScan(numVals, rl);
+			//(segment-aligned scan, rows outside [rl,ru) are skipped)
+			int rlAligned = rl - rl % blksz;
+			int[] apos = skipScan(numVals, rlAligned);
 					
 			//cache conscious append via horizontal scans 
-			for( int bi=rl; bi<ru; bi+=blksz ) {
+			for( int bi=rlAligned; bi<ru; bi+=blksz ) {
 				for (int k = 0, off=0; k < numVals; k++, off+=numCols) {
 					int boff = _ptr[k];
 					int blen = len(k);					
@@ -140,10 +142,14 @@ public class ColGroupOLE extends ColGroupOffset
 						continue;
 					int len = _data[boff+bix];
 					int pos = boff+bix+1;
-					for( int i=pos; i<pos+len; i++ )
-						for( int j=0, rix = bi+_data[i]; j<numCols; j++ )
+					for( int i=pos; i<pos+len; i++ ) {
+						int rix = bi + _data[i];
+						if( rix < rl || rix >= ru )
+							continue;
+						for( int j=0; j<numCols; j++ )
 							if( _values[off+j]!=0 )
-								target.appendValue(rix, _colIndexes[j], _values[off+j]);
+								target.appendValue(rix-rl+offT, _colIndexes[j], _values[off+j]);
+					}
 					apos[k] += len + 1;
 				}
 			}		
@@ -151,7 +157,7 @@ public class ColGroupOLE extends ColGroupOffset
 		else
 		{
 			//call generic decompression with decoder
-			super.decompressToBlock(target, rl, ru);
+			super.decompressToBlock(target, rl, ru, offT);
 		}
 	}
 
@@ -271,6 +277,33 @@ public class ColGroupOLE extends ColGroupOffset
 				rvalues, rbitmaps, rbitmapOffs);
 	}
 
+	@Override
+	protected ColGroup applyValueOperation(double[] values, double[] zvalues)
+		throws DMLRuntimeException
+	{
+		//fast path: zero-preserving operations
+		// Note that bitmaps don't change and are shallow-copied
+		if( isZeroTuple(zvalues) )
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros, values, _data, _ptr);
+		
+		//slow path: zero-modifying operations (potentially create new bitmap)
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if( loff.length==0 ) //empty offset list: go back to fast path
+			return new ColGroupOLE(_colIndexes, _numRows, true, values, _data, _ptr);
+		
+		double[] rvalues = Arrays.copyOf(values, values.length+zvalues.length);
+		System.arraycopy(zvalues, 0, rvalues, values.length, zvalues.length);
+		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		
+		return new ColGroupOLE(_colIndexes, _numRows, loff.length<_numRows,
+				rvalues, rbitmaps, rbitmapOffs);
+	}
+
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
 			throws DMLRuntimeException 
@@ -136,7 +136,7 @@ public abstract class ColGroupOffset extends ColGroupValue
 
 	//generic decompression for OLE/RLE, to be overwritten for performance
 	@Override
-	public void decompressToBlock(MatrixBlock target, int rl, int ru) 
+	public void decompressToBlock(MatrixBlock target, int rl, int ru, int offT) 
 	{
 		final int numCols = getNumCols();
 		final int numVals = getNumValues();
@@ -150,10 +150,10 @@ public abstract class ColGroupOffset extends ColGroupValue
 			while (decoder.hasNext()) {
 				int row = decoder.next();
 				if( row<rl ) continue;
-				if( row>ru ) break;
+				if( row>=ru ) break;
 				
 				for (int colIx = 0; colIx < numCols; colIx++)
-					target.appendValue(row, colIndices[colIx], _values[valOff+colIx]);
+					target.appendValue(row-rl+offT, colIndices[colIx], _values[valOff+colIx]);
 			}
 		}
 	}
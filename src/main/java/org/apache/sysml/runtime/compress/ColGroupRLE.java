@@ -98,7 +98,7 @@ public class ColGroupRLE extends ColGroupOffset
 	}
 	
 	@Override
-	public void decompressToBlock(MatrixBlock target, int rl, int ru) 
+	public void decompressToBlock(MatrixBlock target, int rl, int ru, int offT) 
 	{
 		if( LOW_LEVEL_OPT && getNumValues() > 1 )
 		{
@@ -124,7 +124,7 @@ public class ColGroupRLE extends ColGroupOffset
 						for( int i=Math.max(rl,start); i<Math.min(start+len,ru); i++ )
 							for( int j=0; j<numCols; j++ )
 								if( _values[off+j]!=0 )
-									target.appendValue(i, _colIndexes[j], _values[off+j]);
+									target.appendValue(i-rl+offT, _colIndexes[j], _values[off+j]);
 						start += len;
 					}
 					apos[k] = bix;	
@@ -135,7 +135,7 @@ public class ColGroupRLE extends ColGroupOffset
 		else
 		{
 			//call generic decompression with decoder
-			super.decompressToBlock(target, rl, ru);
+			super.decompressToBlock(target, rl, ru, offT);
 		}
 	}
 
@@ -442,6 +442,33 @@ public class ColGroupRLE extends ColGroupOffset
 				rvalues, rbitmaps, rbitmapOffs);
 	}
 
+	@Override
+	protected ColGroup applyValueOperation(double[] values, double[] zvalues)
+		throws DMLRuntimeException
+	{
+		//fast path: zero-preserving operations
+		// Note that bitmaps don't change and are shallow-copied
+		if( isZeroTuple(zvalues) )
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros, values, _data, _ptr);
+		
+		//slow path: zero-modifying operations (potentially create new bitmap)
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if( loff.length==0 ) //empty offset list: go back to fast path
+			return new ColGroupRLE(_colIndexes, _numRows, true, values, _data, _ptr);
+		
+		double[] rvalues = Arrays.copyOf(values, values.length+zvalues.length);
+		System.arraycopy(zvalues, 0, rvalues, values.length, zvalues.length);
+		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		
+		return new ColGroupRLE(_colIndexes, _numRows, loff.length<_numRows,
+				rvalues, rbitmaps, rbitmapOffs);
+	}
+
 	@Override
 	protected final void computeSum(MatrixBlock result, KahanFunction kplus)
 	{
@@ -34,7 +34,9 @@ import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock.Type;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.SortUtils;
 
 
@@ -213,15 +215,15 @@ public class ColGroupUncompressed extends ColGroup
 	}
 
 	@Override
-	public void decompressToBlock(MatrixBlock target, int rl, int ru) {
+	public void decompressToBlock(MatrixBlock target, int rl, int ru, int offT) {
 		//empty block, nothing to add to output
 		if( _data.isEmptyBlock(false) )
 			return;		
-		for (int row = rl; row < ru; row++) {
+		for (int row = rl, ix = offT; row < ru; row++, ix++) {
 			for (int colIx = 0; colIx < _colIndexes.length; colIx++) {
 				int col = _colIndexes[colIx];
 				double cellVal = _data.quickGetValue(row, colIx);
-				target.quickSetValue(row, col, cellVal);
+				target.quickSetValue(ix, col, cellVal);
 			}
 		}
 	}
@@ -345,6 +347,36 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException 
+	{
+		//execute unary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.unaryOperations(op, new MatrixBlock());
+		
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException 
+	{
+		//extract vector entries of covered columns
+		MatrixBlock vect = new MatrixBlock(1, _colIndexes.length, false);
+		vect.allocateDenseBlock();
+		for( int j=0; j<_colIndexes.length; j++ )
+			vect.quickSetValue(0, j, v[_colIndexes[j]]);
+		
+		//execute binary matrix-vector operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.binaryOperations(op, vect, new MatrixBlock());
+		
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret)
 		throws DMLRuntimeException 
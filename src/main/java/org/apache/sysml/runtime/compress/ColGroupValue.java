@@ -29,7 +29,9 @@ import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -283,6 +285,61 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) 
+		throws DMLRuntimeException
+	{
+		//apply unary function to distinct values only
+		double[] rvalues = new double[_values.length];
+		for( int i = 0; i < _values.length; i++ )
+			rvalues[i] = op.fn.execute(_values[i]);
+		
+		//value of implicitly represented zeros
+		double[] zvalues = new double[getNumCols()];
+		Arrays.fill(zvalues, op.fn.execute(0));
+		
+		return applyValueOperation(rvalues, zvalues);
+	}
+	
+	@Override
+	public ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v) 
+		throws DMLRuntimeException
+	{
+		final int numCols = getNumCols();
+		
+		//apply binary function to distinct value tuples only
+		double[] rvalues = new double[_values.length];
+		for( int i = 0; i < _values.length; i+=numCols )
+			for( int j = 0; j < numCols; j++ )
+				rvalues[i+j] = op.fn.execute(_values[i+j], v[_colIndexes[j]]);
+		
+		//values of implicitly represented zeros
+		double[] zvalues = new double[numCols];
+		for( int j = 0; j < numCols; j++ )
+			zvalues[j] = op.fn.execute(0, v[_colIndexes[j]]);
+		
+		return applyValueOperation(rvalues, zvalues);
+	}
+	
+	/**
+	 * Creates a new column group of the same type with the given distinct
+	 * values, while the data (codes or bitmaps) is shallow-copied if possible.
+	 * 
+	 * @param values new value tuples (linearized, aligned with existing values)
+	 * @param zvalues new value tuple for cells that are zero in this column group
+	 * @return new column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected abstract ColGroup applyValueOperation(double[] values, double[] zvalues)
+		throws DMLRuntimeException;
+	
+	protected static boolean isZeroTuple(double[] tuple) {
+		for( int j = 0; j < tuple.length; j++ )
+			if( tuple[j] != 0 )
+				return false;
+		return true;
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) 
 		throws DMLRuntimeException 
@@ -33,7 +33,6 @@ import java.util.List;
 import java.util.PriorityQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.LongStream;
 
@@ -68,6 +67,7 @@ import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -88,6 +88,7 @@ import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.IndexRange;
 
 /**
@@ -157,6 +158,25 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		nonZeros = mb.getNonZeros();
 	}
 
+	/**
+	 * Constructor for building a compressed block from already encoded
+	 * column groups (e.g., as read from a columnar block file), which
+	 * avoids the decompress-recompress cycle of the default compression.
+	 *
+	 * @param rl number of rows in the block
+	 * @param cl number of columns
+	 * @param nnz number of non-zeros
+	 * @param colGroups list of column groups covering all columns
+	 */
+	public CompressedMatrixBlock(int rl, int cl, long nnz, ArrayList<ColGroup> colGroups) {
+		super(rl, cl, false);
+		nonZeros = nnz;
+		_colGroups = colGroups;
+		_stats = new CompressionStatistics();
+		_stats.size = estimateCompressedSizeInMemory();
+		_stats.ratio = estimateSizeInMemory() / _stats.size;
+	}
+
 	/**
 	 * Obtain the column groups.
 	 * 
@@ -391,7 +411,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throws DMLRuntimeException 
 	{	
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<SizeEstimTask> tasks = new ArrayList<SizeEstimTask>();
 			for( int col=0; col<clen; col++ )
 				tasks.add(new SizeEstimTask(estim, col));
@@ -420,7 +440,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throws DMLRuntimeException
 	{
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<CompressTask> tasks = new ArrayList<CompressTask>();
 			for( int[] colIndexes : groups )
 				tasks.add(new CompressTask(in, estim, compRatios, rlen, colIndexes, denseEst));
@@ -585,7 +605,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		//multi-threaded decompression
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int rlen = getNumRows();
 			int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
 			int blklen = (int)(Math.ceil((double)rlen/k));
@@ -690,8 +710,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public long getExactSizeOnDisk() 
 	{
-		//header information
-		long ret = 12;
+		//uncompressed block (compression flag and block)
+		if( !isCompressed() )
+			return 1 + super.getExactSizeOnDisk();
+		
+		//header information (compression flag, dims, nnz, num groups)
+		long ret = 21;
 		
 		for( ColGroup grp : _colGroups ) {
 			ret += 1; //type info
@@ -822,15 +846,99 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		// Apply the operation recursively to each of the column groups.
 		// Most implementations will only modify metadata.
-		ArrayList<ColGroup> newColGroups = new ArrayList<ColGroup>();
-		for (ColGroup grp : _colGroups) {
-			newColGroups.add(grp.scalarOperation(sop));
+		ret._colGroups = applyColGroupOperations(sop, null, sop.getNumThreads());
+		ret.setNonZeros(rlen*clen);
+		
+		return ret;
+	}
+	
+	@Override
+	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed unary (via decompress) for cumulative aggregates,
+		//which are not cell-wise and hence cannot be applied per distinct value
+		if( !isCompressed() )
+			return super.unaryOperations(op, result);
+		if( LibMatrixAgg.isSupportedUnaryOperator(op) ) {
+			printDecompressWarning("unaryOperations");
+			return decompress().unaryOperations(op, result);
 		}
-		ret._colGroups = newColGroups;
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = allocateOutput(result, rlen, clen);
+		
+		//apply the operation to the distinct values of each column group
+		ret._colGroups = applyColGroupOperations(op, null, op.getNumThreads());
 		ret.setNonZeros(rlen*clen);
 		
 		return ret;
 	}
+	
+	@Override
+	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock that = (MatrixBlock) thatValue;
+		
+		//call uncompressed binary (via decompress) for all but matrix-row vector
+		//operations, where the vector can be applied to the distinct values
+		if( !isCompressed() )
+			return super.binaryOperations(op, getUncompressed(thatValue), result);
+		if( that instanceof CompressedMatrixBlock
+			|| that.getNumRows() != 1 || that.getNumColumns() != clen ) {
+			printDecompressWarning("binaryOperations", that);
+			return decompress().binaryOperations(op, getUncompressed(thatValue), result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = allocateOutput(result, rlen, clen);
+		
+		//apply the operation to the distinct values of each column group
+		double[] v = ConverterUtils.getDenseVector(that);
+		ret._colGroups = applyColGroupOperations(op, v, op.getNumThreads());
+		ret.setNonZeros(rlen*clen);
+		
+		return ret;
+	}
+	
+	private static CompressedMatrixBlock allocateOutput(MatrixValue result, int rlen, int clen) {
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			return new CompressedMatrixBlock(rlen, clen, false);
+		CompressedMatrixBlock ret = (CompressedMatrixBlock) result;
+		ret.reset(rlen, clen);
+		return ret;
+	}
+	
+	private ArrayList<ColGroup> applyColGroupOperations(Operator op, double[] v, int k) 
+		throws DMLRuntimeException
+	{
+		ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
+		
+		//single-threaded operations over column groups
+		if( k <= 1 || _colGroups.size() <= 1 ) {
+			for( ColGroup grp : _colGroups )
+				ret.add(ColGroupOperationTask.execute(grp, op, v));
+			return ret;
+		}
+		
+		//multi-threaded operations over column groups
+		try {
+			ExecutorService pool = CommonThreadPool.get( Math.min(k, _colGroups.size()) );
+			ArrayList<ColGroupOperationTask> tasks = new ArrayList<ColGroupOperationTask>();
+			for( ColGroup grp : _colGroups )
+				tasks.add(new ColGroupOperationTask(grp, op, v));
+			List<Future<ColGroup>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<ColGroup> rt : rtasks )
+				ret.add(rt.get());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return ret;
+	}
 
 	@Override
 	public MatrixBlock appendOperations(MatrixBlock that, MatrixBlock ret) 
@@ -1079,7 +1187,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				if( uc != null )
 					 ret = (MatrixBlock)uc.getData().aggregateUnaryOperations(op, ret, blockingFactorRow, blockingFactorCol, indexesIn, false);					
 				//compute all compressed column groups
-				ExecutorService pool = Executors.newFixedThreadPool( op.getNumThreads() );
+				ExecutorService pool = CommonThreadPool.get( op.getNumThreads() );
 				ArrayList<UnaryAggregateTask> tasks = new ArrayList<UnaryAggregateTask>();
 				if( op.indexFn instanceof ReduceCol && grpParts.length > 0 ) {
 					int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
@@ -1262,7 +1370,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if( !isEmptyBlock(false) ) {
 			//compute matrix mult
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 				int numgrp = _colGroups.size();
 				int blklen = (int)(Math.ceil((double)numgrp/(2*k)));
@@ -1333,7 +1441,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				uc.rightMultByVector(vector, result, k);					
 			
 			//compute remaining compressed column groups in parallel
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int rlen = getNumRows();
 			int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
 			int blklen = (int)(Math.ceil((double)rlen/k));
@@ -1456,7 +1564,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				uc.leftMultByRowVector(vector, result, k);					
 			
 			//compute remaining compressed column groups in parallel
-			ExecutorService pool = Executors.newFixedThreadPool( Math.min(colGroups.size()-((uc!=null)?1:0), k) );
+			ExecutorService pool = CommonThreadPool.get( Math.min(colGroups.size()-((uc!=null)?1:0), k) );
 			ArrayList<LeftMatrixMultTask> tasks = new ArrayList<LeftMatrixMultTask>();
 			for( ColGroup grp : colGroups )
 				if( !(grp instanceof ColGroupUncompressed) )
@@ -1682,6 +1790,36 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 	}
 	
+	private static class ColGroupOperationTask implements Callable<ColGroup> 
+	{
+		private final ColGroup _group;
+		private final Operator _op;
+		private final double[] _v;
+		
+		protected ColGroupOperationTask( ColGroup group, Operator op, double[] v )  {
+			_group = group;
+			_op = op;
+			_v = v;
+		}
+		
+		@Override
+		public ColGroup call() throws DMLRuntimeException {
+			return execute(_group, _op, _v);
+		}
+		
+		protected static ColGroup execute(ColGroup group, Operator op, double[] v) 
+			throws DMLRuntimeException
+		{
+			if( op instanceof ScalarOperator )
+				return group.scalarOperation((ScalarOperator)op);
+			else if( op instanceof UnaryOperator )
+				return group.unaryOperation((UnaryOperator)op);
+			else if( op instanceof BinaryOperator )
+				return group.binaryRowVectorOperation((BinaryOperator)op, v);
+			throw new DMLRuntimeException("Unsupported column group operation: "+op.getClass().getSimpleName());
+		}
+	}
+	
 	private static class DecompressTask implements Callable<Object> 
 	{
 		private final List<ColGroup> _colGroups;
@@ -1724,14 +1862,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	//////////////////////////////////////////
 	// Graceful fallback to uncompressed linear algebra
 	
-	@Override
-	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
-			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.unaryOperations(op, result);
-	}
-
 	@Override
 	public void unaryOperationsInPlace(UnaryOperator op) 
 			throws DMLRuntimeException {
@@ -1740,15 +1870,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		tmp.unaryOperationsInPlace(op);
 	}
 
-	@Override
-	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
-			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		return left.binaryOperations(op, right, result);
-	}
-
 	@Override
 	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
 			throws DMLRuntimeException {
@@ -1782,11 +1903,107 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixBlock appendOperations(MatrixBlock that, MatrixBlock ret, boolean cbind) 
 		throws DMLRuntimeException {
 		if( cbind ) //use supported operation
-			return appendOperations(that, ret);			
-		printDecompressWarning("appendOperations-rbind", that);
-		MatrixBlock left = isCompressed() ? decompress() : this;
+			return appendOperations(that, ret);
+		
+		//call uncompressed matrix append if necessary
+		if( !isCompressed() )
+			return super.appendOperations(getUncompressed(that), ret, cbind);
+		if( clen != that.getNumColumns() )
+			throw new DMLRuntimeException("Invalid number of columns for rbind: "
+				+ clen + " vs " + that.getNumColumns() + ".");
+		
+		//init result matrix 
+		final int m = rlen+that.getNumRows();
+		CompressedMatrixBlock ret2 = null;
+		if( ret == null || !(ret instanceof CompressedMatrixBlock) ) {
+			ret2 = new CompressedMatrixBlock(m, clen, isInSparseFormat());
+		}
+		else {
+			ret2 = (CompressedMatrixBlock) ret;
+			ret2.reset(m, clen);
+		}
+		
+		//re-encode each column group with the appended rows (i.e., a full 
+		//re-compression per group, but w/o re-planning), which preserves the 
+		//column partitioning and compression types, and decompresses only 
+		//the columns of one group at a time into the packed output columns
 		MatrixBlock right = getUncompressed(that);
-		return left.appendOperations(right, ret, cbind);
+		int[] colIndexTargets = new int[clen];
+		ret2.allocateColGroupList();
+		for( ColGroup grp : _colGroups ) {
+			int[] cix = grp.getColIndices();
+			for( int j=0; j<cix.length; j++ )
+				colIndexTargets[cix[j]] = j;
+			MatrixBlock data = new MatrixBlock(m, cix.length, false);
+			data.allocateDenseBlock();
+			grp.decompressToBlock(data, colIndexTargets);
+			copyColumns(right, cix, data, rlen);
+			data.recomputeNonZeros();
+			data.examSparsity();
+			ret2._colGroups.add(compressColGroup(grp.getCompType(), cix, data));
+		}
+		
+		//meta data maintenance
+		ret2.setNonZeros(nonZeros+that.getNonZeros());
+		return ret2;
+	}
+	
+	private static void copyColumns(MatrixBlock in, int[] colIndices, MatrixBlock out, int rowOffset) {
+		//copy the given (sorted) columns of the input into the rows of the 
+		//dense output starting at the row offset (w/o nnz maintenance)
+		if( in.isEmptyBlock(false) )
+			return;
+		final int m = in.getNumRows();
+		final int n = colIndices.length;
+		double[] c = out.getDenseBlock();
+		if( in.isInSparseFormat() ) {
+			SparseBlock a = in.getSparseBlock();
+			for( int i=0, cix=rowOffset*n; i<m; i++, cix+=n ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int k=apos; k<apos+alen; k++ ) {
+					int j = Arrays.binarySearch(colIndices, aix[k]);
+					if( j >= 0 )
+						c[cix+j] = avals[k];
+				}
+			}
+		}
+		else {
+			double[] a = in.getDenseBlock();
+			final int clen = in.getNumColumns();
+			for( int i=0, aix=0, cix=rowOffset*n; i<m; i++, aix+=clen, cix+=n )
+				for( int j=0; j<n; j++ )
+					c[cix+j] = a[aix+colIndices[j]];
+		}
+	}
+	
+	private static ColGroup compressColGroup(CompressionType type, int[] colIndices, MatrixBlock data) 
+		throws DMLRuntimeException
+	{
+		final int m = data.getNumRows();
+		if( type == CompressionType.UNCOMPRESSED )
+			return new ColGroupUncompressed(colIndices, m, data);
+		
+		//extract bitmap of transposed input w/ local column indices
+		MatrixBlock tdata = LibMatrixReorg.transpose(data, 
+			new MatrixBlock(data.getNumColumns(), m, data.isInSparseFormat()));
+		int[] lcolIndices = new int[colIndices.length];
+		for( int j=0; j<colIndices.length; j++ )
+			lcolIndices[j] = j;
+		UncompressedBitmap ubm = BitmapEncoder.extractBitmap(lcolIndices, tdata);
+		
+		switch( type ) {
+			case DDC1:
+			case DDC2:
+				return (ubm.getNumValues()<=255) ?
+					new ColGroupDDC1(colIndices, m, ubm) :
+					new ColGroupDDC2(colIndices, m, ubm);
+			case RLE_BITMAP: return new ColGroupRLE(colIndices, m, ubm);
+			default:  return new ColGroupOLE(colIndices, m, ubm);
+		}
 	}
 	
 	@Override
@@ -1818,26 +2035,214 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public MatrixBlock leftIndexingOperations(MatrixBlock rhsMatrix, int rl, int ru, int cl, int cu, MatrixBlock ret, UpdateType update)
 			throws DMLRuntimeException {
-		printDecompressWarning("leftIndexingOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(rhsMatrix);
-		return left.leftIndexingOperations(right, rl, ru, cl, cu, ret, update);
+		//call uncompressed left indexing if necessary
+		if( !isCompressed() )
+			return super.leftIndexingOperations(getUncompressed(rhsMatrix), rl, ru, cl, cu, ret, update);
+		if( rl < 0 || rl >= rlen || ru < rl || ru >= rlen || cl < 0 || cu < cl || cu >= clen ) {
+			throw new DMLRuntimeException("Invalid values for matrix indexing: ["+(rl+1)+":"+(ru+1)+"," + (cl+1)+":"+(cu+1)+"] " +
+				"must be within matrix dimensions ["+rlen+","+clen+"].");
+		}
+		
+		//decompress the columns of all affected groups, and apply the update
+		CompressedMatrixBlock ret2 = new CompressedMatrixBlock(rlen, clen, false);
+		ColGroupUncompressed grp = decompressAffectedColumns(ret2, cl, cu);
+		int pos = Arrays.binarySearch(grp.getColIndices(), cl);
+		grp.getData().leftIndexingOperations(getUncompressed(rhsMatrix), 
+			rl, ru, pos, pos+cu-cl, grp.getData(), UpdateType.INPLACE);
+		return finalizeLeftIndexing(ret2, grp);
 	}
 
 	@Override
 	public MatrixBlock leftIndexingOperations(ScalarObject scalar, int rl, int cl, MatrixBlock ret, UpdateType update)
 			throws DMLRuntimeException {
-		printDecompressWarning("leftIndexingOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.leftIndexingOperations(scalar, rl, cl, ret, update);
+		//call uncompressed left indexing if necessary
+		if( !isCompressed() )
+			return super.leftIndexingOperations(scalar, rl, cl, ret, update);
+		
+		//decompress the columns of the affected group, and apply the update
+		CompressedMatrixBlock ret2 = new CompressedMatrixBlock(rlen, clen, false);
+		ColGroupUncompressed grp = decompressAffectedColumns(ret2, cl, cl);
+		int pos = Arrays.binarySearch(grp.getColIndices(), cl);
+		grp.getData().leftIndexingOperations(scalar, rl, pos, grp.getData(), UpdateType.INPLACE);
+		return finalizeLeftIndexing(ret2, grp);
+	}
+	
+	/**
+	 * Shallow copies all column groups that do not overlap with the column
+	 * range [cl,cu] into the given output, and decompresses the columns of all 
+	 * overlapping groups into a single uncompressed group, which is appended 
+	 * as the last group of the output.
+	 * 
+	 * @param ret output compressed matrix block
+	 * @param cl column lower (inclusive)
+	 * @param cu column upper (inclusive)
+	 * @return uncompressed column group of the affected columns
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private ColGroupUncompressed decompressAffectedColumns(CompressedMatrixBlock ret, int cl, int cu) 
+		throws DMLRuntimeException
+	{
+		ret.allocateColGroupList();
+		ArrayList<ColGroup> affected = new ArrayList<ColGroup>();
+		int numCols = 0;
+		for( ColGroup grp : _colGroups ) {
+			int[] cix = grp.getColIndices();
+			boolean overlap = false;
+			for( int j=0; j<cix.length & !overlap; j++ )
+				overlap = (cix[j] >= cl && cix[j] <= cu);
+			if( overlap ) {
+				affected.add(grp);
+				numCols += cix.length;
+			}
+			else
+				ret._colGroups.add(grp);
+		}
+		int[] colIndices = new int[numCols];
+		for( int pos=0, i=0; i<affected.size(); i++ ) {
+			int[] cix = affected.get(i).getColIndices();
+			System.arraycopy(cix, 0, colIndices, pos, cix.length);
+			pos += cix.length;
+		}
+		Arrays.sort(colIndices);
+		ColGroupUncompressed grp = new ColGroupUncompressed(
+			colIndices, rlen, decompressColumns(affected, colIndices));
+		ret._colGroups.add(grp);
+		return grp;
+	}
+	
+	private static MatrixBlock finalizeLeftIndexing(CompressedMatrixBlock ret, ColGroupUncompressed grp) 
+		throws DMLRuntimeException
+	{
+		grp.getData().examSparsity();
+		ret.setNonZeros(computeNonZeros(ret._colGroups, ret.rlen));
+		return ret;
 	}
 
 	@Override
 	public MatrixBlock sliceOperations(int rl, int ru, int cl, int cu, CacheBlock ret) 
 			throws DMLRuntimeException {
-		printDecompressWarning("sliceOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.sliceOperations(rl, ru, cl, cu, ret);
+		//call uncompressed slice if necessary
+		if( !isCompressed() )
+			return super.sliceOperations(rl, ru, cl, cu, ret);
+		
+		//column slices: shallow copy of covered column groups
+		if( rl == 0 && ru == rlen-1 )
+			return sliceColumns(cl, cu);
+		
+		//row slices: decompression of the covered rows only
+		return sliceRows(rl, ru).sliceOperations(0, ru-rl, cl, cu, ret);
+	}
+	
+	private CompressedMatrixBlock sliceColumns(int cl, int cu) 
+		throws DMLRuntimeException
+	{
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(rlen, cu-cl+1, false);
+		ret.allocateColGroupList();
+		
+		//shallow copy of fully covered groups w/ col index shifting,
+		//collect remaining columns of partially covered or uncompressed groups
+		ArrayList<ColGroup> partial = new ArrayList<ColGroup>();
+		int numPartialCols = 0;
+		for( ColGroup grp : _colGroups ) {
+			int[] cix = grp.getColIndices();
+			int cnt = 0;
+			for( int j=0; j<cix.length; j++ )
+				cnt += (cix[j] >= cl && cix[j] <= cu) ? 1 : 0;
+			if( cnt == cix.length && !(grp instanceof ColGroupUncompressed) ) {
+				ColGroup tmp = ConverterUtils.copyColGroup(grp);
+				tmp.shiftColIndices(-cl);
+				ret._colGroups.add(tmp);
+			}
+			else if( cnt > 0 ) {
+				partial.add(grp);
+				numPartialCols += cnt;
+			}
+		}
+		
+		//decompress remaining columns into a single uncompressed group
+		if( numPartialCols > 0 ) {
+			int[] colIndices = new int[numPartialCols];
+			for( int pos=0, j=cl; j<=cu; j++ )
+				for( ColGroup grp : partial )
+					if( Arrays.binarySearch(grp.getColIndices(), j) >= 0 )
+						colIndices[pos++] = j;
+			MatrixBlock data = decompressColumns(partial, colIndices);
+			for( int j=0; j<numPartialCols; j++ )
+				colIndices[j] -= cl;
+			ret._colGroups.add(new ColGroupUncompressed(colIndices, rlen, data));
+		}
+		
+		//meta data maintenance
+		ret.setNonZeros(computeNonZeros(ret._colGroups, rlen));
+		return ret;
+	}
+	
+	/**
+	 * Decompresses the given column groups directly into a dense block of 
+	 * their packed columns, and extracts the requested columns, which are 
+	 * required to be a contiguous range of the sorted columns of all groups.
+	 * 
+	 * @param groups column groups
+	 * @param colIndices sorted column indices to extract
+	 * @return matrix block of the requested columns
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private MatrixBlock decompressColumns(List<ColGroup> groups, int[] colIndices) 
+		throws DMLRuntimeException
+	{
+		//collect sorted columns of all groups
+		int numCols = 0;
+		for( ColGroup grp : groups )
+			numCols += grp.getNumCols();
+		int[] allCols = new int[numCols];
+		for( int pos=0, i=0; i<groups.size(); i++ ) {
+			int[] cix = groups.get(i).getColIndices();
+			System.arraycopy(cix, 0, allCols, pos, cix.length);
+			pos += cix.length;
+		}
+		Arrays.sort(allCols);
+		
+		//decompress all groups into the packed columns of a dense block
+		int[] colIndexTargets = new int[clen];
+		for( int j=0; j<numCols; j++ )
+			colIndexTargets[allCols[j]] = j;
+		MatrixBlock data = new MatrixBlock(rlen, numCols, false);
+		data.allocateDenseBlock();
+		for( ColGroup grp : groups )
+			grp.decompressToBlock(data, colIndexTargets);
+		data.recomputeNonZeros();
+		
+		//extract requested columns if necessary
+		if( numCols > colIndices.length ) {
+			int cl = Arrays.binarySearch(allCols, colIndices[0]);
+			data = data.sliceOperations(0, rlen-1, cl, cl+colIndices.length-1, new MatrixBlock());
+		}
+		data.examSparsity();
+		return data;
+	}
+	
+	private static long computeNonZeros(List<ColGroup> groups, int rlen) {
+		int[] rnnz = new int[rlen];
+		for( ColGroup grp : groups )
+			grp.countNonZerosPerRow(rnnz, 0, rlen);
+		long nnz = 0;
+		for( int i=0; i<rlen; i++ )
+			nnz += rnnz[i];
+		return nnz;
+	}
+	
+	private MatrixBlock sliceRows(int rl, int ru) {
+		//decompress rows [rl,ru] into a sparse block of ru-rl+1 rows
+		MatrixBlock tmp = new MatrixBlock(ru-rl+1, clen, true);
+		tmp.allocateSparseRowsBlock();
+		for( ColGroup grp : _colGroups )
+			grp.decompressToBlock(tmp, rl, ru+1, 0);
+		SparseBlock sblock = tmp.getSparseBlock();
+		for( int i=0; i<=ru-rl; i++ )
+			if( !sblock.isEmpty(i) )
+				sblock.sort(i);
+		tmp.recomputeNonZeros();
+		return tmp;
 	}
 
 	@Override
@@ -1907,6 +2312,15 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return left.sortOperations(right, result);
 	}
 
+	@Override
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k)
+			throws DMLRuntimeException {
+		printDecompressWarning("sortOperations");
+		MatrixBlock left = isCompressed() ? decompress(k) : this;
+		MatrixBlock right = getUncompressed(weights);
+		return left.sortOperations(right, result, k);
+	}
+
 	@Override
 	public MatrixValue aggregateBinaryOperations(MatrixIndexes m1Index,
 			MatrixValue m1Value, MatrixIndexes m2Index, MatrixValue m2Value,
@@ -601,14 +601,29 @@ public class ExternalFunctionProgramBlock extends FunctionProgramBlock
 		func.setConfiguration(configFile);
 		func.setBaseDir(_baseDir);
 		
-		//executes function
-		func.execute();
+		//executes function (and release pinned inputs, see Matrix.getMatrixBlock)
+		try {
+			func.execute();
+		}
+		finally {
+			releaseInputs(func);
+		}
 		
 		// verify output of function execution matches declaration
 		// and add outputs to variableMapping and Metadata
 		verifyAndAttachOutputs(ec, func, inst.getOutputParams());
 	}
 
+	private static void releaseInputs(PackageFunction func) 
+		throws DMLRuntimeException
+	{
+		for( int i=0; i<func.getNumFunctionInputs(); i++ ) {
+			FunctionParameter in = func.getFunctionInput(i);
+			if( in != null && in.getType() == FunctionParameterType.Matrix )
+				((Matrix) in).releaseMatrixBlock();
+		}
+	}
+
 	/**
 	 * Method to verify that function outputs match with declared outputs
 	 * 
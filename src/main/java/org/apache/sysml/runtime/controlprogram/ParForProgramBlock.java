@@ -81,6 +81,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFactoringCm
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysml.runtime.controlprogram.parfor.WorkStealingTaskQueue;
 import org.apache.sysml.runtime.controlprogram.parfor.mqo.RuntimePiggybacking;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimator;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimator.TestMeasure;
@@ -259,6 +260,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean USE_PB_CACHE                = false; // reuse copied program blocks whenever possible, not there can be issues related to recompile
 	public static       boolean USE_RANGE_TASKS_IF_USEFUL   = true;   	// use range tasks whenever size>3, false, otherwise wrong split order in remote 
 	public static final boolean USE_STREAMING_TASK_CREATION = true;  	// start working while still creating tasks, prevents blocking due to too small task queue
+	public static       boolean USE_WORK_STEALING_TASK_QUEUE = true;   // use lock-free per-worker task deques w/ work stealing for local parfor, monitor-based FIFO queue otherwise
 	public static final boolean ALLOW_NESTED_PARALLELISM	= true;    // if not, transparently change parfor to for on program conversions (local,remote)
 	public static       boolean ALLOW_REUSE_MR_JVMS         = true;    // potential benefits: less setup costs per task, NOTE> cannot be used MR4490 in Hadoop 1.0.3, still not fixed in 1.1.1
 	public static       boolean ALLOW_REUSE_MR_PAR_WORKER   = ALLOW_REUSE_MR_JVMS; //potential benefits: less initialization, reuse in-memory objects and result consolidation!
@@ -742,7 +744,8 @@ public class ParForProgramBlock extends ForProgramBlock
 		try
 		{
 			// Step 1) init parallel workers, task queue and threads
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<Task>();
+			LocalTaskQueue<Task> queue = USE_WORK_STEALING_TASK_QUEUE ?
+				new WorkStealingTaskQueue<Task>(_numThreads) : new LocalTaskQueue<Task>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			for( int i=0; i<_numThreads; i++ )
@@ -750,6 +753,7 @@ public class ParForProgramBlock extends ForProgramBlock
 				//create parallel workers as (lazy) deep copies
 				//including preparation of update-in-place variables
 				workers[i] = createParallelWorker( _pwIDs[i], queue, ec ); 
+				workers[i].setTaskQueuePosition( i );
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY); 
 			}
@@ -800,12 +804,16 @@ public class ParForProgramBlock extends ForProgramBlock
 			// Step 4) collecting results from each parallel worker
 			//obtain results
 			LocalVariableMap [] localVariables = new LocalVariableMap [_numThreads]; 
+			double queueWaitTime = 0;
 			for( int i=0; i<_numThreads; i++ )
 			{
 				localVariables[i] = workers[i].getVariables();
 				numExecutedTasks += workers[i].getExecutedTasks();
 				numExecutedIterations += workers[i].getExecutedIterations();			
+				queueWaitTime += workers[i].getQueueWaitTime();
 			}
+			if( DMLScript.STATISTICS )
+				Statistics.incrementParForQueueWaitTime((long) queueWaitTime);
 			//consolidate results into global symbol table
 			consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
 					                    localVariables );
@@ -1018,7 +1026,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		//        cannot reuse serialized string, since variables are serialized as well.
 		ParForBody body = new ParForBody(_childBlocks, _resultVars, ec);
 		HashMap<String, byte[]> clsMap = new HashMap<String, byte[]>();
-		String program = ProgramConverter.serializeParForBody(body, clsMap);
+		byte[] program = ProgramConverter.serializeParForBodyBinary(body, clsMap);
 		
 		if( _monitor ) 
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, time.stop());
@@ -1082,7 +1090,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		//        cannot reuse serialized string, since variables are serialized as well.
 		ParForBody body = new ParForBody( _childBlocks, _resultVars, ec );
 		HashMap<String, byte[]> clsMap = new HashMap<String, byte[]>(); 
-		String program = ProgramConverter.serializeParForBody( body, clsMap );
+		byte[] program = ProgramConverter.serializeParForBodyBinary( body, clsMap );
 		
 		if( _monitor ) 
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, time.stop());
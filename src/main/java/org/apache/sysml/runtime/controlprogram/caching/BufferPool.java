@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+
+/**
+ * Thread-safe, bounded pool of byte[], double[], and int[] arrays for reuse 
+ * across serialized write buffer entries, matrix block allocations, and 
+ * temporary blocks of readers. Arrays are pooled in size classes of exact 
+ * array length (because callers rely on the array length), maintained in 
+ * concurrent maps of concurrent deques. The pool has an explicit memory 
+ * budget: if adding an array exceeds the budget, arrays of other size 
+ * classes are evicted (oldest first within a size class), and arrays that 
+ * do not fit are dropped. Similarly, if the number of size classes is
+ * exceeded, empty size classes (or if none, an arbitrary size class 
+ * including its arrays) are removed to make room for the new size class.
+ * 
+ * NOTE: Arrays must only be returned to the pool if they are exclusively 
+ * owned by the caller, i.e., not shared with other matrix blocks.
+ */
+public class BufferPool 
+{
+	//min array size in bytes (small arrays are cheap to allocate)
+	private static final long MIN_POOL_SIZE = 32 * 1024;
+	//max number of different size classes
+	private static final int MAX_SIZE_CLASSES = 1024;
+	
+	//global size limit and current size in bytes
+	private static final long _limit;
+	private static final AtomicLong _size = new AtomicLong(0);
+	
+	//array pools by type
+	private static final ArrayPool<byte[]> _bytes = new ArrayPool<byte[]>(1);
+	private static final ArrayPool<double[]> _doubles = new ArrayPool<double[]>(8);
+	private static final ArrayPool<int[]> _ints = new ArrayPool<int[]>(4);
+	
+	static {
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		_limit = (long)(CacheableData.CACHING_BUFFER_POOL_SIZE * maxMem);
+	}
+	
+	/**
+	 * Obtains a byte array of the given length, whose content is 
+	 * undefined (i.e., the caller is expected to overwrite it).
+	 * 
+	 * @param len array length
+	 * @return byte array
+	 */
+	public static byte[] getBytes(int len) {
+		byte[] ret = _bytes.get(len);
+		return (ret != null) ? ret : new byte[len];
+	}
+	
+	/**
+	 * Obtains a 0-initialized double array of the given length.
+	 * 
+	 * @param len array length
+	 * @return double array
+	 */
+	public static double[] getDoubles(int len) {
+		double[] ret = _doubles.get(len);
+		if( ret == null )
+			return new double[len];
+		Arrays.fill(ret, 0);
+		return ret;
+	}
+	
+	/**
+	 * Obtains a 0-initialized int array of the given length.
+	 * 
+	 * @param len array length
+	 * @return int array
+	 */
+	public static int[] getInts(int len) {
+		int[] ret = _ints.get(len);
+		if( ret == null )
+			return new int[len];
+		Arrays.fill(ret, 0);
+		return ret;
+	}
+	
+	public static void putBytes(byte[] data) {
+		if( data != null )
+			_bytes.put(data, data.length);
+	}
+	
+	public static void putDoubles(double[] data) {
+		if( data != null )
+			_doubles.put(data, data.length);
+	}
+	
+	public static void putInts(int[] data) {
+		if( data != null )
+			_ints.put(data, data.length);
+	}
+	
+	/**
+	 * Returns the dense and CSR arrays of an exclusively owned (e.g., 
+	 * temporary) matrix block to the pool and cleans up the block.
+	 * 
+	 * @param mb matrix block
+	 */
+	public static void putBlock(MatrixBlock mb) {
+		if( mb == null || !CacheableData.CACHING_BUFFER_POOL )
+			return;
+		putDoubles(mb.getDenseBlock());
+		SparseBlock sblock = mb.getSparseBlock();
+		if( sblock instanceof SparseBlockCSR ) {
+			putInts(((SparseBlockCSR)sblock).indexes());
+			putDoubles(((SparseBlockCSR)sblock).values());
+		}
+		mb.cleanupBlock(true, true);
+	}
+	
+	/**
+	 * Gets the current size of pooled arrays in bytes.
+	 * 
+	 * @return size in bytes
+	 */
+	public static long getSize() {
+		return _size.get();
+	}
+	
+	public static void clear() {
+		_bytes.clear();
+		_doubles.clear();
+		_ints.clear();
+	}
+	
+	private static boolean isPooled(long bytes) {
+		return CacheableData.CACHING_BUFFER_POOL 
+			&& bytes >= MIN_POOL_SIZE && bytes <= _limit;
+	}
+	
+	private static boolean reserve(long bytes) {
+		//evict arrays until the new array fits into the budget
+		while( _size.addAndGet(bytes) > _limit ) {
+			_size.addAndGet(-bytes);
+			if( !_doubles.evictOne() && !_ints.evictOne() && !_bytes.evictOne() )
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Pool of arrays of a single type, organized by size classes
+	 * of exact array lengths.
+	 */
+	private static class ArrayPool<T>
+	{
+		private final ConcurrentHashMap<Integer, ConcurrentLinkedDeque<T>> _pool;
+		private final int _esize; //element size in bytes
+		
+		public ArrayPool(int esize) {
+			_pool = new ConcurrentHashMap<Integer, ConcurrentLinkedDeque<T>>();
+			_esize = esize;
+		}
+		
+		public T get(int len) {
+			long bytes = (long)len * _esize;
+			if( !isPooled(bytes) )
+				return null;
+			ConcurrentLinkedDeque<T> list = _pool.get(len);
+			T ret = (list != null) ? list.pollFirst() : null;
+			if( ret != null )
+				_size.addAndGet(-bytes);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementBufferPoolRequests(ret != null);
+			return ret;
+		}
+		
+		public void put(T data, int len) {
+			long bytes = (long)len * _esize;
+			if( !isPooled(bytes) )
+				return;
+			ConcurrentLinkedDeque<T> list = _pool.get(len);
+			if( list == null ) {
+				if( _pool.size() >= MAX_SIZE_CLASSES && !evictSizeClasses() )
+					return;
+				_pool.putIfAbsent(len, new ConcurrentLinkedDeque<T>());
+				list = _pool.get(len);
+				if( list == null )
+					return;
+			}
+			boolean pooled = reserve(bytes);
+			if( pooled ) {
+				list.addFirst(data);
+				//handle concurrent removal of the size class
+				if( _pool.get(len) != list && list.removeFirstOccurrence(data) ) {
+					_size.addAndGet(-bytes);
+					pooled = false;
+				}
+			}
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementBufferPoolReleases(pooled);
+		}
+		
+		public boolean evictOne() {
+			for( Integer len : _pool.keySet() ) {
+				ConcurrentLinkedDeque<T> list = _pool.get(len);
+				if( list != null && list.pollLast() != null ) {
+					_size.addAndGet(-(long)len * _esize);
+					if( DMLScript.STATISTICS )
+						CacheStatistics.incrementBufferPoolEvictions();
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		public void clear() {
+			for( Integer len : _pool.keySet() )
+				removeSizeClass(len);
+		}
+		
+		private boolean evictSizeClasses() {
+			//remove empty size classes, which are never reused otherwise
+			boolean ret = false;
+			for( Integer len : _pool.keySet() ) {
+				ConcurrentLinkedDeque<T> list = _pool.get(len);
+				if( list != null && list.isEmpty() && _pool.remove(len, list) ) {
+					removeArrays(len, list); //concurrently added arrays
+					ret = true;
+				}
+			}
+			//remove an arbitrary size class if all size classes are in use
+			if( !ret )
+				for( Integer len : _pool.keySet() )
+					if( removeSizeClass(len) )
+						return true;
+			return ret;
+		}
+		
+		private boolean removeSizeClass(Integer len) {
+			ConcurrentLinkedDeque<T> list = _pool.get(len);
+			if( list == null || !_pool.remove(len, list) )
+				return false;
+			removeArrays(len, list);
+			return true;
+		}
+		
+		private void removeArrays(Integer len, ConcurrentLinkedDeque<T> list) {
+			while( list.pollFirst() != null ) {
+				_size.addAndGet(-(long)len * _esize);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementBufferPoolEvictions();
+			}
+		}
+	}
+}
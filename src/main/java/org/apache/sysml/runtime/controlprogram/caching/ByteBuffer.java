@@ -25,6 +25,7 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
 
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.EvictionKey;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
@@ -39,8 +40,14 @@ public class ByteBuffer
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
+	private volatile boolean _mapped;
 	private final long _size;
 	
+	//eviction state (guarded by this), and current eviction queue key
+	private boolean _evicted = false;
+	private boolean _freed = false;
+	private volatile EvictionKey _key = null;
+	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
 	
@@ -54,18 +61,21 @@ public class ByteBuffer
 	{	
 		_shallow = cb.isShallowSerialize();
 		_matrix = (cb instanceof MatrixBlock);
+		_mapped = MappedSpillFile.isApplicable(cb);
 		
 		try
 		{
 			if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
 				//deep serialize (for compression)
-				if( CacheableData.CACHING_BUFFER_PAGECACHE )
-					_bdata = PageCache.getPage((int)_size);
-				if( _bdata==null )
-					_bdata = new byte[(int)_size];
-				DataOutput dout = new CacheDataOutput(_bdata);
-				cb.write(dout);
+				_bdata = BufferPool.getBytes((int)_size);
+				if( _mapped ) { //spill format
+					MappedSpillFile.writeToBuffer((MatrixBlock)cb, _bdata);
+				}
+				else {
+					DataOutput dout = new CacheDataOutput(_bdata);
+					cb.write(dout);
+				}
 			}
 			else //SPARSE/DENSE -> DENSE
 			{
@@ -85,7 +95,10 @@ public class ByteBuffer
 	{
 		CacheBlock ret = null;
 		
-		if( !_shallow ) { //sparse matrix / string frame
+		if( !_shallow && _mapped ) { //sparse matrix (spill format)
+			ret = MappedSpillFile.readFromBuffer(_bdata);
+		}
+		else if( !_shallow ) { //sparse matrix / string frame
 			DataInput din = _matrix ? new CacheDataInput(_bdata) :
 				new DataInputStream(new ByteArrayInputStream(_bdata));
 			ret = _matrix ? new MatrixBlock() : new FrameBlock();
@@ -105,6 +118,10 @@ public class ByteBuffer
 			//write out byte serialized array
 			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
 		}
+		else if( _mapped ) {
+			//write matrix block in spill format
+			MappedSpillFile.writeToLocal(fname, (MatrixBlock)_cdata);
+		}
 		else {
 			//serialize cache block to output stream
 			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
@@ -124,12 +141,48 @@ public class ByteBuffer
 		return _shallow;
 	}
 	
+	public EvictionKey getEvictionKey() {
+		return _key;
+	}
+	
+	public void setEvictionKey(EvictionKey key) {
+		_key = key;
+	}
+	
+	/**
+	 * Indicates if the buffer has been written to local FS.
+	 * NOTE: caller is expected to synchronize on the buffer.
+	 * 
+	 * @return true if evicted
+	 */
+	public boolean isEvicted() {
+		return _evicted;
+	}
+	
+	public void setEvicted() {
+		_evicted = true;
+	}
+	
+	/**
+	 * Indicates if the buffer memory has been released.
+	 * NOTE: caller is expected to synchronize on the buffer.
+	 * 
+	 * @return true if freed
+	 */
+	public boolean isFreed() {
+		return _freed;
+	}
+	
 	public void freeMemory()
 	{
+		//robustness for repeated calls (e.g., concurrent evict and delete)
+		if( _freed )
+			return;
+		_freed = true;
+		
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
-				PageCache.putPage(_bdata);
+			BufferPool.putBytes(_bdata);
 			_bdata = null;
 		}
 		else {
@@ -21,6 +21,8 @@ package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+
 /**
  * This singleton provides basic caching statistics in CP.
  * 
@@ -65,6 +67,24 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//eviction statistics write buffer
+	private static final LongAdder _numEvictSync    = new LongAdder();
+	private static final LongAdder _numEvictAsync   = new LongAdder();
+	private static final LongAdder _ctimeEvict      = new LongAdder(); //in nano sec
+	
+	//write buffer statistics per replacement policy (hits, misses, sync/async evictions)
+	private static final LongAdder[] _numPolicyHits       = createAdders(RPolicy.values().length);
+	private static final LongAdder[] _numPolicyMisses     = createAdders(RPolicy.values().length);
+	private static final LongAdder[] _numPolicyEvictSync  = createAdders(RPolicy.values().length);
+	private static final LongAdder[] _numPolicyEvictAsync = createAdders(RPolicy.values().length);
+	
+	//buffer pool statistics (array reuse)
+	private static final LongAdder _numPoolHits     = new LongAdder();
+	private static final LongAdder _numPoolMisses   = new LongAdder();
+	private static final LongAdder _numPoolPuts     = new LongAdder();
+	private static final LongAdder _numPoolDrops    = new LongAdder();
+	private static final LongAdder _numPoolEvicts   = new LongAdder();
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -80,6 +100,22 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		_numEvictSync.reset();
+		_numEvictAsync.reset();
+		_ctimeEvict.reset();
+		for( int i=0; i<_numPolicyHits.length; i++ ) {
+			_numPolicyHits[i].reset();
+			_numPolicyMisses[i].reset();
+			_numPolicyEvictSync[i].reset();
+			_numPolicyEvictAsync[i].reset();
+		}
+		
+		_numPoolHits.reset();
+		_numPoolMisses.reset();
+		_numPoolPuts.reset();
+		_numPoolDrops.reset();
+		_numPoolEvicts.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -198,6 +234,76 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void incrementEvictions(RPolicy policy, boolean async, long delta) {
+		if( async ) {
+			_numEvictAsync.increment();
+			_numPolicyEvictAsync[policy.ordinal()].increment();
+		}
+		else {
+			_numEvictSync.increment();
+			_numPolicyEvictSync[policy.ordinal()].increment();
+		}
+		_ctimeEvict.add(delta);
+	}
+	
+	public static void incrementWriteBufferRequests(RPolicy policy, boolean hit) {
+		if( hit )
+			_numPolicyHits[policy.ordinal()].increment();
+		else
+			_numPolicyMisses[policy.ordinal()].increment();
+	}
+	
+	public static long getWriteBufferHits(RPolicy policy) {
+		return _numPolicyHits[policy.ordinal()].longValue();
+	}
+	
+	public static long getWriteBufferMisses(RPolicy policy) {
+		return _numPolicyMisses[policy.ordinal()].longValue();
+	}
+	
+	public static long getEvictions(RPolicy policy, boolean async) {
+		return async ? _numPolicyEvictAsync[policy.ordinal()].longValue() :
+			_numPolicyEvictSync[policy.ordinal()].longValue();
+	}
+	
+	public static long getSyncEvictions() {
+		return _numEvictSync.longValue();
+	}
+	
+	public static long getAsyncEvictions() {
+		return _numEvictAsync.longValue();
+	}
+	
+	public static long getEvictionTime() {
+		return _ctimeEvict.longValue();
+	}
+	
+	public static void incrementBufferPoolRequests(boolean hit) {
+		if( hit )
+			_numPoolHits.increment();
+		else
+			_numPoolMisses.increment();
+	}
+	
+	public static void incrementBufferPoolReleases(boolean pooled) {
+		if( pooled )
+			_numPoolPuts.increment();
+		else
+			_numPoolDrops.increment();
+	}
+	
+	public static void incrementBufferPoolEvictions() {
+		_numPoolEvicts.increment();
+	}
+	
+	public static long getBufferPoolHits() {
+		return _numPoolHits.longValue();
+	}
+	
+	public static long getBufferPoolMisses() {
+		return _numPoolMisses.longValue();
+	}
+	
 	public static String displayHits() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -234,4 +340,63 @@ public class CacheStatistics
 		
 		return sb.toString();
 	}
+	
+	public static String displayEvictions() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numEvictSync.longValue());
+		sb.append("/");
+		sb.append(_numEvictAsync.longValue());
+		sb.append(", ");
+		sb.append(String.format("%.3f", ((double)_ctimeEvict.longValue())/1000000000)); //in sec
+		sb.append(" sec");
+		
+		return sb.toString();
+	}
+	
+	public static String displayPolicyStats() {
+		StringBuilder sb = new StringBuilder();
+		for( RPolicy policy : RPolicy.values() ) {
+			int ix = policy.ordinal();
+			//show only used policies, but at least the current policy
+			if( policy != LazyWriteBuffer.getReplacementPolicy() 
+				&& _numPolicyHits[ix].longValue() + _numPolicyMisses[ix].longValue()
+				+ _numPolicyEvictSync[ix].longValue() + _numPolicyEvictAsync[ix].longValue() == 0 )
+				continue;
+			if( sb.length() > 0 )
+				sb.append(", ");
+			sb.append(policy.name().toLowerCase());
+			sb.append(" ");
+			sb.append(_numPolicyHits[ix].longValue());
+			sb.append("/");
+			sb.append(_numPolicyMisses[ix].longValue());
+			sb.append("/");
+			sb.append(_numPolicyEvictSync[ix].longValue());
+			sb.append("/");
+			sb.append(_numPolicyEvictAsync[ix].longValue());
+		}
+		
+		return sb.toString();
+	}
+	
+	private static LongAdder[] createAdders(int len) {
+		LongAdder[] ret = new LongAdder[len];
+		for( int i=0; i<len; i++ )
+			ret[i] = new LongAdder();
+		return ret;
+	}
+	
+	public static String displayBufferPool() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPoolHits.longValue());
+		sb.append("/");
+		sb.append(_numPoolMisses.longValue());
+		sb.append(", ");
+		sb.append(_numPoolPuts.longValue());
+		sb.append("/");
+		sb.append(_numPoolDrops.longValue());
+		sb.append("/");
+		sb.append(_numPoolEvicts.longValue());
+		
+		return sb.toString();
+	}
 }
@@ -71,11 +71,17 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long 	CACHING_THRESHOLD = 4*1024; //obj not s.t. caching if below threshold [in bytes]
 	public static final double 	CACHING_BUFFER_SIZE = 0.15; 
 	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
-	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static final boolean CACHING_BUFFER_POOL = true; //reuse of byte/double/int arrays
+	public static final double  CACHING_BUFFER_POOL_SIZE = 0.05; 
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static final boolean CACHING_ASYNC_EVICTION = true;   //background eviction between watermarks
+	public static final double  CACHING_EVICTION_HIGH_WATERMARK = 0.9; //start async eviction above
+	public static final double  CACHING_EVICTION_LOW_WATERMARK = 0.7;  //stop async eviction below
+	public static final int     CACHING_EVICTION_THREADS = 2; 
+	public static final boolean CACHING_MAPPED_SPILL = true; //mmap spill format for matrix blocks
     
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -181,6 +187,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private String  _cacheFileName = null; //local eviction file name
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
+	private boolean _pinnedInMemory = false; //flag if obj pinned in-memory (no eviction)
+	private int     _numPinnedReads = 0;     //number of fast-path reads of pinned obj
 	
 	//spark-specific handles
 	//note: we use the abstraction of LineageObjects for two reasons: (1) to keep track of cleanup
@@ -237,6 +245,28 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return _cleanupFlag;
 	}
 
+	/**
+	 * Enables or disables the pinning of the associated data object
+	 * in memory. Pinned objects are never evicted, and read-only acquires
+	 * and releases of cached objects skip all cache status transitions, 
+	 * which reduces the per-access overhead for small in-memory inputs. 
+	 * Pinned objects must not be modified in place while pinned.
+	 * 
+	 * @param flag true if pinned in-memory
+	 */
+	public synchronized void setPinnedInMemory(boolean flag) {
+		_pinnedInMemory = flag;
+	}
+	
+	/**
+	 * Indicates if the associated data object is pinned in memory.
+	 * 
+	 * @return true if pinned in-memory
+	 */
+	public boolean isPinnedInMemory() {
+		return _pinnedInMemory;
+	}
+
 	public void setVarName(String s) {
 		_varName = s;
 	}
@@ -373,6 +403,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public synchronized T acquireRead()
 		throws CacheException
 	{
+		//fast path for pinned in-memory objects (no status transitions)
+		if( _pinnedInMemory && _data != null && isCached(false) ) {
+			_numPinnedReads++;
+			return _data;
+		}
+		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Acquire read "+getVarName());
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
@@ -567,6 +603,13 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public synchronized void release() 
 		throws CacheException
 	{
+		//fast path for pinned in-memory objects (see acquireRead),
+		//where redundant releases fall through to the status check
+		if( _numPinnedReads > 0 && isCached(false) ) {
+			_numPinnedReads--;
+			return;
+		}
+		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Release "+getVarName());
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
@@ -591,6 +634,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		if(    isCachingActive() //only if caching is enabled (otherwise keep everything in mem)
 			&& isCached(true)    //not empty and not read/modify
+			&& !_pinnedInMemory  //not pinned in memory
 			&& !isBelowCachingThreshold() ) //min size for caching
 		{
 			if( write || _requiresLocalWrite ) 
@@ -20,47 +20,80 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
+/**
+ * Concurrent write buffer for evicted cache blocks. Buffer entries are 
+ * maintained in a concurrent hash map (for get/insert/delete by filename) 
+ * and a concurrent, ordered eviction queue (for victim selection according 
+ * to the replacement policy), which avoids a global lock on the buffer pool.
+ * If the buffer exceeds its high watermark, background eviction threads 
+ * write entries to local FS until the low watermark is reached; writers 
+ * only evict synchronously if the buffer limit would be exceeded.
+ * 
+ * Concurrent eviction, read, and delete of the same entry is synchronized 
+ * on the individual byte buffer: an entry remains in the buffer until it 
+ * is written to local FS, and it is only freed afterwards.
+ */
 public class LazyWriteBuffer 
 {
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
+	
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		COST, //cost-aware eviction (lowest eviction cost per freed byte first)
 	}
 	
+	//fixed per-file eviction overhead in bytes (for cost-aware eviction) 
+	private static final double FILE_OVERHEAD = 64*1024;
+	
 	//global size limit in bytes
-	private static final long _limit; 
+	private static long _limit; 
 	
 	//current size in bytes
-	private static long _size;  
+	private static final AtomicLong _size = new AtomicLong(0);
 	
-	//eviction queue of <filename,buffer> pairs (implemented via linked hash map 
-	//for (1) queue semantics and (2) constant time get/insert/delete operations)
+	//buffer entries of <filename,buffer> pairs and eviction queue of 
+	//<key,filename> pairs ordered by the replacement policy 
+	private static ConcurrentHashMap<String, ByteBuffer> _mBuffer;
 	private static EvictionQueue _mQueue;
+	private static RPolicy _policy = CacheableData.CACHING_BUFFER_POLICY;
+	
+	//background eviction between high and low watermark
+	private static Evictor _evictor;
 	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
 	static {
 		//obtain the logical buffer size in bytes
-		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
-		_limit = (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+		_limit = getWriteBufferSize();
 	}
 
 	public static void writeBlock( String fname, CacheBlock cb ) 
 		throws IOException
 	{	
 		//obtain basic meta data of cache block
-		long lSize = cb.getExactSerializedSize();  
+		boolean mapped = MappedSpillFile.isApplicable(cb);
+		long lSize = mapped ? MappedSpillFile.getSpillSize((MatrixBlock)cb) :
+			cb.getExactSerializedSize();  
 		boolean requiresWrite = (   lSize > _limit  //global buffer limit
 			|| !ByteBuffer.isValidCapacity(lSize, cb) ); //local buffer limit
 	
@@ -69,48 +102,34 @@ public class LazyWriteBuffer
 		{			
 			//create byte buffer handle (no block allocation yet)
 			ByteBuffer bbuff = new ByteBuffer( lSize );
-			int numEvicted = 0;
 			
-			//modify buffer pool
-			synchronized( _mQueue )
-			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize >= _limit )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size-=tmp.getSize();
-						numEvicted++;
-					}
-				}
-				
-				//put placeholder into buffer pool (reserve mem) 
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;	
-			}
+			//evict matrices to make room (synchronously if above limit)
+			while( _size.get()+lSize >= _limit && evictOne(false) );
+			
+			//put placeholder into buffer pool (reserve mem) 
+			ByteBuffer old = _mBuffer.put(fname, bbuff);
+			if( old != null ) //robustness for overwrites 
+				removeEntry(fname, old);
+			_size.addAndGet(lSize);
+			_mQueue.add(fname, bbuff, cb.isShallowSerialize());
 			
-			//serialize matrix (outside synchronized critical path)
+			//serialize matrix (outside critical path)
 			bbuff.serializeBlock(cb); 
 			
-			if( DMLScript.STATISTICS ) {
+			//trigger background eviction if above high watermark
+			if( _evictor != null )
+				_evictor.checkWatermark();
+			
+			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffWrites();
-				CacheStatistics.incrementFSWrites(numEvicted);
-			}
 		}	
 		else
 		{
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			if( mapped )
+				MappedSpillFile.writeToLocal(fname, (MatrixBlock)cb);
+			else
+				LocalFileUtils.writeCacheBlockToLocal(fname, cb);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSWrites();
 		}	
@@ -120,16 +139,10 @@ public class LazyWriteBuffer
 	{
 		boolean requiresDelete = true;
 		
-		synchronized( _mQueue )
-		{
-			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
-			if( ldata != null ) {
-				_size -= ldata.getSize(); 
-				requiresDelete = false;
-				ldata.freeMemory(); //cleanup
-			}
-		}
+		//remove buffer entry
+		ByteBuffer ldata = _mBuffer.remove(fname);
+		if( ldata != null )
+			requiresDelete = removeEntry(fname, ldata);
 		
 		//delete from FS if required
 		if( requiresDelete )
@@ -140,55 +153,78 @@ public class LazyWriteBuffer
 		throws IOException
 	{
 		CacheBlock cb = null;
-		ByteBuffer ldata = null;
 		
 		//probe write buffer
-		synchronized( _mQueue )
-		{
-			ldata = _mQueue.get(fname);
-			
-			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
-				&& ldata != null )
-			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+		ByteBuffer ldata = _mBuffer.get(fname);
+		if( ldata != null ) {
+			synchronized( ldata ) {
+				//deserialize if not freed by concurrent eviction, 
+				//otherwise the block has already been written to FS
+				if( !ldata.isFreed() ) {
+					ldata.checkSerialized();
+					cb = ldata.deserializeBlock();
+				}
 			}
+			//modify eviction order (accordingly to access)
+			if( cb != null && _policy == RPolicy.LRU )
+				_mQueue.touch(fname, ldata);
 		}
 		
 		//deserialize or read from FS if required
-		if( ldata != null )
-		{
-			cb = ldata.deserializeBlock();
-			if( DMLScript.STATISTICS )
+		if( cb != null ) {
+			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSBuffHits();
+				CacheStatistics.incrementWriteBufferRequests(_policy, true);
+			}
 		}
-		else
-		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix); 
-			if( DMLScript.STATISTICS )
+		else {
+			cb = (matrix && CacheableData.CACHING_MAPPED_SPILL) ?
+				MappedSpillFile.readFromLocal(fname) :
+				LocalFileUtils.readCacheBlockFromLocal(fname, matrix); 
+			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSHits();
+				CacheStatistics.incrementWriteBufferRequests(_policy, false);
+			}
 		}
 		
 		return cb;
 	}
 
 	public static void init() {
-		_mQueue = new EvictionQueue();
+		init(getPolicy(), getWriteBufferSize());
+	}
+	
+	/**
+	 * Initializes the write buffer with the given replacement policy
+	 * and size limit in bytes.
+	 * NOTE: use only for debugging or testing, otherwise use {@link #init()}.
+	 * 
+	 * @param policy replacement policy
+	 * @param limit buffer size limit in bytes
+	 */
+	public static void init(RPolicy policy, long limit) {
+		_limit = limit;
+		_policy = policy;
+		_mBuffer = new ConcurrentHashMap<String, ByteBuffer>();
+		_mQueue = new EvictionQueue(_policy);
+		_evictor = CacheableData.CACHING_ASYNC_EVICTION ? new Evictor() : null;
 		_fClean = new FileCleaner();
-		_size = 0;
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.init();
+		_size.set(0);
 	}
 
 	public static void cleanup() {
+		if( _evictor != null )
+			_evictor.close();
+		if( _mBuffer != null ) {
+			for( Entry<String, ByteBuffer> e : _mBuffer.entrySet() )
+				removeEntry(e.getKey(), e.getValue());
+			_mBuffer.clear();
+		}
 		if( _mQueue != null )
 			_mQueue.clear();
 		if( _fClean != null )
 			_fClean.close();
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.clear();
+		BufferPool.clear();
 	}
 
 	public static long getWriteBufferSize() {
@@ -196,6 +232,20 @@ public class LazyWriteBuffer
 		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
 	}
 	
+	public static RPolicy getReplacementPolicy() {
+		return _policy;
+	}
+	
+	/**
+	 * Returns the current size of all buffer entries in bytes.
+	 * NOTE: use only for debugging or testing.
+	 * 
+	 * @return buffer size in bytes
+	 */
+	public static long getSize() {
+		return _size.get();
+	}
+	
 	/**
 	 * Print current status of buffer pool, including all entries.
 	 * NOTE: use only for debugging or testing.  
@@ -209,16 +259,16 @@ public class LazyWriteBuffer
 		//print buffer meta data
 		System.out.println("\tWB: Buffer Meta Data: " +
 				     "limit="+_limit+", " +
-				     "size[bytes]="+_size+", " +
-				     "size[elements]="+_mQueue.size()+"/"+_mQueue.size());
+				     "size[bytes]="+_size.get()+", " +
+				     "size[elements]="+_mBuffer.size()+"/"+_mQueue.size()+", " +
+				     "policy="+_policy);
 		
-		//print current buffer entries
+		//print current buffer entries (in eviction order)
 		int count = _mQueue.size();
-		for( Entry<String, ByteBuffer> entry : _mQueue.entrySet() )
+		for( String fname : _mQueue.values() )
 		{
-			String fname = entry.getKey();
-			ByteBuffer bbuff = entry.getValue();
-			
+			ByteBuffer bbuff = _mBuffer.get(fname);
+			if( bbuff == null ) continue;
 			System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
 			count--;
 		}
@@ -234,47 +284,228 @@ public class LazyWriteBuffer
 		throws IOException 
 	{
 		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
+		while( evictOne(false) );
+		//wait for pending background evictions
+		if( _evictor != null )
+			_evictor.awaitInactive();
+	}
+	
+	/**
+	 * Evicts the next entry of the eviction queue to local FS. 
+	 * 
+	 * @param async true if called by background eviction threads
+	 * @return true if an entry was evicted, false if the queue was empty
+	 * @throws IOException if IOException occurs
+	 */
+	private static boolean evictOne(boolean async) 
+		throws IOException
+	{
+		//remove first entry from eviction queue (thread-safe)
+		Entry<EvictionKey, String> qentry = _mQueue.pollFirstEntry();
+		if( qentry == null )
+			return false;
+		String fname = qentry.getValue();
+		ByteBuffer bbuff = _mBuffer.get(fname);
+		if( bbuff == null || bbuff.getEvictionKey() != qentry.getKey() )
+			return true; //deleted or replaced entry
+		
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		synchronized( bbuff ) {
+			if( bbuff.isFreed() ) //deleted concurrently
+				return true;
+			//wait for pending serialization
+			bbuff.checkSerialized();
+			//evict matrix
+			bbuff.evictBuffer(fname);
+			bbuff.setEvicted();
+		}
+		
+		//remove entry and release memory 
+		if( _mBuffer.remove(fname, bbuff) ) {
+			synchronized( bbuff ) {
+				bbuff.freeMemory();
 			}
+			_size.addAndGet(-bbuff.getSize());
+		}
+		
+		if( DMLScript.STATISTICS ) {
+			CacheStatistics.incrementFSWrites();
+			CacheStatistics.incrementEvictions(_policy, async, System.nanoTime()-t0);
 		}
+		return true;
 	}
 	
 	/**
-	 * Extended LinkedHashMap with convenience methods for adding and removing 
-	 * last/first entries.
+	 * Removes an entry that has already been removed from the buffer 
+	 * map and releases its memory. 
 	 * 
+	 * @param fname file name
+	 * @param bbuff byte buffer
+	 * @return true if the entry has already been written to local FS
+	 */
+	private static boolean removeEntry(String fname, ByteBuffer bbuff) {
+		_mQueue.remove(bbuff);
+		boolean evicted = false;
+		synchronized( bbuff ) {
+			evicted = bbuff.isEvicted();
+			bbuff.freeMemory();
+		}
+		_size.addAndGet(-bbuff.getSize());
+		return evicted;
+	}
+	
+	private static RPolicy getPolicy() {
+		String policy = ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.CP_CACHING_POLICY);
+		try {
+			return RPolicy.valueOf(policy.trim().toUpperCase());
+		}
+		catch(Exception ex) {
+			LOG.warn("Unknown buffer replacement policy '"+policy+"', "
+				+ "using default "+CacheableData.CACHING_BUFFER_POLICY+".");
+			return CacheableData.CACHING_BUFFER_POLICY;
+		}
+	}
+	
+	/**
+	 * Eviction queue key, ordered by the priority of the replacement
+	 * policy (lower first) and a global sequence number (older first).
+	 */
+	protected static class EvictionKey implements Comparable<EvictionKey>
+	{
+		private final double _prio;
+		private final long _seq;
+		
+		public EvictionKey(double prio, long seq) {
+			_prio = prio;
+			_seq = seq;
+		}
+		
+		@Override
+		public int compareTo(EvictionKey that) {
+			int ret = Double.compare(_prio, that._prio);
+			return (ret != 0) ? ret : Long.compare(_seq, that._seq);
+		}
+	}
+	
+	/**
+	 * Concurrent, ordered eviction queue based on a skip list, where the 
+	 * current key of an entry is maintained in its byte buffer. Entries are
+	 * only reinserted (LRU) if still present, which ensures that concurrent 
+	 * eviction and access never duplicate or lose entries.
 	 */
-	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
+	private static class EvictionQueue extends ConcurrentSkipListMap<EvictionKey, String>
 	{
 		private static final long serialVersionUID = -5208333402581364859L;
 		
-		public void addLast( String fname, ByteBuffer bbuff ) {
+		private final RPolicy _policy;
+		private final AtomicLong _seq = new AtomicLong(0);
+		
+		public EvictionQueue(RPolicy policy) {
+			_policy = policy;
+		}
+		
+		public void add( String fname, ByteBuffer bbuff, boolean shallow ) {
 			//put entry into eviction queue w/ 'addLast' semantics
-			put(fname, bbuff);
+			double prio = 0;
+			if( _policy == RPolicy.COST ) {
+				//estimated eviction cost per freed byte: shallow entries 
+				//require serialization, all entries require the file write
+				prio = (shallow ? 1 : 0) + FILE_OVERHEAD / Math.max(bbuff.getSize(), 1);
+			}
+			EvictionKey key = new EvictionKey(prio, _seq.incrementAndGet());
+			bbuff.setEvictionKey(key);
+			put(key, fname);
 		}
 		
-		public Entry<String, ByteBuffer> removeFirst() 
-		{
-			//move iterator to first entry
-			Iterator<Entry<String, ByteBuffer>> iter = entrySet().iterator();
-			Entry<String, ByteBuffer> entry = iter.next();
-			
-			//remove current iterator entry
-			iter.remove();
-			
-			return entry;
+		public void touch( String fname, ByteBuffer bbuff ) {
+			//reinsert entry at end of eviction queue, if not evicted yet
+			EvictionKey old = bbuff.getEvictionKey();
+			if( old != null && remove(old) != null ) {
+				EvictionKey key = new EvictionKey(old._prio, _seq.incrementAndGet());
+				bbuff.setEvictionKey(key);
+				put(key, fname);
+			}
+		}
+		
+		public void remove( ByteBuffer bbuff ) {
+			EvictionKey key = bbuff.getEvictionKey();
+			if( key != null )
+				remove(key);
+		}
+	}
+	
+	/**
+	 * Background eviction service that evicts entries via a small thread
+	 * pool as soon as the buffer exceeds its high watermark, until the 
+	 * low watermark is reached. This keeps local file writes off the 
+	 * critical path of writers.
+	 */
+	private static class Evictor
+	{
+		private final ExecutorService _pool;
+		private final AtomicInteger _active = new AtomicInteger(0); //num active tasks
+		private final long _high;
+		private final long _low;
+		
+		public Evictor() {
+			_pool = Executors.newFixedThreadPool(
+				CacheableData.CACHING_EVICTION_THREADS, new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread t = new Thread(r, "LazyWriteBuffer-Evictor");
+						t.setDaemon(true);
+						return t;
+					}
+				});
+			_high = (long)(CacheableData.CACHING_EVICTION_HIGH_WATERMARK * _limit);
+			_low = (long)(CacheableData.CACHING_EVICTION_LOW_WATERMARK * _limit);
+		}
+		
+		public void checkWatermark() {
+			//start eviction tasks if above high watermark and not yet active
+			//(inactive only after all tasks of the previous round finished)
+			int numTasks = CacheableData.CACHING_EVICTION_THREADS;
+			if( _size.get() > _high && _active.compareAndSet(0, numTasks) ) {
+				for( int i=0; i<numTasks; i++ )
+					_pool.submit(new EvictionTask());
+			}
+		}
+		
+		public void awaitInactive() throws IOException {
+			synchronized( _active ) {
+				try {
+					while( _active.get() > 0 )
+						_active.wait();
+				}
+				catch(InterruptedException ex) {
+					throw new IOException(ex);
+				}
+			}
+		}
+		
+		public void close() {
+			_pool.shutdownNow();
+		}
+		
+		private class EvictionTask implements Runnable {
+			@Override
+			public void run() {
+				try {
+					while( _size.get() > _low && evictOne(true) );
+				}
+				catch(Exception ex) {
+					LOG.error("Failed asynchronous buffer eviction.", ex);
+				}
+				finally {
+					//inactive only after the last task finished
+					if( _active.decrementAndGet() == 0 ) {
+						synchronized( _active ) {
+							_active.notifyAll();
+						}
+					}
+				}
+			}
 		}
 	}
 	
@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.hadoop.io.nativeio.NativeIO;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+
+/**
+ * Local spill format for evicted matrix blocks, which is written once and read
+ * back via NIO memory-mapped files. In contrast to the writable format, dense
+ * values as well as sparse values, row pointers, and column indexes are stored 
+ * as contiguous arrays in native byte order, which allows to restore blocks via 
+ * bulk copies instead of per-element DataInput parsing. The same format is used
+ * for serialized (non-shallow) matrix blocks in the write buffer, which allows 
+ * to write evicted byte buffers as is.
+ * 
+ * Layout: header (int type, int rlen, int clen, int sparse, long nnz), followed 
+ * by dense values, or sparse values, row pointers (rlen+1), and column indexes.
+ * Compressed matrix blocks are stored in their writable format (long length, 
+ * followed by the serialized bytes) and restored as compressed blocks.
+ * 
+ */
+public class MappedSpillFile 
+{
+	private static final int HEADER_SIZE = 24;
+	private static final int MAX_MAP_SIZE = 1 << 28; //256MB mapped regions
+	private static final int MIN_MAP_SIZE = 1 << 16; //64KB, smaller regions read
+	private static final int WRITE_BUFFER_SIZE = 1 << 20; //1MB write chunks
+	
+	private static final int TYPE_EMPTY = 0;
+	private static final int TYPE_DENSE = 1;
+	private static final int TYPE_SPARSE = 2; //restored as MCSR
+	private static final int TYPE_SPARSE_CSR = 3; //restored as CSR
+	private static final int TYPE_COMPRESSED = 4; //writable format
+	
+	/**
+	 * Indicates if the given cache block is written in the spill format.
+	 * 
+	 * @param cb cache block
+	 * @return true if matrix block and mapped spill files enabled
+	 */
+	public static boolean isApplicable(CacheBlock cb) {
+		return CacheableData.CACHING_MAPPED_SPILL && cb instanceof MatrixBlock;
+	}
+	
+	/**
+	 * Gets the exact size of the given matrix block in spill format.
+	 * 
+	 * @param mb matrix block
+	 * @return size in bytes
+	 */
+	public static long getSpillSize(MatrixBlock mb) {
+		long rlen = mb.getNumRows();
+		long clen = mb.getNumColumns();
+		switch( getType(mb) ) {
+			case TYPE_DENSE:
+				return HEADER_SIZE + 8 * rlen * clen;
+			case TYPE_SPARSE:
+			case TYPE_SPARSE_CSR:
+				return HEADER_SIZE + 12 * mb.getSparseBlock().size() + 4 * (rlen + 1);
+			case TYPE_COMPRESSED:
+				return HEADER_SIZE + 8 + mb.getExactSizeOnDisk();
+			default:
+				return HEADER_SIZE;
+		}
+	}
+	
+	public static void writeToLocal(String fname, MatrixBlock mb)
+		throws IOException
+	{
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			int blen = (int) Math.min(getSpillSize(mb), WRITE_BUFFER_SIZE);
+			SpillOutput out = new SpillOutput(ByteBuffer.allocate(blen), channel);
+			write(out, mb);
+			out.flush();
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	public static MatrixBlock readFromLocal(String fname) 
+		throws IOException
+	{
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			return read(new SpillInput(null, channel));
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	public static void writeToBuffer(MatrixBlock mb, byte[] data) 
+		throws IOException
+	{
+		write(new SpillOutput(ByteBuffer.wrap(data), null), mb);
+	}
+	
+	public static MatrixBlock readFromBuffer(byte[] data) 
+		throws IOException
+	{
+		return read(new SpillInput(ByteBuffer.wrap(data), null));
+	}
+	
+	private static int getType(MatrixBlock mb) {
+		if( mb instanceof CompressedMatrixBlock )
+			return TYPE_COMPRESSED;
+		if( mb.isInSparseFormat() ) {
+			SparseBlock sblock = mb.getSparseBlock();
+			return (sblock == null) ? TYPE_EMPTY : 
+				(sblock instanceof SparseBlockCSR) ? TYPE_SPARSE_CSR : TYPE_SPARSE;
+		}
+		return (mb.getDenseBlock() == null) ? TYPE_EMPTY : TYPE_DENSE;
+	}
+	
+	private static void write(SpillOutput out, MatrixBlock mb) 
+		throws IOException
+	{
+		int type = getType(mb);
+		int rlen = mb.getNumRows();
+		int clen = mb.getNumColumns();
+		SparseBlock sblock = mb.getSparseBlock();
+		long nnz = (type == TYPE_EMPTY) ? 0 : (type == TYPE_DENSE 
+			|| type == TYPE_COMPRESSED) ? mb.getNonZeros() : sblock.size();
+		
+		//write header
+		out.putInt(type);
+		out.putInt(rlen);
+		out.putInt(clen);
+		out.putInt(mb.isInSparseFormat() ? 1 : 0);
+		out.putLong(nnz);
+		
+		//write data arrays
+		if( type == TYPE_COMPRESSED ) {
+			//serialize once, directly into the spill output
+			long len = mb.getExactSizeOnDisk();
+			out.putLong(len);
+			DataOutputStream dos = new DataOutputStream(out);
+			mb.write(dos); //unbuffered, no flush
+			if( dos.size() != len )
+				throw new IOException("Wrong serialized size of compressed "
+					+ "block: "+dos.size()+" (expected: "+len+").");
+		}
+		else if( type == TYPE_DENSE ) {
+			out.putDoubles(mb.getDenseBlock(), 0, rlen*clen);
+		}
+		else if( type == TYPE_SPARSE_CSR ) {
+			SparseBlockCSR csr = (SparseBlockCSR) sblock;
+			out.putDoubles(csr.values(), 0, (int)nnz);
+			out.putInts(csr.rowPointers(), 0, rlen+1);
+			out.putInts(csr.indexes(), 0, (int)nnz);
+		}
+		else if( type == TYPE_SPARSE ) {
+			//values, row pointers, and column indexes in three passes 
+			for( int i=0; i<rlen; i++ )
+				if( !sblock.isEmpty(i) )
+					out.putDoubles(sblock.values(i), sblock.pos(i), sblock.size(i));
+			out.putInt(0);
+			for( int i=0, pos=0; i<rlen; i++ ) {
+				pos += sblock.isEmpty(i) ? 0 : sblock.size(i);
+				out.putInt(pos);
+			}
+			for( int i=0; i<rlen; i++ )
+				if( !sblock.isEmpty(i) )
+					out.putInts(sblock.indexes(i), sblock.pos(i), sblock.size(i));
+		}
+	}
+	
+	private static MatrixBlock read(SpillInput in) 
+		throws IOException
+	{
+		//read header
+		ByteBuffer header = in.next(HEADER_SIZE);
+		int type = header.getInt();
+		int rlen = header.getInt();
+		int clen = header.getInt();
+		boolean sparse = (header.getInt() == 1);
+		long nnz = header.getLong();
+		
+		//read data arrays via bulk copies
+		MatrixBlock ret = null;
+		if( type == TYPE_COMPRESSED ) {
+			byte[] data = new byte[(int)in.next(8).getLong()];
+			in.getBytes(data, 0, data.length);
+			ret = new CompressedMatrixBlock();
+			ret.readFields(new DataInputStream(new ByteArrayInputStream(data)));
+		}
+		else if( type == TYPE_DENSE ) {
+			ret = new MatrixBlock(rlen, clen, false);
+			ret.allocateDenseBlock();
+			in.getDoubles(ret.getDenseBlock(), 0, rlen*clen);
+			ret.setNonZeros(nnz);
+		}
+		else if( type == TYPE_SPARSE || type == TYPE_SPARSE_CSR ) {
+			double[] values = BufferPool.getDoubles((int)nnz);
+			int[] rowptr = new int[rlen+1];
+			int[] indexes = BufferPool.getInts((int)nnz);
+			in.getDoubles(values, 0, (int)nnz);
+			in.getInts(rowptr, 0, rlen+1);
+			in.getInts(indexes, 0, (int)nnz);
+			SparseBlock sblock = new SparseBlockCSR(rowptr, indexes, values, (int)nnz);
+			if( type == TYPE_SPARSE ) {
+				sblock = new SparseBlockMCSR(sblock);
+				//release temporary CSR arrays for reuse
+				BufferPool.putDoubles(values);
+				BufferPool.putInts(indexes);
+			}
+			ret = new MatrixBlock(rlen, clen, nnz, sblock);
+		}
+		else {
+			ret = new MatrixBlock(rlen, clen, sparse);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Sequential output to an in-memory buffer or a file channel, where 
+	 * the buffer is used as write chunk that is flushed when full.
+	 */
+	private static class SpillOutput extends OutputStream
+	{
+		private final ByteBuffer _buff;
+		private final FileChannel _channel; //null for in-memory
+		
+		public SpillOutput(ByteBuffer buff, FileChannel channel) {
+			_buff = buff.order(ByteOrder.nativeOrder());
+			_channel = channel;
+		}
+		
+		public void putInt(int v) throws IOException {
+			reserve(4);
+			_buff.putInt(v);
+		}
+		
+		public void putLong(long v) throws IOException {
+			reserve(8);
+			_buff.putLong(v);
+		}
+		
+		public void putInts(int[] a, int off, int len) throws IOException {
+			while( len > 0 ) {
+				reserve(4);
+				int n = Math.min(len, _buff.remaining()/4);
+				_buff.asIntBuffer().put(a, off, n);
+				_buff.position(_buff.position() + 4*n);
+				off += n; len -= n;
+			}
+		}
+		
+		@Override
+		public void write(int b) throws IOException {
+			reserve(1);
+			_buff.put((byte)b);
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			putBytes(b, off, len);
+		}
+		
+		public void putBytes(byte[] a, int off, int len) throws IOException {
+			while( len > 0 ) {
+				reserve(1);
+				int n = Math.min(len, _buff.remaining());
+				_buff.put(a, off, n);
+				off += n; len -= n;
+			}
+		}
+		
+		public void putDoubles(double[] a, int off, int len) throws IOException {
+			while( len > 0 ) {
+				reserve(8);
+				int n = Math.min(len, _buff.remaining()/8);
+				_buff.asDoubleBuffer().put(a, off, n);
+				_buff.position(_buff.position() + 8*n);
+				off += n; len -= n;
+			}
+		}
+		
+		@Override
+		public void flush() throws IOException {
+			if( _channel == null )
+				throw new IOException("Spill buffer overflow.");
+			_buff.flip();
+			while( _buff.hasRemaining() )
+				_channel.write(_buff);
+			_buff.clear();
+		}
+		
+		private void reserve(int len) throws IOException {
+			if( _buff.remaining() < len )
+				flush();
+		}
+	}
+	
+	/**
+	 * Sequential input from an in-memory buffer or a memory-mapped file, 
+	 * where large arrays are mapped in regions of at most MAX_MAP_SIZE.
+	 * Mapped regions are explicitly unmapped after their bulk copy because 
+	 * the mappings are otherwise only released on GC of the buffers, while 
+	 * small regions (e.g., the header) are read without mapping.
+	 */
+	private static class SpillInput
+	{
+		private final ByteBuffer _buff; //null for files
+		private final FileChannel _channel;
+		private long _pos = 0;
+		
+		public SpillInput(ByteBuffer buff, FileChannel channel) {
+			_buff = buff;
+			_channel = channel;
+		}
+		
+		public ByteBuffer next(long len) throws IOException {
+			ByteBuffer ret = null;
+			if( _channel != null && len < MIN_MAP_SIZE ) {
+				ret = ByteBuffer.allocate((int)len);
+				while( ret.hasRemaining() )
+					if( _channel.read(ret, _pos + ret.position()) < 0 )
+						throw new EOFException("Unexpected end of spill file.");
+				ret.flip();
+			}
+			else if( _channel != null ) {
+				ret = _channel.map(MapMode.READ_ONLY, _pos, len);
+			}
+			else {
+				ByteBuffer tmp = _buff.duplicate();
+				tmp.position((int)_pos);
+				tmp.limit((int)(_pos + len));
+				ret = tmp.slice();
+			}
+			_pos += len;
+			return ret.order(ByteOrder.nativeOrder());
+		}
+		
+		public void getInts(int[] a, int off, int len) throws IOException {
+			while( len > 0 ) {
+				int n = Math.min(len, MAX_MAP_SIZE/4);
+				ByteBuffer buff = next(4L*n);
+				buff.asIntBuffer().get(a, off, n);
+				release(buff);
+				off += n; len -= n;
+			}
+		}
+		
+		public void getBytes(byte[] a, int off, int len) throws IOException {
+			while( len > 0 ) {
+				int n = Math.min(len, MAX_MAP_SIZE);
+				ByteBuffer buff = next(n);
+				buff.get(a, off, n);
+				release(buff);
+				off += n; len -= n;
+			}
+		}
+		
+		public void getDoubles(double[] a, int off, int len) throws IOException {
+			while( len > 0 ) {
+				int n = Math.min(len, MAX_MAP_SIZE/8);
+				ByteBuffer buff = next(8L*n);
+				buff.asDoubleBuffer().get(a, off, n);
+				release(buff);
+				off += n; len -= n;
+			}
+		}
+		
+		private static void release(ByteBuffer buff) {
+			//unmap region (no access to the buffer or its views afterwards)
+			if( buff instanceof MappedByteBuffer )
+				NativeIO.POSIX.munmap((MappedByteBuffer)buff);
+		}
+	}
+}
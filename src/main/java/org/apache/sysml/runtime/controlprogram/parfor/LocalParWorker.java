@@ -40,6 +40,8 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
 public class LocalParWorker extends ParWorker implements Runnable
 {
 	protected LocalTaskQueue<Task> _taskQueue   = null;
+	protected int                  _queuePos    = 0;
+	protected long                 _queueWait   = 0; //in nano sec
 	
 	protected Collection<String> _fnNames = null;
 	
@@ -66,6 +68,19 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	public void setTaskQueuePosition(int pos) {
+		_queuePos = pos;
+	}
+	
+	/**
+	 * Returns the total time this worker waited on the task queue.
+	 * 
+	 * @return queue wait time in milliseconds
+	 */
+	public double getQueueWaitTime() {
+		return _queueWait / 1e6;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -91,7 +106,9 @@ public class LocalParWorker extends ParWorker implements Runnable
 			//dequeue the next task (abort on NO_MORE_TASKS or error)
 			try
 			{
-				lTask = _taskQueue.dequeueTask();
+				long t0 = System.nanoTime();
+				lTask = _taskQueue.dequeueTask(_queuePos);
+				_queueWait += System.nanoTime() - t0;
 				
 				if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 					break; //normal end of parallel worker
@@ -145,6 +162,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMTASKS, _numTasks);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMITERS, _numIters);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_QUEUE_WAIT_T, getQueueWaitTime());
 		}
 	}
 }
@@ -97,6 +97,20 @@ public class LocalTaskQueue<T>
 		return t;
 	}
 	
+	/**
+	 * Read and delete of the next task for the worker at the given position. The 
+	 * basic FIFO queue is shared by all workers and hence ignores the position.
+	 * 
+	 * @param pos worker position
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public T dequeueTask( int pos ) 
+		throws InterruptedException
+	{
+		return dequeueTask();
+	}
+	
 	/**
 	 * Synchronized (logical) insert of a NO_MORE_TASKS symbol at the end of the FIFO queue in order to
 	 * mark that no more tasks will be inserted into the queue.
@@ -19,12 +19,24 @@
 
 package org.apache.sysml.runtime.controlprogram.parfor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.StringTokenizer;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -150,6 +162,21 @@ public class ProgramConverter
 			                                                       "(LOCAL can be used for innner ParFOR)";
 	public static final String NOT_SUPPORTED_PB                  = "Not supported: type of program block";
 	
+	//binary serialization format (header and program block types)
+	public static final int BINARY_FORMAT_MAGIC   = 0x50464231; //"PFB1"
+	public static final int BINARY_FORMAT_VERSION = 1;
+	private static final byte BINARY_PB_GENERIC   = 0;
+	private static final byte BINARY_PB_WHILE     = 1;
+	private static final byte BINARY_PB_FOR       = 2;
+	private static final byte BINARY_PB_PARFOR    = 3;
+	private static final byte BINARY_PB_IF        = 4;
+	private static final byte BINARY_PB_FC        = 5;
+	private static final byte BINARY_PB_EFC       = 6;
+	
+	//per-process (e.g., spark executor) cache of parsed program templates, keyed by body hash
+	private static final ConcurrentHashMap<String, SoftReference<ProgramTemplate>> _templateCache = 
+			new ConcurrentHashMap<String, SoftReference<ProgramTemplate>>();
+	
 	////////////////////////////////
 	// CREATION of DEEP COPIES
 	////////////////////////////////
@@ -1325,18 +1352,7 @@ public class ProgramConverter
 		
 		//handle DML config (NOTE: set directly in ConfigurationManager)
 		String confStr = st.nextToken();
-		JobConf job = ConfigurationManager.getCachedJobConf();
-		if( !InfrastructureAnalyzer.isLocalMode(job) ) {
-			if( confStr != null && !confStr.trim().isEmpty() ) {
-				DMLConfig dmlconf = DMLConfig.parseDMLConfig(confStr);
-				CompilerConfig cconf = OptimizerUtils.constructCompilerConfig(dmlconf);
-				ConfigurationManager.setLocalConfig(dmlconf);
-				ConfigurationManager.setLocalConfig(cconf);
-			}
-			//init internal configuration w/ parsed or default config
-			ParForProgramBlock.initInternalConfigurations(
-					ConfigurationManager.getDMLConfig());
-		}
+		parseAndSetDMLConfig( confStr );
 		
 		//handle additional configs
 		String aconfs = st.nextToken();
@@ -1859,11 +1875,735 @@ public class ProgramConverter
 		return ec;
 	}
 	
+	private static void parseAndSetDMLConfig(String confStr) 
+		throws DMLRuntimeException
+	{
+		JobConf job = ConfigurationManager.getCachedJobConf();
+		if( !InfrastructureAnalyzer.isLocalMode(job) ) {
+			if( confStr != null && !confStr.trim().isEmpty() ) {
+				DMLConfig dmlconf = DMLConfig.parseDMLConfig(confStr);
+				CompilerConfig cconf = OptimizerUtils.constructCompilerConfig(dmlconf);
+				ConfigurationManager.setLocalConfig(dmlconf);
+				ConfigurationManager.setLocalConfig(cconf);
+			}
+			//init internal configuration w/ parsed or default config
+			ParForProgramBlock.initInternalConfigurations(
+					ConfigurationManager.getDMLConfig());
+		}
+	}
+	
 	private static void parseAndSetAdditionalConfigurations(String conf) {
 		String[] statsFlag = conf.split("=");
 		DMLScript.STATISTICS = Boolean.parseBoolean(statsFlag[1]);
 	}
 
+	////////////////////////////////
+	// BINARY SERIALIZATION AND PARSING 
+	////////////////////////////////
+	
+	/**
+	 * Serializes the given parfor body into a compact binary representation, which 
+	 * avoids the delimiter-based string encoding and hierarchical tokenization on
+	 * remote workers. The program (functions and program blocks) is encoded as a 
+	 * separate section in order to allow caching of parsed programs by body hash.
+	 * 
+	 * @param body parfor body
+	 * @param clsMap map of generated classes (populated during serialization)
+	 * @return binary representation of the parfor body
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static byte[] serializeParForBodyBinary( ParForBody body, HashMap<String,byte[]> clsMap ) 
+		throws DMLRuntimeException
+	{
+		ArrayList<ProgramBlock> pbs = body.getChildBlocks();
+		ExecutionContext ec = body.getEc();
+		
+		try
+		{
+			//serialize program (functions and program blocks)
+			ByteArrayOutputStream pbos = new ByteArrayOutputStream();
+			DataOutputStream pout = new DataOutputStream(pbos);
+			HashSet<String> cand = new HashSet<String>();
+			rFindSerializationCandidates(pbs, cand);
+			HashMap<String, FunctionProgramBlock> fpbs = pbs.isEmpty() ? 
+				new HashMap<String, FunctionProgramBlock>() : pbs.get(0).getProgram().getFunctionProgramBlocks();
+			writeFunctionProgramBlocks(pout, fpbs, cand, clsMap);
+			writeProgramBlocks(pout, pbs, clsMap);
+			pout.flush();
+			
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bos);
+			
+			//handle header w/ format version
+			out.writeInt(BINARY_FORMAT_MAGIC);
+			out.writeInt(BINARY_FORMAT_VERSION);
+			
+			//handle DMLScript UUID, DML config, and additional configurations
+			writeString(out, DMLScript.getUUID());
+			writeString(out, ConfigurationManager.getDMLConfig().serializeDMLConfig());
+			out.writeBoolean(DMLScript.STATISTICS);
+			
+			//handle result variable names and execution context (top-level variables only)
+			writeStrings(out, body.getResultVarNames());
+			out.writeBoolean(ec != null);
+			if( ec != null )
+				writeVariables(out, ec.getVariables());
+			
+			//handle program section
+			out.writeInt(pbos.size());
+			pbos.writeTo(out);
+			out.flush();
+			
+			return bos.toByteArray();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Parses a binary parfor body for the given worker. Parsed programs are cached per 
+	 * process by body hash, and each call obtains its own instance of program blocks,
+	 * instructions (with worker-specific thread ids), program, and execution context.
+	 * 
+	 * @param in binary representation of the parfor body
+	 * @param id parworker id
+	 * @return parfor body
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static ParForBody parseParForBody( byte[] in, int id ) 
+		throws DMLRuntimeException
+	{
+		ParForBody body = new ParForBody();
+		
+		try
+		{
+			DataInputStream din = new DataInputStream(new ByteArrayInputStream(in));
+			
+			//handle header w/ format version
+			if( din.readInt() != BINARY_FORMAT_MAGIC )
+				throw new DMLRuntimeException("Invalid binary parfor body.");
+			int version = din.readInt();
+			if( version != BINARY_FORMAT_VERSION )
+				throw new DMLRuntimeException("Unsupported binary parfor body format version: "+version);
+			
+			//handle DMLScript UUID, DML config, and additional configurations
+			DMLScript.setUUID( readString(din) );
+			parseAndSetDMLConfig( readString(din) );
+			DMLScript.STATISTICS = din.readBoolean();
+			
+			//handle result variable names and execution context variables
+			body.setResultVarNames( readStrings(din) );
+			LocalVariableMap vars = din.readBoolean() ? readVariables(din) : null;
+			
+			//handle program section (probe cache of parsed programs)
+			byte[] progIn = new byte[din.readInt()];
+			din.readFully(progIn);
+			ProgramTemplate tmpl = getProgramTemplate(progIn);
+			
+			//create worker-specific program and program blocks
+			Program prog = new Program();
+			for( Entry<String,FunctionProgramBlock> e : tmpl.prog.getFunctionProgramBlocks().entrySet() ) {
+				String[] keypart = e.getKey().split( Program.KEY_DELIM );
+				prog.addFunctionProgramBlock(keypart[0], keypart[1], 
+					(FunctionProgramBlock) rCreateProgramBlockInstance(e.getValue(), prog, id));
+			}
+			body.setChildBlocks( rCreateProgramBlockInstances(tmpl.pbs, prog, id) );
+			
+			if( vars != null ) {
+				ExecutionContext ec = ExecutionContextFactory.createContext( false, prog );
+				ec.setVariables(vars);
+				body.setEc( ec );
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return body;
+	}
+	
+	public static void serializeDataObject(DataOutput out, String key, Data dat) 
+		throws DMLRuntimeException, IOException
+	{
+		// SCHEMA: <name> <datatype> <valuetype> <value>
+		// (scalars are serialize by value, matrices by filename and meta data)
+		DataType datatype = dat.getDataType();
+		ValueType valuetype = dat.getValueType();
+		writeString(out, key);
+		out.writeUTF(datatype.name());
+		out.writeUTF(valuetype.name());
+		
+		switch( datatype )
+		{
+			case SCALAR:
+				ScalarObject so = (ScalarObject) dat;
+				switch( valuetype ) {
+					case INT:     out.writeLong(so.getLongValue()); break;
+					case DOUBLE:  out.writeDouble(so.getDoubleValue()); break;
+					case BOOLEAN: out.writeBoolean(so.getBooleanValue()); break;
+					case STRING:  writeString(out, so.getStringValue()); break;
+					default:
+						throw new DMLRuntimeException("Unable to serialize valuetype "+valuetype);
+				}
+				break;
+			case MATRIX:
+				MatrixObject mo = (MatrixObject) dat;
+				MatrixFormatMetaData md = (MatrixFormatMetaData) dat.getMetaData();
+				MatrixCharacteristics mc = md.getMatrixCharacteristics();
+				writeString(out, mo.getFileName());
+				out.writeLong(mc.getRows());
+				out.writeLong(mc.getCols());
+				out.writeInt(mc.getRowsPerBlock());
+				out.writeInt(mc.getColsPerBlock());
+				out.writeLong(mc.getNonZeros());
+				out.writeUTF(InputInfo.inputInfoToString(md.getInputInfo()));
+				out.writeUTF(OutputInfo.outputInfoToString(md.getOutputInfo()));
+				out.writeUTF((mo.getPartitionFormat()!=null) ? 
+					mo.getPartitionFormat().name() : PDataPartitionFormat.NONE.name());
+				out.writeInt(mo.getPartitionSize());
+				out.writeUTF(mo.getUpdateType().name());
+				break;
+			default:
+				throw new DMLRuntimeException("Unable to serialize datatype "+datatype);
+		}
+	}
+	
+	public static Object[] parseDataObject(DataInput in) 
+		throws DMLRuntimeException, IOException
+	{
+		String name = readString(in);
+		DataType datatype = DataType.valueOf( in.readUTF() );
+		ValueType valuetype = ValueType.valueOf( in.readUTF() );
+		Data dat = null;
+		
+		switch( datatype )
+		{
+			case SCALAR:
+				switch( valuetype ) {
+					case INT:     dat = new IntObject(name, in.readLong()); break;
+					case DOUBLE:  dat = new DoubleObject(name, in.readDouble()); break;
+					case BOOLEAN: dat = new BooleanObject(name, in.readBoolean()); break;
+					case STRING:  dat = new StringObject(name, readString(in)); break;
+					default:
+						throw new DMLRuntimeException("Unable to parse valuetype "+valuetype);
+				}
+				break;
+			case MATRIX:
+				MatrixObject mo = new MatrixObject(valuetype, readString(in));
+				MatrixCharacteristics mc = new MatrixCharacteristics(in.readLong(), 
+					in.readLong(), in.readInt(), in.readInt(), in.readLong());
+				InputInfo iin = InputInfo.stringToInputInfo( in.readUTF() );
+				OutputInfo oin = OutputInfo.stringToOutputInfo( in.readUTF() );
+				PDataPartitionFormat dpf = PDataPartitionFormat.valueOf( in.readUTF() );
+				int dpN = in.readInt();
+				mo.setMetaData( new MatrixFormatMetaData(mc, oin, iin) );
+				mo.setVarName( name );
+				if( dpf != PDataPartitionFormat.NONE )
+					mo.setPartitioned( dpf, dpN );
+				mo.setUpdateType( UpdateType.valueOf(in.readUTF()) );
+				dat = mo;
+				break;
+			default:
+				throw new DMLRuntimeException("Unable to parse datatype "+datatype);
+		}
+		
+		return new Object[]{name, dat};
+	}
+	
+	private static void writeVariables(DataOutput out, LocalVariableMap vars) 
+		throws DMLRuntimeException, IOException
+	{
+		out.writeInt(vars.keySet().size());
+		for( String var : vars.keySet() )
+			serializeDataObject(out, var, vars.get(var));
+	}
+	
+	private static LocalVariableMap readVariables(DataInput in) 
+		throws DMLRuntimeException, IOException
+	{
+		LocalVariableMap vars = new LocalVariableMap();
+		int len = in.readInt();
+		for( int i=0; i<len; i++ ) {
+			Object[] tmp = parseDataObject(in);
+			vars.put((String)tmp[0], (Data)tmp[1]);
+		}
+		return vars;
+	}
+	
+	private static void writeFunctionProgramBlocks(DataOutput out, HashMap<String,FunctionProgramBlock> pbs, HashSet<String> cand, HashMap<String, byte[]> clsMap) 
+		throws DMLRuntimeException, IOException
+	{
+		out.writeInt(cand.size());
+		for( String fkey : cand ) {
+			writeString(out, fkey);
+			writeProgramBlock(out, pbs.get(fkey), clsMap);
+		}
+	}
+	
+	private static void writeProgramBlocks(DataOutput out, ArrayList<ProgramBlock> pbs, HashMap<String, byte[]> clsMap) 
+		throws DMLRuntimeException, IOException
+	{
+		out.writeInt(pbs.size());
+		for( ProgramBlock pb : pbs )
+			writeProgramBlock(out, pb, clsMap);
+	}
+	
+	private static void writeProgramBlock(DataOutput out, ProgramBlock pb, HashMap<String, byte[]> clsMap) 
+		throws DMLRuntimeException, IOException
+	{
+		if( pb instanceof WhileProgramBlock )
+		{
+			WhileProgramBlock wpb = (WhileProgramBlock) pb;
+			out.writeByte(BINARY_PB_WHILE);
+			writeInstructions(out, wpb.getPredicate(), clsMap);
+			writeString(out, wpb.getPredicateResultVar());
+			writeInstructions(out, wpb.getExitInstructions(), clsMap);
+			writeProgramBlocks(out, wpb.getChildBlocks(), clsMap);
+		}
+		else if ( pb instanceof ForProgramBlock && !(pb instanceof ParForProgramBlock) )
+		{
+			ForProgramBlock fpb = (ForProgramBlock) pb;
+			out.writeByte(BINARY_PB_FOR);
+			writeStrings(out, Arrays.asList(fpb.getIterablePredicateVars()));
+			writeInstructions(out, fpb.getFromInstructions(), clsMap);
+			writeInstructions(out, fpb.getToInstructions(), clsMap);
+			writeInstructions(out, fpb.getIncrementInstructions(), clsMap);
+			writeInstructions(out, fpb.getExitInstructions(), clsMap);
+			writeProgramBlocks(out, fpb.getChildBlocks(), clsMap);
+		}
+		else if ( pb instanceof ParForProgramBlock )
+		{
+			ParForProgramBlock pfpb = (ParForProgramBlock) pb;
+			
+			//check for nested remote ParFOR
+			if( PExecMode.valueOf( pfpb.getParForParams().get( ParForStatementBlock.EXEC_MODE )) == PExecMode.REMOTE_MR )
+				throw new DMLRuntimeException( NOT_SUPPORTED_MR_PARFOR );
+			
+			out.writeByte(BINARY_PB_PARFOR);
+			writeStrings(out, Arrays.asList(pfpb.getIterablePredicateVars()));
+			writeStrings(out, pfpb.getResultVariables());
+			writeStringHashMap(out, pfpb.getParForParams());
+			writeInstructions(out, pfpb.getFromInstructions(), clsMap);
+			writeInstructions(out, pfpb.getToInstructions(), clsMap);
+			writeInstructions(out, pfpb.getIncrementInstructions(), clsMap);
+			writeInstructions(out, pfpb.getExitInstructions(), clsMap);
+			writeProgramBlocks(out, pfpb.getChildBlocks(), clsMap);
+		}
+		else if ( pb instanceof IfProgramBlock )
+		{
+			IfProgramBlock ipb = (IfProgramBlock) pb;
+			out.writeByte(BINARY_PB_IF);
+			writeInstructions(out, ipb.getPredicate(), clsMap);
+			writeString(out, ipb.getPredicateResultVar());
+			writeInstructions(out, ipb.getExitInstructions(), clsMap);
+			writeProgramBlocks(out, ipb.getChildBlocksIfBody(), clsMap);
+			writeProgramBlocks(out, ipb.getChildBlocksElseBody(), clsMap);
+		}
+		else if( pb instanceof FunctionProgramBlock && !(pb instanceof ExternalFunctionProgramBlock) )
+		{
+			FunctionProgramBlock fpb = (FunctionProgramBlock) pb;
+			out.writeByte(BINARY_PB_FC);
+			writeDataIdentifiers(out, fpb.getInputParams());
+			writeDataIdentifiers(out, fpb.getOutputParams());
+			writeInstructions(out, fpb.getInstructions(), clsMap);
+			writeProgramBlocks(out, fpb.getChildBlocks(), clsMap);
+		}
+		else if( pb instanceof ExternalFunctionProgramBlock )
+		{
+			if( !(pb instanceof ExternalFunctionProgramBlockCP) ) 
+				throw new DMLRuntimeException( NOT_SUPPORTED_EXTERNALFUNCTION_PB );
+			
+			ExternalFunctionProgramBlockCP fpb = (ExternalFunctionProgramBlockCP) pb;
+			out.writeByte(BINARY_PB_EFC);
+			writeDataIdentifiers(out, fpb.getInputParams());
+			writeDataIdentifiers(out, fpb.getOutputParams());
+			writeStringHashMap(out, fpb.getOtherParams());
+			writeString(out, fpb.getBaseDir());
+			//instructions created on construction anyway
+			writeProgramBlocks(out, fpb.getChildBlocks(), clsMap);
+		}
+		else //all generic program blocks
+		{
+			out.writeByte(BINARY_PB_GENERIC);
+			writeInstructions(out, pb.getInstructions(), clsMap);
+		}
+	}
+	
+	@SuppressWarnings("all")
+	private static void writeInstructions(DataOutput out, ArrayList<Instruction> inst, HashMap<String, byte[]> clsMap) 
+		throws DMLRuntimeException, IOException
+	{
+		out.writeInt(inst.size());
+		for( Instruction linst : inst )
+		{
+			//check that only cp instruction are transmitted 
+			if( !( linst instanceof CPInstruction || linst instanceof ExternalFunctionInvocationInstruction ) )
+				throw new DMLRuntimeException( NOT_SUPPORTED_MR_INSTRUCTION + " " +linst.getClass().getName()+"\n"+linst );
+			
+			//obtain serialized version of generated classes
+			if( linst instanceof SpoofCPInstruction ) {
+				Class<?> cla = ((SpoofCPInstruction) linst).getOperatorClass();
+				clsMap.put(cla.getName(), CodegenUtils.getClassAsByteArray(cla.getName()));
+			}
+			
+			//note: no literal replacement required (length-prefixed strings)
+			writeString(out, linst.toString());
+		}
+	}
+	
+	private static void writeDataIdentifiers(DataOutput out, ArrayList<DataIdentifier> vars) 
+		throws IOException
+	{
+		out.writeInt(vars.size());
+		for( DataIdentifier dat : vars ) {
+			writeString(out, dat.getName());
+			out.writeUTF(dat.getDataType().name());
+			out.writeUTF(dat.getValueType().name());
+		}
+	}
+	
+	private static void writeStringHashMap(DataOutput out, HashMap<String,String> vars) 
+		throws IOException
+	{
+		out.writeInt(vars.size());
+		for( Entry<String,String> e : vars.entrySet() ) {
+			writeString(out, e.getKey());
+			writeString(out, e.getValue());
+		}
+	}
+	
+	private static void writeStrings(DataOutput out, Collection<String> vars) 
+		throws IOException
+	{
+		out.writeInt(vars.size());
+		for( String var : vars )
+			writeString(out, var);
+	}
+	
+	private static void writeString(DataOutput out, String str) 
+		throws IOException
+	{
+		//length-prefixed utf-8 (w/o the 64KB limit of writeUTF)
+		if( str == null ) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] tmp = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(tmp.length);
+		out.write(tmp);
+	}
+	
+	private static ProgramTemplate getProgramTemplate(byte[] in) 
+		throws DMLRuntimeException, IOException
+	{
+		//probe cache of parsed programs by body hash
+		String key = computeBodyHash(in);
+		SoftReference<ProgramTemplate> ref = _templateCache.get(key);
+		ProgramTemplate ret = (ref != null) ? ref.get() : null;
+		
+		//parse program on cache miss (w/ thread id placeholders)
+		if( ret == null ) {
+			DataInputStream din = new DataInputStream(new ByteArrayInputStream(in));
+			Program prog = new Program();
+			int len = din.readInt();
+			for( int i=0; i<len; i++ ) {
+				String[] keypart = readString(din).split( Program.KEY_DELIM );
+				prog.addFunctionProgramBlock(keypart[0], keypart[1], 
+					(FunctionProgramBlock) readProgramBlock(din, prog));
+			}
+			ret = new ProgramTemplate(prog, readProgramBlocks(din, prog));
+			_templateCache.put(key, new SoftReference<ProgramTemplate>(ret));
+		}
+		
+		return ret;
+	}
+	
+	private static String computeBodyHash(byte[] in) 
+		throws DMLRuntimeException
+	{
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			StringBuilder sb = new StringBuilder();
+			for( byte b : md.digest(in) )
+				sb.append(String.format("%02x", b));
+			return sb.toString();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static ArrayList<ProgramBlock> readProgramBlocks(DataInput in, Program prog) 
+		throws DMLRuntimeException, IOException
+	{
+		int len = in.readInt();
+		ArrayList<ProgramBlock> pbs = new ArrayList<ProgramBlock>(len);
+		for( int i=0; i<len; i++ )
+			pbs.add(readProgramBlock(in, prog));
+		return pbs;
+	}
+	
+	private static ProgramBlock readProgramBlock(DataInput in, Program prog) 
+		throws DMLRuntimeException, IOException
+	{
+		byte type = in.readByte();
+		switch( type )
+		{
+			case BINARY_PB_WHILE: {
+				WhileProgramBlock wpb = new WhileProgramBlock(prog, readInstructions(in));
+				wpb.setPredicateResultVar(readString(in));
+				wpb.setExitInstructions2(readInstructions(in));
+				wpb.setChildBlocks(readProgramBlocks(in, prog));
+				return wpb;
+			}
+			case BINARY_PB_FOR: {
+				ForProgramBlock fpb = new ForProgramBlock(prog, readStrings(in).toArray(new String[0]));
+				fpb.setFromInstructions(readInstructions(in));
+				fpb.setToInstructions(readInstructions(in));
+				fpb.setIncrementInstructions(readInstructions(in));
+				fpb.setExitInstructions(readInstructions(in));
+				fpb.setChildBlocks(readProgramBlocks(in, prog));
+				return fpb;
+			}
+			case BINARY_PB_PARFOR: {
+				String[] iterPredVars = readStrings(in).toArray(new String[0]);
+				ArrayList<String> resultVars = readStrings(in);
+				HashMap<String,String> params = readStringHashMap(in);
+				ParForProgramBlock pfpb = new ParForProgramBlock(0, prog, iterPredVars, params);
+				pfpb.disableOptimization(); //already done in top-level parfor
+				pfpb.setResultVariables(resultVars);
+				pfpb.setFromInstructions(readInstructions(in));
+				pfpb.setToInstructions(readInstructions(in));
+				pfpb.setIncrementInstructions(readInstructions(in));
+				pfpb.setExitInstructions(readInstructions(in));
+				pfpb.setChildBlocks(readProgramBlocks(in, prog));
+				return pfpb;
+			}
+			case BINARY_PB_IF: {
+				IfProgramBlock ipb = new IfProgramBlock(prog, readInstructions(in));
+				ipb.setPredicateResultVar(readString(in));
+				ipb.setExitInstructions2(readInstructions(in));
+				ipb.setChildBlocksIfBody(readProgramBlocks(in, prog));
+				ipb.setChildBlocksElseBody(readProgramBlocks(in, prog));
+				return ipb;
+			}
+			case BINARY_PB_FC: {
+				ArrayList<DataIdentifier> inputs = readDataIdentifiers(in);
+				ArrayList<DataIdentifier> outputs = readDataIdentifiers(in);
+				FunctionProgramBlock fpb = new FunctionProgramBlock(prog, inputs, outputs);
+				fpb.setInstructions(readInstructions(in));
+				fpb.setChildBlocks(readProgramBlocks(in, prog));
+				return fpb;
+			}
+			case BINARY_PB_EFC: {
+				ArrayList<DataIdentifier> inputs = readDataIdentifiers(in);
+				ArrayList<DataIdentifier> outputs = readDataIdentifiers(in);
+				HashMap<String,String> params = readStringHashMap(in);
+				String basedir = readString(in);
+				//only CP external functions, because no nested MR jobs for reblocks
+				ExternalFunctionProgramBlockCP efpb = new ExternalFunctionProgramBlockCP(prog, inputs, outputs, params, basedir);
+				efpb.setChildBlocks(readProgramBlocks(in, prog));
+				return efpb;
+			}
+			case BINARY_PB_GENERIC: {
+				ProgramBlock pb = new ProgramBlock(prog);
+				pb.setInstructions(readInstructions(in));
+				return pb;
+			}
+			default:
+				throw new DMLRuntimeException( NOT_SUPPORTED_PB+" "+type );
+		}
+	}
+	
+	private static ArrayList<Instruction> readInstructions(DataInput in) 
+		throws DMLRuntimeException, IOException
+	{
+		int len = in.readInt();
+		ArrayList<Instruction> insts = new ArrayList<Instruction>(len);
+		for( int i=0; i<len; i++ ) {
+			//Note that at this point only CP instructions and External function instruction can occur
+			String instStr = readString(in);
+			try {
+				insts.add( CPInstructionParser.parseSingleInstruction(instStr) );
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException("Failed to parse instruction: " + instStr, ex);
+			}
+		}
+		return insts;
+	}
+	
+	private static ArrayList<DataIdentifier> readDataIdentifiers(DataInput in) 
+		throws IOException
+	{
+		int len = in.readInt();
+		ArrayList<DataIdentifier> vars = new ArrayList<DataIdentifier>(len);
+		for( int i=0; i<len; i++ ) {
+			DataIdentifier dat = new DataIdentifier(readString(in));
+			dat.setDataType(DataType.valueOf(in.readUTF()));
+			dat.setValueType(ValueType.valueOf(in.readUTF()));
+			vars.add(dat);
+		}
+		return vars;
+	}
+	
+	private static HashMap<String,String> readStringHashMap(DataInput in) 
+		throws IOException
+	{
+		int len = in.readInt();
+		HashMap<String,String> vars = new HashMap<String, String>();
+		for( int i=0; i<len; i++ )
+			vars.put(readString(in), readString(in));
+		return vars;
+	}
+	
+	private static ArrayList<String> readStrings(DataInput in) 
+		throws IOException
+	{
+		int len = in.readInt();
+		ArrayList<String> vars = new ArrayList<String>(len);
+		for( int i=0; i<len; i++ )
+			vars.add(readString(in));
+		return vars;
+	}
+	
+	private static String readString(DataInput in) 
+		throws IOException
+	{
+		int len = in.readInt();
+		if( len < 0 )
+			return null;
+		byte[] tmp = new byte[len];
+		in.readFully(tmp);
+		return new String(tmp, StandardCharsets.UTF_8);
+	}
+	
+	private static ArrayList<ProgramBlock> rCreateProgramBlockInstances(ArrayList<ProgramBlock> pbs, Program prog, int id) 
+		throws DMLRuntimeException
+	{
+		ArrayList<ProgramBlock> ret = new ArrayList<ProgramBlock>(pbs.size());
+		for( ProgramBlock pb : pbs )
+			ret.add(rCreateProgramBlockInstance(pb, prog, id));
+		return ret;
+	}
+	
+	/**
+	 * Creates a worker-specific instance of a parsed template program block. Program 
+	 * blocks and instructions are created per worker because instructions are not 
+	 * guaranteed to be free of execution state, and instructions with thread id 
+	 * placeholders are updated with the worker id.
+	 * 
+	 * @param pb template program block
+	 * @param prog worker-specific runtime program
+	 * @param id parworker id
+	 * @return program block instance
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static ProgramBlock rCreateProgramBlockInstance(ProgramBlock pb, Program prog, int id) 
+		throws DMLRuntimeException
+	{
+		if( pb instanceof WhileProgramBlock )
+		{
+			WhileProgramBlock wpb = (WhileProgramBlock) pb;
+			WhileProgramBlock ret = new WhileProgramBlock(prog, createInstructionInstances(wpb.getPredicate(), id));
+			ret.setPredicateResultVar(wpb.getPredicateResultVar());
+			ret.setExitInstructions2(createInstructionInstances(wpb.getExitInstructions(), id));
+			ret.setChildBlocks(rCreateProgramBlockInstances(wpb.getChildBlocks(), prog, id));
+			return ret;
+		}
+		else if ( pb instanceof ForProgramBlock && !(pb instanceof ParForProgramBlock) )
+		{
+			ForProgramBlock fpb = (ForProgramBlock) pb;
+			ForProgramBlock ret = new ForProgramBlock(prog, fpb.getIterablePredicateVars());
+			ret.setFromInstructions(createInstructionInstances(fpb.getFromInstructions(), id));
+			ret.setToInstructions(createInstructionInstances(fpb.getToInstructions(), id));
+			ret.setIncrementInstructions(createInstructionInstances(fpb.getIncrementInstructions(), id));
+			ret.setExitInstructions(createInstructionInstances(fpb.getExitInstructions(), id));
+			ret.setChildBlocks(rCreateProgramBlockInstances(fpb.getChildBlocks(), prog, id));
+			return ret;
+		}
+		else if ( pb instanceof ParForProgramBlock )
+		{
+			//note: instructions and child blocks w/ preinit id, replaced during exec
+			ParForProgramBlock pfpb = (ParForProgramBlock) pb;
+			ParForProgramBlock ret = new ParForProgramBlock(id, prog, pfpb.getIterablePredicateVars(), pfpb.getParForParams());
+			ret.disableOptimization(); //already done in top-level parfor
+			ret.setResultVariables(pfpb.getResultVariables());
+			ret.setFromInstructions(createInstructionInstances(pfpb.getFromInstructions(), 0));
+			ret.setToInstructions(createInstructionInstances(pfpb.getToInstructions(), 0));
+			ret.setIncrementInstructions(createInstructionInstances(pfpb.getIncrementInstructions(), 0));
+			ret.setExitInstructions(createInstructionInstances(pfpb.getExitInstructions(), 0));
+			ret.setChildBlocks(rCreateProgramBlockInstances(pfpb.getChildBlocks(), prog, 0));
+			return ret;
+		}
+		else if ( pb instanceof IfProgramBlock )
+		{
+			IfProgramBlock ipb = (IfProgramBlock) pb;
+			IfProgramBlock ret = new IfProgramBlock(prog, createInstructionInstances(ipb.getPredicate(), id));
+			ret.setPredicateResultVar(ipb.getPredicateResultVar());
+			ret.setExitInstructions2(createInstructionInstances(ipb.getExitInstructions(), id));
+			ret.setChildBlocksIfBody(rCreateProgramBlockInstances(ipb.getChildBlocksIfBody(), prog, id));
+			ret.setChildBlocksElseBody(rCreateProgramBlockInstances(ipb.getChildBlocksElseBody(), prog, id));
+			return ret;
+		}
+		else if( pb instanceof FunctionProgramBlock && !(pb instanceof ExternalFunctionProgramBlock) )
+		{
+			FunctionProgramBlock fpb = (FunctionProgramBlock) pb;
+			FunctionProgramBlock ret = new FunctionProgramBlock(prog, 
+				new ArrayList<DataIdentifier>(fpb.getInputParams()), new ArrayList<DataIdentifier>(fpb.getOutputParams()));
+			ret.setInstructions(createInstructionInstances(fpb.getInstructions(), id));
+			ret.setChildBlocks(rCreateProgramBlockInstances(fpb.getChildBlocks(), prog, id));
+			return ret;
+		}
+		else if( pb instanceof ExternalFunctionProgramBlockCP )
+		{
+			ExternalFunctionProgramBlockCP efpb = (ExternalFunctionProgramBlockCP) pb;
+			ExternalFunctionProgramBlockCP ret = new ExternalFunctionProgramBlockCP(prog, 
+				new ArrayList<DataIdentifier>(efpb.getInputParams()), new ArrayList<DataIdentifier>(efpb.getOutputParams()), 
+				efpb.getOtherParams(), efpb.getBaseDir());
+			ret.setChildBlocks(rCreateProgramBlockInstances(efpb.getChildBlocks(), prog, id));
+			return ret;
+		}
+		else //all generic program blocks
+		{
+			ProgramBlock ret = new ProgramBlock(prog);
+			ret.setInstructions(createInstructionInstances(pb.getInstructions(), id));
+			return ret;
+		}
+	}
+	
+	private static ArrayList<Instruction> createInstructionInstances(ArrayList<Instruction> insts, int id) 
+		throws DMLRuntimeException
+	{
+		ArrayList<Instruction> ret = new ArrayList<Instruction>(insts.size());
+		for( Instruction inst : insts ) {
+			//create new instruction from the template instruction string
+			Instruction tmp = CPInstructionParser.parseSingleInstruction(inst.toString());
+			//replace thread id placeholders (e.g., createvar filenames)
+			if( tmp instanceof VariableCPInstruction && tmp.toString().contains(CP_ROOT_THREAD_ID) )
+				tmp = saveReplaceThreadID(tmp, CP_ROOT_THREAD_ID, CP_CHILD_THREAD+id);
+			ret.add(tmp);
+		}
+		return ret;
+	}
+	
+	/**
+	 * Parsed program (function and parfor body program blocks) with thread id 
+	 * placeholders, used as template for creating worker-specific instances.
+	 */
+	private static class ProgramTemplate
+	{
+		private final Program prog;
+		private final ArrayList<ProgramBlock> pbs;
+		
+		public ProgramTemplate(Program p, ArrayList<ProgramBlock> blocks) {
+			prog = p;
+			pbs = blocks;
+		}
+	}
+	
+
 	//////////
 	// CUSTOM SAFE LITERAL REPLACEMENT
 	
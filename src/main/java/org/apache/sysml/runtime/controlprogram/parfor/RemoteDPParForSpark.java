@@ -70,7 +70,7 @@ public class RemoteDPParForSpark
 	
 	protected static final Log LOG = LogFactory.getLog(RemoteDPParForSpark.class.getName());
 
-	public static RemoteParForJobReturn runJob(long pfid, String itervar, String matrixvar, String program, HashMap<String, byte[]> clsMap,
+	public static RemoteParForJobReturn runJob(long pfid, String itervar, String matrixvar, byte[] program, HashMap<String, byte[]> clsMap,
 			String resultFile, MatrixObject input, ExecutionContext ec, PartitionFormat dpf, OutputInfo oi, 
 			boolean tSparseCol, boolean enableCPCaching, int numReducers ) 
 		throws DMLRuntimeException
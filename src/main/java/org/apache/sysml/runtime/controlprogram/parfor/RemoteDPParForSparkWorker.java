@@ -53,7 +53,7 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 {
 	private static final long serialVersionUID = 30223759283155139L;
 	
-	private final String  _prog;
+	private final byte[]  _prog;
 	private final HashMap<String, byte[]> _clsMap;
 	private final boolean _caching;
 	private final String _inputVar;
@@ -70,7 +70,7 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 	private final LongAccumulator _aTasks;
 	private final LongAccumulator _aIters;
 	
-	public RemoteDPParForSparkWorker(String program, HashMap<String, byte[]> clsMap, String inputVar, String iterVar, 
+	public RemoteDPParForSparkWorker(byte[] program, HashMap<String, byte[]> clsMap, String inputVar, String iterVar, 
 			boolean cpCaching, MatrixCharacteristics mc, boolean tSparseCol, PartitionFormat dpf, OutputInfo oinfo, 
 			LongAccumulator atasks, LongAccumulator aiters) 
 		throws DMLRuntimeException
@@ -54,7 +54,7 @@ public class RemoteParForSpark
 	
 	protected static final Log LOG = LogFactory.getLog(RemoteParForSpark.class.getName());
 
-	public static RemoteParForJobReturn runJob(long pfid, String program, HashMap<String, byte[]> clsMap, 
+	public static RemoteParForJobReturn runJob(long pfid, byte[] program, HashMap<String, byte[]> clsMap, 
 			List<Task> tasks, ExecutionContext ec, boolean cpCaching, int numMappers) 
 		throws DMLRuntimeException  
 	{
@@ -41,7 +41,7 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 {
 	private static final long serialVersionUID = -3254950138084272296L;
 
-	private final String  _prog;
+	private final byte[]  _prog;
 	private final HashMap<String, byte[]> _clsMap;
 	private boolean _initialized = false;
 	private boolean _caching = true;
@@ -49,7 +49,7 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 	private final LongAccumulator _aTasks;
 	private final LongAccumulator _aIters;
 	
-	public RemoteParForSparkWorker(String program, HashMap<String, byte[]> clsMap, boolean cpCaching, LongAccumulator atasks, LongAccumulator aiters) 
+	public RemoteParForSparkWorker(byte[] program, HashMap<String, byte[]> clsMap, boolean cpCaching, LongAccumulator atasks, LongAccumulator aiters) 
 		throws DMLRuntimeException
 	{
 		_prog = program;
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Lock-free alternative to the monitor-based {@link LocalTaskQueue}, which avoids 
+ * contention on a single queue monitor for many fine-grained tasks. Tasks are 
+ * distributed round-robin over per-worker deques. Each worker takes tasks from 
+ * the head of its own deque and, if empty, steals tasks from the tail of other
+ * workers' deques. Waiting readers and writers use a bounded backoff instead of 
+ * wait/notify.
+ * 
+ * @param <T> task type
+ */
+public class WorkStealingTaskQueue<T> extends LocalTaskQueue<T>
+{
+	private static final Log LOG = LogFactory.getLog(WorkStealingTaskQueue.class.getName());
+	
+	private static final long MIN_BACKOFF_NS = 1000;    //1us
+	private static final long MAX_BACKOFF_NS = 1000000; //1ms
+	
+	private final ConcurrentLinkedDeque<T>[] _deques;
+	private final AtomicInteger _size = new AtomicInteger(0);
+	private final AtomicInteger _pos = new AtomicInteger(0);
+	private volatile boolean _closedInput = false;
+	
+	@SuppressWarnings("unchecked")
+	public WorkStealingTaskQueue(int numWorkers) {
+		_deques = new ConcurrentLinkedDeque[Math.max(numWorkers, 1)];
+		for( int i=0; i<_deques.length; i++ )
+			_deques[i] = new ConcurrentLinkedDeque<T>();
+	}
+	
+	/**
+	 * Lock-free insert of a new task to the end of the next worker deque 
+	 * (round-robin distribution).
+	 * 
+	 * @param t task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public void enqueueTask( T t ) 
+		throws InterruptedException
+	{
+		if( _size.get() >= MAX_SIZE ) {
+			LOG.warn("MAX_SIZE of task queue reached.");
+			long backoff = MIN_BACKOFF_NS;
+			while( _size.get() >= MAX_SIZE )
+				backoff = backoff(backoff); //max constraint reached, wait for read
+		}
+		
+		int pos = (_pos.getAndIncrement() & Integer.MAX_VALUE) % _deques.length;
+		_size.incrementAndGet();
+		_deques[pos].addLast( t );
+	}
+	
+	@Override
+	public T dequeueTask() 
+		throws InterruptedException
+	{
+		return dequeueTask(0);
+	}
+	
+	/**
+	 * Lock-free read and delete from the head of the given worker's deque, or 
+	 * from the tail of other deques if the own deque is empty.
+	 * 
+	 * @param pos worker position
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T dequeueTask( int pos ) 
+		throws InterruptedException
+	{
+		int len = _deques.length;
+		int lpos = Math.abs(pos % len);
+		long backoff = MIN_BACKOFF_NS;
+		
+		while( true ) {
+			//read close flag before probing, because all tasks are
+			//enqueued before the input is closed
+			boolean closed = _closedInput;
+			
+			//probe own deque, then steal from other deques
+			T t = _deques[lpos].pollFirst();
+			for( int i=1; i<len && t==null; i++ )
+				t = _deques[(lpos+i) % len].pollLast();
+			
+			if( t != null ) {
+				_size.decrementAndGet();
+				return t;
+			}
+			else if( closed )
+				return (T)NO_MORE_TASKS;
+			
+			backoff = backoff(backoff); // wait for writers
+		}
+	}
+	
+	@Override
+	public void closeInput() {
+		_closedInput = true;
+	}
+	
+	private static long backoff(long backoff) 
+		throws InterruptedException
+	{
+		if( Thread.interrupted() )
+			throw new InterruptedException();
+		LockSupport.parkNanos(backoff);
+		return Math.min(2 * backoff, MAX_BACKOFF_NS);
+	}
+	
+	@Override
+	public String toString() 
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (size=");
+		sb.append(_size.get());
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(")\n");
+		
+		for( int i=0; i<_deques.length; i++ ) {
+			int count = 1;
+			for( T t : _deques[i] ) {
+				sb.append("  DEQUE #");
+				sb.append(i);
+				sb.append(" TASK #");
+				sb.append(count++);
+				sb.append(": ");
+				sb.append(t.toString());
+				sb.append("\n");
+			}
+		}
+		
+		return sb.toString();
+	}
+}
@@ -23,9 +23,15 @@ package org.apache.sysml.runtime.instructions;
 import java.util.HashMap;
 
 import org.apache.sysml.lops.AppendCP;
+import org.apache.sysml.lops.Binary;
+import org.apache.sysml.lops.BinaryScalar;
+import org.apache.sysml.lops.Data;
 import org.apache.sysml.lops.DataGen;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.lops.LopProperties.ExecLocation;
 import org.apache.sysml.lops.LopProperties.ExecType;
 import org.apache.sysml.lops.UnaryCP;
+import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.instructions.cp.AggregateBinaryCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.AggregateTernaryCPInstruction;
@@ -39,6 +45,7 @@ import org.apache.sysml.runtime.instructions.cp.BuiltinMultipleCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.BuiltinUnaryCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.CPInstruction;
 import org.apache.sysml.runtime.instructions.cp.CPInstruction.CPINSTRUCTION_TYPE;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.CentralMomentCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.CompressionCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.ConvolutionCPInstruction;
@@ -298,6 +305,67 @@ public class CPInstructionParser extends InstructionParser
 		return cpinst;
 	}
 	
+	/**
+	 * Constructs the CP instruction of the given binary lop directly from the lop
+	 * and its inputs, without parsing the given instruction string, which is only
+	 * attached to the instruction for explain and remote (e.g., parfor) shipping.
+	 * 
+	 * @param lop binary or binary scalar lop
+	 * @param str instruction string of the lop
+	 * @return cp instruction, or null if direct construction is not supported
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static CPInstruction createInstruction( Lop lop, String str ) 
+		throws DMLRuntimeException 
+	{
+		if( lop.getExecType() != ExecType.CP || lop.getInputs().size() != 2 )
+			return null;
+		
+		//obtain opcode and degree of parallelism
+		String opcode = null;
+		int k = 1;
+		if( lop instanceof Binary ) {
+			opcode = Binary.getOpcode(((Binary)lop).getOperationType());
+			k = ((Binary)lop).getNumThreads();
+		}
+		else if( lop instanceof BinaryScalar )
+			opcode = BinaryScalar.getOpcode(((BinaryScalar)lop).getOperationType());
+		else
+			return null;
+		
+		//construct operands from lop meta data 
+		CPOperand in1 = createInputOperand(lop.getInputs().get(0));
+		CPOperand in2 = createInputOperand(lop.getInputs().get(1));
+		CPOperand out = new CPOperand(lop.getOutputParameters().getLabel(), 
+			lop.getValueType(), lop.getDataType());
+		
+		CPINSTRUCTION_TYPE cptype = String2CPInstructionType.get(opcode);
+		if( cptype == null )
+			return null;
+		switch( cptype ) {
+			case AggregateBinary:
+				return AggregateBinaryCPInstruction.createInstruction(in1, in2, out, opcode, k, str);
+			case ArithmeticBinary:
+				return ArithmeticBinaryCPInstruction.createInstruction(in1, in2, out, opcode, k, str);
+			case RelationalBinary:
+				return RelationalBinaryCPInstruction.createInstruction(in1, in2, out, opcode, k, str);
+			case BooleanBinary:
+				return BooleanBinaryCPInstruction.createInstruction(in1, in2, out, opcode, str);
+			case BuiltinBinary:
+				return BuiltinBinaryCPInstruction.createInstruction(in1, in2, out, opcode, k, str);
+			default: 
+				return null; //fallback to instruction parsing
+		}
+	}
+	
+	private static CPOperand createInputOperand( Lop input ) {
+		//consistent with Lop.prepInputOperand (literals only for scalar data lops)
+		boolean literal = input.getDataType() != DataType.MATRIX
+			&& input.getExecLocation() == ExecLocation.Data && ((Data)input).isLiteral();
+		return new CPOperand(input.getOutputParameters().getLabel(), 
+			input.getValueType(), input.getDataType(), literal);
+	}
+	
 	public static CPInstruction parseSingleInstruction ( CPINSTRUCTION_TYPE cptype, String str ) 
 		throws DMLRuntimeException 
 	{
@@ -408,8 +476,8 @@ public class CPInstructionParser extends InstructionParser
 					if ( parts.length == 3 ) {
 						// B=log(A), y=log(x)
 						return BuiltinUnaryCPInstruction.parseInstruction(str);
-					} else if ( parts.length == 4 ) {
-						// B=log(A,10), y=log(x,10)
+					} else if ( parts.length == 4 || parts.length == 5 ) {
+						// B=log(A,10), y=log(x,10), incl optional num threads
 						return BuiltinBinaryCPInstruction.parseInstruction(str);
 					}
 				}
@@ -476,6 +476,13 @@ public class InstructionUtils
 		return aggun;
 	}
 
+	public static BinaryOperator parseBinaryOperator(String opcode, int k) 
+		throws DMLRuntimeException
+	{
+		BinaryOperator bop = parseBinaryOperator(opcode);
+		return (k > 1) ? new BinaryOperator(bop.fn, k) : bop;
+	}
+	
 	public static BinaryOperator parseBinaryOperator(String opcode) 
 		throws DMLRuntimeException
 	{
@@ -544,6 +551,26 @@ public class InstructionUtils
 		return parseScalarBinaryOperator(opcode, arg1IsScalar, default_constant);
 	}
 	
+	/**
+	 * multi-threaded scalar-matrix operator
+	 * 
+	 * @param opcode the opcode
+	 * @param arg1IsScalar ?
+	 * @param k degree of parallelism
+	 * @return scalar operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static ScalarOperator parseScalarBinaryOperator(String opcode, boolean arg1IsScalar, int k) 
+		throws DMLRuntimeException
+	{
+		ScalarOperator sop = parseScalarBinaryOperator(opcode, arg1IsScalar);
+		if( k <= 1 )
+			return sop;
+		return (sop instanceof LeftScalarOperator) ?
+			new LeftScalarOperator(sop.fn, sop.getConstant(), k) :
+			new RightScalarOperator(sop.fn, sop.getConstant(), k);
+	}
+	
 	/**
 	 * scalar-matrix operator
 	 * 
@@ -60,6 +60,10 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction
 		out.split(parts[3]);
 		int k = Integer.parseInt(parts[4]);
 		
+		return createInstruction(in1, in2, out, opcode, k, str);
+	}
+	
+	public static AggregateBinaryCPInstruction createInstruction(CPOperand in1, CPOperand in2, CPOperand out, String opcode, int k, String str) {
 		AggregateOperator agg = new AggregateOperator(0, Plus.getPlusFnObject());
 		AggregateBinaryOperator aggbin = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), agg, k);
 		return new AggregateBinaryCPInstruction(aggbin, in1, in2, out, opcode, str);	
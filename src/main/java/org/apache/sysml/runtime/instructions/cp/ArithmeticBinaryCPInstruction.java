@@ -41,11 +41,19 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		String opcode = parseBinaryInstruction(str, in1, in2, out);
 		
+		int k = parseNumThreads(str);
+		
+		return createInstruction(in1, in2, out, opcode, k, str);
+	}
+	
+	public static ArithmeticBinaryCPInstruction createInstruction(CPOperand in1, CPOperand in2, CPOperand out, String opcode, int k, String str) 
+		throws DMLRuntimeException 
+	{
 		checkOutputDataType(in1, in2, out);
 		
 		Operator operator = (in1.getDataType() != in2.getDataType()) ?
-					InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR)) : 
-					InstructionUtils.parseBinaryOperator(opcode);
+					InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR), k) : 
+					InstructionUtils.parseBinaryOperator(opcode, k);
 		
 		if( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR ) 
 			return new ScalarScalarArithmeticCPInstruction(operator, in1, in2, out, opcode, str);
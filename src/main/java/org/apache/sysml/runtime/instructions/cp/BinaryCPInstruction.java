@@ -42,7 +42,7 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		throws DMLRuntimeException
 	{	
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
-		InstructionUtils.checkNumFields ( parts, 3 );
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
 		
 		String opcode = parts[0];
 		in1.split(parts[1]);
@@ -52,6 +52,12 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		return opcode;
 	}
 	
+	protected static int parseNumThreads(String instr) {
+		//optional degree of parallelism of cp matrix operations
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
+		return (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
+	}
+	
 	protected static String parseBinaryInstruction(String instr, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out)
 		throws DMLRuntimeException
 	{
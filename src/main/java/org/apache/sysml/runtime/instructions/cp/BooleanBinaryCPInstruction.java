@@ -45,6 +45,12 @@ public class BooleanBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		String opcode = parseBinaryInstruction(str, in1, in2, out);
 		
+		return createInstruction(in1, in2, out, opcode, str);
+	}
+	
+	public static BooleanBinaryCPInstruction createInstruction(CPOperand in1, CPOperand in2, CPOperand out, String opcode, String str) 
+		throws DMLRuntimeException 
+	{
 		// Boolean operations must be performed on BOOLEAN
 		ValueType vt1 = in1.getValueType();
 		ValueType vt2 = in2.getValueType();
@@ -49,17 +49,24 @@ public abstract class BuiltinBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		String opcode = parseBinaryInstruction(str, in1, in2, out);
-
+		int k = parseNumThreads(str);
+		
+		return createInstruction(in1, in2, out, opcode, k, str);
+	}
+	
+	public static BuiltinBinaryCPInstruction createInstruction(CPOperand in1, CPOperand in2, CPOperand out, String opcode, int k, String str) 
+		throws DMLRuntimeException 
+	{
 		checkOutputDataType(in1, in2, out);
 		
 		// Determine appropriate Function Object based on opcode
 		ValueFunction func = Builtin.getBuiltinFnObject(opcode);
-			
+		
 		if ( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR )
 			return new ScalarScalarBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str);
 		else if ( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX )
-			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str);	
+			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func, k), in1, in2, out, opcode, str);	
 		else 
-			return new MatrixScalarBuiltinCPInstruction(new RightScalarOperator(func, 0), in1, in2, out, opcode, str);
+			return new MatrixScalarBuiltinCPInstruction(new RightScalarOperator(func, 0, k), in1, in2, out, opcode, str);
 	}
 }
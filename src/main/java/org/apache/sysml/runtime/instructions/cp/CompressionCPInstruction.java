@@ -19,12 +19,20 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import java.io.IOException;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.io.ReaderColumnarBlock;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
@@ -50,6 +58,21 @@ public class CompressionCPInstruction extends UnaryCPInstruction
 	public void processInstruction( ExecutionContext ec )
 		throws DMLRuntimeException
 	{
+		//direct read of columnar block files into compressed blocks, which 
+		//avoids the read of uncompressed blocks and subsequent compression
+		MatrixObject mo = ec.getMatrixObject(input1.getName());
+		if( isUnreadColumnarBlockFile(mo) ) {
+			try {
+				ReaderColumnarBlock reader = new ReaderColumnarBlock(
+					ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS));
+				ec.setMatrixOutput(output.getName(), reader.readCompressedMatrixFromHDFS(mo.getFileName()));
+				return;
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
 		//get matrix block input
 		MatrixBlock in = ec.getMatrixInput(input1.getName());
 		
@@ -61,4 +84,10 @@ public class CompressionCPInstruction extends UnaryCPInstruction
 		ec.releaseMatrixInput(input1.getName());
 		ec.setMatrixOutput(output.getName(), cmb);
 	}
+	
+	private static boolean isUnreadColumnarBlockFile(MatrixObject mo) {
+		return mo.getMetaData() instanceof MatrixFormatMetaData
+			&& ((MatrixFormatMetaData)mo.getMetaData()).getInputInfo() == InputInfo.ColumnarBlockInputInfo
+			&& !mo.isDirty() && !mo.isCached(true) && mo.getRDDHandle() == null && mo.getGPUObject() == null;
+	}
 }
@@ -61,9 +61,13 @@ public class PlusMultCPInstruction extends ArithmeticBinaryCPInstruction
 		MatrixBlock matrix2 = ec.getMatrixInput(input2.getName());
 		ScalarObject scalar = ec.getScalarInput(input3.getName(), input3.getValueType(), input3.isLiteral()); 
 		
-		//execution
-		((ValueFunctionWithConstant) ((BinaryOperator)_optr).fn).setConstant(scalar.getDoubleValue());
-		MatrixBlock out = (MatrixBlock) matrix1.binaryOperations((BinaryOperator) _optr, matrix2, new MatrixBlock());
+		//execution (w/ new function object and operator per call, as the instruction might be shared)
+		BinaryOperator bop = (BinaryOperator) _optr;
+		ValueFunctionWithConstant fn = (bop.fn instanceof PlusMultiply) ?
+			PlusMultiply.getPlusMultiplyFnObject() : MinusMultiply.getMinusMultiplyFnObject();
+		fn.setConstant(scalar.getDoubleValue());
+		MatrixBlock out = (MatrixBlock) matrix1.binaryOperations(
+			new BinaryOperator(fn, bop.getNumThreads()), matrix2, new MatrixBlock());
 		
 		//release the matrices
 		ec.releaseMatrixInput(input1.getName());
@@ -34,17 +34,25 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 	}
 	
 	public static RelationalBinaryCPInstruction parseInstruction ( String str ) throws DMLRuntimeException {
-		InstructionUtils.checkNumFields (str, 3);
+		InstructionUtils.checkNumFields (str, 3, 4);
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		String opcode = parseBinaryInstruction(str, in1, in2, out);
 		
+		int k = parseNumThreads(str);
+		
+		return createInstruction(in1, in2, out, opcode, k, str);
+	}
+	
+	public static RelationalBinaryCPInstruction createInstruction(CPOperand in1, CPOperand in2, CPOperand out, String opcode, int k, String str) 
+		throws DMLRuntimeException 
+	{
 		checkOutputDataType(in1, in2, out);
 		
 		Operator operator = (in1.getDataType() != in2.getDataType()) ?
-					InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR)) : 
-					InstructionUtils.parseBinaryOperator(opcode);
+					InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR), k) : 
+					InstructionUtils.parseBinaryOperator(opcode, k);
 		
 		if ( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR )
 			return new ScalarScalarRelationalCPInstruction(operator, in1, in2, out, opcode, str);
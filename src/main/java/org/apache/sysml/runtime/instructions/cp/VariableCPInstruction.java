@@ -934,7 +934,10 @@ public class VariableCPInstruction extends CPInstruction
 		sb.append(varName);
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		//direct construction w/o instruction parsing
+		CPOperand in1 = new CPOperand(varName, ValueType.UNKNOWN, DataType.SCALAR);
+		return new VariableCPInstruction(VariableOperationCode.RemoveVariable, 
+			in1, null, null, null, getArity(VariableOperationCode.RemoveVariable), "rmvar", str);
 	}
 	
 	public static Instruction prepareCopyInstruction(String srcVar, String destVar) throws DMLRuntimeException {
@@ -948,7 +951,11 @@ public class VariableCPInstruction extends CPInstruction
 		sb.append(destVar);
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		//direct construction w/o instruction parsing
+		CPOperand in1 = new CPOperand(srcVar, ValueType.UNKNOWN, DataType.UNKNOWN);
+		CPOperand in2 = new CPOperand(destVar, ValueType.UNKNOWN, DataType.UNKNOWN);
+		return new VariableCPInstruction(VariableOperationCode.CopyVariable, 
+			in1, in2, null, null, getArity(VariableOperationCode.CopyVariable), "cpvar", str);
 	}
 	
 	public static Instruction prepareMoveInstruction(String srcVar, String destFileName, String format) throws DMLRuntimeException {
@@ -964,7 +971,12 @@ public class VariableCPInstruction extends CPInstruction
 		sb.append(format);
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		//direct construction w/o instruction parsing
+		CPOperand in1 = new CPOperand(srcVar, ValueType.UNKNOWN, DataType.UNKNOWN);
+		CPOperand in2 = new CPOperand(destFileName, ValueType.UNKNOWN, DataType.UNKNOWN);
+		CPOperand in3 = new CPOperand(format, ValueType.UNKNOWN, DataType.UNKNOWN);
+		return new VariableCPInstruction(VariableOperationCode.MoveVariable, 
+			in1, in2, in3, null, -1, "mvvar", str);
 	}
 	
 	public static Instruction prepareMoveInstruction(String srcVar, String destVar) throws DMLRuntimeException {
@@ -980,7 +992,11 @@ public class VariableCPInstruction extends CPInstruction
 		sb.append(destVar);
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		//direct construction w/o instruction parsing
+		CPOperand in1 = new CPOperand(srcVar, ValueType.UNKNOWN, DataType.UNKNOWN);
+		CPOperand in2 = new CPOperand(destVar, ValueType.UNKNOWN, DataType.UNKNOWN);
+		return new VariableCPInstruction(VariableOperationCode.MoveVariable, 
+			in1, in2, null, null, -1, "mvvar", str);
 	}
 	
 	private static String getBasicCreateVarString(String varName, String fileName, boolean fNameOverride, DataType dt, String format) {
@@ -1003,7 +1019,9 @@ public class VariableCPInstruction extends CPInstruction
 	}
 	
 	public static Instruction prepareCreateMatrixVariableInstruction(String varName, String fileName, boolean fNameOverride, String format) throws DMLRuntimeException {
-		return parseInstruction(getBasicCreateVarString(varName, fileName, fNameOverride, DataType.MATRIX, format));
+		String str = getBasicCreateVarString(varName, fileName, fNameOverride, DataType.MATRIX, format);
+		return createVariableInstruction(varName, fileName, fNameOverride, DataType.MATRIX, 
+			format, new MatrixCharacteristics(), UpdateType.COPY, null, 6, str);
 	}
 
 	public static Instruction prepareCreateVariableInstruction(String varName, String fileName, boolean fNameOverride, DataType dt, String format, MatrixCharacteristics mc, UpdateType update) throws DMLRuntimeException {
@@ -1025,7 +1043,8 @@ public class VariableCPInstruction extends CPInstruction
 		
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		return createVariableInstruction(varName, fileName, fNameOverride, dt, 
+			format, new MatrixCharacteristics(mc), update, null, 12, str);
 	}	
 	
 	public static Instruction prepareCreateVariableInstruction(String varName, String fileName, boolean fNameOverride, DataType dt, String format, MatrixCharacteristics mc, UpdateType update, boolean hasHeader, String delim, boolean sparse) throws DMLRuntimeException {
@@ -1054,8 +1073,30 @@ public class VariableCPInstruction extends CPInstruction
 		
 		String str = sb.toString();
 
-		return parseInstruction(str);
-	}	
+		return createVariableInstruction(varName, fileName, fNameOverride, dt, format, new MatrixCharacteristics(mc), 
+			update, new CSVFileFormatProperties(hasHeader, delim, sparse), 15, str);
+	}
+	
+	private static Instruction createVariableInstruction(String varName, String fileName, boolean fNameOverride, DataType dt, String format, 
+		MatrixCharacteristics mc, UpdateType update, FileFormatProperties fprops, int arity, String str) 
+		throws DMLRuntimeException 
+	{
+		//fallback to instruction parsing (incl validation) for invalid or frame csv configurations
+		boolean csv = format.equalsIgnoreCase("csv");
+		if( csv != (fprops != null) || (csv && dt == DataType.FRAME) )
+			return parseInstruction(str);
+		
+		//direct construction w/o instruction parsing
+		ValueType vt = (dt == DataType.MATRIX) ? ValueType.DOUBLE : ValueType.STRING;
+		CPOperand in1 = new CPOperand(varName, vt, dt);
+		CPOperand in2 = new CPOperand(fileName, ValueType.STRING, DataType.SCALAR);
+		CPOperand in3 = new CPOperand(String.valueOf(fNameOverride), ValueType.BOOLEAN, DataType.SCALAR);
+		OutputInfo oi = OutputInfo.stringToOutputInfo(format);
+		MatrixFormatMetaData iimd = new MatrixFormatMetaData(mc, oi, OutputInfo.getMatchingInputInfo(oi));
+		return (fprops != null) ?
+			new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, update, arity, fprops, null, "createvar", str) :
+			new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, update, arity, null, "createvar", str);
+	}
 	
 	@Override
 	public void updateInstructionThreadID(String pattern, String replace)
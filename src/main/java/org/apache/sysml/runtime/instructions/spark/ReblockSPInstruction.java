@@ -184,6 +184,11 @@ public class ReblockSPInstruction extends UnarySPInstruction
 			sec.setRDDHandleForVariable(output.getName(), out);
 			sec.addLineageRDD(output.getName(), input1.getName());
 		}
+		else if(iinfo == InputInfo.ColumnarBlockInputInfo) {
+			//columnar block files are only read via CP readers, hence we
+			//read the matrix into memory and parallelize the blocked result
+			Recompiler.executeInMemoryMatrixReblock(sec, input1.getName(), output.getName());
+		}
 		else {
 			throw new DMLRuntimeException("The given InputInfo is not implemented "
 					+ "for ReblockSPInstruction:" + InputInfo.inputInfoToString(iinfo));
@@ -235,6 +240,10 @@ public class ReblockSPInstruction extends UnarySPInstruction
 			csvInstruction = new CSVReblockSPInstruction(null, input1, output, mcOut.getRowsPerBlock(), mcOut.getColsPerBlock(), hasHeader, delim, fill, fillValue, "csvrblk", instString);
 			csvInstruction.processInstruction(sec);
 		}
+		else if(iinfo == InputInfo.ColumnarBlockInputInfo) {
+			//columnar block files are only read via CP readers
+			Recompiler.executeInMemoryFrameReblock(sec, input1.getName(), output.getName());
+		}
 		else {
 			throw new DMLRuntimeException("The given InputInfo is not implemented "
 					+ "for ReblockSPInstruction: " + InputInfo.inputInfoToString(iinfo));
@@ -0,0 +1,757 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.parser.Expression.ValueType;
+
+/**
+ * Shared layout definitions and encoding primitives of the columnar block file
+ * format for matrices and frames. A file is a single binary file of the following
+ * structure (all offsets are absolute file positions):
+ * 
+ * <pre>
+ * HEADER: magic, version, type, nrow, ncol, chunk rows, [frames: schema, names]
+ * DATA:   per column: [dictionary], chunk_1, ..., chunk_n
+ * FOOTER: nnz, per column: dictionary offset/length/size, 
+ *         per column and chunk: offset, length, encoding, nnz, min, max
+ * TAIL:   footer offset, magic
+ * </pre>
+ * 
+ * Every column is split into chunks of chunk rows, where each chunk is encoded 
+ * with the smallest of several lightweight encodings (empty, constant, dense, 
+ * sparse, run-length, or 1/2-byte codes into a column dictionary). The footer 
+ * index allows readers to project columns and skip chunks without touching their 
+ * data, while column dictionaries allow reading columns directly into DDC column 
+ * groups of a compressed matrix block.
+ */
+public class ColumnarBlockFormat 
+{
+	public static final int MAGIC = 0x53434F4C; //"SCOL"
+	public static final byte VERSION = 1;
+	public static final int DEFAULT_CHUNK_ROWS = 64 * 1024;
+	public static final int MAX_DICT_SIZE = Character.MAX_VALUE;
+	public static final int MAX_DICT1_SIZE = 255;
+	
+	private static final byte TYPE_MATRIX = 0;
+	private static final byte TYPE_FRAME = 1;
+	private static final int TAIL_SIZE = 12; //footer offset, magic
+	
+	public enum ChunkEncoding {
+		EMPTY,  //all zeros or nulls
+		CONST,  //single non-zero value
+		DENSE,  //plain values
+		SPARSE, //row positions and non-zero values
+		RLE,    //run lengths and values
+		DICT1,  //1-byte codes into column dictionary
+		DICT2,  //2-byte codes into column dictionary
+		STRING, //plain strings
+	}
+	
+	/**
+	 * Meta data of a columnar block file, i.e., the header information and 
+	 * footer index with per-chunk offsets, encodings, and statistics. 
+	 */
+	public static class FileMetadata
+	{
+		private final boolean _frame;
+		private final int _nrow;
+		private final int _ncol;
+		private final int _chunkRows;
+		private ValueType[] _schema = null;
+		private String[] _names = null;
+		private long _nnz = 0;
+		
+		//column dictionaries and chunk index
+		private final long[] _dictOffsets;
+		private final int[] _dictLengths;
+		private final int[] _dictSizes;
+		private final long[][] _offsets;
+		private final int[][] _lengths;
+		private final ChunkEncoding[][] _encodings;
+		private final long[][] _nnzs;
+		private final double[][] _mins;
+		private final double[][] _maxs;
+		
+		protected FileMetadata(boolean frame, int nrow, int ncol, int chunkRows) {
+			_frame = frame;
+			_nrow = nrow;
+			_ncol = ncol;
+			_chunkRows = chunkRows;
+			int nchunks = getNumChunks();
+			_dictOffsets = new long[ncol];
+			_dictLengths = new int[ncol];
+			_dictSizes = new int[ncol];
+			_offsets = new long[ncol][nchunks];
+			_lengths = new int[ncol][nchunks];
+			_encodings = new ChunkEncoding[ncol][nchunks];
+			_nnzs = new long[ncol][nchunks];
+			_mins = new double[ncol][nchunks];
+			_maxs = new double[ncol][nchunks];
+		}
+		
+		public boolean isFrame() {
+			return _frame;
+		}
+		
+		public int getNumRows() {
+			return _nrow;
+		}
+		
+		public int getNumColumns() {
+			return _ncol;
+		}
+		
+		public int getChunkRows() {
+			return _chunkRows;
+		}
+		
+		public int getNumChunks() {
+			return (_nrow + _chunkRows - 1) / _chunkRows;
+		}
+		
+		public int getChunkNumRows(int chunk) {
+			return Math.min(_chunkRows, _nrow - chunk * _chunkRows);
+		}
+		
+		public ValueType[] getSchema() {
+			return _schema;
+		}
+		
+		public String[] getColumnNames() {
+			return _names;
+		}
+		
+		public long getNonZeros() {
+			return _nnz;
+		}
+		
+		public long getColumnNonZeros(int col) {
+			long nnz = 0;
+			for( long cnnz : _nnzs[col] )
+				nnz += cnnz;
+			return nnz;
+		}
+		
+		public boolean hasDictionary(int col) {
+			return _dictSizes[col] > 0;
+		}
+		
+		public int getDictionarySize(int col) {
+			return _dictSizes[col];
+		}
+		
+		public ChunkEncoding getChunkEncoding(int col, int chunk) {
+			return _encodings[col][chunk];
+		}
+		
+		public long getChunkNonZeros(int col, int chunk) {
+			return _nnzs[col][chunk];
+		}
+		
+		public double getChunkMin(int col, int chunk) {
+			return _mins[col][chunk];
+		}
+		
+		public double getChunkMax(int col, int chunk) {
+			return _maxs[col][chunk];
+		}
+		
+		public double getColumnMin(int col) {
+			double min = Double.NaN;
+			for( double v : _mins[col] )
+				min = (Double.isNaN(min) || v < min) ? v : min;
+			return min;
+		}
+		
+		public double getColumnMax(int col) {
+			double max = Double.NaN;
+			for( double v : _maxs[col] )
+				max = (Double.isNaN(max) || v > max) ? v : max;
+			return max;
+		}
+		
+		protected void setFrameMetadata(ValueType[] schema, String[] names) {
+			_schema = schema;
+			_names = names;
+		}
+		
+		protected void setNonZeros(long nnz) {
+			_nnz = nnz;
+		}
+		
+		protected void setDictionary(int col, long offset, int length, int size) {
+			_dictOffsets[col] = offset;
+			_dictLengths[col] = length;
+			_dictSizes[col] = size;
+		}
+		
+		protected void setChunk(int col, int chunk, long offset, int length, ChunkEncoding enc, long nnz, double min, double max) {
+			_offsets[col][chunk] = offset;
+			_lengths[col][chunk] = length;
+			_encodings[col][chunk] = enc;
+			_nnzs[col][chunk] = nnz;
+			_mins[col][chunk] = min;
+			_maxs[col][chunk] = max;
+		}
+		
+		protected byte[] readDictionary(FSDataInputStream in, int col) 
+			throws IOException
+		{
+			byte[] buff = new byte[_dictLengths[col]];
+			in.readFully(_dictOffsets[col], buff);
+			return buff;
+		}
+		
+		protected ByteBuffer readChunk(FSDataInputStream in, int col, int chunk, byte[] buff) 
+			throws IOException
+		{
+			int len = _lengths[col][chunk];
+			byte[] lbuff = (buff != null && buff.length >= len) ? buff : new byte[len];
+			in.readFully(_offsets[col][chunk], lbuff, 0, len);
+			return ByteBuffer.wrap(lbuff, 0, len);
+		}
+		
+		protected int getMaxChunkLength() {
+			int max = 0;
+			for( int[] lens : _lengths )
+				for( int len : lens )
+					max = Math.max(max, len);
+			return max;
+		}
+		
+		protected void writeHeader(FSDataOutputStream out) 
+			throws IOException
+		{
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeByte(_frame ? TYPE_FRAME : TYPE_MATRIX);
+			out.writeInt(_nrow);
+			out.writeInt(_ncol);
+			out.writeInt(_chunkRows);
+			if( _frame ) {
+				for( int j=0; j<_ncol; j++ ) {
+					out.writeByte(_schema[j].ordinal());
+					out.writeUTF(_names[j]);
+				}
+			}
+		}
+		
+		protected void writeFooter(FSDataOutputStream out) 
+			throws IOException
+		{
+			long footerOffset = out.getPos();
+			out.writeLong(_nnz);
+			for( int j=0; j<_ncol; j++ ) {
+				out.writeLong(_dictOffsets[j]);
+				out.writeInt(_dictLengths[j]);
+				out.writeInt(_dictSizes[j]);
+			}
+			for( int j=0; j<_ncol; j++ )
+				for( int b=0; b<getNumChunks(); b++ ) {
+					out.writeLong(_offsets[j][b]);
+					out.writeInt(_lengths[j][b]);
+					out.writeByte(_encodings[j][b].ordinal());
+					out.writeLong(_nnzs[j][b]);
+					out.writeDouble(_mins[j][b]);
+					out.writeDouble(_maxs[j][b]);
+				}
+			out.writeLong(footerOffset);
+			out.writeInt(MAGIC);
+		}
+		
+		public static FileMetadata read(FileSystem fs, Path path) 
+			throws IOException
+		{
+			long len = fs.getFileStatus(path).getLen();
+			FSDataInputStream in = fs.open(path);
+			try {
+				//read and check header
+				if( len < TAIL_SIZE || in.readInt() != MAGIC )
+					throw new IOException("Invalid columnar block file: "+path.toString());
+				byte version = in.readByte();
+				if( version != VERSION )
+					throw new IOException("Unsupported columnar block file version: "+version);
+				boolean frame = (in.readByte() == TYPE_FRAME);
+				FileMetadata ret = new FileMetadata(frame, in.readInt(), in.readInt(), in.readInt());
+				if( frame ) {
+					ValueType[] schema = new ValueType[ret._ncol];
+					String[] names = new String[ret._ncol];
+					for( int j=0; j<ret._ncol; j++ ) {
+						schema[j] = ValueType.values()[in.readByte()];
+						names[j] = in.readUTF();
+					}
+					ret.setFrameMetadata(schema, names);
+				}
+				
+				//read tail and footer index
+				byte[] tail = new byte[TAIL_SIZE];
+				in.readFully(len - TAIL_SIZE, tail);
+				ByteBuffer tbuff = ByteBuffer.wrap(tail);
+				long footerOffset = tbuff.getLong();
+				if( tbuff.getInt() != MAGIC )
+					throw new IOException("Invalid columnar block file footer: "+path.toString());
+				byte[] footer = new byte[(int)(len - TAIL_SIZE - footerOffset)];
+				in.readFully(footerOffset, footer);
+				ByteBuffer fbuff = ByteBuffer.wrap(footer);
+				ret._nnz = fbuff.getLong();
+				for( int j=0; j<ret._ncol; j++ )
+					ret.setDictionary(j, fbuff.getLong(), fbuff.getInt(), fbuff.getInt());
+				for( int j=0; j<ret._ncol; j++ )
+					for( int b=0; b<ret.getNumChunks(); b++ )
+						ret.setChunk(j, b, fbuff.getLong(), fbuff.getInt(), 
+							ChunkEncoding.values()[fbuff.get()], fbuff.getLong(), 
+							fbuff.getDouble(), fbuff.getDouble());
+				return ret;
+			}
+			finally {
+				IOUtilFunctions.closeSilently(in);
+			}
+		}
+	}
+	
+	////////////////////////////
+	// numeric column encoding
+	
+	/**
+	 * Writes a numeric column, i.e., an optional dictionary and all chunks,
+	 * and records the dictionary and chunk meta data.
+	 * 
+	 * @param out output stream
+	 * @param meta file meta data
+	 * @param col column index
+	 * @param vals column values (at least nrow)
+	 * @return number of non-zeros in the column
+	 * @throws IOException if IOException occurs
+	 */
+	protected static long writeNumericColumn(FSDataOutputStream out, FileMetadata meta, int col, double[] vals) 
+		throws IOException
+	{
+		int nchunks = meta.getNumChunks();
+		int clen = meta.getChunkRows();
+		
+		//compute chunk statistics and decide on column dictionary
+		HashMap<Double, Integer> dict = createDictionary(vals, meta.getNumRows());
+		ChunkStats[] stats = new ChunkStats[nchunks];
+		long sizeGeneric = 0, sizeDict = (dict != null) ? 4 + 8L * dict.size() : Long.MAX_VALUE;
+		for( int b=0; b<nchunks; b++ ) {
+			stats[b] = new ChunkStats(vals, b*clen, b*clen+meta.getChunkNumRows(b));
+			sizeGeneric += stats[b].getSize(stats[b].getEncoding(0));
+			if( dict != null )
+				sizeDict += stats[b].getSize(stats[b].getEncoding(dict.size()));
+		}
+		int dictSize = (dict != null && sizeDict < sizeGeneric) ? dict.size() : 0;
+		
+		//write column dictionary
+		if( dictSize > 0 ) {
+			ByteBuffer buff = ByteBuffer.allocate(4 + 8*dictSize);
+			buff.putInt(dictSize);
+			double[] dvals = new double[dictSize];
+			for( Entry<Double,Integer> e : dict.entrySet() )
+				dvals[e.getValue()] = e.getKey();
+			buff.asDoubleBuffer().put(dvals);
+			meta.setDictionary(col, out.getPos(), buff.capacity(), dictSize);
+			out.write(buff.array());
+		}
+		
+		//write encoded column chunks
+		long nnz = 0;
+		for( int b=0; b<nchunks; b++ ) {
+			ChunkStats cstats = stats[b];
+			ChunkEncoding enc = cstats.getEncoding(dictSize);
+			byte[] buff = encodeNumericChunk(vals, b*clen, b*clen+meta.getChunkNumRows(b), enc, cstats, dict);
+			meta.setChunk(col, b, out.getPos(), buff.length, enc, cstats.nnz, cstats.min, cstats.max);
+			out.write(buff);
+			nnz += cstats.nnz;
+		}
+		return nnz;
+	}
+	
+	private static HashMap<Double, Integer> createDictionary(double[] vals, int n) {
+		HashMap<Double, Integer> dict = new HashMap<Double, Integer>();
+		for( int i=0; i<n; i++ ) {
+			double val = normalize(vals[i]);
+			if( !dict.containsKey(val) ) {
+				if( dict.size() >= MAX_DICT_SIZE )
+					return null;
+				dict.put(val, dict.size());
+			}
+		}
+		return dict;
+	}
+	
+	/**
+	 * Creates the inverted dictionary (value to code) of a numeric column 
+	 * dictionary, with the same normalization of keys as used for encoding.
+	 * 
+	 * @param dict column dictionary
+	 * @return inverted column dictionary
+	 */
+	protected static HashMap<Double, Integer> createInverseDictionary(double[] dict) {
+		HashMap<Double, Integer> invDict = new HashMap<Double, Integer>();
+		for( int i=0; i<dict.length; i++ )
+			invDict.putIfAbsent(normalize(dict[i]), i);
+		return invDict;
+	}
+	
+	private static double normalize(double val) {
+		//map -0 to 0 because Double.equals distinguishes them, while empty
+		//and sparse chunks decode all zeros as 0
+		return (val == 0) ? 0 : val;
+	}
+	
+	private static byte[] encodeNumericChunk(double[] vals, int rl, int ru, ChunkEncoding enc, ChunkStats stats, HashMap<Double, Integer> dict) {
+		ByteBuffer buff = ByteBuffer.allocate((int)stats.getSize(enc));
+		switch( enc ) {
+			case EMPTY: 
+				break;
+			case CONST:
+				buff.putDouble(vals[rl]); 
+				break;
+			case DENSE:
+				buff.asDoubleBuffer().put(vals, rl, ru-rl);
+				break;
+			case SPARSE:
+				buff.putInt((int)stats.nnz);
+				for( int i=rl; i<ru; i++ )
+					if( vals[i] != 0 )
+						buff.putInt(i-rl);
+				for( int i=rl; i<ru; i++ )
+					if( vals[i] != 0 )
+						buff.putDouble(vals[i]);
+				break;
+			case RLE:
+				buff.putInt(stats.nruns);
+				for( int i=rl; i<ru; ) {
+					int j = i + 1;
+					while( j<ru && Double.compare(vals[j], vals[i])==0 )
+						j++;
+					buff.putInt(j-i);
+					buff.putDouble(vals[i]);
+					i = j;
+				}
+				break;
+			case DICT1:
+				for( int i=rl; i<ru; i++ )
+					buff.put((byte)dict.get(normalize(vals[i])).intValue());
+				break;
+			case DICT2:
+				for( int i=rl; i<ru; i++ )
+					buff.putChar((char)dict.get(normalize(vals[i])).intValue());
+				break;
+			default:
+				throw new RuntimeException("Unsupported numeric chunk encoding: "+enc);
+		}
+		return buff.array();
+	}
+	
+	/**
+	 * Reads a numeric column dictionary.
+	 * 
+	 * @param buff serialized dictionary
+	 * @return dictionary values
+	 */
+	protected static double[] decodeNumericDictionary(byte[] buff) {
+		ByteBuffer bbuff = ByteBuffer.wrap(buff);
+		double[] ret = new double[bbuff.getInt()];
+		bbuff.asDoubleBuffer().get(ret);
+		return ret;
+	}
+	
+	/**
+	 * Decodes a numeric chunk into a dense array of the chunk rows.
+	 * 
+	 * @param buff serialized chunk
+	 * @param enc chunk encoding
+	 * @param n number of rows of the chunk
+	 * @param dict column dictionary or null
+	 * @param out output array of at least n cells
+	 */
+	protected static void decodeNumericChunk(ByteBuffer buff, ChunkEncoding enc, int n, double[] dict, double[] out) {
+		switch( enc ) {
+			case EMPTY:
+				Arrays.fill(out, 0, n, 0);
+				break;
+			case CONST:
+				Arrays.fill(out, 0, n, buff.getDouble());
+				break;
+			case DENSE:
+				buff.asDoubleBuffer().get(out, 0, n);
+				break;
+			case SPARSE: {
+				Arrays.fill(out, 0, n, 0);
+				int nnz = buff.getInt();
+				int ixpos = buff.position();
+				int valpos = ixpos + 4*nnz;
+				for( int k=0; k<nnz; k++ )
+					out[buff.getInt(ixpos+4*k)] = buff.getDouble(valpos+8*k);
+				break;
+			}
+			case RLE: {
+				int nruns = buff.getInt();
+				for( int k=0, pos=0; k<nruns; k++ ) {
+					int len = buff.getInt();
+					Arrays.fill(out, pos, pos+len, buff.getDouble());
+					pos += len;
+				}
+				break;
+			}
+			case DICT1:
+				for( int i=0; i<n; i++ )
+					out[i] = dict[buff.get() & 0xFF];
+				break;
+			case DICT2:
+				for( int i=0; i<n; i++ )
+					out[i] = dict[buff.getChar()];
+				break;
+			default:
+				throw new RuntimeException("Unsupported numeric chunk encoding: "+enc);
+		}
+	}
+	
+	/**
+	 * Decodes a numeric chunk of a dictionary column into dictionary codes, 
+	 * where non-dictionary encodings are mapped via the inverted dictionary.
+	 * 
+	 * @param buff serialized chunk
+	 * @param enc chunk encoding
+	 * @param n number of rows of the chunk
+	 * @param dict column dictionary
+	 * @param invDict inverted column dictionary (value to code)
+	 * @param tmp temporary array of at least n cells
+	 * @param codes output codes of at least pos+n cells
+	 * @param pos output start position
+	 */
+	protected static void decodeNumericChunkCodes(ByteBuffer buff, ChunkEncoding enc, int n, double[] dict, 
+		HashMap<Double, Integer> invDict, double[] tmp, char[] codes, int pos) 
+	{
+		switch( enc ) {
+			case DICT1:
+				for( int i=0; i<n; i++ )
+					codes[pos+i] = (char)(buff.get() & 0xFF);
+				break;
+			case DICT2:
+				buff.asCharBuffer().get(codes, pos, n);
+				break;
+			case EMPTY:
+			case CONST:
+				decodeNumericChunk(buff, enc, 1, dict, tmp);
+				Arrays.fill(codes, pos, pos+n, (char)invDict.get(normalize(tmp[0])).intValue());
+				break;
+			default:
+				decodeNumericChunk(buff, enc, n, dict, tmp);
+				for( int i=0; i<n; i++ )
+					codes[pos+i] = (char)invDict.get(normalize(tmp[i])).intValue();
+		}
+	}
+	
+	/**
+	 * Statistics of a numeric chunk, used for selecting its encoding.
+	 */
+	private static class ChunkStats 
+	{
+		private final int n;
+		private long nnz = 0;
+		private int nruns = 0;
+		private double min = Double.POSITIVE_INFINITY;
+		private double max = Double.NEGATIVE_INFINITY;
+		
+		public ChunkStats(double[] vals, int rl, int ru) {
+			n = ru - rl;
+			for( int i=rl; i<ru; i++ ) {
+				double v = vals[i];
+				nnz += (v != 0) ? 1 : 0;
+				nruns += (i==rl || Double.compare(v, vals[i-1])!=0) ? 1 : 0;
+				min = (v < min) ? v : min;
+				max = (v > max) ? v : max;
+			}
+		}
+		
+		public ChunkEncoding getEncoding(int dictSize) {
+			ChunkEncoding ret = ChunkEncoding.DENSE;
+			if( nnz == 0 )
+				return ChunkEncoding.EMPTY;
+			else if( nruns == 1 )
+				return ChunkEncoding.CONST;
+			if( getSize(ChunkEncoding.SPARSE) < getSize(ret) )
+				ret = ChunkEncoding.SPARSE;
+			if( getSize(ChunkEncoding.RLE) < getSize(ret) )
+				ret = ChunkEncoding.RLE;
+			if( dictSize > 0 && dictSize <= MAX_DICT1_SIZE && getSize(ChunkEncoding.DICT1) < getSize(ret) )
+				ret = ChunkEncoding.DICT1;
+			else if( dictSize > MAX_DICT1_SIZE && getSize(ChunkEncoding.DICT2) < getSize(ret) )
+				ret = ChunkEncoding.DICT2;
+			return ret;
+		}
+		
+		public long getSize(ChunkEncoding enc) {
+			switch( enc ) {
+				case EMPTY:  return 0;
+				case CONST:  return 8;
+				case DENSE:  return 8L * n;
+				case SPARSE: return 4 + 12L * nnz;
+				case RLE:    return 4 + 12L * nruns;
+				case DICT1:  return n;
+				case DICT2:  return 2L * n;
+				default:     return Long.MAX_VALUE;
+			}
+		}
+	}
+	
+	////////////////////////////
+	// string column encoding
+	
+	/**
+	 * Writes a string column, i.e., an optional dictionary and all chunks,
+	 * and records the dictionary and chunk meta data.
+	 * 
+	 * @param out output stream
+	 * @param meta file meta data
+	 * @param col column index
+	 * @param vals column values (at least nrow)
+	 * @return number of non-null values in the column
+	 * @throws IOException if IOException occurs
+	 */
+	protected static long writeStringColumn(FSDataOutputStream out, FileMetadata meta, int col, String[] vals) 
+		throws IOException
+	{
+		int n = meta.getNumRows();
+		int clen = meta.getChunkRows();
+		
+		//serialize values and decide on column dictionary
+		byte[][] bvals = new byte[n][];
+		HashMap<String, Integer> dict = new HashMap<String, Integer>();
+		long sizePlain = 0, sizeDict = 4;
+		for( int i=0; i<n; i++ ) {
+			bvals[i] = (vals[i] != null) ? vals[i].getBytes(StandardCharsets.UTF_8) : null;
+			int len = 4 + ((bvals[i] != null) ? bvals[i].length : 0);
+			sizePlain += len;
+			if( dict != null && !dict.containsKey(vals[i]) ) {
+				dict = (dict.size() < MAX_DICT_SIZE) ? dict : null;
+				if( dict != null ) {
+					dict.put(vals[i], dict.size());
+					sizeDict += len;
+				}
+			}
+		}
+		int dictSize = (dict != null && sizeDict + 2L*n < sizePlain) ? dict.size() : 0;
+		
+		//write column dictionary
+		if( dictSize > 0 ) {
+			byte[][] dvals = new byte[dictSize][];
+			for( Entry<String,Integer> e : dict.entrySet() )
+				dvals[e.getValue()] = (e.getKey() != null) ? e.getKey().getBytes(StandardCharsets.UTF_8) : null;
+			ByteBuffer buff = ByteBuffer.allocate((int)sizeDict);
+			buff.putInt(dictSize);
+			for( byte[] bval : dvals )
+				putString(buff, bval);
+			meta.setDictionary(col, out.getPos(), buff.capacity(), dictSize);
+			out.write(buff.array());
+		}
+		
+		//write encoded column chunks
+		long nnz = 0;
+		for( int b=0; b<meta.getNumChunks(); b++ ) {
+			int rl = b * clen, ru = rl + meta.getChunkNumRows(b);
+			int cnnz = 0, size = 0;
+			for( int i=rl; i<ru; i++ ) {
+				cnnz += (vals[i] != null) ? 1 : 0;
+				size += 4 + ((bvals[i] != null) ? bvals[i].length : 0);
+			}
+			ChunkEncoding enc = (cnnz == 0) ? ChunkEncoding.EMPTY : (dictSize == 0) ? 
+				ChunkEncoding.STRING : (dictSize <= MAX_DICT1_SIZE) ? ChunkEncoding.DICT1 : ChunkEncoding.DICT2;
+			ByteBuffer buff = ByteBuffer.allocate( (enc==ChunkEncoding.EMPTY) ? 0 : (enc==ChunkEncoding.STRING) ? 
+				size : (enc==ChunkEncoding.DICT1) ? ru-rl : 2*(ru-rl));
+			for( int i=rl; i<ru && enc!=ChunkEncoding.EMPTY; i++ ) {
+				if( enc == ChunkEncoding.STRING )
+					putString(buff, bvals[i]);
+				else if( enc == ChunkEncoding.DICT1 )
+					buff.put((byte)dict.get(vals[i]).intValue());
+				else
+					buff.putChar((char)dict.get(vals[i]).intValue());
+			}
+			meta.setChunk(col, b, out.getPos(), buff.capacity(), enc, cnnz, Double.NaN, Double.NaN);
+			out.write(buff.array());
+			nnz += cnnz;
+		}
+		return nnz;
+	}
+	
+	/**
+	 * Reads a string column dictionary.
+	 * 
+	 * @param buff serialized dictionary
+	 * @return dictionary values
+	 */
+	protected static String[] decodeStringDictionary(byte[] buff) {
+		ByteBuffer bbuff = ByteBuffer.wrap(buff);
+		String[] ret = new String[bbuff.getInt()];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = getString(bbuff);
+		return ret;
+	}
+	
+	/**
+	 * Decodes a string chunk into an array of the chunk rows.
+	 * 
+	 * @param buff serialized chunk
+	 * @param enc chunk encoding
+	 * @param n number of rows of the chunk
+	 * @param dict column dictionary or null
+	 * @param out output array of at least n cells
+	 */
+	protected static void decodeStringChunk(ByteBuffer buff, ChunkEncoding enc, int n, String[] dict, String[] out) {
+		for( int i=0; i<n; i++ ) {
+			switch( enc ) {
+				case EMPTY:  out[i] = null; break;
+				case STRING: out[i] = getString(buff); break;
+				case DICT1:  out[i] = dict[buff.get() & 0xFF]; break;
+				case DICT2:  out[i] = dict[buff.getChar()]; break;
+				default:
+					throw new RuntimeException("Unsupported string chunk encoding: "+enc);
+			}
+		}
+	}
+	
+	private static void putString(ByteBuffer buff, byte[] bval) {
+		buff.putInt((bval != null) ? bval.length : -1);
+		if( bval != null )
+			buff.put(bval);
+	}
+	
+	private static String getString(ByteBuffer buff) {
+		int len = buff.getInt();
+		if( len < 0 )
+			return null;
+		String ret = new String(buff.array(), buff.arrayOffset()+buff.position(), len, StandardCharsets.UTF_8);
+		buff.position(buff.position() + len);
+		return ret;
+	}
+}
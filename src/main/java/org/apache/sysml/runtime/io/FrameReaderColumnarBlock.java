@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.ColumnarBlockFormat.ChunkEncoding;
+import org.apache.sysml.runtime.io.ColumnarBlockFormat.FileMetadata;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Reader for frames in the columnar block format (see ColumnarBlockFormat), 
+ * with support for column projection and row ranges. The schema and column 
+ * names are taken from the file. Parallel reads partition the columns, i.e., 
+ * tasks write disjoint column arrays.
+ */
+public class FrameReaderColumnarBlock extends FrameReader
+{
+	private final int _numThreads;
+	
+	public FrameReaderColumnarBlock( boolean parallel ) {
+		_numThreads = parallel ? OptimizerUtils.getParallelBinaryReadParallelism() : 1;
+	}
+	
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+		checkValidInputFile(fs, path);
+		FileMetadata meta = FileMetadata.read(fs, path);
+		
+		//check meta data consistency
+		if( !meta.isFrame() || (rlen > 0 && clen > 0 
+			&& (meta.getNumRows() != rlen || meta.getNumColumns() != clen)) )
+			throw new DMLRuntimeException("Read frame inconsistent with given meta data: "
+				+ "expected nrow="+ rlen + ", real nrow=" + meta.getNumRows() 
+				+ ", expected ncol="+ clen + ", real ncol=" + meta.getNumColumns());
+		
+		//core read of all columns and rows
+		int[] cols = new int[meta.getNumColumns()];
+		for( int j=0; j<cols.length; j++ )
+			cols[j] = j;
+		return readColumnarBlockFrameFromHDFS(path, fs, meta, cols, 0, meta.getNumRows()-1);
+	}
+	
+	/**
+	 * Reads a subset of columns and rows of a frame, where only the chunks of the 
+	 * given columns that overlap with the row range and are non-empty are read.
+	 * 
+	 * @param fname file name
+	 * @param cols column indexes (0-based)
+	 * @param rl row lower bound (0-based, inclusive)
+	 * @param ru row upper bound (0-based, inclusive)
+	 * @return frame block of size (ru-rl+1) x cols.length
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public FrameBlock readFrameFromHDFS(String fname, int[] cols, int rl, int ru) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+		checkValidInputFile(fs, path);
+		FileMetadata meta = FileMetadata.read(fs, path);
+		
+		//check valid projection and row range
+		for( int c : cols )
+			if( c < 0 || c >= meta.getNumColumns() )
+				throw new DMLRuntimeException("Invalid column index "+c+" for columnar frame with "+meta.getNumColumns()+" columns.");
+		if( rl < 0 || ru >= meta.getNumRows() || rl > ru )
+			throw new DMLRuntimeException("Invalid row range ["+rl+","+ru+"] for columnar frame with "+meta.getNumRows()+" rows.");
+		
+		return readColumnarBlockFrameFromHDFS(path, fs, meta, cols, rl, ru);
+	}
+	
+	private FrameBlock readColumnarBlockFrameFromHDFS(Path path, FileSystem fs, FileMetadata meta, int[] cols, int rl, int ru) 
+		throws IOException, DMLRuntimeException
+	{
+		//allocate output frame block w/ projected schema and names
+		ValueType[] schema = new ValueType[cols.length];
+		String[] names = new String[cols.length];
+		for( int jx=0; jx<cols.length; jx++ ) {
+			schema[jx] = meta.getSchema()[cols[jx]];
+			names[jx] = meta.getColumnNames()[cols[jx]];
+		}
+		FrameBlock ret = createOutputFrameBlock(schema, names, Math.max(ru-rl+1, 0));
+		if( ru < rl )
+			return ret;
+		
+		//core read of relevant chunks (sequential or parallel over columns)
+		int k = Math.min(_numThreads, cols.length);
+		try {
+			if( k <= 1 ) {
+				new ReadColumnsTask(path, fs, meta, cols, rl, ru, 0, cols.length, ret).call();
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<ReadColumnsTask> tasks = new ArrayList<ReadColumnsTask>();
+				int blklen = (int)Math.ceil((double)cols.length / k);
+				for( int j=0; j<cols.length; j+=blklen )
+					tasks.add(new ReadColumnsTask(path, fs, meta, cols, rl, ru, j, Math.min(j+blklen, cols.length), ret));
+				List<Future<Object>> rt = pool.invokeAll(tasks);
+				for( Future<Object> task : rt )
+					task.get();
+				pool.shutdown();
+			}
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed to read columnar block file "+path.toString()+".", ex);
+		}
+		
+		return ret;
+	}
+	
+	private static class ReadColumnsTask implements Callable<Object> 
+	{
+		private final Path _path;
+		private final FileSystem _fs;
+		private final FileMetadata _meta;
+		private final int[] _cols;
+		private final int _rl;
+		private final int _ru;
+		private final int _cl;
+		private final int _cu;
+		private final FrameBlock _dest;
+		
+		public ReadColumnsTask(Path path, FileSystem fs, FileMetadata meta, int[] cols, int rl, int ru, int cl, int cu, FrameBlock dest) {
+			_path = path;
+			_fs = fs;
+			_meta = meta;
+			_cols = cols;
+			_rl = rl;
+			_ru = ru;
+			_cl = cl;
+			_cu = cu;
+			_dest = dest;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			int clen = _meta.getChunkRows();
+			int bl = _rl / clen, bu = _ru / clen;
+			FSDataInputStream in = _fs.open(_path);
+			try {
+				byte[] buff = new byte[_meta.getMaxChunkLength()];
+				double[] dvals = new double[clen];
+				String[] svals = new String[clen];
+				for( int jx=_cl; jx<_cu; jx++ ) {
+					int c = _cols[jx];
+					ValueType vt = _meta.getSchema()[c];
+					boolean string = (vt == ValueType.STRING);
+					double[] ddict = null;
+					String[] sdict = null;
+					for( int b=bl; b<=bu; b++ ) {
+						ChunkEncoding enc = _meta.getChunkEncoding(c, b);
+						if( enc == ChunkEncoding.EMPTY ) //skip empty chunks
+							continue;
+						int off = b * clen;
+						int crl = Math.max(_rl, off) - off;
+						int cru = Math.min(_ru, off + _meta.getChunkNumRows(b) - 1) - off;
+						boolean dict = (enc == ChunkEncoding.DICT1 || enc == ChunkEncoding.DICT2);
+						ByteBuffer bbuff = _meta.readChunk(in, c, b, buff);
+						if( string ) {
+							if( dict && sdict == null )
+								sdict = ColumnarBlockFormat.decodeStringDictionary(_meta.readDictionary(in, c));
+							ColumnarBlockFormat.decodeStringChunk(bbuff, enc, cru+1, sdict, svals);
+							for( int i=crl; i<=cru; i++ )
+								_dest.set(off-_rl+i, jx, svals[i]);
+						}
+						else {
+							if( dict && ddict == null )
+								ddict = ColumnarBlockFormat.decodeNumericDictionary(_meta.readDictionary(in, c));
+							ColumnarBlockFormat.decodeNumericChunk(bbuff, enc, cru+1, ddict, dvals);
+							for( int i=crl; i<=cru; i++ )
+								_dest.set(off-_rl+i, jx, UtilFunctions.doubleToObject(vt, dvals[i], false));
+						}
+					}
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(in);
+			}
+			return null;
+		}
+	}
+}
@@ -63,6 +63,10 @@ public class FrameReaderFactory
 			else
 				reader = new FrameReaderBinaryBlock();
 		}
+		else if( iinfo == InputInfo.ColumnarBlockInputInfo ) {
+			reader = new FrameReaderColumnarBlock( 
+				ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) );
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create frame reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
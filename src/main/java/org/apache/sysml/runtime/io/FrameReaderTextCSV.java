@@ -66,6 +66,14 @@ public class FrameReaderTextCSV extends FrameReader
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
 		
+		//core read (sequential/parallel, incl size computation if necessary)
+		return readCSVFrameFromHDFS(path, job, fs, schema, names, rlen, clen);
+	}
+
+	protected FrameBlock readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
+			ValueType[] schema, String[] names, long rlen, long clen) 
+		throws IOException, DMLRuntimeException
+	{
 		//compute size if necessary
 		if( rlen <= 0 || clen <= 0 ) {
 			Pair<Integer,Integer> size = computeCSVSize(path, job, fs);
@@ -77,41 +85,53 @@ public class FrameReaderTextCSV extends FrameReader
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
-	
-		//core read (sequential/parallel) 
-		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 		
-		return ret;
-	}
-
-	protected void readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
-			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen) 
-		throws IOException
-	{
+		//core read
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
 		InputSplit[] splits = informat.getSplits(job, 1);
 		splits = IOUtilFunctions.sortInputSplits(splits);
-		for( int i=0; i<splits.length; i++ )
-			readCSVFrameFromInputSplit(splits[i], informat, job, dest, schema, names, rlen, clen, 0, i==0);
+		for( int i=0, rl=0; i<splits.length; i++ )
+			rl += readCSVFrameFromInputSplit(splits[i], informat, job, ret, lschema, lnames, rlen, clen, rl, i==0);
+		
+		return ret;
 	}
 
-	protected final void readCSVFrameFromInputSplit( InputSplit split, TextInputFormat informat, JobConf job, 
+	/**
+	 * Reads the rows of the given input split into the destination frame block, 
+	 * either at row offset rl if the frame block is preallocated, or by appending 
+	 * rows if rl is negative (for partial frame blocks with unknown offset).
+	 * 
+	 * @param split input split
+	 * @param informat text input format
+	 * @param job job configuration
+	 * @param dest destination frame block
+	 * @param schema value types of all columns
+	 * @param names column names
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param rl row offset, or -1 for append
+	 * @param first true if first split (with optional header)
+	 * @return number of read rows
+	 * @throws IOException if IOException occurs
+	 */
+	protected final int readCSVFrameFromInputSplit( InputSplit split, TextInputFormat informat, JobConf job, 
 			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen, int rl, boolean first)
 		throws IOException
 	{
 		boolean hasHeader = _props.hasHeader();
 		boolean isFill = _props.isFill();
 		double dfillValue = _props.getFillValue();
-		String sfillValue = String.valueOf(_props.getFillValue());
+		String sfillValue = (isFill && dfillValue!=0) ? String.valueOf(dfillValue) : null;
 		String delim = _props.getDelim();
+		boolean append = (rl < 0);
 		
 		//create record reader
 		RecordReader<LongWritable, Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
 		LongWritable key = new LongWritable();
 		Text value = new Text();
-		int row = rl;
-		int col = -1;
+		int row = Math.max(rl, 0);
+		Object[] rowvals = new Object[(int)clen];
 		
 		//handle header if existing
 		if(first && hasHeader ) {
@@ -126,7 +146,7 @@ public class FrameReaderTextCSV extends FrameReader
 			while( reader.next(key, value) ) //foreach line
 			{
 				String cellStr = value.toString().trim();
-				emptyValuesFound = false; col = 0;
+				emptyValuesFound = false;
 				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
 				
 				//parse frame meta data (missing values / num distinct)
@@ -140,29 +160,40 @@ public class FrameReaderTextCSV extends FrameReader
 					continue;
 				}
 				
-				for( String part : parts ) //foreach cell
+				//sanity checks for number of columns
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+				
+				for( int col=0; col<parts.length; col++ ) //foreach cell
 				{
-					part = part.trim();
+					String part = parts[col].trim();
 					if ( part.isEmpty() ) {
-						if( isFill && dfillValue!=0 )
-							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
+						rowvals[col] = (sfillValue!=null) ? 
+							UtilFunctions.stringToObject(schema[col], sfillValue) : null;
 						emptyValuesFound = true;
 					}
 					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+						rowvals[col] = UtilFunctions.stringToObject(schema[col], part);
 					}
-					col++;
 				}
 				
-				//sanity checks for empty values and number of columns
+				//sanity checks for empty values
 				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+				
+				//write or append row
+				if( append )
+					dest.appendRow(rowvals);
+				else
+					for( int col=0; col<rowvals.length; col++ )
+						if( rowvals[col] != null )
+							dest.set(row, col, rowvals[col]);
 				row++;
 			}
 		}
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
+		
+		return row - Math.max(rl, 0);
 	}
 
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
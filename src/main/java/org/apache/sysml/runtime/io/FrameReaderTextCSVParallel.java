@@ -24,27 +24,25 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.apache.hadoop.io.LongWritable;
-import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
-import org.apache.hadoop.mapred.RecordReader;
-import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
-import org.apache.sysml.runtime.matrix.data.Pair;
-import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
- * Multi-threaded frame text csv reader.
+ * Multi-threaded frame text csv reader. All splits are read in a single pass
+ * into partial frame blocks, which are subsequently copied into the output 
+ * frame block at row offsets computed via cumsum over the partial row counts.
  * 
  */
 public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
@@ -54,9 +52,9 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 	}
 
 	@Override
-	protected void readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
-			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen) 
-		throws IOException
+	protected FrameBlock readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
+			ValueType[] schema, String[] names, long rlen, long clen) 
+		throws IOException, DMLRuntimeException
 	{
 		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		
@@ -64,142 +62,120 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		informat.configure(job);
 		InputSplit[] splits = informat.getSplits(job, numThreads); 
 		splits = IOUtilFunctions.sortInputSplits(splits);
-
+		
+		//compute number of columns if necessary
+		if( clen <= 0 )
+			clen = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
+		ValueType[] lschema = createOutputSchema(schema, clen);
+		String[] lnames = createOutputNames(names, clen);
+		
+		FrameBlock ret = null;
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			ExecutorService pool = CommonThreadPool.get(numThreads);
 			
-			//compute num rows per split
-			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
+			//read individual splits into partial frame blocks
+			ArrayList<ReadRowsTask> tasks = new ArrayList<ReadRowsTask>();
 			for( int i=0; i<splits.length; i++ )
-				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
-			List<Future<Long>> cret = pool.invokeAll(tasks);
-
+				tasks.add(new ReadRowsTask(splits[i], informat, job, lschema, lnames, clen, i==0));
+			List<Future<FrameBlock>> rret = pool.invokeAll(tasks);
+			
 			//compute row offset per split via cumsum on row counts
-			long offset = 0;
-			List<Long> offsets = new ArrayList<Long>();
-			for( Future<Long> count : cret ) {
-				offsets.add(offset);
-				offset += count.get();
+			ArrayList<FrameBlock> blocks = new ArrayList<FrameBlock>();
+			int[] offsets = new int[splits.length];
+			int nrow = 0;
+			for( int i=0; i<splits.length; i++ ) {
+				blocks.add(rret.get(i).get());
+				offsets[i] = nrow;
+				nrow += blocks.get(i).getNumRows();
 			}
 			
-			//read individual splits
-			ArrayList<ReadRowsTask> tasks2 = new ArrayList<ReadRowsTask>();
+			//allocate output frame block and copy meta data
+			ret = createOutputFrameBlock(lschema, lnames, nrow);
+			if( _props.hasHeader() )
+				ret.setColumnNames(blocks.get(0).getColumnNames());
+			for( FrameBlock block : blocks )
+				copyColumnMetadata(block, ret);
+			
+			//copy partial frame blocks into output frame block
+			ArrayList<CopyRowsTask> tasks2 = new ArrayList<CopyRowsTask>();
 			for( int i=0; i<splits.length; i++ )
-				tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, offsets.get(i).intValue(), i==0));
-			List<Future<Object>> rret = pool.invokeAll(tasks2);
+				if( blocks.get(i).getNumRows() > 0 )
+					tasks2.add(new CopyRowsTask(blocks.get(i), ret, offsets[i]));
+			List<Future<Object>> cret = pool.invokeAll(tasks2);
 			pool.shutdown();
 			
 			//error handling
-			for( Future<Object> read : rret )
-				read.get();
+			for( Future<Object> copy : cret )
+				copy.get();
 		} 
 		catch (Exception e) {
 			throw new IOException("Failed parallel read of text csv input.", e);
 		}
-	}
-
-	@Override
-	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
-		throws IOException 
-	{	
-		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-		InputSplit[] splits = informat.getSplits(job, numThreads);
-		
-		//compute number of columns
-		int ncol = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
-		
-		//compute number of rows
-		int nrow = 0;
-		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
-		try {
-			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
-			for( int i=0; i<splits.length; i++ )
-				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
-			List<Future<Long>> cret = pool.invokeAll(tasks);
-			for( Future<Long> count : cret ) 
-				nrow += count.get().intValue();
-		}
-		catch (Exception e) {
-			throw new IOException("Failed parallel read of text csv input.", e);
+		return ret;
+	}
+	
+	private static void copyColumnMetadata(FrameBlock src, FrameBlock dest) {
+		for( int j=0; j<src.getNumColumns(); j++ ) {
+			ColumnMetadata meta = src.getColumnMetadata(j);
+			if( meta.getMvValue() != null )
+				dest.getColumnMetadata(j).setMvValue(meta.getMvValue());
+			if( meta.getNumDistinct() > 0 )
+				dest.getColumnMetadata(j).setNumDistinct(meta.getNumDistinct());
 		}
-		
-		return new Pair<Integer,Integer>(nrow, ncol);
 	}
 
-	private static class CountRowsTask implements Callable<Long> 
+	private class ReadRowsTask implements Callable<FrameBlock> 
 	{
 		private InputSplit _split = null;
 		private TextInputFormat _informat = null;
 		private JobConf _job = null;
-		private boolean _hasHeader = false;
-		private boolean _firstSplit = false;
-
-		public CountRowsTask(InputSplit split, TextInputFormat informat, JobConf job, boolean hasHeader, boolean first) {
+		private ValueType[] _schema = null;
+		private String[] _names = null;
+		private long _clen = -1;
+		private boolean _isFirstSplit = false;
+		
+		public ReadRowsTask(InputSplit split, TextInputFormat informat, JobConf job, 
+				ValueType[] schema, String[] names, long clen, boolean first) 
+		{
 			_split = split;
 			_informat = informat;
 			_job = job;
-			_hasHeader = hasHeader;
-			_firstSplit = first;
+			_schema = schema;
+			_names = names;
+			_clen = clen;
+			_isFirstSplit = first;
 		}
 
 		@Override
-		public Long call() 
+		public FrameBlock call() 
 			throws Exception 
 		{
-			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
-			LongWritable key = new LongWritable();
-			Text value = new Text();
-			long nrows = 0;
-			
-			// count rows from the first non-header row
-			try {
-				if ( _firstSplit && _hasHeader )
-					reader.next(key, value);
-				while ( reader.next(key, value) ) {
-					String val = value.toString();
-					nrows += ( val.startsWith(TfUtils.TXMTD_MVPREFIX)
-						|| val.startsWith(TfUtils.TXMTD_NDPREFIX)) ? 0 : 1; 
-				}
-			} 
-			finally {
-				IOUtilFunctions.closeSilently(reader);
-			}
-
-			return nrows;
+			//read split into partial frame block via row appends
+			FrameBlock block = new FrameBlock(_schema, _names);
+			block.ensureAllocatedColumns(0);
+			readCSVFrameFromInputSplit(_split, _informat, _job, block, 
+				_schema, _names, -1, _clen, -1, _isFirstSplit);
+			return block;
 		}
 	}
-
-	private class ReadRowsTask implements Callable<Object> 
+	
+	private static class CopyRowsTask implements Callable<Object> 
 	{
-		private InputSplit _split = null;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
-		private FrameBlock _dest = null;
-		private int _offset = -1;
-		private boolean _isFirstSplit = false;
+		private final FrameBlock _src;
+		private final FrameBlock _dest;
+		private final int _rl;
 		
-		
-		public ReadRowsTask(InputSplit split, TextInputFormat informat, JobConf job, 
-				FrameBlock dest, int offset, boolean first) 
-		{
-			_split = split;
-			_informat = informat;
-			_job = job;
+		public CopyRowsTask(FrameBlock src, FrameBlock dest, int rl) {
+			_src = src;
 			_dest = dest;
-			_offset = offset;
-			_isFirstSplit = first;
+			_rl = rl;
 		}
-
+		
 		@Override
-		public Object call() 
-			throws Exception 
-		{
-			readCSVFrameFromInputSplit(_split, _informat, _job, _dest, _dest.getSchema(), 
-					_dest.getColumnNames(), _dest.getNumRows(), _dest.getNumColumns(), _offset, _isFirstSplit);
+		public Object call() {
+			_dest.copy(_rl, _rl+_src.getNumRows()-1, 0, _dest.getNumColumns()-1, _src);
 			return null;
 		}
 	}
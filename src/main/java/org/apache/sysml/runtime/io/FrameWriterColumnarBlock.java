@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.ColumnarBlockFormat.FileMetadata;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Writer for frames in the columnar block format (see ColumnarBlockFormat). 
+ * String columns are stored as plain or dictionary-encoded strings, while 
+ * numeric and boolean columns use the numeric chunk encodings with min/max 
+ * statistics (note that integers are stored as doubles, which is exact for 
+ * absolute values up to 2^53).
+ */
+public class FrameWriterColumnarBlock extends FrameWriter
+{
+	@Override
+	public final void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check frame dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen ) {
+			throw new IOException("Frame dimensions mismatch with metadata: " + 
+					src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		}
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//core write (sequential, single file)
+		writeColumnarBlockFrameToHDFS(path, fs, src);
+		
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+	
+	private static void writeColumnarBlockFrameToHDFS( Path path, FileSystem fs, FrameBlock src ) 
+		throws IOException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		ValueType[] schema = src.getSchema();
+		FileMetadata meta = new FileMetadata(true, rlen, clen, ColumnarBlockFormat.DEFAULT_CHUNK_ROWS);
+		meta.setFrameMetadata(schema, src.getColumnNames());
+		
+		FSDataOutputStream out = fs.create(path, true);
+		try {
+			meta.writeHeader(out);
+			double[] dvals = null;
+			String[] svals = null;
+			long nnz = 0;
+			for( int j=0; j<clen; j++ ) {
+				if( schema[j] == ValueType.STRING ) {
+					svals = (svals != null) ? svals : new String[rlen];
+					for( int i=0; i<rlen; i++ )
+						svals[i] = UtilFunctions.objectToString(src.get(i, j));
+					nnz += ColumnarBlockFormat.writeStringColumn(out, meta, j, svals);
+				}
+				else {
+					dvals = (dvals != null) ? dvals : new double[rlen];
+					for( int i=0; i<rlen; i++ )
+						dvals[i] = UtilFunctions.objectToDouble(schema[j], src.get(i, j));
+					nnz += ColumnarBlockFormat.writeNumericColumn(out, meta, j, dvals);
+				}
+			}
+			meta.setNonZeros(nnz);
+			meta.writeFooter(out);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+}
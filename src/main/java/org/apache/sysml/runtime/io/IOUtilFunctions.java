@@ -24,6 +24,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -51,6 +52,11 @@ public class IOUtilFunctions
 	private static final Log LOG = LogFactory.getLog(UtilFunctions.class.getName());
 
 	private static final char CSV_QUOTE_CHAR = '"';
+	
+	//exactly representable powers of ten for fast-path number parsing
+	private static final double[] POW10 = new double[] {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
 
 	public static void closeSilently( Closeable io ) {
 		try {
@@ -91,8 +97,12 @@ public class IOUtilFunctions
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
@@ -222,6 +232,158 @@ public class IOUtilFunctions
 		return tokens;
 	}
 	
+	/**
+	 * Parses a line of delimited numeric values directly from its UTF-8 encoded
+	 * bytes into the given row buffer, i.e., without creating intermediate strings
+	 * for the line or its tokens. The semantics are equivalent to a trim of the line,
+	 * split by the whole delimiter (preserving all tokens), trim of each token, and
+	 * Double.parseDouble, where empty tokens are replaced by the fill value.
+	 * 
+	 * @param buff byte buffer of the line
+	 * @param len number of valid bytes in the buffer
+	 * @param delim UTF-8 encoded delimiter
+	 * @param vals output row buffer, tokens beyond its length are only counted
+	 * @param fill true if empty tokens are allowed
+	 * @param fillValue value for empty tokens
+	 * @return number of tokens of the line
+	 * @throws IOException if empty tokens found and fill is disabled
+	 */
+	public static int parseDoublesCSV(byte[] buff, int len, byte[] delim, double[] vals, boolean fill, double fillValue) 
+		throws IOException
+	{
+		//trim line (consistent with String.trim)
+		int from = 0, to = len;
+		while( from < to && (buff[from] & 0xff) <= ' ' )
+			from++;
+		while( to > from && (buff[to-1] & 0xff) <= ' ' )
+			to--;
+		if( from == to )
+			return 0;
+		
+		//scan line and parse individual tokens
+		int dlen = delim.length;
+		int pos = 0;
+		while( true ) {
+			int end = indexOf(buff, delim, from, to);
+			end = (end >= 0) ? end : to;
+			
+			//trim token and parse value
+			int s = from, e = end;
+			while( s < e && (buff[s] & 0xff) <= ' ' )
+				s++;
+			while( e > s && (buff[e-1] & 0xff) <= ' ' )
+				e--;
+			if( s == e ) {
+				checkAndRaiseErrorCSVEmptyField(new String(buff, 0, len, StandardCharsets.UTF_8), fill, true);
+				if( pos < vals.length )
+					vals[pos] = fillValue;
+			}
+			else if( pos < vals.length ) {
+				vals[pos] = parseDouble(buff, s, e);
+			}
+			pos++;
+			
+			//advance position, incl handling of empty last token
+			if( end == to )
+				break;
+			from = end + dlen;
+		}
+		
+		return pos;
+	}
+	
+	/**
+	 * Parses a double value from the given range of UTF-8 encoded bytes. Plain
+	 * decimals with up to 15 significant digits and small exponents are directly 
+	 * computed by a single (and thus correctly rounded) multiplication or division 
+	 * of exactly representable values; all other cases fall back to Double.parseDouble.
+	 * 
+	 * @param buff byte buffer
+	 * @param s start position (inclusive)
+	 * @param e end position (exclusive)
+	 * @return double value
+	 */
+	public static double parseDouble(byte[] buff, int s, int e) 
+	{
+		int i = s;
+		boolean neg = false;
+		if( buff[i]=='-' || buff[i]=='+' )
+			neg = (buff[i++]=='-');
+		
+		//parse mantissa digits w/ optional decimal point
+		long mant = 0;
+		int ndigits = 0, scale = 0;
+		boolean digits = false, point = false;
+		for( ; i < e; i++ ) {
+			int d = buff[i] - '0';
+			if( d >= 0 && d <= 9 ) {
+				digits = true;
+				if( mant != 0 || d != 0 ) {
+					if( ++ndigits > 15 )
+						return parseDoubleFallback(buff, s, e);
+					mant = mant * 10 + d;
+				}
+				if( point )
+					scale--;
+			}
+			else if( buff[i]=='.' && !point )
+				point = true;
+			else
+				break;
+		}
+		
+		//parse optional exponent
+		if( i < e && digits && (buff[i]=='e' || buff[i]=='E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < e && (buff[i]=='-' || buff[i]=='+') )
+				eneg = (buff[i++]=='-');
+			int exp = 0, edigits = 0;
+			for( ; i < e && buff[i] >= '0' && buff[i] <= '9'; i++, edigits++ )
+				exp = exp * 10 + (buff[i] - '0');
+			if( edigits == 0 || edigits > 4 )
+				return parseDoubleFallback(buff, s, e);
+			scale += eneg ? -exp : exp;
+		}
+		
+		//fallback for special values, suffixes, and malformed tokens
+		if( !digits || i < e )
+			return parseDoubleFallback(buff, s, e);
+		
+		//compute value via exact operations
+		double ret;
+		if( mant == 0 )
+			ret = 0;
+		else if( scale == 0 )
+			ret = mant;
+		else if( scale > 0 && scale < POW10.length )
+			ret = mant * POW10[scale];
+		else if( scale < 0 && -scale < POW10.length )
+			ret = mant / POW10[-scale];
+		else
+			return parseDoubleFallback(buff, s, e);
+		return neg ? -ret : ret;
+	}
+	
+	private static double parseDoubleFallback(byte[] buff, int s, int e) {
+		return Double.parseDouble(new String(buff, s, e-s, StandardCharsets.UTF_8));
+	}
+	
+	private static int indexOf(byte[] buff, byte[] delim, int from, int to) {
+		byte first = delim[0];
+		int max = to - delim.length;
+		for( int i=from; i<=max; i++ ) {
+			if( buff[i] != first )
+				continue;
+			boolean match = true;
+			for( int j=1; j<delim.length && match; j++ )
+				match = (buff[i+j] == delim[j]);
+			if( match )
+				return i;
+		}
+		return -1;
+	}
+	
 	/**
 	 * Counts the number of tokens defined by the given delimiter, respecting 
 	 * the rules for quotes and escapes defined in RFC4180,
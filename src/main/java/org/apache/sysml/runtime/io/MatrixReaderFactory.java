@@ -57,6 +57,10 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderBinaryBlock( false );
 		}
+		else if( iinfo == InputInfo.ColumnarBlockInputInfo ) {
+			reader = new ReaderColumnarBlock( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) 
+				&& MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR );
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
@@ -95,6 +99,10 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderBinaryBlock( props.localFS );
 		}
+		else if( iinfo == InputInfo.ColumnarBlockInputInfo ) {
+			reader = new ReaderColumnarBlock( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) 
+				&& MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR );
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
@@ -30,6 +30,7 @@ import org.apache.hadoop.mapred.JobConf;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.BufferPool;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
@@ -180,6 +181,9 @@ public class ReaderBinaryBlock extends MatrixReader
 			}
 		}
 		
+		//release temporary block arrays for reuse
+		BufferPool.putBlock(value);
+		
 		//post-processing
 		dest.setNonZeros( lnnz );
 		if( sparse && clen>bclen ){
@@ -229,5 +233,8 @@ public class ReaderBinaryBlock extends MatrixReader
 				IOUtilFunctions.closeSilently(reader);
 			}
 		}
+		
+		//release temporary block arrays for reuse
+		BufferPool.putBlock(value);
 	}
 }
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupDDC1;
+import org.apache.sysml.runtime.compress.ColGroupDDC2;
+import org.apache.sysml.runtime.compress.ColGroupUncompressed;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.io.ColumnarBlockFormat.ChunkEncoding;
+import org.apache.sysml.runtime.io.ColumnarBlockFormat.FileMetadata;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Reader for the columnar block format (see ColumnarBlockFormat). Besides full 
+ * reads, this reader supports column projection and row ranges (where chunks 
+ * outside the row range and empty chunks are skipped without I/O), and reading 
+ * dictionary-encoded columns directly into a compressed matrix block. Parallel 
+ * reads partition the row chunks, i.e., tasks write disjoint output rows.
+ */
+public class ReaderColumnarBlock extends MatrixReader
+{
+	private final int _numThreads;
+	
+	public ReaderColumnarBlock( boolean parallel ) {
+		_numThreads = parallel ? OptimizerUtils.getParallelBinaryReadParallelism() : 1;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+		checkValidInputFile(fs, path);
+		FileMetadata meta = FileMetadata.read(fs, path);
+		
+		//check meta data consistency
+		if( rlen > 0 && clen > 0 && (meta.getNumRows() != rlen || meta.getNumColumns() != clen) )
+			throw new DMLRuntimeException("Read matrix inconsistent with given meta data: "
+				+ "expected nrow="+ rlen + ", real nrow=" + meta.getNumRows() 
+				+ ", expected ncol="+ clen + ", real ncol=" + meta.getNumColumns());
+		
+		//core read of all columns and rows
+		return readColumnarBlockMatrixFromHDFS(path, fs, meta, 
+			createSeq(meta.getNumColumns()), 0, meta.getNumRows()-1);
+	}
+	
+	/**
+	 * Reads a subset of columns and rows of a matrix, where only the chunks of the 
+	 * given columns that overlap with the row range and are non-empty are read.
+	 * 
+	 * @param fname file name
+	 * @param cols sorted column indexes (0-based) or null for all columns
+	 * @param rl row lower bound (0-based, inclusive)
+	 * @param ru row upper bound (0-based, inclusive)
+	 * @return matrix block of size (ru-rl+1) x cols.length
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixBlock readMatrixFromHDFS(String fname, int[] cols, int rl, int ru) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+		checkValidInputFile(fs, path);
+		FileMetadata meta = FileMetadata.read(fs, path);
+		
+		//check valid projection and row range
+		int[] lcols = (cols != null) ? cols : createSeq(meta.getNumColumns());
+		for( int j=0; j<lcols.length; j++ ) {
+			if( lcols[j] < 0 || lcols[j] >= meta.getNumColumns() )
+				throw new DMLRuntimeException("Invalid column index "+lcols[j]+" for columnar matrix with "+meta.getNumColumns()+" columns.");
+			if( j > 0 && lcols[j] <= lcols[j-1] )
+				throw new DMLRuntimeException("Column indexes must be sorted and unique, but "+lcols[j]+" follows "+lcols[j-1]+".");
+		}
+		if( rl < 0 || ru >= meta.getNumRows() || rl > ru )
+			throw new DMLRuntimeException("Invalid row range ["+rl+","+ru+"] for columnar matrix with "+meta.getNumRows()+" rows.");
+		
+		return readColumnarBlockMatrixFromHDFS(path, fs, meta, lcols, rl, ru);
+	}
+	
+	/**
+	 * Reads a matrix into a compressed matrix block, where columns with dictionary 
+	 * are directly decoded into DDC1/DDC2 column groups, and all remaining columns 
+	 * are read into a single uncompressed column group.
+	 * 
+	 * @param fname file name
+	 * @return compressed matrix block
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public CompressedMatrixBlock readCompressedMatrixFromHDFS(String fname) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+		checkValidInputFile(fs, path);
+		FileMetadata meta = FileMetadata.read(fs, path);
+		int nrow = meta.getNumRows();
+		int ncol = meta.getNumColumns();
+		
+		//read dictionary columns into ddc column groups
+		ArrayList<ColGroup> colGroups = new ArrayList<ColGroup>();
+		ArrayList<Integer> ucols = new ArrayList<Integer>();
+		FSDataInputStream in = fs.open(path);
+		try {
+			byte[] buff = new byte[meta.getMaxChunkLength()];
+			double[] tmp = new double[meta.getChunkRows()];
+			for( int c=0; c<ncol; c++ ) {
+				if( !meta.hasDictionary(c) ) {
+					ucols.add(c);
+					continue;
+				}
+				double[] dict = ColumnarBlockFormat.decodeNumericDictionary(meta.readDictionary(in, c));
+				HashMap<Double, Integer> invDict = ColumnarBlockFormat.createInverseDictionary(dict);
+				char[] codes = new char[nrow];
+				for( int b=0; b<meta.getNumChunks(); b++ ) {
+					ByteBuffer bbuff = meta.readChunk(in, c, b, buff);
+					ColumnarBlockFormat.decodeNumericChunkCodes(bbuff, meta.getChunkEncoding(c, b), 
+						meta.getChunkNumRows(b), dict, invDict, tmp, codes, b*meta.getChunkRows());
+				}
+				colGroups.add(createDDCColGroup(c, nrow, dict, codes));
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+		
+		//read remaining columns into uncompressed column group
+		if( !ucols.isEmpty() && nrow > 0 ) {
+			int[] lcols = new int[ucols.size()];
+			for( int i=0; i<lcols.length; i++ )
+				lcols[i] = ucols.get(i);
+			MatrixBlock data = readColumnarBlockMatrixFromHDFS(path, fs, meta, lcols, 0, nrow-1);
+			colGroups.add(new ColGroupUncompressed(lcols, nrow, data));
+		}
+		
+		return new CompressedMatrixBlock(nrow, ncol, meta.getNonZeros(), colGroups);
+	}
+	
+	/**
+	 * Reads the meta data of a columnar block file, i.e., the dimensions, schema, 
+	 * and per-chunk encodings and statistics, without reading any data.
+	 * 
+	 * @param fname file name
+	 * @return file meta data
+	 * @throws IOException if IOException occurs
+	 */
+	public static FileMetadata readMetadata(String fname) 
+		throws IOException
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+		checkValidInputFile(fs, path);
+		return FileMetadata.read(fs, path);
+	}
+	
+	private MatrixBlock readColumnarBlockMatrixFromHDFS(Path path, FileSystem fs, FileMetadata meta, int[] cols, int rl, int ru) 
+		throws IOException, DMLRuntimeException
+	{
+		int nrow = Math.max(ru - rl + 1, 0);
+		int ncol = cols.length;
+		int bl = rl / meta.getChunkRows();
+		int bu = (nrow > 0) ? ru / meta.getChunkRows() : bl - 1;
+		
+		//allocate output matrix block (estimated nnz from chunk statistics)
+		long estnnz = 0;
+		for( int c : cols )
+			for( int b=bl; b<=bu; b++ )
+				estnnz += meta.getChunkNonZeros(c, b);
+		estnnz = Math.min(estnnz, (long)nrow * ncol);
+		MatrixBlock ret = createOutputMatrixBlock(nrow, ncol, nrow, ncol, estnnz, true, true);
+		if( estnnz == 0 )
+			return ret;
+		
+		//core read of relevant chunks (sequential or parallel over chunks)
+		long lnnz = 0;
+		int nchunks = bu - bl + 1;
+		int k = Math.min(_numThreads, nchunks);
+		try {
+			if( k <= 1 ) {
+				lnnz = new ReadChunksTask(path, fs, meta, cols, rl, ru, bl, bu, ret).call();
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<ReadChunksTask> tasks = new ArrayList<ReadChunksTask>();
+				int blklen = (int)Math.ceil((double)nchunks / k);
+				for( int b=bl; b<=bu; b+=blklen )
+					tasks.add(new ReadChunksTask(path, fs, meta, cols, rl, ru, b, Math.min(b+blklen-1, bu), ret));
+				List<Future<Long>> rt = pool.invokeAll(tasks);
+				for( Future<Long> task : rt )
+					lnnz += task.get();
+				pool.shutdown();
+			}
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed to read columnar block file "+path.toString()+".", ex);
+		}
+		
+		//finally check if change of sparse/dense block representation required
+		ret.setNonZeros(lnnz);
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	private static ColGroup createDDCColGroup(int c, int nrow, double[] dict, char[] codes) {
+		if( dict.length <= ColumnarBlockFormat.MAX_DICT1_SIZE ) {
+			byte[] bcodes = new byte[nrow];
+			for( int i=0; i<nrow; i++ )
+				bcodes[i] = (byte)codes[i];
+			return new ColGroupDDC1(new int[]{c}, nrow, dict, bcodes);
+		}
+		return new ColGroupDDC2(new int[]{c}, nrow, dict, codes);
+	}
+	
+	private static int[] createSeq(int n) {
+		int[] ret = new int[n];
+		for( int i=0; i<n; i++ )
+			ret[i] = i;
+		return ret;
+	}
+	
+	private static class ReadChunksTask implements Callable<Long> 
+	{
+		private final Path _path;
+		private final FileSystem _fs;
+		private final FileMetadata _meta;
+		private final int[] _cols;
+		private final int _rl;
+		private final int _ru;
+		private final int _bl;
+		private final int _bu;
+		private final MatrixBlock _dest;
+		
+		public ReadChunksTask(Path path, FileSystem fs, FileMetadata meta, int[] cols, int rl, int ru, int bl, int bu, MatrixBlock dest) {
+			_path = path;
+			_fs = fs;
+			_meta = meta;
+			_cols = cols;
+			_rl = rl;
+			_ru = ru;
+			_bl = bl;
+			_bu = bu;
+			_dest = dest;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			int ncol = _cols.length;
+			int clen = _meta.getChunkRows();
+			long lnnz = 0;
+			FSDataInputStream in = _fs.open(_path);
+			try {
+				byte[] buff = new byte[_meta.getMaxChunkLength()];
+				double[] vals = new double[clen];
+				double[][] dicts = new double[ncol][];
+				for( int b=_bl; b<=_bu; b++ ) {
+					int off = b * clen;
+					int crl = Math.max(_rl, off) - off;
+					int cru = Math.min(_ru, off + _meta.getChunkNumRows(b) - 1) - off;
+					for( int jx=0; jx<ncol; jx++ ) {
+						int c = _cols[jx];
+						ChunkEncoding enc = _meta.getChunkEncoding(c, b);
+						if( enc == ChunkEncoding.EMPTY ) //skip empty chunks
+							continue;
+						if( (enc == ChunkEncoding.DICT1 || enc == ChunkEncoding.DICT2) && dicts[jx] == null )
+							dicts[jx] = ColumnarBlockFormat.decodeNumericDictionary(_meta.readDictionary(in, c));
+						ByteBuffer bbuff = _meta.readChunk(in, c, b, buff);
+						ColumnarBlockFormat.decodeNumericChunk(bbuff, enc, cru+1, dicts[jx], vals);
+						lnnz += appendChunk(vals, crl, cru, off-_rl, jx, ncol);
+					}
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(in);
+			}
+			return lnnz;
+		}
+		
+		private long appendChunk(double[] vals, int crl, int cru, int roff, int jx, int ncol) {
+			long lnnz = 0;
+			if( _dest.isInSparseFormat() ) {
+				SparseBlock a = _dest.getSparseBlock();
+				for( int i=crl; i<=cru; i++ )
+					if( vals[i] != 0 ) {
+						a.append(roff+i, jx, vals[i]);
+						lnnz++;
+					}
+			}
+			else {
+				double[] a = _dest.getDenseBlock();
+				for( int i=crl, aix=(roff+crl)*ncol+jx; i<=cru; i++, aix+=ncol )
+					if( vals[i] != 0 ) {
+						a[aix] = vals[i];
+						lnnz++;
+					}
+			}
+			return lnnz;
+		}
+	}
+}
@@ -20,10 +20,11 @@
 package org.apache.sysml.runtime.io;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileSystem;
@@ -42,15 +43,17 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
- * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
- * order to compute row offsets and the actual read. We accordingly create count
- * and read tasks and use fixed-size thread pools to execute these tasks. If the
- * target matrix is dense, the inserts are done lock-free. In contrast to
- * textcell parallel read, we also do lock-free inserts. If the matrix is
- * sparse, because splits contain row partitioned lines and hence there is no
- * danger of lost updates. Note, there is also no sorting of sparse rows
+ * Parallel version of ReaderTextCSV.java. To summarize, we read all splits in
+ * a single pass, where read tasks parse their split into growable partial blocks
+ * (without knowing their row offsets), and subsequently stitch these partial blocks
+ * into the preallocated target matrix block (with row offsets computed via cumsum 
+ * over the partial row counts). The stitching is done lock-free for both dense and 
+ * sparse targets because splits contain row partitioned lines and hence there is 
+ * no danger of lost updates. Note, there is also no sorting of sparse rows
  * required because data comes in sorted order per row.
  * 
  */
@@ -59,8 +62,6 @@ public class ReaderTextCSVParallel extends MatrixReader
 	private CSVFileFormatProperties _props = null;
 	private int _numThreads = 1;
 
-	private SplitOffsetInfos _offsets = null;
-
 	public ReaderTextCSVParallel(CSVFileFormatProperties props) {
 		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		_props = props;
@@ -86,17 +87,13 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
-				path, job, _props.hasHeader(), _props.getDelim(), estnnz);
-		rlen = ret.getNumRows();
-		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, brlen, bclen,
-				_props.hasHeader(), _props.getDelim(), _props.isFill(),
-				_props.getFillValue());
+		// determine number of columns from first row
+		int ncol = computeCSVNumColumns(splits, informat, job, _props.getDelim());
+		
+		// single read pass (read, parse, append to partial blocks, stitch partial 
+		// blocks into allocated output block, incl. nnz maintenance)
+		MatrixBlock ret = readCSVMatrixFromHDFS(splits, informat, job, ncol, 
+			_props.hasHeader(), _props.getDelim(), _props.isFill(), _props.getFillValue());
 		
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -111,56 +108,63 @@ public class ReaderTextCSVParallel extends MatrixReader
 		return ret;
 	}
 
-	private void readCSVMatrixFromHDFS(InputSplit[] splits, Path path, JobConf job, 
-			MatrixBlock dest, long rlen, long clen, int brlen, int bclen, 
-			boolean hasHeader, String delim, boolean fill, double fillValue) 
-		throws IOException 
+	private MatrixBlock readCSVMatrixFromHDFS(InputSplit[] splits, TextInputFormat informat, JobConf job, 
+			int ncol, boolean hasHeader, String delim, boolean fill, double fillValue) 
+		throws IOException, DMLRuntimeException
 	{
-		FileInputFormat.addInputPath(job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-
-		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
-
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		MatrixBlock dest = null;
+		
 		try 
 		{
-			// create read tasks for all splits
+			// create and execute read tasks for all splits
 			ArrayList<CSVReadTask> tasks = new ArrayList<CSVReadTask>();
-			int splitCount = 0;
-			for (InputSplit split : splits) {
-				tasks.add( new CSVReadTask(split, _offsets, informat, job, dest, 
-					rlen, clen, hasHeader, delim, fill, fillValue, splitCount++) );
+			for( int i=0; i<splits.length; i++ ) {
+				tasks.add( new CSVReadTask(splits[i], informat, job, 
+					ncol, hasHeader && i==0, delim, fill, fillValue) );
 			}
 			pool.invokeAll(tasks);
-			pool.shutdown();
 
-			// check return codes and aggregate nnz
+			// check return codes, compute row offsets, and aggregate nnz
+			int nrow = 0;
 			long lnnz = 0;
-			for (CSVReadTask rt : tasks) {
-				lnnz += rt.getPartialNnz();
+			int[] offsets = new int[tasks.size()];
+			for( int i=0; i<tasks.size(); i++ ) {
+				CSVReadTask rt = tasks.get(i);
 				if (!rt.getReturnCode()) {
 					Exception err = rt.getException();
 					throw new IOException("Read task for csv input failed: "+ err.toString(), err);
 				}
+				offsets[i] = nrow;
+				nrow += rt.getPartialBlock().getNumRows();
+				lnnz += rt.getPartialBlock().getNonZeros();
 			}
+			
+			// allocate target matrix block based on the actual size and nnz; 
+			// need to allocate sparse as well since lock-free insert into target
+			dest = createOutputMatrixBlock(nrow, ncol, nrow, ncol, lnnz, true, true);
+			
+			// stitch partial blocks into target matrix block
+			ArrayList<CSVCopyTask> tasks2 = new ArrayList<CSVCopyTask>();
+			for( int i=0; i<tasks.size(); i++ )
+				tasks2.add( new CSVCopyTask(tasks.get(i).getPartialBlock(), dest, offsets[i]) );
+			pool.invokeAll(tasks2);
+			pool.shutdown();
+			
 			dest.setNonZeros(lnnz);
 		} 
 		catch (Exception e) {
 			throw new IOException("Threadpool issue, while parallel read.", e);
 		}
+		
+		return dest;
 	}
 
-	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(
-			InputSplit[] splits, Path path, JobConf job, boolean hasHeader,
-			String delim, long estnnz) throws IOException, DMLRuntimeException 
+	private static int computeCSVNumColumns(InputSplit[] splits, TextInputFormat informat, 
+			JobConf job, String delim) throws IOException
 	{
-		int nrow = 0;
 		int ncol = 0;
 		
-		FileInputFormat.addInputPath(job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-
 		// count no of entities in the first non-header row
 		LongWritable key = new LongWritable();
 		Text oneLine = new Text();
@@ -175,168 +179,159 @@ public class ReaderTextCSVParallel extends MatrixReader
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
-
-		// count rows in parallel per split
-		try 
-		{
-			ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
-			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
-			for (InputSplit split : splits) {
-				tasks.add(new CountRowsTask(split, informat, job, hasHeader));
-				hasHeader = false;
-			}
-			pool.invokeAll(tasks);
-			pool.shutdown();
-
-			// collect row counts for offset computation
-			// early error notify in case not all tasks successful
-			_offsets = new SplitOffsetInfos(tasks.size());
-			for (CountRowsTask rt : tasks) {
-				if (!rt.getReturnCode())
-					throw new IOException("Count task for csv input failed: "+ rt.getErrMsg());
-				_offsets.setOffsetPerSplit(tasks.indexOf(rt), nrow);
-				_offsets.setLenghtPerSplit(tasks.indexOf(rt), rt.getRowCount());
-				nrow = nrow + rt.getRowCount();
-			}
-		} 
-		catch (Exception e) {
-			throw new IOException("Threadpool Error " + e.getMessage(), e);
-		}
-
-		// allocate target matrix block based on given size; 
-		// need to allocate sparse as well since lock-free insert into target
-		return createOutputMatrixBlock(nrow, ncol, nrow, ncol, estnnz, true, true);
-	}
-
-	private static class SplitOffsetInfos {
-		// offset & length info per split
-		private int[] offsetPerSplit = null;
-		private int[] lenghtPerSplit = null;
-
-		public SplitOffsetInfos(int numSplits) {
-			lenghtPerSplit = new int[numSplits];
-			offsetPerSplit = new int[numSplits];
-		}
-
-		public int getLenghtPerSplit(int split) {
-			return lenghtPerSplit[split];
-		}
-
-		public void setLenghtPerSplit(int split, int r) {
-			lenghtPerSplit[split] = r;
-		}
-
-		public int getOffsetPerSplit(int split) {
-			return offsetPerSplit[split];
-		}
-
-		public void setOffsetPerSplit(int split, int o) {
-			offsetPerSplit[split] = o;
-		}
+		
+		return ncol;
 	}
 
-	private static class CountRowsTask implements Callable<Object> 
+	/**
+	 * Growable row-major partial block of a single split, which holds its
+	 * rows either in dense format or in compressed sparse row format. The
+	 * format is determined by the sparsity of the first row.
+	 */
+	private static class CSVPartialBlock
 	{
-		private InputSplit _split = null;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
-		private boolean _rc = true;
-		private String _errMsg = null;
-		private int _nrows = -1;
-		private boolean _hasHeader = false;
-
-		public CountRowsTask(InputSplit split, TextInputFormat informat,
-				JobConf job, boolean hasHeader) {
-			_split = split;
-			_informat = informat;
-			_job = job;
-			_nrows = 0;
-			_hasHeader = hasHeader;
-		}
-
-		public boolean getReturnCode() {
-			return _rc;
+		private final int _clen;
+		private boolean _dense = false;
+		private int _nrow = 0;
+		private long _nnz = 0;
+		
+		//dense row-major values
+		private double[] _dvals = null;
+		
+		//sparse row pointers, column indexes and values
+		private int[] _rptr = null;
+		private int[] _cix = null;
+		private double[] _svals = null;
+		
+		public CSVPartialBlock(int clen) {
+			_clen = clen;
 		}
-
-		public int getRowCount() {
-			return _nrows;
+		
+		public int getNumRows() {
+			return _nrow;
 		}
 		
-		public String getErrMsg() {
-			return _errMsg;
+		public long getNonZeros() {
+			return _nnz;
 		}
-
-		@Override
-		public Object call() 
-			throws Exception 
-		{
-			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
-			LongWritable key = new LongWritable();
-			Text oneLine = new Text();
-
-			try {
-				// count rows from the first non-header row
-				if (_hasHeader) {
-					reader.next(key, oneLine);
+		
+		public void appendRow(double[] row) {
+			int rnnz = 0;
+			for( int j=0; j<_clen; j++ )
+				rnnz += (row[j] != 0) ? 1 : 0;
+			
+			//determine representation on first row
+			if( _nrow == 0 && _dvals == null && _rptr == null ) {
+				_dense = ((double)rnnz/_clen >= MatrixBlock.SPARSITY_TURN_POINT);
+				if( _dense )
+					_dvals = new double[Math.max(_clen, 1) * 16];
+				else {
+					_rptr = new int[17];
+					_cix = new int[Math.max(rnnz, 16)];
+					_svals = new double[_cix.length];
 				}
-				while (reader.next(key, oneLine)) {
-					_nrows++;
+			}
+			
+			if( _dense ) {
+				if( _dvals.length < (long)(_nrow+1) * _clen )
+					_dvals = Arrays.copyOf(_dvals, newCapacity(_dvals.length, (_nrow+1) * _clen));
+				System.arraycopy(row, 0, _dvals, _nrow * _clen, _clen);
+			}
+			else {
+				if( _rptr.length < _nrow+2 )
+					_rptr = Arrays.copyOf(_rptr, newCapacity(_rptr.length, _nrow+2));
+				int pos = _rptr[_nrow];
+				if( _cix.length < pos + rnnz ) {
+					int len = newCapacity(_cix.length, pos + rnnz);
+					_cix = Arrays.copyOf(_cix, len);
+					_svals = Arrays.copyOf(_svals, len);
 				}
-			} 
-			catch (Exception e) {
-				_rc = false;
-				_errMsg = "RecordReader error CSV format. split: "+ _split.toString() + e.getMessage();
-				throw new IOException(_errMsg);
-			} 
-			finally {
-				IOUtilFunctions.closeSilently(reader);
+				for( int j=0; j<_clen; j++ )
+					if( row[j] != 0 ) {
+						_cix[pos] = j;
+						_svals[pos++] = row[j];
+					}
+				_rptr[_nrow+1] = pos;
 			}
-
-			return null;
+			
+			_nrow++;
+			_nnz += rnnz;
+		}
+		
+		public void copyTo(MatrixBlock dest, int rl) {
+			if( _nrow == 0 )
+				return;
+			if( dest.isInSparseFormat() ) {
+				SparseBlock sblock = dest.getSparseBlock();
+				for( int i=0; i<_nrow; i++ ) {
+					int rnnz = _dense ? countNnz(_dvals, i*_clen, _clen) : _rptr[i+1]-_rptr[i];
+					if( rnnz == 0 )
+						continue;
+					sblock.allocate(rl+i, rnnz);
+					if( _dense ) {
+						for( int j=0, aix=i*_clen; j<_clen; j++, aix++ )
+							if( _dvals[aix] != 0 )
+								sblock.append(rl+i, j, _dvals[aix]);
+					}
+					else {
+						for( int k=_rptr[i]; k<_rptr[i+1]; k++ )
+							sblock.append(rl+i, _cix[k], _svals[k]);
+					}
+				}
+			}
+			else {
+				double[] c = dest.getDenseBlock();
+				if( _dense )
+					System.arraycopy(_dvals, 0, c, rl*_clen, _nrow*_clen);
+				else
+					for( int i=0, cix=rl*_clen; i<_nrow; i++, cix+=_clen )
+						for( int k=_rptr[i]; k<_rptr[i+1]; k++ )
+							c[cix+_cix[k]] = _svals[k];
+			}
+		}
+		
+		private static int countNnz(double[] a, int ai, int len) {
+			int lnnz = 0;
+			for( int i=ai; i<ai+len; i++ )
+				lnnz += (a[i] != 0) ? 1 : 0;
+			return lnnz;
+		}
+		
+		private static int newCapacity(int curlen, long minlen) {
+			long len = Math.max(2L * curlen, minlen);
+			if( minlen > Integer.MAX_VALUE )
+				throw new RuntimeException("Partial csv block exceeds max capacity: "+minlen);
+			return (int) Math.min(len, Integer.MAX_VALUE - 8);
 		}
 	}
 
 	private static class CSVReadTask implements Callable<Object> 
 	{
 		private InputSplit _split = null;
-		private SplitOffsetInfos _splitoffsets = null;
-		private boolean _sparse = false;
 		private TextInputFormat _informat = null;
 		private JobConf _job = null;
-		private MatrixBlock _dest = null;
-		private long _rlen = -1;
-		private long _clen = -1;
-		private boolean _isFirstSplit = false;
+		private int _clen = -1;
 		private boolean _hasHeader = false;
 		private boolean _fill = false;
 		private double _fillValue = 0;
 		private String _delim = null;
-		private int _splitCount = 0;
 		
 		private boolean _rc = true;
 		private Exception _exception = null;
-		private long _nnz;
+		private CSVPartialBlock _block = null;
 		
-		public CSVReadTask(InputSplit split, SplitOffsetInfos offsets,
-				TextInputFormat informat, JobConf job, MatrixBlock dest,
-				long rlen, long clen, boolean hasHeader, String delim,
-				boolean fill, double fillValue, int splitCount) 
+		public CSVReadTask(InputSplit split, TextInputFormat informat, JobConf job, 
+				int clen, boolean hasHeader, String delim, boolean fill, double fillValue) 
 		{
 			_split = split;
-			_splitoffsets = offsets; // new SplitOffsetInfos(offsets);
-			_sparse = dest.isInSparseFormat();
 			_informat = informat;
 			_job = job;
-			_dest = dest;
-			_rlen = rlen;
 			_clen = clen;
-			_isFirstSplit = (splitCount == 0);
 			_hasHeader = hasHeader;
 			_fill = fill;
 			_fillValue = fillValue;
 			_delim = delim;
 			_rc = true;
-			_splitCount = splitCount;
 		}
 
 		public boolean getReturnCode() {
@@ -347,18 +342,18 @@ public class ReaderTextCSVParallel extends MatrixReader
 			return _exception;
 		}
 		
-		public long getPartialNnz() {
-			return _nnz;
+		public CSVPartialBlock getPartialBlock() {
+			return _block;
 		}
 
 		@Override
 		public Object call() 
 			throws Exception 
 		{
-			int row = 0;
-			int col = 0;
-			double cellValue = 0;
-			long lnnz = 0;
+			CSVPartialBlock block = new CSVPartialBlock(_clen);
+			byte[] delim = _delim.getBytes(StandardCharsets.UTF_8);
+			double[] row = new double[_clen];
+			int ncol = -1;
 			
 			try 
 			{
@@ -366,87 +361,25 @@ public class ReaderTextCSVParallel extends MatrixReader
 				LongWritable key = new LongWritable();
 				Text value = new Text();
 				
-				// skip the header line
-				if (_isFirstSplit && _hasHeader) {
-					reader.next(key, value);
-				}
-
-				boolean noFillEmpty = false;
-				row = _splitoffsets.getOffsetPerSplit(_splitCount);
-
 				try {
-					if (_sparse) // SPARSE<-value
-					{
-						while (reader.next(key, value)) // foreach line
-						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-
-								if( cellValue != 0 ) {
-									_dest.appendValue(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
-						}
-					} 
-					else // DENSE<-value
-					{
-						while (reader.next(key, value)) // foreach line
-						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-								if( cellValue != 0 ) {
-									_dest.setValueDenseUnsafe(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
-						}
+					// skip the header line
+					if ( _hasHeader ) {
+						reader.next(key, value);
 					}
-
-					// sanity checks (number of rows)
-					if (row != (_splitoffsets.getOffsetPerSplit(_splitCount) + _splitoffsets.getLenghtPerSplit(_splitCount)) ) 
+					
+					while (reader.next(key, value)) // foreach line
 					{
-						throw new IOException("Incorrect number of rows ("+ row+ ") found in delimited file ("
-										+ (_splitoffsets.getOffsetPerSplit(_splitCount) 
-										+ _splitoffsets.getLenghtPerSplit(_splitCount))+ "): " + value);
+						// parse line into row buffer (incl handling of empty cells)
+						ncol = IOUtilFunctions.parseDoublesCSV(value.getBytes(), 
+							value.getLength(), delim, row, _fill, _fillValue);
+						
+						// sanity check (number of columns)
+						if( ncol != _clen ) {
+							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(
+								_split.toString(), value.toString().trim(), ncol, _clen);
+						}
+						
+						block.appendRow(row);
 					}
 				} 
 				finally {
@@ -457,23 +390,34 @@ public class ReaderTextCSVParallel extends MatrixReader
 				// central error handling (return code, message)
 				_rc = false;
 				_exception = ex;
-
-				// post-mortem error handling and bounds checking
-				if (row < 0 || row + 1 > _rlen || col < 0 || col + 1 > _clen) {
-					String errMsg = "CSV cell [" + (row + 1) + "," + (col + 1)+ "] " + 
-							"out of overall matrix range [1:" + _rlen+ ",1:" + _clen + "]. " + ex.getMessage();
-					throw new IOException(errMsg, _exception);
-				} 
-				else {
-					String errMsg = "Unable to read matrix in text CSV format. "+ ex.getMessage();
-					throw new IOException(errMsg, _exception);
-				}
+				
+				String errMsg = "Unable to read matrix in text CSV format. "+ ex.getMessage();
+				throw new IOException(errMsg, _exception);
 			}
-
+			
 			//post processing
-			_nnz = lnnz;
+			_block = block;
 			
 			return null;
 		}
 	}
+	
+	private static class CSVCopyTask implements Callable<Object> 
+	{
+		private final CSVPartialBlock _block;
+		private final MatrixBlock _dest;
+		private final int _rl;
+		
+		public CSVCopyTask(CSVPartialBlock block, MatrixBlock dest, int rl) {
+			_block = block;
+			_dest = dest;
+			_rl = rl;
+		}
+		
+		@Override
+		public Object call() {
+			_block.copyTo(_dest, _rl);
+			return null;
+		}
+	}
 }
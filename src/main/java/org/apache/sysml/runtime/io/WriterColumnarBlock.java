@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.io.ColumnarBlockFormat.FileMetadata;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for the columnar block format, which writes a matrix as a single file 
+ * of column chunks with per-chunk statistics (see ColumnarBlockFormat).
+ */
+public class WriterColumnarBlock extends MatrixWriter
+{
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//core write (sequential, single file)
+		writeColumnarBlockMatrixToHDFS(path, fs, src);
+		
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		MatrixBlock empty = new MatrixBlock((int)Math.max(rlen, 0), (int)Math.max(clen, 0), true);
+		writeMatrixToHDFS(empty, fname, empty.getNumRows(), empty.getNumColumns(), brlen, bclen, 0);
+	}
+	
+	private static void writeColumnarBlockMatrixToHDFS( Path path, FileSystem fs, MatrixBlock src ) 
+		throws IOException, DMLRuntimeException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		FileMetadata meta = new FileMetadata(false, rlen, clen, ColumnarBlockFormat.DEFAULT_CHUNK_ROWS);
+		
+		//prepare input for column access (transposed sparse input)
+		MatrixBlock in = (src instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)src).isCompressed()) ?
+			((CompressedMatrixBlock)src).decompress() : src;
+		boolean transposed = in.isInSparseFormat() && !in.isEmptyBlock(false);
+		if( transposed )
+			in = LibMatrixReorg.transpose(in, new MatrixBlock(clen, rlen, true));
+		
+		FSDataOutputStream out = fs.create(path, true);
+		try {
+			meta.writeHeader(out);
+			double[] vals = new double[rlen];
+			long nnz = 0;
+			for( int j=0; j<clen; j++ ) {
+				extractColumn(in, transposed, j, rlen, clen, vals);
+				nnz += ColumnarBlockFormat.writeNumericColumn(out, meta, j, vals);
+			}
+			meta.setNonZeros(nnz);
+			meta.writeFooter(out);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+	
+	private static void extractColumn(MatrixBlock in, boolean transposed, int j, int rlen, int clen, double[] vals) {
+		if( in.isEmptyBlock(false) ) {
+			Arrays.fill(vals, 0);
+		}
+		else if( transposed ) {
+			Arrays.fill(vals, 0);
+			if( !in.isInSparseFormat() ) {
+				System.arraycopy(in.getDenseBlock(), j*rlen, vals, 0, rlen);
+				return;
+			}
+			SparseBlock a = in.getSparseBlock();
+			if( a.isEmpty(j) )
+				return;
+			int apos = a.pos(j);
+			int alen = a.size(j);
+			int[] aix = a.indexes(j);
+			double[] avals = a.values(j);
+			for( int k=apos; k<apos+alen; k++ )
+				vals[aix[k]] = avals[k];
+		}
+		else {
+			double[] a = in.getDenseBlock();
+			for( int i=0, aix=j; i<rlen; i++, aix+=clen )
+				vals[i] = a[aix];
+		}
+	}
+}
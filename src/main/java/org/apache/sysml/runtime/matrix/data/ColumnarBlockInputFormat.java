@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+
+/**
+ * Input format of the columnar block file format. The format is only 
+ * read via the CP readers (see ReaderColumnarBlock), and this class merely 
+ * serves as a distinct type for the corresponding input info.
+ */
+public class ColumnarBlockInputFormat extends FileInputFormat<NullWritable, MatrixBlock>
+{
+	@Override
+	protected boolean isSplitable(FileSystem fs, Path file) {
+		return false;
+	}
+	
+	@Override
+	public RecordReader<NullWritable, MatrixBlock> getRecordReader(InputSplit split, JobConf job, Reporter reporter) 
+		throws IOException 
+	{
+		throw new IOException("Columnar block files are only supported via CP readers.");
+	}
+}
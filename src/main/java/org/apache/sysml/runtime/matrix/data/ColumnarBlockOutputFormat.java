@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.FileOutputFormat;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordWriter;
+import org.apache.hadoop.util.Progressable;
+
+/**
+ * Output format of the columnar block file format. The format is only 
+ * written via the CP writers (see WriterColumnarBlock), and this class merely 
+ * serves as a distinct type for the corresponding output info.
+ */
+public class ColumnarBlockOutputFormat extends FileOutputFormat<NullWritable, MatrixBlock>
+{
+	@Override
+	public RecordWriter<NullWritable, MatrixBlock> getRecordWriter(FileSystem ignored, JobConf job, String name, Progressable progress) 
+		throws IOException 
+	{
+		throw new IOException("Columnar block files are only supported via CP writers.");
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Dense row block (DRB) backed by a single contiguous array,
+ * which limits the number of cells to 2^31-1 (16GB).
+ *
+ */
+public class DenseBlockDRB extends DenseBlock
+{
+	private static final long serialVersionUID = 8546237533151720237L;
+
+	private double[] _data;
+
+	public DenseBlockDRB(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	public DenseBlockDRB(double[] data, int rlen, int clen) {
+		_data = data;
+		_rlen = rlen;
+		_clen = clen;
+	}
+
+	/**
+	 * Get the estimated in-memory size of the dense block in bytes.
+	 *
+	 * @param nrows number of rows
+	 * @param ncols number of columns
+	 * @return estimated size in memory
+	 */
+	public static long estimateMemory(long nrows, long ncols) {
+		//object header, 2 int dims, array reference, array (header + data)
+		double size = 16 + 8 + 8 + 16 + 8d * nrows * ncols;
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+
+	@Override
+	public void reset() {
+		reset(_rlen, _clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		long llen = (long) rlen * clen;
+		if( llen > Integer.MAX_VALUE )
+			throw new RuntimeException("Dense row block ("+rlen+"x"+clen+") exceeds "
+				+ "supported size of "+Integer.MAX_VALUE+" elements, use large dense row blocks.");
+		int len = (int) llen;
+		if( _data == null || len > _data.length )
+			_data = new double[len];
+		else
+			Arrays.fill(_data, 0, len, 0);
+		if( v != 0 )
+			Arrays.fill(_data, 0, len, v);
+		_rlen = rlen;
+		_clen = clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return _rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public int size(int bix) {
+		return _rlen * _clen;
+	}
+
+	@Override
+	public long capacity() {
+		return (_data != null) ? _data.length : -1;
+	}
+
+	@Override
+	public long countNonZeros() {
+		return computeNnz(_data, 0, _rlen*_clen);
+	}
+
+	@Override
+	public int countNonZeros(int r) {
+		return (int) computeNnz(_data, r*_clen, _clen);
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		if( cl == 0 && cu == _clen-1 ) //specific case: all cols
+			nnz += computeNnz(_data, rl*_clen, (ru-rl+1)*_clen);
+		else
+			for( int i=rl, ix=rl*_clen; i<=ru; i++, ix+=_clen )
+				nnz += computeNnz(_data, ix+cl, cu-cl+1);
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return new double[][]{_data};
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _data;
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return _data;
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * _clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * _clen + c;
+	}
+
+	@Override
+	public void incr(int r, int c) {
+		_data[pos(r, c)] ++;
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		_data[pos(r, c)] += delta;
+	}
+
+	@Override
+	public void set(double v) {
+		Arrays.fill(_data, 0, _rlen*_clen, v);
+	}
+
+	@Override
+	public void set(int rl, int ru, int cl, int cu, double v) {
+		if( cl==0 && cu == _clen )
+			Arrays.fill(_data, rl*_clen, ru*_clen, v);
+		else
+			for(int i=rl, ix=rl*_clen; i<ru; i++, ix+=_clen)
+				Arrays.fill(_data, ix+cl, ix+cu, v);
+	}
+
+	@Override
+	public void set(int r, int c, double v) {
+		_data[pos(r, c)] = v;
+	}
+
+	@Override
+	public void set(int r, double[] v) {
+		System.arraycopy(v, 0, _data, pos(r), _clen);
+	}
+
+	@Override
+	public void set(DenseBlock db) {
+		reset(db.numRows(), db.numCols());
+		for( int bix=0; bix<db.numBlocks(); bix++ ) {
+			int rl = bix * db.blockSize();
+			System.arraycopy(db.valuesAt(bix), 0, _data, rl*_clen, db.size(bix));
+		}
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return _data[pos(r, c)];
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+public abstract class DenseBlockFactory
+{
+	public static DenseBlock createDenseBlock(int rlen, int clen) {
+		return createDenseBlock(getDenseBlockType(rlen, clen), rlen, clen);
+	}
+
+	public static DenseBlock createDenseBlock(double[] data, int rlen, int clen) {
+		return new DenseBlockDRB(data, rlen, clen);
+	}
+
+	public static DenseBlock createDenseBlock(DenseBlock.Type type, int rlen, int clen) {
+		switch( type ) {
+			case DRB: return new DenseBlockDRB(rlen, clen);
+			case LDRB: return new DenseBlockLDRB(rlen, clen);
+			default:
+				throw new RuntimeException("Unexpected dense block type: "+type.toString());
+		}
+	}
+
+	public static boolean isDenseBlockType(DenseBlock dblock, DenseBlock.Type type) {
+		return (dblock instanceof DenseBlockDRB && type == DenseBlock.Type.DRB)
+			|| (dblock instanceof DenseBlockLDRB && type == DenseBlock.Type.LDRB);
+	}
+
+	public static DenseBlock.Type getDenseBlockType(long rlen, long clen) {
+		return (rlen * clen <= DenseBlockLDRB.MAX_ALLOC) ?
+			DenseBlock.Type.DRB : DenseBlock.Type.LDRB;
+	}
+
+	public static long estimateSizeDenseInMemory(long nrows, long ncols) {
+		return estimateSizeDenseInMemory(getDenseBlockType(nrows, ncols), nrows, ncols);
+	}
+
+	public static long estimateSizeDenseInMemory(DenseBlock.Type type, long nrows, long ncols) {
+		switch( type ) {
+			case DRB: return DenseBlockDRB.estimateMemory(nrows, ncols);
+			case LDRB: return DenseBlockLDRB.estimateMemory(nrows, ncols);
+			default:
+				throw new RuntimeException("Unexpected dense block type: "+type.toString());
+		}
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Large dense row block (LDRB) that splits the rows into multiple
+ * row-aligned segments of at most MAX_ALLOC cells each, which allows
+ * for dense blocks of more than 2^31-1 cells (e.g., for large heaps).
+ * Each segment holds blockSize() rows, except the last one.
+ *
+ */
+public class DenseBlockLDRB extends DenseBlock
+{
+	private static final long serialVersionUID = -3240196839893512396L;
+
+	//max array length (JVM arrays are limited to slightly below 2^31-1)
+	public static final int MAX_ALLOC = Integer.MAX_VALUE - 8;
+
+	private double[][] _data;
+	private int _blen; //number of rows per segment
+	private final int _fixedBlen; //optional fixed block size (<=0 for default)
+
+	public DenseBlockLDRB(int rlen, int clen) {
+		this(rlen, clen, -1);
+	}
+
+	/**
+	 * Creates a large dense row block with the given number of rows
+	 * per segment, which is mostly useful for testing.
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen number of rows per block (<=0 for default)
+	 */
+	public DenseBlockLDRB(int rlen, int clen, int blen) {
+		_fixedBlen = blen;
+		reset(rlen, clen, 0);
+	}
+
+	/**
+	 * Get the estimated in-memory size of the dense block in bytes.
+	 *
+	 * @param nrows number of rows
+	 * @param ncols number of columns
+	 * @return estimated size in memory
+	 */
+	public static long estimateMemory(long nrows, long ncols) {
+		//object header, 4 ints, array reference, outer array, arrays (header + data)
+		long blen = Math.max(Math.min(nrows, MAX_ALLOC / Math.max(ncols, 1)), 1);
+		long nblocks = (long) Math.ceil((double)nrows / blen);
+		double size = 16 + 16 + 8 + 16 + 8 * nblocks + 16 * nblocks + 8d * nrows * ncols;
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+
+	@Override
+	public void reset() {
+		reset(_rlen, _clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		int blen = (_fixedBlen > 0) ? _fixedBlen :
+			Math.max(Math.min(rlen, MAX_ALLOC / Math.max(clen, 1)), 1);
+		int nblocks = (int) Math.ceil((double)rlen / blen);
+
+		//reuse existing segments if compatible, otherwise allocate
+		boolean reuse = (_data != null && _blen == blen && _data.length >= nblocks);
+		for( int bix=0; reuse && bix<nblocks; bix++ )
+			reuse &= (_data[bix] != null && _data[bix].length >= segLength(bix, rlen, clen, blen));
+		if( reuse ) {
+			for( int bix=0; bix<nblocks; bix++ )
+				Arrays.fill(_data[bix], 0, segLength(bix, rlen, clen, blen), v);
+		}
+		else {
+			_data = new double[nblocks][];
+			for( int bix=0; bix<nblocks; bix++ ) {
+				_data[bix] = new double[segLength(bix, rlen, clen, blen)];
+				if( v != 0 )
+					Arrays.fill(_data[bix], v);
+			}
+		}
+		_rlen = rlen;
+		_clen = clen;
+		_blen = blen;
+	}
+
+	private static int segLength(int bix, int rlen, int clen, int blen) {
+		return Math.min(blen, rlen - bix*blen) * clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return (int) Math.ceil((double)_rlen / _blen);
+	}
+
+	@Override
+	public int blockSize() {
+		return _blen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return Math.min(_blen, _rlen - bix*_blen);
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return _rlen <= _blen;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return index(rl) == index(ru);
+	}
+
+	@Override
+	public int size(int bix) {
+		return blockSize(bix) * _clen;
+	}
+
+	@Override
+	public long capacity() {
+		long len = 0;
+		if( _data != null )
+			for( double[] seg : _data )
+				len += seg.length;
+		return len;
+	}
+
+	@Override
+	public long countNonZeros() {
+		long nnz = 0;
+		for( int bix=0; bix<numBlocks(); bix++ )
+			nnz += computeNnz(_data[bix], 0, size(bix));
+		return nnz;
+	}
+
+	@Override
+	public int countNonZeros(int r) {
+		return (int) computeNnz(values(r), pos(r), _clen);
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int i=rl; i<=ru; i++ )
+			nnz += computeNnz(values(i), pos(i)+cl, cu-cl+1);
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return _data;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _data[index(r)];
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return _data[bix];
+	}
+
+	@Override
+	public int index(int r) {
+		return r / _blen;
+	}
+
+	@Override
+	public int pos(int r) {
+		return (r % _blen) * _clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return (r % _blen) * _clen + c;
+	}
+
+	@Override
+	public void incr(int r, int c) {
+		_data[index(r)][pos(r, c)] ++;
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		_data[index(r)][pos(r, c)] += delta;
+	}
+
+	@Override
+	public void set(double v) {
+		for( int bix=0; bix<numBlocks(); bix++ )
+			Arrays.fill(_data[bix], 0, size(bix), v);
+	}
+
+	@Override
+	public void set(int rl, int ru, int cl, int cu, double v) {
+		for( int i=rl; i<ru; i++ ) {
+			double[] seg = values(i);
+			int ix = pos(i);
+			Arrays.fill(seg, ix+cl, ix+cu, v);
+		}
+	}
+
+	@Override
+	public void set(int r, int c, double v) {
+		_data[index(r)][pos(r, c)] = v;
+	}
+
+	@Override
+	public void set(int r, double[] v) {
+		System.arraycopy(v, 0, values(r), pos(r), _clen);
+	}
+
+	@Override
+	public void set(DenseBlock db) {
+		reset(db.numRows(), db.numCols());
+		for( int i=0; i<_rlen; i++ )
+			System.arraycopy(db.values(i), db.pos(i), values(i), pos(i), _clen);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return _data[index(r)][pos(r, c)];
+	}
+}
@@ -20,12 +20,9 @@
 package org.apache.sysml.runtime.matrix.data;
 
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.CholeskyDecomposition;
-import org.apache.commons.math3.linear.DecompositionSolver;
 import org.apache.commons.math3.linear.EigenDecomposition;
-import org.apache.commons.math3.linear.LUDecomposition;
-import org.apache.commons.math3.linear.QRDecomposition;
 import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.util.DataConverter;
@@ -36,6 +33,9 @@ import org.apache.sysml.runtime.util.DataConverter;
  * 
  * This library currently supports following operations:
  * matrix inverse, matrix decompositions (QR, LU, Eigen), solve 
+ * 
+ * All operations except the eigen decomposition of non-symmetric matrices 
+ * are delegated to the multi-threaded, blocked LibMatrixDecomp.
  */
 public class LibCommonsMath 
 {	
@@ -58,12 +58,18 @@ public class LibCommonsMath
 	public static MatrixBlock unaryOperations(MatrixObject inj, String opcode) 
 		throws DMLRuntimeException 
 	{
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
-		if(opcode.equals("inverse"))
-			return computeMatrixInverse(matrixInput);
-		else if (opcode.equals("cholesky"))
-			return computeCholesky(matrixInput);		
-		return null;
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		MatrixBlock in = inj.acquireRead();
+		try {
+			if(opcode.equals("inverse"))
+				return LibMatrixDecomp.inverse(in, k);
+			else if (opcode.equals("cholesky"))
+				return LibMatrixDecomp.cholesky(in, k);
+			return null;
+		}
+		finally {
+			inj.release();
+		}
 	}
 	
 	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode) 
@@ -97,20 +103,17 @@ public class LibCommonsMath
 	private static MatrixBlock computeSolve(MatrixObject in1, MatrixObject in2) 
 		throws DMLRuntimeException 
 	{
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in1);
-		Array2DRowRealMatrix vectorInput = DataConverter.convertToArray2DRowRealMatrix(in2);
-		
-		/*LUDecompositionImpl ludecompose = new LUDecompositionImpl(matrixInput);
-		DecompositionSolver lusolver = ludecompose.getSolver();
-		RealMatrix solutionMatrix = lusolver.solve(vectorInput);*/
-		
-		// Setup a solver based on QR Decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		// Invoke solve
-		RealMatrix solutionMatrix = solver.solve(vectorInput);
-		
-		return DataConverter.convertToMatrixBlock(solutionMatrix.getData());
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		MatrixBlock mb1 = in1.acquireRead();
+		MatrixBlock mb2 = in2.acquireRead();
+		try {
+			//LU for square systems, QR (least squares) otherwise
+			return LibMatrixDecomp.solve(mb1, mb2, k);
+		}
+		finally {
+			in1.release();
+			in2.release();
+		}
 	}
 	
 	/**
@@ -123,18 +126,14 @@ public class LibCommonsMath
 	private static MatrixBlock[] computeQR(MatrixObject in) 
 		throws DMLRuntimeException 
 	{
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform QR decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		RealMatrix H = qrdecompose.getH();
-		RealMatrix R = qrdecompose.getR();
-		
-		// Read the results into native format
-		MatrixBlock mbH = DataConverter.convertToMatrixBlock(H.getData());
-		MatrixBlock mbR = DataConverter.convertToMatrixBlock(R.getData());
-
-		return new MatrixBlock[] { mbH, mbR };
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		MatrixBlock mb = in.acquireRead();
+		try {
+			return LibMatrixDecomp.qr(mb, k);
+		}
+		finally {
+			in.release();
+		}
 	}
 	
 	/**
@@ -151,20 +150,14 @@ public class LibCommonsMath
 			throw new DMLRuntimeException("LU Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
 		}
 		
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform LUP decomposition
-		LUDecomposition ludecompose = new LUDecomposition(matrixInput);
-		RealMatrix P = ludecompose.getP();
-		RealMatrix L = ludecompose.getL();
-		RealMatrix U = ludecompose.getU();
-		
-		// Read the results into native format
-		MatrixBlock mbP = DataConverter.convertToMatrixBlock(P.getData());
-		MatrixBlock mbL = DataConverter.convertToMatrixBlock(L.getData());
-		MatrixBlock mbU = DataConverter.convertToMatrixBlock(U.getData());
-
-		return new MatrixBlock[] { mbP, mbL, mbU };
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		MatrixBlock mb = in.acquireRead();
+		try {
+			return LibMatrixDecomp.lu(mb, k);
+		}
+		finally {
+			in.release();
+		}
 	}
 	
 	/**
@@ -182,6 +175,18 @@ public class LibCommonsMath
 			throw new DMLRuntimeException("Eigen Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
 		}
 		
+		//symmetric matrices via tridiagonalization and implicit QL
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		MatrixBlock mb = in.acquireRead();
+		try {
+			if( LibMatrixDecomp.isSupportedEigen(mb) )
+				return LibMatrixDecomp.eigenSymmetric(mb, k);
+		}
+		finally {
+			in.release();
+		}
+		
+		//non-symmetric matrices via commons-math (real eigen values only)
 		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
 		
 		EigenDecomposition eigendecompose = new EigenDecomposition(matrixInput);
@@ -192,21 +197,21 @@ public class LibCommonsMath
 		//Sort the eigen values (and vectors) in increasing order (to be compatible w/ LAPACK.DSYEVR())
 		int n = eValues.length;
 		for (int i = 0; i < n; i++) {
-		    int k = i;
+		    int k2 = i;
 		    double p = eValues[i];
 		    for (int j = i + 1; j < n; j++) {
 		        if (eValues[j] < p) {
-		            k = j;
+		            k2 = j;
 		            p = eValues[j];
 		        }
 		    }
-		    if (k != i) {
-		        eValues[k] = eValues[i];
+		    if (k2 != i) {
+		        eValues[k2] = eValues[i];
 		        eValues[i] = p;
 		        for (int j = 0; j < n; j++) {
 		            p = eVectors[j][i];
-		            eVectors[j][i] = eVectors[j][k];
-		            eVectors[j][k] = p;
+		            eVectors[j][i] = eVectors[j][k2];
+		            eVectors[j][k2] = p;
 		        }
 		    }
 		}
@@ -216,44 +221,4 @@ public class LibCommonsMath
 
 		return new MatrixBlock[] { mbValues, mbVectors };
 	}
-	
-	/**
-	 * Function to compute matrix inverse via matrix decomposition.
-	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
-	 * @return matrix block
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock computeMatrixInverse(Array2DRowRealMatrix in) 
-		throws DMLRuntimeException 
-	{	
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-		
-		QRDecomposition qrdecompose = new QRDecomposition(in);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		RealMatrix inverseMatrix = solver.getInverse();
-
-		return DataConverter.convertToMatrixBlock(inverseMatrix.getData());
-	}
-
-	/**
-	 * Function to compute Cholesky decomposition of the given input matrix. 
-	 * The input must be a real symmetric positive-definite matrix.
-	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
-	 * @return matrix block
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock computeCholesky(Array2DRowRealMatrix in) 
-		throws DMLRuntimeException 
-	{	
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to cholesky() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-
-		CholeskyDecomposition cholesky = new CholeskyDecomposition(in);
-		RealMatrix rmL = cholesky.getL();
-		
-		return DataConverter.convertToMatrixBlock(rmL.getData());
-	}
 }
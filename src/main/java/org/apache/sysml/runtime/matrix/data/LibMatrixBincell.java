@@ -19,7 +19,12 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Divide;
@@ -40,6 +45,7 @@ import org.apache.sysml.runtime.functionobjects.Power2;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 
@@ -57,7 +63,8 @@ import org.apache.sysml.runtime.util.SortUtils;
  */
 public class LibMatrixBincell 
 {
-
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
+	
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
 		MATRIX_COL_VECTOR,
@@ -92,7 +99,9 @@ public class LibMatrixBincell
 		}
 		
 		//execute binary cell operations
-		if(op.sparseSafe)
+		if( isParallelBinaryScalar(m1, ret, op) )
+			parallelBinaryScalar(m1, ret, op);
+		else if(op.sparseSafe)
 			safeBinaryScalar(m1, ret, op);
 		else
 			unsafeBinaryScalar(m1, ret, op);
@@ -116,7 +125,9 @@ public class LibMatrixBincell
 		throws DMLRuntimeException
 	{
 		//execute binary cell operations
-		if(op.sparseSafe || isSparseSafeDivide(op, m2))
+		if( isParallelBinary(m1, m2, ret, op) )
+			parallelBinary(m1, m2, ret, op);
+		else if(op.sparseSafe || isSparseSafeDivide(op, m2))
 			safeBinary(m1, m2, ret, op);
 		else
 			unsafeBinary(m1, m2, ret, op);
@@ -198,6 +209,114 @@ public class LibMatrixBincell
 	// private sparse-safe/sparse-unsafe implementations
 	///////////////////////////////////
 
+	private static boolean isParallelBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		//check for multi-threading, sufficiently large and non-empty inputs
+		if( op.getNumThreads() <= 1 || m1.rlen <= 1 || m1.isEmptyBlock(false) )
+			return false;
+		
+		if( !m1.sparse ) //DENSE <- DENSE
+			return !ret.sparse && (long)m1.rlen * m1.clen >= PAR_NUMCELL_THRESHOLD;
+		else if( op.sparseSafe ) //SPARSE <- SPARSE (thread-safe sparse rows or two-phase csr)
+			return (ret.isThreadSafe() || isTwoPhaseCSRBinaryScalar(m1, ret, op)) 
+				&& m1.nonZeros >= PAR_NUMCELL_THRESHOLD;
+		else //DENSE <- SPARSE
+			return !ret.sparse && (long)m1.rlen * m1.clen >= PAR_NUMCELL_THRESHOLD;
+	}
+	
+	private static boolean isParallelBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		//check for multi-threading, dense output, sufficiently large and non-empty inputs
+		if( op.getNumThreads() <= 1 || ret.sparse || m1.rlen <= 1 
+			|| (long)m1.rlen * m1.clen < PAR_NUMCELL_THRESHOLD
+			|| m1.isEmptyBlock(false) || m2.isEmptyBlock(false) )
+			return false;
+		
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		if( atype == BinaryAccessType.MATRIX_MATRIX ) {
+			return (!m1.sparse && !m2.sparse) //DENSE all
+				|| ((op.sparseSafe || isSparseSafeDivide(op, m2)) && isSparseDenseDense(m1, m2, op));
+		}
+		else if( atype == BinaryAccessType.MATRIX_COL_VECTOR 
+			|| atype == BinaryAccessType.MATRIX_ROW_VECTOR ) {
+			return !m1.sparse && !m2.sparse; //DENSE all
+		}
+		return false;
+	}
+	
+	private static boolean isSparseDenseDense(MatrixBlock m1, MatrixBlock m2, BinaryOperator op) {
+		return (m1.sparse || m2.sparse) 
+			&& (op.fn instanceof Plus || op.fn instanceof Minus 
+			|| op.fn instanceof PlusMultiply || op.fn instanceof MinusMultiply 
+			|| (op.fn instanceof Multiply && !m2.sparse ));
+	}
+	
+	private static void parallelBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
+		throws DMLRuntimeException
+	{
+		//allocate output (before tasks in order to prevent races)
+		boolean csr = isTwoPhaseCSRBinaryScalar(m1, ret, op);
+		if( csr )
+			allocateTwoPhaseCSR(m1, ret);
+		else if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock(true);
+		
+		//core multi-threaded scalar operation over row partitions
+		int m = m1.sparse ? Math.min(m1.rlen, m1.sparseBlock.numRows()) : m1.rlen;
+		int k = op.getNumThreads();
+		try {
+			ExecutorService pool = CommonThreadPool.get( k );
+			ArrayList<BincellScalarTask> tasks = new ArrayList<BincellScalarTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new BincellScalarTask(m1, ret, op, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			ret.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//remove zeros of two-phase csr construction
+		if( csr )
+			compactTwoPhaseCSR(ret);
+	}
+	
+	private static void parallelBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+		throws DMLRuntimeException
+	{
+		//allocate dense output (before tasks in order to prevent races)
+		ret.allocateDenseBlock();
+		
+		//core multi-threaded binary operation over row partitions
+		int m = m1.rlen;
+		int k = op.getNumThreads();
+		try {
+			ExecutorService pool = CommonThreadPool.get( k );
+			ArrayList<BincellTask> tasks = new ArrayList<BincellTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			ret.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
 	private static void safeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
 		throws DMLRuntimeException 
 	{
@@ -306,97 +425,17 @@ public class LibMatrixBincell
 						}
 				}
 			}
-			else if( !ret.sparse && (m1.sparse || m2.sparse) &&
-					(op.fn instanceof Plus || op.fn instanceof Minus ||
-					op.fn instanceof PlusMultiply || op.fn instanceof MinusMultiply ||
-					(op.fn instanceof Multiply && !m2.sparse )))
+			else if( !ret.sparse && isSparseDenseDense(m1, m2, op) )
 			{
 				//specific case in order to prevent binary search on sparse inputs (see quickget and quickset)
 				ret.allocateDenseBlock();
-				final int m = ret.rlen;
-				final int n = ret.clen;
-				double[] c = ret.denseBlock;
-				
-				//1) process left input: assignment
-				
-				if( m1.sparse ) //SPARSE left
-				{
-					Arrays.fill(ret.denseBlock, 0, ret.denseBlock.length, 0); 
-					
-					if( m1.sparseBlock != null )
-					{
-						SparseBlock a = m1.sparseBlock;
-						
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
-							if( !a.isEmpty(i) )
-							{
-								int apos = a.pos(i);
-								int alen = a.size(i);
-								int[] aix = a.indexes(i);
-								double[] avals = a.values(i);
-								for(int k = apos; k < apos+alen; k++) 
-									c[ix+aix[k]] = avals[k];
-							}
-						}
-					}
-				}
-				else //DENSE left
-				{
-					if( !m1.isEmptyBlock(false) ) 
-						System.arraycopy(m1.denseBlock, 0, c, 0, m*n);
-					else
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
-				}
-				
-				//2) process right input: op.fn (+,-,*), * only if dense
-				if( m2.sparse ) //SPARSE right
-				{				
-					if(m2.sparseBlock!=null)
-					{
-						SparseBlock a = m2.sparseBlock;
-						
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
-							if( !a.isEmpty(i) ) {
-								int apos = a.pos(i);
-								int alen = a.size(i);
-								int[] aix = a.indexes(i);
-								double[] avals = a.values(i);
-								for(int k = apos; k < apos+alen; k++) 
-									c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
-							}
-						}	
-					}
-				}
-				else //DENSE right
-				{
-					if( !m2.isEmptyBlock(false) )
-						for( int i=0; i<m*n; i++ )
-							c[i] = op.fn.execute(c[i], m2.denseBlock[i]);
-					else if(op.fn instanceof Multiply)
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
-				}
-	
-				//3) recompute nnz
-				ret.recomputeNonZeros();
+				ret.nonZeros = safeBinaryMMSparseDenseDense(m1, m2, ret, op, 0, ret.rlen);
 			}
 			else if( !ret.sparse && !m1.sparse && !m2.sparse 
 					&& m1.denseBlock!=null && m2.denseBlock!=null )
 			{
 				ret.allocateDenseBlock();
-				final int m = ret.rlen;
-				final int n = ret.clen;
-				double[] a = m1.denseBlock;
-				double[] b = m2.denseBlock;
-				double[] c = ret.denseBlock;
-				ValueFunction fn = op.fn;
-				
-				//compute dense-dense binary, maintain nnz on-the-fly
-				int nnz = 0;
-				for( int i=0; i<m*n; i++ ) {
-					c[i] = fn.execute(a[i], b[i]);
-					nnz += (c[i]!=0)? 1 : 0;
-				}
-				ret.nonZeros = nnz;
+				ret.nonZeros = safeBinaryMMDenseDenseDense(m1, m2, ret, op, 0, ret.rlen);
 			}
 			else if( skipEmpty && (m1.sparse || m2.sparse) ) 
 			{
@@ -438,28 +477,123 @@ public class LibMatrixBincell
 		}
 	}
 
+	private static long safeBinaryMMSparseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		final int n = ret.clen;
+		double[] c = ret.denseBlock;
+		
+		//1) process left input: assignment
+		if( m1.sparse ) //SPARSE left
+		{
+			Arrays.fill(c, rl*n, ru*n, 0); 
+			
+			if( m1.sparseBlock != null )
+			{
+				SparseBlock a = m1.sparseBlock;
+				
+				for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+					if( !a.isEmpty(i) )
+					{
+						int apos = a.pos(i);
+						int alen = a.size(i);
+						int[] aix = a.indexes(i);
+						double[] avals = a.values(i);
+						for(int k = apos; k < apos+alen; k++) 
+							c[ix+aix[k]] = avals[k];
+					}
+				}
+			}
+		}
+		else //DENSE left
+		{
+			if( !m1.isEmptyBlock(false) ) 
+				System.arraycopy(m1.denseBlock, rl*n, c, rl*n, (ru-rl)*n);
+			else
+				Arrays.fill(c, rl*n, ru*n, 0); 
+		}
+		
+		//2) process right input: op.fn (+,-,*), * only if dense
+		if( m2.sparse ) //SPARSE right
+		{				
+			if(m2.sparseBlock!=null)
+			{
+				SparseBlock a = m2.sparseBlock;
+				
+				for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+					if( !a.isEmpty(i) ) {
+						int apos = a.pos(i);
+						int alen = a.size(i);
+						int[] aix = a.indexes(i);
+						double[] avals = a.values(i);
+						for(int k = apos; k < apos+alen; k++) 
+							c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
+					}
+				}	
+			}
+		}
+		else //DENSE right
+		{
+			if( !m2.isEmptyBlock(false) ) {
+				double[] b = m2.denseBlock;
+				for( int i=rl*n; i<ru*n; i++ )
+					c[i] = op.fn.execute(c[i], b[i]);
+			}
+			else if(op.fn instanceof Multiply)
+				Arrays.fill(c, rl*n, ru*n, 0); 
+		}
+		
+		//3) recompute nnz
+		return ret.recomputeNonZeros(rl, ru-1, 0, n-1);
+	}
+	
+	private static long safeBinaryMMDenseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		final int n = ret.clen;
+		double[] a = m1.denseBlock;
+		double[] b = m2.denseBlock;
+		double[] c = ret.denseBlock;
+		ValueFunction fn = op.fn;
+		
+		//compute dense-dense binary, maintain nnz on-the-fly
+		long nnz = 0;
+		for( int i=rl*n; i<ru*n; i++ ) {
+			c[i] = fn.execute(a[i], b[i]);
+			nnz += (c[i]!=0)? 1 : 0;
+		}
+		return nnz;
+	}
+
 	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
 		throws DMLRuntimeException 
 	{
-		boolean isMultiply = (op.fn instanceof Multiply);
-		boolean skipEmpty = (isMultiply);
-		BinaryAccessType atype = getBinaryAccessType(m1, m2);
-		int rlen = m1.rlen;
-		int clen = m1.clen;
+		boolean skipEmpty = (op.fn instanceof Multiply);
 		
 		//early abort on skip and empy
 		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
 			return; // skip entire empty block
 		
 		ret.allocateDenseBlock();
+		ret.nonZeros = safeBinaryMVDense(m1, m2, ret, op, 0, m1.rlen);
+	}
+	
+	private static long safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		boolean isMultiply = (op.fn instanceof Multiply);
+		boolean skipEmpty = (isMultiply);
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		int clen = m1.clen;
+		
 		double[] a = m1.denseBlock;
 		double[] b = m2.denseBlock;
 		double[] c = ret.denseBlock;
-		int nnz = 0;
+		long nnz = 0;
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 			{
 				//replicate vector value
 				double v2 = (b==null) ? 0 : b[i];
@@ -489,23 +623,24 @@ public class LibMatrixBincell
 		{
 			if( a==null && b==null ) { //both empty
 				double v = op.fn.execute( 0, 0 );
-				Arrays.fill(c, 0, rlen*clen, v);
-				nnz += (v != 0) ? rlen*clen : 0;
+				Arrays.fill(c, rl*clen, ru*clen, v);
+				nnz += (v != 0) ? (long)(ru-rl)*clen : 0;
 			}
 			else if( a==null ) //left empty
 			{
 				//compute first row
+				int ix0 = rl*clen;
 				for( int j=0; j<clen; j++ ) {
-					c[j] = op.fn.execute( 0, b[j] );
-					nnz += (c[j] != 0) ? rlen : 0;
+					c[ix0+j] = op.fn.execute( 0, b[j] );
+					nnz += (c[ix0+j] != 0) ? (ru-rl) : 0;
 				}
 				//copy first to all other rows
-				for( int i=1, ix=clen; i<rlen; i++, ix+=clen )
-					System.arraycopy(c, 0, c, ix, clen);
+				for( int i=rl+1, ix=ix0+clen; i<ru; i++, ix+=clen )
+					System.arraycopy(c, ix0, c, ix, clen);
 			}
 			else //default case (incl right empty) 
 			{
-				for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+				for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 					for( int j=0; j<clen; j++ ) {
 						c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );	
 						nnz += (c[ix+j] != 0) ? 1 : 0;
@@ -513,7 +648,7 @@ public class LibMatrixBincell
 			}
 		}
 		
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
 	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
@@ -903,55 +1038,128 @@ public class LibMatrixBincell
 		if( m1.sparse != ret.sparse )
 			throw new DMLRuntimeException("Unsupported safe binary scalar operations over different input/output representation: "+m1.sparse+" "+ret.sparse);
 		
-		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
-		
-		if( m1.sparse ) //SPARSE <- SPARSE
+		if( m1.sparse && isTwoPhaseCSRBinaryScalar(m1, ret, op) ) //CSR <- SPARSE
+		{
+			allocateTwoPhaseCSR(m1, ret);
+			int rlen = Math.min(m1.rlen, m1.sparseBlock.numRows());
+			ret.nonZeros = safeBinaryScalarSparseCSR(m1, ret, op, 0, rlen);
+			compactTwoPhaseCSR(ret);
+		}
+		else if( m1.sparse ) //SPARSE <- SPARSE
 		{	
 			//allocate sparse row structure
 			ret.allocateSparseRowsBlock();
-			SparseBlock a = m1.sparseBlock;
-			SparseBlock c = ret.sparseBlock;
-			int rlen = Math.min(m1.rlen, a.numRows());
+			int rlen = Math.min(m1.rlen, m1.sparseBlock.numRows());
+			ret.nonZeros = safeBinaryScalarSparse(m1, ret, op, 0, rlen);
+		}
+		else { //DENSE <- DENSE
+			ret.allocateDenseBlock(true);
+			ret.nonZeros = denseBinaryScalar(m1, ret, op, 0, m1.rlen);
+		}
+	}
+	
+	private static long safeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock c = ret.sparseBlock;
+		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
+		
+		long nnz = 0;
+		for(int r=rl; r<ru; r++) {
+			if( a.isEmpty(r) ) continue;
 			
-			long nnz = 0;
-			for(int r=0; r<rlen; r++) {
-				if( a.isEmpty(r) ) continue;
-				
-				int apos = a.pos(r);
-				int alen = a.size(r);
-				int[] aix = a.indexes(r);
-				double[] avals = a.values(r);
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			
+			if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
+				//create sparse row without repeated resizing
+				SparseRow crow = new SparseRow(alen);
+				crow.setSize(alen);
 				
-				if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
-					//create sparse row without repeated resizing
-					SparseRow crow = new SparseRow(alen);
-					crow.setSize(alen);
-					
-					//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
-					System.arraycopy(aix, apos, crow.indexes(), 0, alen);
-					Arrays.fill(crow.values(), 0, alen, 1);
-					c.set(r, crow, false);
-					nnz += alen;
+				//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
+				System.arraycopy(aix, apos, crow.indexes(), 0, alen);
+				Arrays.fill(crow.values(), 0, alen, 1);
+				c.set(r, crow, false);
+				nnz += alen;
+			}
+			else { //GENERAL CASE
+				//create sparse row without repeated resizing for specific ops
+				if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
+					|| op.fn instanceof Power2  ) {
+					c.allocate(r, alen);
 				}
-				else { //GENERAL CASE
-					//create sparse row without repeated resizing for specific ops
-					if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
-						|| op.fn instanceof Power2  ) {
-						c.allocate(r, alen);
-					}
-					
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c.append(r, aix[j], val);
-						nnz += (val != 0) ? 1 : 0; 
-					}
+				
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c.append(r, aix[j], val);
+					nnz += (val != 0) ? 1 : 0; 
 				}
 			}
-			ret.nonZeros = nnz;
 		}
-		else { //DENSE <- DENSE
-			denseBinaryScalar(m1, ret, op);
+		return nnz;
+	}
+	
+	private static long safeBinaryScalarSparseCSR(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		//NOTE: output rows are reserved with the input row sizes as upper bounds,
+		//which allows to fill disjoint row ranges concurrently w/o synchronization
+		SparseBlock a = m1.sparseBlock;
+		SparseBlockCSR c = (SparseBlockCSR) ret.sparseBlock;
+		int[] cix = c.indexes();
+		double[] cvals = c.values();
+		
+		long nnz = 0;
+		for(int r=rl; r<ru; r++) {
+			if( a.isEmpty(r) ) continue;
+			
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			int cpos = c.pos(r);
+			
+			//memcopy of indexes and computation of values (incl zeros)
+			System.arraycopy(aix, apos, cix, cpos, alen);
+			for(int j=0; j<alen; j++) {
+				double val = op.executeScalar(avals[apos+j]);
+				cvals[cpos+j] = val;
+				nnz += (val != 0) ? 1 : 0;
+			}
 		}
+		return nnz;
+	}
+	
+	private static boolean isTwoPhaseCSRBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		//sparse-safe scalar operations into csr (for csr inputs or default), which
+		//supports multi-threading via two-phase construction of disjoint rows
+		return op.sparseSafe && m1.sparse && ret.sparse && ret.sparseBlock == null
+			&& m1.sparseBlock != null && m1.nonZeros <= Integer.MAX_VALUE
+			&& (m1.sparseBlock instanceof SparseBlockCSR
+			|| MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.CSR);
+	}
+	
+	private static void allocateTwoPhaseCSR(MatrixBlock m1, MatrixBlock ret) {
+		//reserve output rows according to the input row sizes
+		SparseBlock a = m1.sparseBlock;
+		int rlen = Math.min(m1.rlen, a.numRows());
+		int[] rnnz = new int[ret.rlen];
+		int nnz = 0;
+		for( int i=0; i<rlen; i++ ) {
+			rnnz[i] = a.size(i);
+			nnz += rnnz[i];
+		}
+		ret.sparseBlock = new SparseBlockCSR(rnnz, nnz);
+	}
+	
+	private static void compactTwoPhaseCSR(MatrixBlock ret) {
+		//remove zeros if the upper bounds have not been reached
+		SparseBlockCSR c = (SparseBlockCSR) ret.sparseBlock;
+		if( c.size() > ret.nonZeros )
+			c.compact();
 	}
 	
 	/**
@@ -981,55 +1189,57 @@ public class LibMatrixBincell
 		if( m1.sparse ) //SPARSE MATRIX
 		{
 			ret.allocateDenseBlock();
-			
-			SparseBlock a = m1.sparseBlock;
-			double[] c = ret.denseBlock;			
-			int m = m1.rlen;
-			int n = m1.clen;
-			
-			//init dense result with unsafe 0-value
-			double cval0 = op.executeScalar(0);
-			Arrays.fill(c, cval0);
-			
-			//compute non-zero input values
-			int nnz = m*n;
-			for(int i=0, cix=0; i<m; i++, cix+=n) {
-				if( !a.isEmpty(i) ) {
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aix = a.indexes(i);
-					double[] avals = a.values(i);
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c[ cix+aix[j] ] = val;
-						nnz -= (val==0) ? 1 : 0;
-					}
-				}
-			}
-			ret.nonZeros = nnz;
+			ret.nonZeros = unsafeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
 		}
 		else { //DENSE MATRIX
-			denseBinaryScalar(m1, ret, op);
+			ret.allocateDenseBlock(true);
+			ret.nonZeros = denseBinaryScalar(m1, ret, op, 0, m1.rlen);
+		}
+	}
+	
+	private static long unsafeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		SparseBlock a = m1.sparseBlock;
+		double[] c = ret.denseBlock;
+		int n = m1.clen;
+		
+		//init dense result with unsafe 0-value
+		double cval0 = op.executeScalar(0);
+		Arrays.fill(c, rl*n, ru*n, cval0);
+		
+		//compute non-zero input values
+		long nnz = (cval0 != 0) ? (long)(ru-rl)*n : 0;
+		for(int i=rl, cix=rl*n; i<ru; i++, cix+=n) {
+			if( !a.isEmpty(i) ) {
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c[ cix+aix[j] ] = val;
+					nnz += ((val!=0) ? 1 : 0) - ((cval0!=0) ? 1 : 0);
+				}
+			}
 		}
+		return nnz;
 	}
 
-	private static void denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
+	private static long denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
-		//allocate dense block (if necessary), incl clear nnz
-		ret.allocateDenseBlock(true);
-		
 		double[] a = m1.denseBlock;
 		double[] c = ret.denseBlock;
+		int n = m1.clen;
 		
 		//compute scalar operation, incl nnz maintenance
-		int limit = m1.rlen*m1.clen;
-		int nnz = 0;
-		for( int i=0; i<limit; i++ ) {
+		long nnz = 0;
+		for( int i=rl*n; i<ru*n; i++ ) {
 			c[i] = op.executeScalar( a[i] );
 			nnz += (c[i] != 0) ? 1 : 0;
 		}
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
 	private static void safeBinaryInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) 
@@ -1257,5 +1467,65 @@ public class LibMatrixBincell
 		}
 	}
 	
+	
+	private static class BincellScalarTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _ret;
+		private final ScalarOperator _op;
+		private final int _rl;
+		private final int _ru;
+
+		protected BincellScalarTask( MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru ) {
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			if( !_m1.sparse )
+				return denseBinaryScalar(_m1, _ret, _op, _rl, _ru);
+			else if( _op.sparseSafe && _ret.sparseBlock instanceof SparseBlockCSR )
+				return safeBinaryScalarSparseCSR(_m1, _ret, _op, _rl, _ru);
+			else if( _op.sparseSafe )
+				return safeBinaryScalarSparse(_m1, _ret, _op, _rl, _ru);
+			else
+				return unsafeBinaryScalarSparse(_m1, _ret, _op, _rl, _ru);
+		}
+	}
+	
+	private static class BincellTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final BinaryOperator _op;
+		private final int _rl;
+		private final int _ru;
+
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru ) {
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			BinaryAccessType atype = getBinaryAccessType(_m1, _m2);
+			if( atype == BinaryAccessType.MATRIX_COL_VECTOR 
+				|| atype == BinaryAccessType.MATRIX_ROW_VECTOR )
+				return safeBinaryMVDense(_m1, _m2, _ret, _op, _rl, _ru);
+			else if( !_m1.sparse && !_m2.sparse )
+				return safeBinaryMMDenseDenseDense(_m1, _m2, _ret, _op, _rl, _ru);
+			else
+				return safeBinaryMMSparseDenseDense(_m1, _m2, _ret, _op, _rl, _ru);
+		}
+	}
 }
 
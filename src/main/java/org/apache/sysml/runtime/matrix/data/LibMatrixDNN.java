@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -34,6 +33,8 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.BufferPool;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * This class allows users to invoke deep learning related operations 
@@ -57,7 +58,9 @@ public class LibMatrixDNN {
 	private enum TaskType {
 		MaxPooling_Forward, MaxPooling_Backward, 
 		// Alternate approaches that we tried but the performance was unsatisfactory be included: direct, non-looped im2col
+		// (direct kernels are only used for sparse inputs, where they avoid the im2col/rotate/col2im materialization)
 		LoopedIm2ColConv2d, LoopedIm2ColConv2dBwdFilter, LoopedIm2ColConv2dBwdData,
+		DirectConv2d, DirectConv2dBwdFilter, DirectConv2dBwdData,
 		BiasAdd, ReluBackward, BiasMultiply
 	}
 	
@@ -78,6 +81,9 @@ public class LibMatrixDNN {
 	private static AtomicLong loopedConvBwdFilterIm2ColTime = new AtomicLong(0);
 	private static AtomicLong loopedConvBwdDataMatMultTime = new AtomicLong(0);
 	private static AtomicLong loopedConvBwdDataCol2ImTime = new AtomicLong(0);
+	private static AtomicLong directConvTime = new AtomicLong(0);
+	private static AtomicLong directConvBwdFilterTime = new AtomicLong(0);
+	private static AtomicLong directConvBwdDataTime = new AtomicLong(0);
 	
 	public static void appendStatistics(StringBuilder sb) {
 		if(DMLScript.STATISTICS && DISPLAY_STATISTICS && (conv2dDenseCount.get() != 0 || conv2dSparseCount.get() != 0)) {
@@ -102,6 +108,12 @@ public class LibMatrixDNN {
 						String.format("%.3f", loopedConvBwdDataCol2ImTime.get()*1e-9) + "/" +
 						String.format("%.3f", loopedConvBwdDataMatMultTime.get()*1e-9) + " sec.\n");
 			}
+			if(directConvTime.get() != 0 || directConvBwdFilterTime.get() != 0 || directConvBwdDataTime.get() != 0) {
+				sb.append("LibMatrixDNN direct conv, bwdF, bwdD time:\t" +
+						String.format("%.3f", directConvTime.get()*1e-9) + "/" +
+						String.format("%.3f", directConvBwdFilterTime.get()*1e-9) + "/" +
+						String.format("%.3f", directConvBwdDataTime.get()*1e-9) + " sec.\n");
+			}
 		}
 	}
 	public static void resetStatistics() {
@@ -123,6 +135,9 @@ public class LibMatrixDNN {
 		loopedConvBwdFilterIm2ColTime.set(0);
 		loopedConvBwdDataMatMultTime.set(0);
 		loopedConvBwdDataCol2ImTime.set(0);
+		directConvTime.set(0);
+		directConvBwdFilterTime.set(0);
+		directConvBwdDataTime.set(0);
 	}
 	// ------------------------------------------------------------------------------------------------
 	
@@ -156,7 +171,8 @@ public class LibMatrixDNN {
 			}
 		}
 		
-		runConvTask(TaskType.LoopedIm2ColConv2dBwdData, params);
+		runConvTask(isDirectConv2dBwdData(filter, dout) ? 
+			TaskType.DirectConv2dBwdData : TaskType.LoopedIm2ColConv2dBwdData, params);
 		
 		//post-processing: maintain nnz
 		outputBlock.recomputeNonZeros();
@@ -192,7 +208,8 @@ public class LibMatrixDNN {
 			}
 		}
 		
-		runConvTask(TaskType.LoopedIm2ColConv2dBwdFilter, params);
+		runConvTask(isDirectConv2dBwdFilter(input) ? 
+			TaskType.DirectConv2dBwdFilter : TaskType.LoopedIm2ColConv2dBwdFilter, params);
 		
 		//post-processing: maintain nnz
 		outputBlock.recomputeNonZeros();
@@ -338,7 +355,16 @@ public class LibMatrixDNN {
 			filter.denseToSparse();
 		}
 		
-		runConvTask(TaskType.LoopedIm2ColConv2d, params);
+		if( isDirectConv2d(input, filter) ) {
+			//direct conv2d scatters the input non-zeros and hence accesses the
+			//filter transposed to CRS x K for contiguous access per filter position
+			MatrixBlock filterT = new MatrixBlock(params.C*params.R*params.S, params.K, false);
+			LibMatrixReorg.transpose(filter, filterT);
+			params.input2 = filterT;
+			runConvTask(TaskType.DirectConv2d, params);
+		}
+		else
+			runConvTask(TaskType.LoopedIm2ColConv2d, params);
 		
 		//post-processing: maintain nnz
 		outputBlock.recomputeNonZeros();
@@ -387,6 +413,165 @@ public class LibMatrixDNN {
 		// params.output.recomputeNonZeros(); 
 	}
 	
+	// ------------------------------------------------------------------------------------------------
+	// Direct convolution kernels for sparse inputs (e.g., ReLU-activated), which iterate over the 
+	// non-zeros and scatter their contributions into per-image dense outputs. In contrast to the 
+	// looped im2col approach, this avoids the materialization and sparse lookups of im2col/col2im 
+	// temporaries, and requires compute proportional to the number of non-zeros.
+	
+	private static boolean isDirectConv2d(MatrixBlock input, MatrixBlock filter) {
+		return input.isInSparseFormat() && !filter.isInSparseFormat() && !filter.isEmptyBlock(false);
+	}
+	
+	private static boolean isDirectConv2dBwdFilter(MatrixBlock input) {
+		return input.isInSparseFormat();
+	}
+	
+	private static boolean isDirectConv2dBwdData(MatrixBlock filter, MatrixBlock dout) {
+		return dout.isInSparseFormat() && !filter.isInSparseFormat() && !filter.isEmptyBlock(false);
+	}
+	
+	// Computes the conv2d of a single sparse input image (1 X CHW) with the transposed
+	// filter (CRS X K) into a PQ X K scratch buffer, which is finally written to 1 X KPQ
+	private static void doDirectConv2d(int n, double [] scratch, ConvolutionParameters params) {
+		long t1 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0;
+		final int K = params.K, PQ = params.P*params.Q, HW = params.H*params.W, RS = params.R*params.S;
+		SparseBlock a = params.input1.getSparseBlock();
+		double [] filterT = params.input2.getDenseBlock();
+		double [] outputArray = params.output.getDenseBlock();
+		Arrays.fill(scratch, 0, PQ*K, 0);
+		
+		if( a != null && !a.isEmpty(n) ) {
+			int apos = a.pos(n);
+			int alen = a.size(n);
+			int [] aix = a.indexes(n);
+			double [] avals = a.values(n);
+			for( int j = apos; j < apos+alen; j++ ) {
+				final int c = aix[j] / HW;
+				final int h = (aix[j] % HW) / params.W;
+				final int w = aix[j] % params.W;
+				final double val = avals[j];
+				for( int r = 0; r < params.R; r++ ) {
+					// h = p*stride_h + r - pad_h
+					int ph = h + params.pad_h - r;
+					if( ph < 0 || ph % params.stride_h != 0 || ph / params.stride_h >= params.P )
+						continue;
+					final int p = ph / params.stride_h;
+					for( int s = 0; s < params.S; s++ ) {
+						int qw = w + params.pad_w - s;
+						if( qw < 0 || qw % params.stride_w != 0 || qw / params.stride_w >= params.Q )
+							continue;
+						final int q = qw / params.stride_w;
+						final int fix = (c*RS + r*params.S + s)*K;
+						final int cix = (p*params.Q + q)*K;
+						for( int k = 0; k < K; k++ )
+							scratch[cix + k] += val * filterT[fix + k];
+					}
+				}
+			}
+		}
+		
+		//write transposed scratch to output (w/o need for copying sparse matmult outputs)
+		final int outOffset = n*K*PQ;
+		for( int k = 0; k < K; k++ )
+			for( int pq = 0, six = k; pq < PQ; pq++, six += K )
+				outputArray[outOffset + k*PQ + pq] = scratch[six];
+		
+		if(DMLScript.STATISTICS && DISPLAY_STATISTICS)
+			directConvTime.addAndGet(System.nanoTime() - t1);
+	}
+	
+	// Computes the conv2d_backward_filter contribution of a single sparse input image (1 X CHW) 
+	// and rotated dout (PQ X K scratch) into the partial CRS X K output
+	private static void doDirectConv2dBwdFilter(int n, double [] scratch, 
+			MatrixBlock partialRetBlock, ConvolutionParameters params) throws DMLRuntimeException {
+		long t1 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0;
+		SparseBlock a = params.input1.getSparseBlock();
+		if( a == null || a.isEmpty(n) )
+			return;
+		
+		final int K = params.K, HW = params.H*params.W, RS = params.R*params.S;
+		doRotate180(n, 0, params.input2, scratch, params, true);
+		double [] partialRet = partialRetBlock.getDenseBlock();
+		
+		int apos = a.pos(n);
+		int alen = a.size(n);
+		int [] aix = a.indexes(n);
+		double [] avals = a.values(n);
+		for( int j = apos; j < apos+alen; j++ ) {
+			final int c = aix[j] / HW;
+			final int h = (aix[j] % HW) / params.W;
+			final int w = aix[j] % params.W;
+			final double val = avals[j];
+			for( int r = 0; r < params.R; r++ ) {
+				int ph = h + params.pad_h - r;
+				if( ph < 0 || ph % params.stride_h != 0 || ph / params.stride_h >= params.P )
+					continue;
+				final int p = ph / params.stride_h;
+				for( int s = 0; s < params.S; s++ ) {
+					int qw = w + params.pad_w - s;
+					if( qw < 0 || qw % params.stride_w != 0 || qw / params.stride_w >= params.Q )
+						continue;
+					final int q = qw / params.stride_w;
+					final int rix = (c*RS + r*params.S + s)*K;
+					final int dix = (p*params.Q + q)*K;
+					for( int k = 0; k < K; k++ )
+						partialRet[rix + k] += val * scratch[dix + k];
+				}
+			}
+		}
+		
+		if(DMLScript.STATISTICS && DISPLAY_STATISTICS)
+			directConvBwdFilterTime.addAndGet(System.nanoTime() - t1);
+	}
+	
+	// Computes the conv2d_backward_data of a single sparse dout image (1 X KPQ) with 
+	// the filter (K X CRS), and directly adds the contributions to 1 X CHW (w/o col2im)
+	private static void doDirectConv2dBwdData(int n, ConvolutionParameters params) {
+		long t1 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0;
+		SparseBlock b = params.input2.getSparseBlock();
+		if( b == null || b.isEmpty(n) )
+			return;
+		
+		final int PQ = params.P*params.Q, HW = params.H*params.W;
+		final int RS = params.R*params.S, CRS = params.C*RS;
+		double [] filterArray = params.input1.getDenseBlock();
+		double [] outputArray = params.output.getDenseBlock();
+		final int outOffset = n*params.C*HW;
+		
+		int bpos = b.pos(n);
+		int blen = b.size(n);
+		int [] bix = b.indexes(n);
+		double [] bvals = b.values(n);
+		for( int j = bpos; j < bpos+blen; j++ ) {
+			final int k = bix[j] / PQ;
+			final int p = (bix[j] % PQ) / params.Q;
+			final int q = bix[j] % params.Q;
+			final double val = bvals[j];
+			//valid filter ranges (see doCol2IMDenseInput)
+			final int hOffset = p*params.stride_h - params.pad_h;
+			final int rStart = Math.max(0, - hOffset);
+			final int rEnd = Math.min(params.R, params.H - hOffset);
+			final int wOffset = q*params.stride_w - params.pad_w;
+			final int sStart = Math.max(0, - wOffset);
+			final int sEnd = Math.min(params.S, params.W - wOffset);
+			for( int c = 0; c < params.C; c++ ) {
+				final int fOffset = k*CRS + c*RS;
+				final int cOffset = outOffset + c*HW;
+				for( int r = rStart; r < rEnd; r++ ) {
+					final int oix = cOffset + (hOffset + r)*params.W + wOffset;
+					final int fix = fOffset + r*params.S;
+					for( int s = sStart; s < sEnd; s++ )
+						outputArray[oix + s] += val * filterArray[fix + s];
+				}
+			}
+		}
+		
+		if(DMLScript.STATISTICS && DISPLAY_STATISTICS)
+			directConvBwdDataTime.addAndGet(System.nanoTime() - t1);
+	}
+	// ------------------------------------------------------------------------------------------------
+	
 	/**
 	 * This method computes the backpropogation errors for previous layer of maxpooling operation
 	 * 
@@ -1006,7 +1191,7 @@ public class LibMatrixDNN {
 		}
 		else {
 			if(zeroOutSparseOutput)
-				Arrays.fill(outputArray, 0);
+				Arrays.fill(outputArray, outputOffset, outputOffset + params.K*params.P*params.Q, 0);
 			
 			if(!input.isEmptyBlock()) {
 				Iterator<IJV> iter = input.sparseBlock.getIterator(inputN, inputN+1);
@@ -1034,7 +1219,7 @@ public class LibMatrixDNN {
 				im2ColOutBlocks.add(im2ColOutBlock);
 			}
 			
-			if(type == TaskType.LoopedIm2ColConv2dBwdFilter) {
+			if(type == TaskType.LoopedIm2ColConv2dBwdFilter || type == TaskType.DirectConv2dBwdFilter) {
 				MatrixBlock partialRetBlock = new MatrixBlock(params.C*params.R*params.S, params.K, false);
 				partialRetBlock.allocateDenseBlock();
 				partialRetBlocks.add(partialRetBlock);
@@ -1065,12 +1250,12 @@ public class LibMatrixDNN {
 						type, params, im2ColOutBlocks, doutReshapedBlocks, partialRetBlocks));
 			
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( poolSize );
+				ExecutorService pool = CommonThreadPool.get( poolSize );
 				List<Future<Long>> taskret = pool.invokeAll(tasks);
 				pool.shutdown();
 				for( Future<Long> task : taskret )
 					params.output.nonZeros += task.get();
-				if(type == TaskType.LoopedIm2ColConv2dBwdFilter) {
+				if(type == TaskType.LoopedIm2ColConv2dBwdFilter || type == TaskType.DirectConv2dBwdFilter) {
 					elementWiseInPlaceTransposedAddition(params.output, partialRetBlocks.toArray(new MatrixBlock[0]));
 				}
 			} 
@@ -1085,7 +1270,7 @@ public class LibMatrixDNN {
 				params.output.setNonZeros(new ConvTask(0, params.N, type, params, im2ColOutBlocks, 
 						doutReshapedBlocks, partialRetBlocks).call());
 				
-				if(type == TaskType.LoopedIm2ColConv2dBwdFilter) {
+				if(type == TaskType.LoopedIm2ColConv2dBwdFilter || type == TaskType.DirectConv2dBwdFilter) {
 					elementWiseInPlaceTransposedAddition(params.output, partialRetBlocks.toArray(new MatrixBlock[0]));
 				}
 			} catch (Exception e) {
@@ -1175,6 +1360,31 @@ public class LibMatrixDNN {
 					_doutReshapedBlocks.add(doutReshapedBlock);
 					break;
 				}
+				case DirectConv2d:
+				{
+					//PQ x K scratch from the buffer pool (reused across tasks and mini-batches)
+					double[] scratch = BufferPool.getDoubles(_params.P*_params.Q*_params.K);
+					for(int n = _rl; n < _ru; n++) 
+						doDirectConv2d(n, scratch, _params);
+					BufferPool.putDoubles(scratch);
+					if(_params.bias != null)
+						addBias(_params, _rl, _ru);
+					break;
+				}
+				case DirectConv2dBwdFilter:
+				{
+					MatrixBlock partialRetBlock = _partialRetBlocks.remove();
+					double[] scratch = BufferPool.getDoubles(_params.P*_params.Q*_params.K);
+					for(int n = _rl; n < _ru; n++) 
+						doDirectConv2dBwdFilter(n, scratch, partialRetBlock, _params);
+					BufferPool.putDoubles(scratch);
+					_partialRetBlocks.add(partialRetBlock);
+					break;
+				}
+				case DirectConv2dBwdData:
+					for(int n = _rl; n < _ru; n++) 
+						doDirectConv2dBwdData(n, _params);
+					break;
 				default:
 					throw new DMLRuntimeException("Unsupported ConvTask:" + _type.name());
 			}
@@ -0,0 +1,759 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Library for dense matrix decompositions and derived operations (solve,
+ * inverse), which operate directly on row-major dense arrays instead of
+ * double[][] copies. Cholesky and LU are blocked right-looking algorithms,
+ * where the trailing updates (which account for most floating point
+ * operations) are computed in parallel via the vector kernels of
+ * LibMatrixMult. QR is a Householder decomposition that produces the
+ * same representation as Apache Commons Math, and eigen (for symmetric
+ * matrices) uses a Householder tridiagonalization and implicit QL, both
+ * with parallel application of transformations.
+ *
+ */
+public class LibMatrixDecomp
+{
+	//block size for blocked algorithms (columns per panel)
+	public static final int BLOCKSIZE = 128;
+
+	//minimum number of cells per update for multi-threading
+	private static final long PAR_NUMCELL_THRESHOLD = 16 * 1024;
+
+	//thresholds consistent with commons-math defaults
+	private static final double SYMMETRY_THRESHOLD = 1e-15;
+	private static final double POSITIVITY_THRESHOLD = 1e-10;
+	private static final double SINGULARITY_THRESHOLD = 1e-11;
+	private static final double EPSILON = Math.pow(2, -52);
+	private static final double PRECISION = Math.pow(2, -53);
+
+	private LibMatrixDecomp() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Computes the Cholesky decomposition A = L L^T of a symmetric
+	 * positive-definite matrix.
+	 *
+	 * @param in input matrix
+	 * @param k degree of parallelism
+	 * @return lower triangular matrix L
+	 * @throws DMLRuntimeException if the input is not symmetric positive-definite
+	 */
+	public static MatrixBlock cholesky(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		final int n = checkSquare(in, "cholesky");
+		double[] a = DataConverter.convertToDoubleVector(in);
+		if( !isSymmetric(a, n, SYMMETRY_THRESHOLD) )
+			throw new DMLRuntimeException("Input to cholesky() must be a symmetric matrix.");
+
+		for( int j0 = 0; j0 < n; j0 += BLOCKSIZE ) {
+			final int bj0 = j0, bj1 = Math.min(j0+BLOCKSIZE, n);
+
+			//factorize diagonal block (unblocked)
+			for( int j = bj0; j < bj1; j++ ) {
+				int jx = j*n;
+				double s = a[jx+j] - LibMatrixMult.dotProduct(a, a, jx+bj0, jx+bj0, j-bj0);
+				if( s <= POSITIVITY_THRESHOLD )
+					throw new DMLRuntimeException("Input to cholesky() must be a positive definite matrix.");
+				a[jx+j] = Math.sqrt(s);
+				for( int i = j+1; i < bj1; i++ ) {
+					int ix = i*n;
+					a[ix+j] = (a[ix+j] - LibMatrixMult.dotProduct(a, a, ix+bj0, jx+bj0, j-bj0)) / a[jx+j];
+				}
+			}
+
+			//compute panel below diagonal block (L21 = A21 L11^-T) and
+			//trailing update of lower triangle (A22 = A22 - L21 L21^T)
+			parallelRows(bj1, n, (long)(n-bj1)*n/2*(bj1-bj0), k, (rl, ru) -> {
+				for( int i = rl; i < ru; i++ ) {
+					int ix = i*n;
+					for( int j = bj0; j < bj1; j++ ) {
+						int jx = j*n;
+						a[ix+j] = (a[ix+j] - LibMatrixMult.dotProduct(a, a, ix+bj0, jx+bj0, j-bj0)) / a[jx+j];
+					}
+				}
+			});
+			parallelRows(bj1, n, (long)(n-bj1)*n/2*(bj1-bj0), k, (rl, ru) -> {
+				for( int i = rl; i < ru; i++ ) {
+					int ix = i*n;
+					for( int j = bj1; j <= i; j++ )
+						a[ix+j] -= LibMatrixMult.dotProduct(a, a, ix+bj0, j*n+bj0, bj1-bj0);
+				}
+			});
+		}
+
+		//clear upper triangle
+		for( int i = 0; i < n; i++ )
+			for( int j = i+1, ix = i*n; j < n; j++ )
+				a[ix+j] = 0;
+
+		return createMatrixBlock(a, n, n);
+	}
+
+	/**
+	 * Computes the LU decomposition with partial pivoting P A = L U
+	 * of a square matrix.
+	 *
+	 * @param in input matrix
+	 * @param k degree of parallelism
+	 * @return array of matrix blocks P, L (unit lower triangular), U (upper triangular)
+	 * @throws DMLRuntimeException if the input is singular
+	 */
+	public static MatrixBlock[] lu(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		final int n = checkSquare(in, "lu");
+		double[] a = DataConverter.convertToDoubleVector(in);
+		int[] perm = factorizeLU(a, n, SINGULARITY_THRESHOLD, k);
+
+		//extract P, L, and U
+		double[] p = new double[n*n];
+		double[] l = new double[n*n];
+		for( int i = 0, ix = 0; i < n; i++, ix += n ) {
+			p[ix+perm[i]] = 1;
+			System.arraycopy(a, ix, l, ix, i);
+			l[ix+i] = 1;
+			for( int j = 0; j < i; j++ )
+				a[ix+j] = 0;
+		}
+
+		return new MatrixBlock[] { createMatrixBlock(p, n, n),
+			createMatrixBlock(l, n, n), createMatrixBlock(a, n, n) };
+	}
+
+	/**
+	 * Computes the Householder QR decomposition A = Q R, where Q is
+	 * represented by the Householder vectors H in the same form as
+	 * org.apache.commons.math3.linear.QRDecomposition.getH().
+	 *
+	 * @param in input matrix
+	 * @param k degree of parallelism
+	 * @return array of matrix blocks H, R
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock[] qr(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[] a = DataConverter.convertToDoubleVector(in);
+		double[] rdiag = factorizeQR(a, m, n, k);
+
+		//extract H and R
+		double[] h = new double[m*n];
+		double[] r = new double[m*n];
+		for( int i = 0; i < m; i++ ) {
+			int ix = i*n;
+			for( int j = 0; j < Math.min(i+1, n); j++ )
+				h[ix+j] = a[ix+j] / -rdiag[j];
+			if( i < Math.min(m, n) ) {
+				r[ix+i] = rdiag[i];
+				System.arraycopy(a, ix+i+1, r, ix+i+1, n-i-1);
+			}
+		}
+
+		return new MatrixBlock[] { createMatrixBlock(h, m, n), createMatrixBlock(r, m, n) };
+	}
+
+	/**
+	 * Solves the system of linear equations A X = B, via LU decomposition
+	 * for square A and via QR decomposition (least squares) for
+	 * overdetermined systems.
+	 *
+	 * @param in1 matrix A
+	 * @param in2 matrix B
+	 * @param k degree of parallelism
+	 * @return solution X
+	 * @throws DMLRuntimeException if A is singular or dimensions mismatch
+	 */
+	public static MatrixBlock solve(MatrixBlock in1, MatrixBlock in2, int k)
+		throws DMLRuntimeException
+	{
+		final int m = in1.getNumRows();
+		final int n = in1.getNumColumns();
+		final int nb = in2.getNumColumns();
+		if( in2.getNumRows() != m )
+			throw new DMLRuntimeException("Dimension mismatch in solve(): A is "
+				+ m + "x" + n + " but B is " + in2.getNumRows() + "x" + nb + ".");
+		if( m < n )
+			throw new DMLRuntimeException("Underdetermined systems not supported in solve(): A is "+m+"x"+n+".");
+
+		double[] a = DataConverter.convertToDoubleVector(in1);
+		double[] b = DataConverter.convertToDoubleVector(in2);
+		double[] x = (m == n) ?
+			solveLU(a, b, n, nb, k) : solveQR(a, b, m, n, nb, k);
+
+		return createMatrixBlock(x, n, nb);
+	}
+
+	/**
+	 * Computes the inverse of a square matrix via LU decomposition.
+	 *
+	 * @param in input matrix
+	 * @param k degree of parallelism
+	 * @return inverse matrix
+	 * @throws DMLRuntimeException if the input is singular
+	 */
+	public static MatrixBlock inverse(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		final int n = checkSquare(in, "inv");
+		double[] a = DataConverter.convertToDoubleVector(in);
+		double[] b = new double[n*n];
+		for( int i = 0; i < n; i++ )
+			b[i*n+i] = 1;
+		return createMatrixBlock(solveLU(a, b, n, n, k), n, n);
+	}
+
+	/**
+	 * Indicates if the eigen decomposition of the given matrix is supported,
+	 * i.e., if the input is symmetric (w/ commons-math tolerance).
+	 *
+	 * @param in input matrix
+	 * @return true if the input is a symmetric matrix
+	 */
+	public static boolean isSupportedEigen(MatrixBlock in) {
+		final int n = in.getNumRows();
+		return n == in.getNumColumns() && isSymmetric(
+			DataConverter.convertToDoubleVector(in), n, 10d * n * n * PRECISION);
+	}
+
+	/**
+	 * Computes the eigen decomposition of a symmetric matrix via Householder
+	 * tridiagonalization and the implicit QL algorithm. The eigen values
+	 * (and vectors) are sorted in increasing order.
+	 *
+	 * @param in symmetric input matrix
+	 * @param k degree of parallelism
+	 * @return array of matrix blocks eigen values (column vector), eigen vectors
+	 * @throws DMLRuntimeException if the QL algorithm does not converge
+	 */
+	public static MatrixBlock[] eigenSymmetric(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		final int n = checkSquare(in, "eigen");
+		double[] v = DataConverter.convertToDoubleVector(in);
+		double[] d = new double[n];
+		double[] e = new double[n];
+
+		//reduce to tridiagonal form, eigen vectors in rows of v
+		tridiagonalize(v, d, e, n, k);
+		transposeInPlace(v, n);
+		diagonalize(v, d, e, n, k);
+
+		//sort eigen values (and vectors) in increasing order
+		for( int i = 0; i < n-1; i++ ) {
+			int ix = i;
+			for( int j = i+1; j < n; j++ )
+				ix = (d[j] < d[ix]) ? j : ix;
+			if( ix != i ) {
+				double tmp = d[ix]; d[ix] = d[i]; d[i] = tmp;
+				double[] row = new double[n];
+				System.arraycopy(v, i*n, row, 0, n);
+				System.arraycopy(v, ix*n, v, i*n, n);
+				System.arraycopy(row, 0, v, ix*n, n);
+			}
+		}
+		transposeInPlace(v, n);
+
+		return new MatrixBlock[] {
+			DataConverter.convertToMatrixBlock(d, true), createMatrixBlock(v, n, n) };
+	}
+
+	///////////////////////////////////////////
+	// LU and QR decompositions and solvers
+
+	private static int[] factorizeLU(double[] a, int n, double threshold, int k)
+		throws DMLRuntimeException
+	{
+		int[] perm = new int[n];
+		for( int i = 0; i < n; i++ )
+			perm[i] = i;
+
+		for( int j0 = 0; j0 < n; j0 += BLOCKSIZE ) {
+			final int bj0 = j0, bj1 = Math.min(j0+BLOCKSIZE, n);
+
+			//factorize panel (unblocked w/ partial pivoting of entire rows)
+			for( int j = bj0; j < bj1; j++ ) {
+				int p = j;
+				for( int i = j+1; i < n; i++ )
+					p = (Math.abs(a[i*n+j]) > Math.abs(a[p*n+j])) ? i : p;
+				if( Math.abs(a[p*n+j]) <= threshold )
+					throw new DMLRuntimeException("Matrix is singular (pivot "+a[p*n+j]+" in column "+j+").");
+				if( p != j ) {
+					swapRows(a, n, p, j);
+					int tmp = perm[p]; perm[p] = perm[j]; perm[j] = tmp;
+				}
+				final int bj = j;
+				final double pivot = a[j*n+j];
+				parallelRows(j+1, n, (long)(n-j-1)*(bj1-j), k, (rl, ru) -> {
+					for( int i = rl; i < ru; i++ ) {
+						int ix = i*n;
+						double lval = (a[ix+bj] /= pivot);
+						if( lval != 0 )
+							LibMatrixMult.vectMultiplyAdd(-lval, a, a, bj*n+bj+1, ix+bj+1, bj1-bj-1);
+					}
+				});
+			}
+			if( bj1 == n )
+				break;
+
+			//compute block row of U (U12 = L11^-1 A12), parallel over columns
+			parallelCols(bj1, n, (long)(bj1-bj0)*(bj1-bj0)/2*(n-bj1), k, (cl, cu) -> {
+				for( int j = bj0; j < bj1; j++ )
+					for( int i = j+1; i < bj1; i++ )
+						LibMatrixMult.vectMultiplyAdd(-a[i*n+j], a, a, j*n+cl, i*n+cl, cu-cl);
+			});
+
+			//trailing update (A22 = A22 - L21 U12), parallel over rows
+			parallelRows(bj1, n, (long)(n-bj1)*(n-bj1)*(bj1-bj0), k, (rl, ru) -> {
+				for( int i = rl; i < ru; i++ ) {
+					int ix = i*n;
+					for( int p = bj0; p < bj1; p++ ) {
+						double lval = a[ix+p];
+						if( lval != 0 )
+							LibMatrixMult.vectMultiplyAdd(-lval, a, a, p*n+bj1, ix+bj1, n-bj1);
+					}
+				}
+			});
+		}
+
+		return perm;
+	}
+
+	private static double[] solveLU(double[] a, double[] b, int n, int nb, int k)
+		throws DMLRuntimeException
+	{
+		int[] perm = factorizeLU(a, n, 0, k);
+
+		//apply row permutation to right-hand side
+		double[] x = new double[n*nb];
+		for( int i = 0; i < n; i++ )
+			System.arraycopy(b, perm[i]*nb, x, i*nb, nb);
+
+		//forward and backward substitution, parallel over columns
+		parallelCols(0, nb, (long)n*n*nb, k, (cl, cu) -> {
+			for( int i = 1; i < n; i++ )
+				for( int p = 0, ix = i*n; p < i; p++ )
+					if( a[ix+p] != 0 )
+						LibMatrixMult.vectMultiplyAdd(-a[ix+p], x, x, p*nb+cl, i*nb+cl, cu-cl);
+			for( int i = n-1; i >= 0; i-- ) {
+				int ix = i*n;
+				for( int p = i+1; p < n; p++ )
+					if( a[ix+p] != 0 )
+						LibMatrixMult.vectMultiplyAdd(-a[ix+p], x, x, p*nb+cl, i*nb+cl, cu-cl);
+				double pivot = a[ix+i];
+				for( int j = cl; j < cu; j++ )
+					x[i*nb+j] /= pivot;
+			}
+		});
+
+		return x;
+	}
+
+	private static double[] factorizeQR(double[] a, int m, int n, int k)
+		throws DMLRuntimeException
+	{
+		double[] rdiag = new double[Math.min(m, n)];
+		for( int minor = 0; minor < Math.min(m, n); minor++ ) {
+			final int bminor = minor;
+
+			//compute Householder vector for column minor
+			double norm2 = 0;
+			for( int i = minor; i < m; i++ )
+				norm2 += a[i*n+minor] * a[i*n+minor];
+			double alpha = (a[minor*n+minor] > 0) ? -Math.sqrt(norm2) : Math.sqrt(norm2);
+			rdiag[minor] = alpha;
+			if( alpha == 0 )
+				continue;
+			a[minor*n+minor] -= alpha;
+
+			//apply Householder reflection to trailing columns, parallel over columns
+			final double factor = 1 / (alpha * a[minor*n+minor]);
+			parallelCols(minor+1, n, (long)(m-minor)*(n-minor-1), k, (cl, cu) -> {
+				double[] w = new double[cu-cl];
+				for( int i = bminor; i < m; i++ )
+					if( a[i*n+bminor] != 0 )
+						LibMatrixMult.vectMultiplyAdd(a[i*n+bminor], a, w, i*n+cl, 0, cu-cl);
+				for( int j = 0; j < cu-cl; j++ )
+					w[j] *= factor;
+				for( int i = bminor; i < m; i++ )
+					if( a[i*n+bminor] != 0 )
+						LibMatrixMult.vectMultiplyAdd(a[i*n+bminor], w, a, 0, i*n+cl, cu-cl);
+			});
+		}
+		return rdiag;
+	}
+
+	private static double[] solveQR(double[] a, double[] b, int m, int n, int nb, int k)
+		throws DMLRuntimeException
+	{
+		double[] rdiag = factorizeQR(a, m, n, k);
+		for( int j = 0; j < n; j++ )
+			if( rdiag[j] == 0 )
+				throw new DMLRuntimeException("Matrix is singular (column "+j+").");
+
+		//apply Q^T to B and backward substitution, parallel over columns
+		double[] x = new double[n*nb];
+		parallelCols(0, nb, (long)m*n*nb, k, (cl, cu) -> {
+			double[] w = new double[cu-cl];
+			for( int minor = 0; minor < n; minor++ ) {
+				double factor = 1 / (rdiag[minor] * a[minor*n+minor]);
+				Arrays.fill(w, 0);
+				for( int i = minor; i < m; i++ )
+					if( a[i*n+minor] != 0 )
+						LibMatrixMult.vectMultiplyAdd(a[i*n+minor], b, w, i*nb+cl, 0, cu-cl);
+				for( int j = 0; j < cu-cl; j++ )
+					w[j] *= factor;
+				for( int i = minor; i < m; i++ )
+					if( a[i*n+minor] != 0 )
+						LibMatrixMult.vectMultiplyAdd(a[i*n+minor], w, b, 0, i*nb+cl, cu-cl);
+			}
+			for( int i = n-1; i >= 0; i-- ) {
+				for( int j = cl; j < cu; j++ )
+					x[i*nb+j] = b[i*nb+j] / rdiag[i];
+				for( int p = 0; p < i; p++ )
+					LibMatrixMult.vectMultiplyAdd(-a[p*n+i], x, b, i*nb+cl, p*nb+cl, cu-cl);
+			}
+		});
+
+		return x;
+	}
+
+	///////////////////////////////////////////
+	// Symmetric eigen decomposition
+
+	/**
+	 * Householder reduction of a symmetric matrix (full storage) to
+	 * tridiagonal form, incl accumulation of the transformations
+	 * (derived from the EISPACK routine tred2, as used in JAMA).
+	 *
+	 * @param v symmetric input matrix, and output transformation matrix
+	 * @param d output diagonal
+	 * @param e output subdiagonal (e[0] = 0)
+	 * @param n number of rows/columns
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void tridiagonalize(double[] v, double[] d, double[] e, int n, int k)
+		throws DMLRuntimeException
+	{
+		System.arraycopy(v, (n-1)*n, d, 0, n);
+
+		for( int i = n-1; i > 0; i-- ) {
+			final int bi = i;
+			double scale = 0, h = 0;
+			for( int j = 0; j < i; j++ )
+				scale += Math.abs(d[j]);
+
+			if( scale == 0 ) {
+				e[i] = d[i-1];
+				for( int j = 0; j < i; j++ ) {
+					d[j] = v[(i-1)*n+j];
+					v[i*n+j] = 0;
+					v[j*n+i] = 0;
+				}
+			}
+			else {
+				//generate Householder vector
+				for( int j = 0; j < i; j++ ) {
+					d[j] /= scale;
+					h += d[j] * d[j];
+				}
+				double f = d[i-1];
+				double g = (f > 0) ? -Math.sqrt(h) : Math.sqrt(h);
+				e[i] = scale * g;
+				h = h - f * g;
+				d[i-1] = f - g;
+
+				//symmetric matrix-vector product e = A d (rows of leading block)
+				//and storage of Householder vector in column i
+				parallelRows(0, i, (long)i*i, k, (rl, ru) -> {
+					for( int j = rl; j < ru; j++ ) {
+						e[j] = LibMatrixMult.dotProduct(v, d, j*n, 0, bi);
+						v[j*n+bi] = d[j];
+					}
+				});
+				f = 0;
+				for( int j = 0; j < i; j++ ) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for( int j = 0; j < i; j++ )
+					e[j] -= hh * d[j];
+
+				//symmetric rank-2 update of leading block A = A - (d e^T + e d^T)
+				parallelRows(0, i, (long)i*i, k, (rl, ru) -> {
+					for( int j = rl; j < ru; j++ ) {
+						LibMatrixMult.vectMultiplyAdd(-d[j], e, v, 0, j*n, bi);
+						LibMatrixMult.vectMultiplyAdd(-e[j], d, v, 0, j*n, bi);
+					}
+				});
+				for( int j = 0; j < i; j++ ) {
+					d[j] = v[(i-1)*n+j];
+					v[i*n+j] = 0;
+				}
+			}
+			d[i] = h;
+		}
+
+		//accumulate transformations, parallel over columns
+		for( int i = 0; i < n-1; i++ ) {
+			final int bi = i;
+			v[(n-1)*n+i] = v[i*n+i];
+			v[i*n+i] = 1;
+			double h = d[i+1];
+			if( h != 0 ) {
+				for( int j = 0; j <= i; j++ )
+					d[j] = v[j*n+i+1] / h;
+				parallelCols(0, i+1, (long)(i+1)*(i+1), k, (cl, cu) -> {
+					double[] g = new double[cu-cl];
+					for( int p = 0; p <= bi; p++ )
+						if( v[p*n+bi+1] != 0 )
+							LibMatrixMult.vectMultiplyAdd(v[p*n+bi+1], v, g, p*n+cl, 0, cu-cl);
+					for( int p = 0; p <= bi; p++ )
+						if( d[p] != 0 )
+							LibMatrixMult.vectMultiplyAdd(-d[p], g, v, 0, p*n+cl, cu-cl);
+				});
+			}
+			for( int j = 0; j <= i; j++ )
+				v[j*n+i+1] = 0;
+		}
+		for( int j = 0; j < n; j++ ) {
+			d[j] = v[(n-1)*n+j];
+			v[(n-1)*n+j] = 0;
+		}
+		v[(n-1)*n+n-1] = 1;
+		e[0] = 0;
+	}
+
+	/**
+	 * Implicit QL algorithm for symmetric tridiagonal matrices, where
+	 * the eigen vectors are maintained in the rows of z (derived from
+	 * the EISPACK routine tql2, as used in JAMA). The Givens rotations
+	 * of a sweep are recorded and applied in parallel over columns.
+	 *
+	 * @param z transposed transformation matrix, and output eigen vectors (rows)
+	 * @param d diagonal, and output eigen values
+	 * @param e subdiagonal
+	 * @param n number of rows/columns
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if the algorithm does not converge
+	 */
+	private static void diagonalize(double[] z, double[] d, double[] e, int n, int k)
+		throws DMLRuntimeException
+	{
+		for( int i = 1; i < n; i++ )
+			e[i-1] = e[i];
+		e[n-1] = 0;
+
+		final double[] cs = new double[n];
+		final double[] sn = new double[n];
+		double f = 0, tst1 = 0;
+		for( int l = 0; l < n; l++ ) {
+			//find small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while( m < n-1 && Math.abs(e[m]) > EPSILON * tst1 )
+				m++;
+
+			//iterate until e[l] becomes negligible
+			int iter = 0;
+			while( m > l && Math.abs(e[l]) > EPSILON * tst1 ) {
+				if( ++iter > 30 * n )
+					throw new DMLRuntimeException("Eigen decomposition did not converge.");
+
+				//compute implicit shift
+				double g = d[l];
+				double p = (d[l+1] - g) / (2 * e[l]);
+				double r = Math.hypot(p, 1);
+				r = (p < 0) ? -r : r;
+				d[l] = e[l] / (p + r);
+				d[l+1] = e[l] * (p + r);
+				double dl1 = d[l+1];
+				double h = g - d[l];
+				for( int i = l+2; i < n; i++ )
+					d[i] -= h;
+				f += h;
+
+				//implicit QL transformation
+				p = d[m];
+				double c = 1, c2 = c, c3 = c, s = 0, s2 = 0;
+				double el1 = e[l+1];
+				for( int i = m-1; i >= l; i-- ) {
+					c3 = c2;
+					c2 = c;
+					s2 = s;
+					g = c * e[i];
+					h = c * p;
+					r = Math.hypot(p, e[i]);
+					e[i+1] = s * r;
+					s = e[i] / r;
+					c = p / r;
+					p = c * d[i] - s * g;
+					d[i+1] = h + s * (c * g + s * d[i]);
+					cs[i] = c;
+					sn[i] = s;
+				}
+				p = -s * s2 * c3 * el1 * e[l] / dl1;
+				e[l] = s * p;
+				d[l] = c * p;
+
+				//apply recorded rotations to eigen vectors
+				final int bl = l, bm = m;
+				parallelCols(0, n, (long)(m-l)*n, k, (cl, cu) -> {
+					for( int i = bm-1; i >= bl; i-- ) {
+						int ix = i*n, ix1 = (i+1)*n;
+						double ci = cs[i], si = sn[i];
+						for( int j = cl; j < cu; j++ ) {
+							double tmp = z[ix1+j];
+							z[ix1+j] = si * z[ix+j] + ci * tmp;
+							z[ix+j] = ci * z[ix+j] - si * tmp;
+						}
+					}
+				});
+			}
+			d[l] = d[l] + f;
+			e[l] = 0;
+		}
+	}
+
+	///////////////////////////////////////////
+	// Utilities
+
+	private static int checkSquare(MatrixBlock in, String fname)
+		throws DMLRuntimeException
+	{
+		if( in.getNumRows() != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to "+fname+"() must be square matrix -- given: a "
+				+ in.getNumRows() + "x" + in.getNumColumns() + " matrix.");
+		return in.getNumRows();
+	}
+
+	private static boolean isSymmetric(double[] a, int n, double eps) {
+		for( int i = 0; i < n; i++ )
+			for( int j = i+1; j < n; j++ ) {
+				double aij = a[i*n+j], aji = a[j*n+i];
+				if( Math.abs(aij - aji) > Math.max(Math.abs(aij), Math.abs(aji)) * eps )
+					return false;
+			}
+		return true;
+	}
+
+	private static void swapRows(double[] a, int n, int i1, int i2) {
+		for( int j = 0, ix1 = i1*n, ix2 = i2*n; j < n; j++ ) {
+			double tmp = a[ix1+j];
+			a[ix1+j] = a[ix2+j];
+			a[ix2+j] = tmp;
+		}
+	}
+
+	private static void transposeInPlace(double[] a, int n) {
+		final int blksz = 64; //cache blocking
+		for( int bi = 0; bi < n; bi += blksz )
+			for( int bj = bi; bj < n; bj += blksz )
+				for( int i = bi; i < Math.min(bi+blksz, n); i++ )
+					for( int j = Math.max(bj, i+1); j < Math.min(bj+blksz, n); j++ ) {
+						double tmp = a[i*n+j];
+						a[i*n+j] = a[j*n+i];
+						a[j*n+i] = tmp;
+					}
+	}
+
+	private static MatrixBlock createMatrixBlock(double[] data, int rows, int cols) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret = new MatrixBlock(rows, cols, false);
+		ret.init(data, rows, cols);
+		ret.examSparsity();
+		return ret;
+	}
+
+	///////////////////////////////////////////
+	// Parallelization primitives
+
+	private interface RangeTask {
+		public void execute(int lower, int upper);
+	}
+
+	private static void parallelRows(int rl, int ru, long work, int k, RangeTask task)
+		throws DMLRuntimeException
+	{
+		parallelRange(rl, ru, work, k, 1, task);
+	}
+
+	private static void parallelCols(int cl, int cu, long work, int k, RangeTask task)
+		throws DMLRuntimeException
+	{
+		//column ranges aligned to cache lines of 8 values
+		parallelRange(cl, cu, work, k, 8, task);
+	}
+
+	private static void parallelRange(int lower, int upper, long work, int k, int align, RangeTask task)
+		throws DMLRuntimeException
+	{
+		int len = upper - lower;
+		if( len <= 0 )
+			return;
+
+		//sequential execution for small or unsplittable ranges
+		if( k <= 1 || work < PAR_NUMCELL_THRESHOLD || len < 2*align ) {
+			task.execute(lower, upper);
+			return;
+		}
+
+		//parallel execution with over-partitioning for load balance
+		//(e.g., triangular updates with varying work per row)
+		try {
+			int ntasks = Math.min(4*k, len/align);
+			int blklen = (int)Math.ceil((double)len/ntasks);
+			blklen += (blklen%align != 0) ? align-blklen%align : 0;
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+			for( int l = lower; l < upper; l += blklen ) {
+				final int bl = l, bu = Math.min(l+blklen, upper);
+				tasks.add(() -> { task.execute(bl, bu); return null; });
+			}
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> rt : rtasks )
+				rt.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+}
@@ -26,7 +26,6 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.commons.math3.util.FastMath;
@@ -40,6 +39,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
@@ -138,9 +138,13 @@ public class LibMatrixMult
 		//pre-processing: output allocation
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
-		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse());
+		int[] rnnz = (rl==0 && ru==m1.rlen) ? 
+			countNnzRowSelectionCSR(m1, m2, ret) : null;
+		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse() || rnnz != null);
 		if( !ret.sparse )
 			ret.allocateDenseBlock();
+		else if( rnnz != null )
+			allocateTwoPhaseCSR(ret, rnnz);
 		
 		//prepare row-upper for special cases of vector-matrix
 		boolean pm2 = checkParMatrixMultRightInputRows(m1, m2, Integer.MAX_VALUE);
@@ -148,7 +152,9 @@ public class LibMatrixMult
 		int cu = m2.clen;
 		
 		//core matrix mult computation
-		if( m1.isUltraSparse() || m2.isUltraSparse() )
+		if( rnnz != null )
+			matrixMultRowSelectionCSR(m1, m2, ret, 0, m1.rlen);
+		else if( m1.isUltraSparse() || m2.isUltraSparse() )
 			matrixMultUltraSparse(m1, m2, ret, 0, ru2);
 		else if(!m1.sparse && !m2.sparse)
 			matrixMultDenseDense(m1, m2, ret, tm2, pm2, 0, ru2, 0, cu);
@@ -204,26 +210,30 @@ public class LibMatrixMult
 		//we need to allocate sparse as well in order to prevent synchronization)
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
-		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse());
+		int[] rnnz = countNnzRowSelectionCSR(m1, m2, ret);
+		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse() || rnnz != null);
 		if( !ret.sparse )
 			ret.allocateDenseBlock();
+		else if( rnnz != null )
+			allocateTwoPhaseCSR(ret, rnnz);
 		else
 			ret.allocateSparseRowsBlock();
 		
-		if (!ret.isThreadSafe()){
+		if (!ret.isThreadSafe() && rnnz == null){
 			matrixMult(m1, m2, ret);
 			return;
 		}
 		
 		//prepare row-upper for special cases of vector-matrix / matrix-matrix
-		boolean pm2r = checkParMatrixMultRightInputRows(m1, m2, k);
-		boolean pm2c = checkParMatrixMultRightInputCols(m1, m2, k, pm2r);
+		//(two-phase csr construction requires parallelization over rows)
+		boolean pm2r = rnnz == null && checkParMatrixMultRightInputRows(m1, m2, k);
+		boolean pm2c = rnnz == null && checkParMatrixMultRightInputCols(m1, m2, k, pm2r);
 		int num = pm2r ? m2.rlen : pm2c ? m2.clen : m1.rlen; 
 		
 		//core multi-threaded matrix mult computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultTask> tasks = new ArrayList<MatrixMultTask>();
 			int nk = (pm2r||pm2c) ? k : UtilFunctions.roundToNext(Math.min(8*k,num/32), k);
 			ArrayList<Integer> blklens = getBalancedBlockSizes(num, nk);
@@ -338,7 +348,7 @@ public class LibMatrixMult
 		//core matrix mult chain computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultChainTask> tasks = new ArrayList<MatrixMultChainTask>();
 			int blklen = (int)(Math.ceil((double)mX.rlen/k));
 			blklen += (blklen%24 != 0)?24-blklen%24:0;
@@ -420,7 +430,7 @@ public class LibMatrixMult
 	
 		//core multi-threaded matrix mult computation
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 			//load balance via #tasks=2k due to triangular shape 
 			int blklen = (int)(Math.ceil((double)ret.rlen/(2*k)));
@@ -500,7 +510,7 @@ public class LibMatrixMult
 		
 		try
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultPermuteTask> tasks = new ArrayList<MatrixMultPermuteTask>();
 			int blklen = (int)(Math.ceil((double)pm1.rlen/k));
 			for( int i=0; i<k & i*blklen<pm1.rlen; i++ )
@@ -571,7 +581,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWSLossTask> tasks = new ArrayList<MatrixMultWSLossTask>();
 			int blklen = (int)(Math.ceil((double)mX.rlen/k));
 			for( int i=0; i<k & i*blklen<mX.rlen; i++ )
@@ -643,7 +653,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWSigmoidTask> tasks = new ArrayList<MatrixMultWSigmoidTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -758,7 +768,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWDivTask> tasks = new ArrayList<MatrixMultWDivTask>();			
 			//create tasks (for wdivmm-left, parallelization over columns;
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
@@ -835,7 +845,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWCeTask> tasks = new ArrayList<MatrixMultWCeTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -907,7 +917,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWuTask> tasks = new ArrayList<MatrixMultWuTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -1565,6 +1575,63 @@ public class LibMatrixMult
 		}
 		//no need to recompute nonzeros because maintained internally
 	}
+	
+	private static void matrixMultRowSelectionCSR(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int rl, int ru) 
+	{
+		//NOTE: output rows are reserved with the sizes of the selected rows,
+		//which allows to fill disjoint row ranges concurrently w/o synchronization
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock b = m2.sparseBlock;
+		SparseBlockCSR c = (SparseBlockCSR) ret.sparseBlock;
+		int[] cix = c.indexes();
+		double[] cvals = c.values();
+		
+		for( int i=rl; i<ru; i++ ) {
+			if( c.isEmpty(i) ) continue;
+			int bix = a.indexes(i)[a.pos(i)];
+			int bpos = b.pos(bix);
+			int blen = b.size(bix);
+			System.arraycopy(b.indexes(bix), bpos, cix, c.pos(i), blen);
+			System.arraycopy(b.values(bix), bpos, cvals, c.pos(i), blen);
+		}
+		//no need to recompute nonzeros because maintained by allocation
+	}
+	
+	private static int[] countNnzRowSelectionCSR(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret) 
+	{
+		//two-phase csr construction for row selection (e.g., permutation matrix 
+		//multiply) of sparse right inputs in csr or w/ csr default; returns nnz 
+		//per output row, or null if not applicable (the output of a selection
+		//is at most as dense as the right input and hence kept in sparse)
+		if( !m1.sparse || !m2.sparse || m1.nonZeros > m1.rlen || ret.sparseBlock != null
+			|| m1.sparseBlock == null || m2.sparseBlock == null
+			|| !(m2.sparseBlock instanceof SparseBlockCSR 
+			|| MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.CSR) )
+			return null;
+		
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock b = m2.sparseBlock;
+		int[] rnnz = new int[m1.rlen];
+		long nnz = 0;
+		for( int i=0; i<Math.min(m1.rlen, a.numRows()); i++ ) {
+			if( a.isEmpty(i) ) continue;
+			int apos = a.pos(i);
+			if( a.size(i) != 1 || a.values(i)[apos] != 1 )
+				return null;
+			int bix = a.indexes(i)[apos];
+			rnnz[i] = b.isEmpty(bix) ? 0 : b.size(bix);
+			nnz += rnnz[i];
+		}
+		return (nnz <= Integer.MAX_VALUE) ? rnnz : null;
+	}
+	
+	private static void allocateTwoPhaseCSR(MatrixBlock ret, int[] rnnz) {
+		int nnz = 0;
+		for( int i=0; i<rnnz.length; i++ )
+			nnz += rnnz[i];
+		ret.sparseBlock = new SparseBlockCSR(rnnz, nnz);
+		ret.nonZeros = nnz;
+	}
 
 	private static void matrixMultChainDense(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
 	{
@@ -3599,7 +3666,9 @@ public class LibMatrixMult
 				_ret.allocateDenseBlock();
 			
 			//compute block matrix multiplication
-			if( _m1.isUltraSparse() || _m2.isUltraSparse() )
+			if( _ret.sparseBlock instanceof SparseBlockCSR )
+				matrixMultRowSelectionCSR(_m1, _m2, _ret, rl, ru);
+			else if( _m1.isUltraSparse() || _m2.isUltraSparse() )
 				matrixMultUltraSparse(_m1, _m2, _ret, rl, ru);
 			else if(!_m1.sparse && !_m2.sparse)
 				matrixMultDenseDense(_m1, _m2, _ret, _tm2, _pm2r, rl, ru, cl, cu);
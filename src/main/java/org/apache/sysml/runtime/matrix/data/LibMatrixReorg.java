@@ -30,7 +30,6 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -41,6 +40,7 @@ import org.apache.sysml.runtime.functionobjects.SortIndex;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -61,6 +61,7 @@ import org.apache.sysml.runtime.util.UtilFunctions;
 public class LibMatrixReorg 
 {
 	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
+	public static final int PAR_NUMCELL_THRESHOLD_SORT = 64*1024; //Min 64K rows
 	public static final boolean SHALLOW_DENSE_VECTOR_TRANSPOSE = true;
 	public static final boolean SHALLOW_DENSE_ROWWISE_RESHAPE = true;
 	public static final boolean ALLOW_BLOCK_REUSE = false;
@@ -105,7 +106,7 @@ public class LibMatrixReorg
 				return diag(in, out); 
 			case SORT:      
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			
 			default:        
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
@@ -134,7 +135,10 @@ public class LibMatrixReorg
 		//Timing time = new Timing(true);
 		
 		//allocate output arrays (if required)
-		if( out.sparse )
+		boolean csr = isTwoPhaseCSRTranspose(in, out);
+		if( csr )
+			allocateTwoPhaseCSR(out, countNnzPerColumn(in, 0, in.rlen, true));
+		else if( out.sparse )
 			out.allocateSparseRowsBlock(false);
 		else
 			out.allocateDenseBlock(false);
@@ -142,6 +146,8 @@ public class LibMatrixReorg
 		//execute transpose operation
 		if( !in.sparse && !out.sparse )
 			transposeDenseToDense( in, out, 0, in.rlen, 0, in.clen );
+		else if( csr )
+			transposeSparseToSparseCSR( in, out, 0, in.clen );
 		else if( in.sparse && out.sparse )
 			transposeSparseToSparse( in, out, 0, in.rlen, 0, in.clen, 
 				countNnzPerColumn(in, 0, in.rlen));
@@ -162,7 +168,7 @@ public class LibMatrixReorg
 		if( in.isEmptyBlock(false) || (in.rlen * in.clen < PAR_NUMCELL_THRESHOLD) || k == 1
 			|| (SHALLOW_DENSE_VECTOR_TRANSPOSE && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1) )
 			|| (in.sparse && !out.sparse && in.rlen==1) || (!in.sparse && out.sparse && in.rlen==1) 
-			|| (!in.sparse && out.sparse) || !out.isThreadSafe())
+			|| (!in.sparse && out.sparse) || (!out.isThreadSafe() && !isTwoPhaseCSRTranspose(in, out)) )
 		{
 			return transpose(in, out);
 		}
@@ -170,25 +176,29 @@ public class LibMatrixReorg
 		//Timing time = new Timing(true);
 		
 		//set meta data and allocate output arrays (if required)
+		//(csr outputs are allocated after counting the nnz per column)
+		boolean csr = isTwoPhaseCSRTranspose(in, out);
 		out.nonZeros = in.nonZeros;
-		if( out.sparse )
+		if( out.sparse && !csr )
 			out.allocateSparseRowsBlock(false);
-		else
+		else if( !out.sparse )
 			out.allocateDenseBlock(false);
 		
 		//core multi-threaded transpose
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			//pre-processing (compute nnz per column once for sparse)
 			int[] cnt = null;
 			if( in.sparse && out.sparse ) {
 				ArrayList<CountNnzTask> tasks = new ArrayList<CountNnzTask>();
 				int blklen = (int)(Math.ceil((double)in.rlen/k));
 				for( int i=0; i<k & i*blklen<in.rlen; i++ )
-					tasks.add(new CountNnzTask(in, i*blklen, Math.min((i+1)*blklen, in.rlen)));
+					tasks.add(new CountNnzTask(in, i*blklen, Math.min((i+1)*blklen, in.rlen), csr));
 				List<Future<int[]>> rtasks = pool.invokeAll(tasks);
 				for( Future<int[]> rtask : rtasks )
 					cnt = mergeNnzCounts(cnt, rtask.get());
+				if( csr )
+					allocateTwoPhaseCSR(out, cnt);
 			} 
 			//compute actual transpose and check for errors
 			ArrayList<TransposeTask> tasks = new ArrayList<TransposeTask>();
@@ -310,6 +320,12 @@ public class LibMatrixReorg
 
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
+	{
+		return sort(in, out, by, desc, ixret, 1);
+	}
+
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret, int k) 
+		throws DMLRuntimeException
 	{
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
@@ -318,6 +334,10 @@ public class LibMatrixReorg
 		out.sparse = (in.sparse && !ixret);
 		out.nonZeros = ixret ? rlen : in.nonZeros;
 		
+		//redirect small inputs to sequential execution
+		if( rlen < PAR_NUMCELL_THRESHOLD_SORT )
+			k = 1;
+		
 		//step 1: error handling
 		if( by <= 0 || clen < by )
 			throw new DMLRuntimeException("Sort configuration issue: non-existing orderby column: "+by+" ("+rlen+"x"+clen+" input).");
@@ -331,7 +351,10 @@ public class LibMatrixReorg
 			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense
-				Arrays.sort(out.denseBlock);
+				if( k > 1 )
+					sortParallel(out.denseBlock, null, rlen, false, k);
+				else
+					Arrays.sort(out.denseBlock, 0, rlen);
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -352,64 +375,31 @@ public class LibMatrixReorg
 		//create index vector and extract values
 		int[] vix = new int[rlen];
 		double[] values = new double[rlen];
-		for( int i=0; i<rlen; i++ ) {
-			vix[i] = i;
-			values[i] = in.quickGetValue(i, by-1);
-		}
-		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
-
-		//flip order if descending requested (note that this needs to happen
-		//before we ensure stable outputs, hence we also flip values)
-		if(desc) {
-			sortReverseDense(vix);
-			sortReverseDense(values);
-		}
-		
-		//final pass to ensure stable output
-		for( int i=0; i<rlen-1; i++ ) {
-			double tmp = values[i];
-			//determine run of equal values
-			int len = 0;
-			while( i+len+1<rlen && tmp==values[i+len+1] )
-				len++;
-			//unstable sort of run indexes (equal value guaranteed)
-			if( len>0 ) {
-				Arrays.sort(vix, i, i+len+1);
-				i += len; //skip processed run
+		if( k > 1 ) {
+			runSortRowsTasks(in, out, values, vix, by, ixret, true, k);
+			sortParallel(values, vix, rlen, desc, k);
+		}
+		else {
+			for( int i=0; i<rlen; i++ ) {
+				vix[i] = i;
+				values[i] = in.quickGetValue(i, by-1);
 			}
+			sortIndexes(values, vix, 0, rlen, desc);
 		}
 
 		//step 4: create output matrix (guaranteed non-empty, see step 2)
-		if( !ixret )
-		{
-			//copy input data in sorted order into result
-			if( !sparse ) //DENSE
-			{
+		if( !ixret ) {
+			if( !sparse )
 				out.allocateDenseBlock(false);
-				for( int i=0; i<rlen; i++ ) {
-					System.arraycopy(in.denseBlock, vix[i]*clen, out.denseBlock, i*clen, clen);
-				}
-			}
-			else //SPARSE
-			{
+			else
 				out.allocateSparseRowsBlock(false);
-				for( int i=0; i<rlen; i++ ) {
-					int ix = vix[i];
-					if( !in.sparseBlock.isEmpty(ix) ) {
-						out.sparseBlock.set(i, in.sparseBlock.get(ix), true);
-					}
-				}
-			}
 		}
 		else
-		{
-			//copy sorted index vector into result
 			out.allocateDenseBlock(false);
-			for( int i=0; i<rlen; i++ )
-				out.setValueDenseUnsafe(i, 0, vix[i]+1);
-		}
+		if( k > 1 )
+			runSortRowsTasks(in, out, values, vix, by, ixret, false, k);
+		else
+			copySortedRows(in, out, vix, ixret, 0, rlen);
 		
 		return out;
 	}
@@ -883,6 +873,54 @@ public class LibMatrixReorg
 		}
 	}
 
+	private static void transposeSparseToSparseCSR(MatrixBlock in, MatrixBlock out, int cl, int cu)
+	{
+		//NOTE: called only in sequential or column-wise parallel execution, where
+		//the output rows [cl,cu) have been reserved by the two-phase csr allocation
+		SparseBlock a = in.getSparseBlock();
+		SparseBlockCSR c = (SparseBlockCSR) out.getSparseBlock();
+		int[] cix = c.indexes();
+		double[] cvals = c.values();
+		
+		//current write positions of the output rows
+		int[] cpos = Arrays.copyOfRange(c.rowPointers(), cl, cu);
+		
+		//scan input rows in order, which yields sorted output rows
+		for( int i=0; i<in.rlen; i++ ) {
+			if( a.isEmpty(i) ) continue;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			int j = apos;
+			if( cl > 0 ) { //skip to first column >= cl
+				j = Arrays.binarySearch(aix, apos, apos+alen, cl);
+				j = (j >= 0) ? j : Math.abs(j+1);
+			}
+			for( ; j<apos+alen && aix[j]<cu; j++ ) {
+				int cp = cpos[aix[j]-cl]++;
+				cix[cp] = i;
+				cvals[cp] = avals[j];
+			}
+		}
+	}
+	
+	private static boolean isTwoPhaseCSRTranspose(MatrixBlock in, MatrixBlock out) {
+		//sparse-sparse transpose into csr (for csr inputs or default), which
+		//supports multi-threading via two-phase construction of disjoint rows
+		return in.sparse && out.sparse && out.sparseBlock == null
+			&& in.nonZeros <= Integer.MAX_VALUE
+			&& (in.sparseBlock instanceof SparseBlockCSR 
+			|| MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.CSR);
+	}
+	
+	private static void allocateTwoPhaseCSR(MatrixBlock out, int[] cnt) {
+		int nnz = 0;
+		for( int i=0; i<cnt.length; i++ )
+			nnz += cnt[i];
+		out.sparseBlock = new SparseBlockCSR(cnt, nnz);
+	}
+
 	private static void transposeSparseToDense(MatrixBlock in, MatrixBlock out, int rl, int ru, int cl, int cu) 
 		throws DMLRuntimeException
 	{
@@ -962,10 +1000,15 @@ public class LibMatrixReorg
 	}
 
 	private static int[] countNnzPerColumn(MatrixBlock in, int rl, int ru) {
+		return countNnzPerColumn(in, rl, ru, false);
+	}
+	
+	private static int[] countNnzPerColumn(MatrixBlock in, int rl, int ru, boolean force) {
 		//initial pass to determine capacity (this helps to prevent
 		//sparse row reallocations and mem inefficiency w/ skew
+		//or is forced for the two-phase construction of csr outputs)
 		int[] cnt = null;
-		if( in.sparse && in.clen <= 4096 ) { //16KB
+		if( in.sparse && (in.clen <= 4096 || force) ) { //16KB
 			SparseBlock a = in.sparseBlock;
 			cnt = new int[in.clen];
 			for( int i=rl; i<ru; i++ ) {
@@ -1956,6 +1999,179 @@ public class LibMatrixReorg
 	}
 	
 
+	/**
+	 * Stable sort of the index vector by the given values in the row range
+	 * [rl, ru), where equal values are ordered by increasing index for both
+	 * ascending and descending sort order.
+	 * 
+	 * @param values values to sort by
+	 * @param vix index vector
+	 * @param rl row lower index
+	 * @param ru row upper index (exclusive)
+	 * @param desc if true, sort in descending order
+	 */
+	private static void sortIndexes( double[] values, int[] vix, int rl, int ru, boolean desc )
+	{
+		//sort index vector on extracted data (unstable)
+		SortUtils.sortByValue(rl, ru, values, vix);
+
+		//flip order if descending requested (note that this needs to happen
+		//before we ensure stable outputs, hence we also flip values)
+		if( desc ) {
+			sortReverseDense(vix, rl, ru);
+			sortReverseDense(values, rl, ru);
+		}
+		
+		//final pass to ensure stable output
+		for( int i=rl; i<ru-1; i++ ) {
+			double tmp = values[i];
+			//determine run of equal values
+			int len = 0;
+			while( i+len+1<ru && tmp==values[i+len+1] )
+				len++;
+			//unstable sort of run indexes (equal value guaranteed)
+			if( len>0 ) {
+				Arrays.sort(vix, i, i+len+1);
+				i += len; //skip processed run
+			}
+		}
+	}
+	
+	/**
+	 * Multi-threaded sort of the first len values (and optionally the 
+	 * associated index vector), via independent sorts of contiguous row 
+	 * partitions and subsequent rounds of pairwise merges. Since partitions 
+	 * cover increasing row ranges and merges prefer the left input on equal
+	 * values, the result is identical to the stable sequential sort.
+	 * 
+	 * @param values values to sort by
+	 * @param vix index vector, or null if only values are sorted
+	 * @param len number of values
+	 * @param desc if true, sort in descending order (only with index vector)
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void sortParallel( double[] values, int[] vix, int len, boolean desc, int k ) 
+		throws DMLRuntimeException
+	{
+		try {
+			ExecutorService pool = CommonThreadPool.get( k );
+			
+			//sort independent row partitions
+			int blklen = (int)(Math.ceil((double)len/k));
+			int[] bix = new int[(int)Math.ceil((double)len/blklen)+1];
+			ArrayList<SortTask> tasks = new ArrayList<SortTask>();
+			for( int i=0; i<bix.length-1; i++ ) {
+				bix[i+1] = Math.min((i+1)*blklen, len);
+				tasks.add(new SortTask(values, vix, bix[i], bix[i+1], desc));
+			}
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//pairwise merge of sorted partitions (into alternating buffers)
+			double[] svalues = values, dvalues = new double[len];
+			int[] svix = vix, dvix = (vix != null) ? new int[len] : null;
+			while( bix.length > 2 ) {
+				int[] bix2 = new int[bix.length/2+1];
+				ArrayList<MergeTask> mtasks = new ArrayList<MergeTask>();
+				for( int i=0; i<bix.length-1; i+=2 ) {
+					int ru = bix[Math.min(i+2, bix.length-1)];
+					mtasks.add(new MergeTask(svalues, svix, dvalues, dvix, bix[i], bix[i+1], ru, desc));
+					bix2[i/2+1] = ru;
+				}
+				for( Future<Object> task : pool.invokeAll(mtasks) )
+					task.get();
+				double[] tvalues = svalues; svalues = dvalues; dvalues = tvalues;
+				int[] tvix = svix; svix = dvix; dvix = tvix;
+				bix = bix2;
+			}
+			pool.shutdown();
+			
+			//copy back if result resides in temporary buffers
+			if( svalues != values ) {
+				System.arraycopy(svalues, 0, values, 0, len);
+				if( vix != null )
+					System.arraycopy(svix, 0, vix, 0, len);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void mergeSorted( double[] a, int[] aix, double[] c, int[] cix, int rl, int rm, int ru, boolean desc )
+	{
+		int i = rl, j = rm, pos = rl;
+		while( i < rm && j < ru ) {
+			//take right only if strictly ordered before left (stable),
+			//w/ value sort consistent with Arrays.sort (e.g., NaN last)
+			boolean right = (aix == null) ? Double.compare(a[j], a[i]) < 0 :
+				desc ? a[j] > a[i] : a[j] < a[i];
+			int ix = right ? j++ : i++;
+			c[pos] = a[ix];
+			if( aix != null )
+				cix[pos] = aix[ix];
+			pos++;
+		}
+		//copy remaining values of either input
+		int ix = (i < rm) ? i : j;
+		int rlen = (i < rm) ? rm - i : ru - j;
+		System.arraycopy(a, ix, c, pos, rlen);
+		if( aix != null )
+			System.arraycopy(aix, ix, cix, pos, rlen);
+	}
+	
+	private static void runSortRowsTasks( MatrixBlock in, MatrixBlock out, double[] values, int[] vix, 
+			int by, boolean ixret, boolean extract, int k ) 
+		throws DMLRuntimeException
+	{
+		try {
+			ExecutorService pool = CommonThreadPool.get( k );
+			ArrayList<SortRowsTask> tasks = new ArrayList<SortRowsTask>();
+			int blklen = (int)(Math.ceil((double)in.rlen/k));
+			for( int i=0; i<k & i*blklen<in.rlen; i++ )
+				tasks.add(new SortRowsTask(in, out, values, vix, by, ixret, extract,
+					i*blklen, Math.min((i+1)*blklen, in.rlen)));
+			List<Future<Object>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> task : taskret )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void copySortedRows( MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru )
+	{
+		int clen = in.clen;
+		if( !ixret )
+		{
+			//copy input data in sorted order into result
+			if( !in.sparse ) //DENSE
+			{
+				for( int i=rl; i<ru; i++ ) {
+					System.arraycopy(in.denseBlock, vix[i]*clen, out.denseBlock, i*clen, clen);
+				}
+			}
+			else //SPARSE
+			{
+				for( int i=rl; i<ru; i++ ) {
+					int ix = vix[i];
+					if( !in.sparseBlock.isEmpty(ix) ) {
+						out.sparseBlock.set(i, in.sparseBlock.get(ix), true);
+					}
+				}
+			}
+		}
+		else
+		{
+			//copy sorted index vector into result
+			for( int i=rl; i<ru; i++ )
+				out.setValueDenseUnsafe(i, 0, vix[i]+1);
+		}
+	}
+
 	/**
 	 * Utility method for in-place transformation of an ascending sorted
 	 * order into a descending sorted order. This method assumes dense
@@ -1975,25 +2191,25 @@ public class LibMatrixReorg
 		}
 	}
 
-	private static void sortReverseDense( int[] a )
+	private static void sortReverseDense( int[] a, int rl, int ru )
 	{
-		int rlen = a.length;
+		int len = ru - rl;
 		
-		for( int i=0; i<rlen/2; i++ ) {
-			int tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+		for( int i=0; i<len/2; i++ ) {
+			int tmp = a[rl + i];
+			a[rl + i] = a[ru - i - 1];
+			a[ru - i - 1] = tmp;
 		}
 	}
 
-	private static void sortReverseDense( double[] a )
+	private static void sortReverseDense( double[] a, int rl, int ru )
 	{
-		int rlen = a.length;
+		int len = ru - rl;
 		
-		for( int i=0; i<rlen/2; i++ ) {
-			double tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+		for( int i=0; i<len/2; i++ ) {
+			double tmp = a[rl + i];
+			a[rl + i] = a[ru - i - 1];
+			a[ru - i - 1] = tmp;
 		}
 	}
 
@@ -2113,6 +2329,8 @@ public class LibMatrixReorg
 			//execute transpose operation
 			if( !_in.sparse && !_out.sparse )
 				transposeDenseToDense( _in, _out, rl, ru, cl, cu );
+			else if( _in.sparse && _out.sparseBlock instanceof SparseBlockCSR )
+				transposeSparseToSparseCSR( _in, _out, cl, cu );
 			else if( _in.sparse && _out.sparse )
 				transposeSparseToSparse( _in, _out, rl, ru, cl, cu, _cnt );
 			else if( _in.sparse )
@@ -2129,16 +2347,115 @@ public class LibMatrixReorg
 		private MatrixBlock _in = null;
 		private int _rl = -1;
 		private int _ru = -1;
+		private boolean _force = false;
 
-		protected CountNnzTask(MatrixBlock in, int rl, int ru) {
+		protected CountNnzTask(MatrixBlock in, int rl, int ru, boolean force) {
 			_in = in;
 			_rl = rl;
 			_ru = ru;
+			_force = force;
 		}
 		
 		@Override
 		public int[] call() throws DMLRuntimeException {
-			return countNnzPerColumn(_in, _rl, _ru);
+			return countNnzPerColumn(_in, _rl, _ru, _force);
+		}
+	}
+
+	private static class SortTask implements Callable<Object>
+	{
+		private final double[] _values;
+		private final int[] _vix;
+		private final int _rl;
+		private final int _ru;
+		private final boolean _desc;
+
+		protected SortTask(double[] values, int[] vix, int rl, int ru, boolean desc) {
+			_values = values;
+			_vix = vix;
+			_rl = rl;
+			_ru = ru;
+			_desc = desc;
+		}
+		
+		@Override
+		public Object call() {
+			if( _vix == null )
+				Arrays.sort(_values, _rl, _ru);
+			else
+				sortIndexes(_values, _vix, _rl, _ru, _desc);
+			return null;
+		}
+	}
+	
+	private static class MergeTask implements Callable<Object>
+	{
+		private final double[] _a;
+		private final int[] _aix;
+		private final double[] _c;
+		private final int[] _cix;
+		private final int _rl;
+		private final int _rm;
+		private final int _ru;
+		private final boolean _desc;
+
+		protected MergeTask(double[] a, int[] aix, double[] c, int[] cix, int rl, int rm, int ru, boolean desc) {
+			_a = a;
+			_aix = aix;
+			_c = c;
+			_cix = cix;
+			_rl = rl;
+			_rm = rm;
+			_ru = ru;
+			_desc = desc;
+		}
+		
+		@Override
+		public Object call() {
+			mergeSorted(_a, _aix, _c, _cix, _rl, _rm, _ru, _desc);
+			return null;
+		}
+	}
+	
+	private static class SortRowsTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final double[] _values;
+		private final int[] _vix;
+		private final int _by;
+		private final boolean _ixret;
+		private final boolean _extract;
+		private final int _rl;
+		private final int _ru;
+
+		protected SortRowsTask(MatrixBlock in, MatrixBlock out, double[] values, int[] vix, 
+				int by, boolean ixret, boolean extract, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_values = values;
+			_vix = vix;
+			_by = by;
+			_ixret = ixret;
+			_extract = extract;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			if( _extract ) {
+				//create index vector and extract values
+				for( int i=_rl; i<_ru; i++ ) {
+					_vix[i] = i;
+					_values[i] = _in.quickGetValue(i, _by-1);
+				}
+			}
+			else {
+				//copy input rows or indexes in sorted order
+				copySortedRows(_in, _out, _vix, _ixret, _rl, _ru);
+			}
+			return null;
 		}
 	}
 }
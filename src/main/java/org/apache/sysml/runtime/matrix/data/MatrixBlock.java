@@ -41,6 +41,7 @@ import org.apache.sysml.lops.MMTSJ.MMTSJType;
 import org.apache.sysml.lops.MapMultChain.ChainType;
 import org.apache.sysml.lops.PartialAggregate.CorrectionLocationType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.BufferPool;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.functionobjects.Builtin;
@@ -340,16 +341,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		long limit = (long)rlen * clen;
 		
-		//check max size constraint (16GB dense), since java arrays are limited to 2^(32-1) elements)
-		if( limit > Integer.MAX_VALUE ) {
+		//check max size constraint (~16GB dense), since java arrays are limited to slightly 
+		//below 2^31-1 elements (large dense blocks would require the segmented LDRB, which 
+		//is not yet supported here)
+		if( DenseBlockFactory.getDenseBlockType(rlen, clen) != DenseBlock.Type.DRB ) {
 			String execType = OptimizerUtils.isSparkExecutionMode() ? "SPARK" : "MR";
-			throw new RuntimeException("Dense in-memory matrix block ("+rlen+"x"+clen+") exceeds supported size of "+Integer.MAX_VALUE+" elements (16GB). " +
+			throw new RuntimeException("Dense in-memory matrix block ("+rlen+"x"+clen+") exceeds supported size of "+DenseBlockLDRB.MAX_ALLOC+" elements ("+OptimizerUtils.toMB(8L*DenseBlockLDRB.MAX_ALLOC)+"MB). " +
 					                   "Please, report this issue and reduce the JVM heapsize to execute this operation in "+execType+".");
 		}
 		
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
 		if(denseBlock == null || denseBlock.length < limit) {
-			denseBlock = new double[(int)limit];
+			denseBlock = BufferPool.getDoubles((int)limit);
 		}
 		
 		//clear nnz if necessary
@@ -4603,6 +4606,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 
 	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result) throws DMLRuntimeException {
+		return sortOperations(weights, result, 1);
+	}
+
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k) throws DMLRuntimeException {
 		boolean wtflag = (weights!=null);
 		
 		MatrixBlock wts= (weights == null ? null : checkType(weights));
@@ -4660,7 +4667,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		// Sort td and tw based on values inside td (ascending sort), incl copy into result
 		SortIndex sfn = SortIndex.getSortIndexFnObject(1, false, false);
-		ReorgOperator rop = new ReorgOperator(sfn);
+		ReorgOperator rop = new ReorgOperator(sfn, k);
 		LibMatrixReorg.reorg(tdw, (MatrixBlock)result, rop);
 		
 		return result;
@@ -5722,6 +5729,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	/**
 	 * Indicates if concurrent modifications of disjoint rows are thread-safe.
+	 * Note that CSR outputs are not thread-safe in general, but multi-threaded 
+	 * kernels can still construct them via {@link SparseBlockCSR#SparseBlockCSR(int[], int)}
+	 * (two-phase construction of disjoint rows after counting the nnz per row).
 	 * 
 	 * @return true if thread-safe
 	 */
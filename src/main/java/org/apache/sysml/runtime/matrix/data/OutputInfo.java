@@ -72,6 +72,8 @@ public class OutputInfo implements Serializable
 			MatrixIndexes.class, WeightedPair.class);
 	public static final OutputInfo CSVOutputInfo=new OutputInfo(UnPaddedOutputFormat.class, 
 			NullWritable.class, RowBlockForTextOutput.class);
+	public static final OutputInfo ColumnarBlockOutputInfo=new OutputInfo(ColumnarBlockOutputFormat.class, 
+			NullWritable.class, MatrixBlock.class);
 
 	public static InputInfo getMatchingInputInfo(OutputInfo oi) throws DMLRuntimeException {
 		if ( oi == OutputInfo.BinaryBlockOutputInfo )
@@ -90,6 +92,8 @@ public class OutputInfo implements Serializable
 			return InputInfo.WeightedPairInputInfo;
 		else if ( oi == OutputInfo.CSVOutputInfo)
 			return InputInfo.CSVInputInfo;
+		else if ( oi == OutputInfo.ColumnarBlockOutputInfo)
+			return InputInfo.ColumnarBlockInputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + oi);
 	}
@@ -115,6 +119,8 @@ public class OutputInfo implements Serializable
 			return WeightedPairOutputInfo;
 		else if ( str.equalsIgnoreCase("csv") )
 			return CSVOutputInfo;
+		else if ( str.equalsIgnoreCase("columnarblock") )
+			return ColumnarBlockOutputInfo;
 		return null;
 	}
 	
@@ -137,6 +143,8 @@ public class OutputInfo implements Serializable
 			return "weightedpair";
 		else if ( oi == CSVOutputInfo )
 			return "csv";
+		else if ( oi == ColumnarBlockOutputInfo )
+			return "columnarblock";
 		else
 			throw new DMLRuntimeException("Unrecognized outputInfo: " + oi);
 	}
@@ -152,6 +160,8 @@ public class OutputInfo implements Serializable
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo 
 				|| oinfo == OutputInfo.BinaryCellOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_BINARY;
+		else if( oinfo == OutputInfo.ColumnarBlockOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_COLUMNAR;
 		else
 			return "specialized";
 	}
@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.matrix.data;
 
 import java.util.Arrays;
 
+import org.apache.sysml.runtime.controlprogram.caching.BufferPool;
 import org.apache.sysml.runtime.util.SortUtils;
 
 /**
@@ -55,8 +56,8 @@ public class SparseBlockCSR extends SparseBlock
 	
 	public SparseBlockCSR(int rlen, int capacity) {
 		_ptr = new int[rlen+1]; //ix0=0
-		_indexes = new int[capacity];
-		_values = new double[capacity];
+		_indexes = BufferPool.getInts(capacity);
+		_values = BufferPool.getDoubles(capacity);
 		_size = 0;
 	}
 	
@@ -67,6 +68,32 @@ public class SparseBlockCSR extends SparseBlock
 		_size = nnz;
 	}
 	
+	/**
+	 * Allocates a sparse block with the given number of non-zeros per row for 
+	 * two-phase (parallel) construction: after counting the nnz per row, disjoint 
+	 * row ranges can be filled concurrently by writing directly into the reserved
+	 * positions [pos(r), pos(r)+size(r)) of {@link #indexes()} and {@link #values()}.
+	 * If the given nnz per row are only upper bounds, unused reserved positions
+	 * need to be filled with zeros and removed afterwards via {@link #compact()}.
+	 * 
+	 * @param rnnz number of non-zeros per row
+	 * @param nnz total number of non-zeros
+	 */
+	public SparseBlockCSR(int[] rnnz, int nnz)
+	{
+		int rlen = rnnz.length;
+		
+		_ptr = new int[rlen+1]; //ix0=0
+		_indexes = BufferPool.getInts(nnz);
+		_values = BufferPool.getDoubles(nnz);
+		_size = nnz;
+		
+		for( int i=0; i<rlen; i++ )
+			_ptr[i+1] = _ptr[i] + rnnz[i];
+		if( _ptr[rlen] != nnz )
+			throw new RuntimeException("Inconsistent nnz per row: "+_ptr[rlen]+" vs "+nnz);
+	}
+	
 	/**
 	 * Copy constructor sparse block abstraction. 
 	 * 
@@ -91,8 +118,8 @@ public class SparseBlockCSR extends SparseBlock
 			int rlen = sblock.numRows();
 			
 			_ptr = new int[rlen+1];
-			_indexes = new int[(int)size];
-			_values = new double[(int)size];
+			_indexes = BufferPool.getInts((int)size);
+			_values = BufferPool.getDoubles((int)size);
 			_size = (int)size;
 
 			for( int i=0, pos=0; i<rlen; i++ ) {
@@ -120,8 +147,8 @@ public class SparseBlockCSR extends SparseBlock
 		int rlen = rows.length;
 		
 		_ptr = new int[rlen+1]; //ix0=0
-		_indexes = new int[nnz];
-		_values = new double[nnz];
+		_indexes = BufferPool.getInts(nnz);
+		_values = BufferPool.getDoubles(nnz);
 		_size = nnz;
 		
 		for( int i=0, pos=0; i<rlen; i++ ) {
@@ -224,6 +251,8 @@ public class SparseBlockCSR extends SparseBlock
 
 	@Override
 	public boolean isThreadSafe() {
+		//note: only thread-safe for the two-phase construction
+		//of disjoint row ranges via reserved row positions
 		return false;
 	}
 	
@@ -692,6 +721,28 @@ public class SparseBlockCSR extends SparseBlock
 		return sb.toString();
 	}
 	
+	/**
+	 * Removes all zero values from the sparse block, which is necessary after 
+	 * two-phase construction with upper bounds of non-zeros per row. 
+	 */
+	public void compact() {
+		int rlen = numRows();
+		int pos = 0;
+		for( int i=0; i<rlen; i++ ) {
+			int apos = _ptr[i];
+			int alen = _ptr[i+1] - apos;
+			_ptr[i] = pos;
+			for( int j=apos; j<apos+alen; j++ )
+				if( _values[j] != 0 ) {
+					_indexes[pos] = _indexes[j];
+					_values[pos] = _values[j];
+					pos++;
+				}
+		}
+		_ptr[rlen] = pos;
+		_size = pos;
+	}
+	
 	///////////////////////////
 	// private helper methods
 	
@@ -40,6 +40,10 @@ public class LeftScalarOperator extends ScalarOperator
 		super(p, cst);
 	}
 	
+	public LeftScalarOperator(ValueFunction p, double cst, int numThreads) {
+		super(p, cst, numThreads);
+	}
+	
 	@Override
 	public void setConstant(double cst) 
 	{
@@ -54,6 +58,11 @@ public class LeftScalarOperator extends ScalarOperator
 			|| (fn instanceof LessThanEquals && _constant>0));
 	}
 
+	@Override
+	public ScalarOperator copyWithConstant(double cst) {
+		return new LeftScalarOperator(fn, cst, getNumThreads());
+	}
+
 	@Override
 	public double executeScalar(double in) throws DMLRuntimeException {
 		return fn.execute(_constant, in);
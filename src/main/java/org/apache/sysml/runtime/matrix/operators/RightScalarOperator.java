@@ -40,6 +40,10 @@ public class RightScalarOperator extends ScalarOperator
 	public RightScalarOperator(ValueFunction p, double cst) {
 		super(p, cst);
 	}
+	
+	public RightScalarOperator(ValueFunction p, double cst, int numThreads) {
+		super(p, cst, numThreads);
+	}
 
 	@Override
 	public void setConstant(double cst) 
@@ -55,6 +59,11 @@ public class RightScalarOperator extends ScalarOperator
 			|| (fn instanceof Divide && _constant!=0));
 	}
 	
+	@Override
+	public ScalarOperator copyWithConstant(double cst) {
+		return new RightScalarOperator(fn, cst, getNumThreads());
+	}
+
 	@Override
 	public double executeScalar(double in) throws DMLRuntimeException {
 		return fn.execute(in, _constant);
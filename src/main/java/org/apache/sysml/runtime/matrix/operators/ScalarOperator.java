@@ -44,13 +44,23 @@ public abstract class ScalarOperator extends Operator
 
 	public ValueFunction fn;
 	protected double _constant;
+	private int k; //num threads
 	
 	public ScalarOperator(ValueFunction p, double cst) {
+		this(p, cst, 1); //default single-threaded
+	}
+	
+	public ScalarOperator(ValueFunction p, double cst, int numThreads) {
 		fn = p;
+		k = numThreads;
 		//set constant and sparse safe flag
 		setConstant(cst);
 	}
 	
+	public int getNumThreads() {
+		return k;
+	}
+	
 	public double getConstant() {
 		return _constant;
 	}
@@ -65,6 +75,16 @@ public abstract class ScalarOperator extends Operator
 			|| (fn instanceof Builtin && ((Builtin)fn).getBuiltinCode()==BuiltinCode.MIN && _constant>=0));
 	}
 	
+	/**
+	 * Creates a new scalar operator of the same type, function, and number
+	 * of threads with the given constant. This allows shared instructions 
+	 * to execute concurrently with different constants (e.g., in JMLC).
+	 * 
+	 * @param cst scalar constant
+	 * @return new scalar operator
+	 */
+	public abstract ScalarOperator copyWithConstant(double cst);
+	
 	/**
 	 * Apply the scalar operator over a given input value.
 	 * 
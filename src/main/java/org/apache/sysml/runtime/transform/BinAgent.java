@@ -345,16 +345,25 @@ public class BinAgent extends Encoder
 
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
-		for(int j=0; j<_colList.length; j++) {
-			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
-				double inVal = UtilFunctions.objectToDouble(
-						in.getSchema()[colID-1], in.get(i, colID-1));
-				int ix = Arrays.binarySearch(_binMaxs[j], inVal);
-				int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;		
-				out.quickSetValue(i, colID-1, binID);
-			}	
-		}
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		prepareDenseOutput(out);
+		executeRowPartitions(in.getNumRows(), k, (rl, ru) -> {
+			for(int j=0; j<_colList.length; j++) {
+				int colID = _colList[j];
+				for( int i=rl; i<ru; i++ ) {
+					double inVal = UtilFunctions.objectToDouble(
+							in.getSchema()[colID-1], in.get(i, colID-1));
+					int ix = Arrays.binarySearch(_binMaxs[j], inVal);
+					int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;		
+					out.setValueDenseUnsafe(i, colID-1, binID);
+				}	
+			}
+		});
+		out.recomputeNonZeros();
 		return out;
 	}
 
@@ -420,24 +420,34 @@ public class DummycodeAgent extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) 
+	{
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) 
 	{
 		MatrixBlock ret = new MatrixBlock(out.getNumRows(), (int)_dummycodedLength, false);
+		prepareDenseOutput(ret);
 		
-		for( int i=0; i<out.getNumRows(); i++ ) {
-			for(int colID=1, idx=0, ncolID=1; colID <= out.getNumColumns(); colID++) {
-				double val = out.quickGetValue(i, colID-1);
-				if(idx < _colList.length && colID==_colList[idx]) {
-					ret.quickSetValue(i, ncolID-1+(int)val-1, 1);
-					ncolID += _domainSizes[idx];
-					idx++;
-				}
-				else {
-					double ptval = UtilFunctions.objectToDouble(in.getSchema()[colID-1], in.get(i, colID-1));
-					ret.quickSetValue(i, ncolID-1, ptval);
-					ncolID++;
+		executeRowPartitions(out.getNumRows(), k, (rl, ru) -> {
+			for( int i=rl; i<ru; i++ ) {
+				for(int colID=1, idx=0, ncolID=1; colID <= out.getNumColumns(); colID++) {
+					double val = out.quickGetValue(i, colID-1);
+					if(idx < _colList.length && colID==_colList[idx]) {
+						ret.setValueDenseUnsafe(i, ncolID-1+(int)val-1, 1);
+						ncolID += _domainSizes[idx];
+						idx++;
+					}
+					else {
+						double ptval = UtilFunctions.objectToDouble(in.getSchema()[colID-1], in.get(i, colID-1));
+						ret.setValueDenseUnsafe(i, ncolID-1, ptval);
+						ncolID++;
+					}
 				}
 			}
-		}
+		});
+		ret.recomputeNonZeros();
 		
 		return ret;
 	}
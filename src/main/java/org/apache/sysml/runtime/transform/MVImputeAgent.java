@@ -31,6 +31,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -53,6 +56,7 @@ import org.apache.sysml.runtime.matrix.operators.CMOperator;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysml.runtime.transform.encode.Encoder;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public class MVImputeAgent extends Encoder 
@@ -923,37 +927,70 @@ public class MVImputeAgent extends Encoder
 	
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		//allocate histograms upfront for thread-safe per-column build
+		for( int j=0; j<_colList.length; j++ )
+			if( _mvMethodList[j] == MVMethod.GLOBAL_MODE && !_hist.containsKey(_colList[j]) )
+				_hist.put(_colList[j], new HashMap<String,Long>());
+		
+		//build column by column (in parallel over columns, which 
+		//keeps the order of aggregation and hence exact results)
+		int numThreads = (in.getNumRows() < PAR_NUMROWS_THRESHOLD) ? 1 : 
+			Math.min(k, _colList.length);
 		try {
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j];
-				if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
-					//compute global column mean (scale)
-					long off = _countList[j];
-					for( int i=0; i<in.getNumRows(); i++ )
-						_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
-							in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
-					_replacementList[j] = String.valueOf(_meanList[j]._sum);
-					_countList[j] += in.getNumRows();
+			if( numThreads <= 1 ) {
+				for( int j=0; j<_colList.length; j++ )
+					buildColumn(in, j);
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(numThreads);
+				ArrayList<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+				for( int j=0; j<_colList.length; j++ ) {
+					final int jx = j;
+					tasks.add(() -> { buildColumn(in, jx); return null; });
 				}
-				else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
-					//compute global column mode (categorical), i.e., most frequent category
-					HashMap<String,Long> hist = _hist.containsKey(colID) ? 
-							_hist.get(colID) : new HashMap<String,Long>();
-					for( int i=0; i<in.getNumRows(); i++ ) {
-						String key = String.valueOf(in.get(i, colID-1));
-						if( key != null && !key.isEmpty() ) {
-							Long val = hist.get(key);
-							hist.put(key, (val!=null) ? val+1 : 1);
-						}	
-					}
-					_hist.put(colID, hist);
-					long max = Long.MIN_VALUE; 
-					for( Entry<String, Long> e : hist.entrySet() ) 
-						if( e.getValue() > max  ) {
-							_replacementList[j] = e.getKey();
-							max = e.getValue();
-						}
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				pool.shutdown();
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void buildColumn(FrameBlock in, int j) {
+		try {
+			int colID = _colList[j];
+			if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+				//compute global column mean (scale)
+				long off = _countList[j];
+				for( int i=0; i<in.getNumRows(); i++ )
+					_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
+						in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
+				_replacementList[j] = String.valueOf(_meanList[j]._sum);
+				_countList[j] += in.getNumRows();
+			}
+			else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+				//compute global column mode (categorical), i.e., most frequent category
+				HashMap<String,Long> hist = _hist.get(colID);
+				for( int i=0; i<in.getNumRows(); i++ ) {
+					String key = String.valueOf(in.get(i, colID-1));
+					if( key != null && !key.isEmpty() ) {
+						Long val = hist.get(key);
+						hist.put(key, (val!=null) ? val+1 : 1);
+					}	
 				}
+				long max = Long.MIN_VALUE; 
+				for( Entry<String, Long> e : hist.entrySet() ) 
+					if( e.getValue() > max  ) {
+						_replacementList[j] = e.getKey();
+						max = e.getValue();
+					}
 			}
 		}
 		catch(Exception ex) {
@@ -993,13 +1030,27 @@ public class MVImputeAgent extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
-		for(int i=0; i<in.getNumRows(); i++) {
-			for(int j=0; j<_colList.length; j++) {
-				int colID = _colList[j];
-				if( Double.isNaN(out.quickGetValue(i, colID-1)) )
-					out.quickSetValue(i, colID-1, Double.parseDouble(_replacementList[j]));
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//parse replacement values once
+		double[] repl = new double[_colList.length];
+		for(int j=0; j<_colList.length; j++)
+			repl[j] = Double.parseDouble(_replacementList[j]);
+		
+		prepareDenseOutput(out);
+		executeRowPartitions(in.getNumRows(), k, (rl, ru) -> {
+			for(int i=rl; i<ru; i++) {
+				for(int j=0; j<_colList.length; j++) {
+					int colID = _colList[j];
+					if( Double.isNaN(out.quickGetValue(i, colID-1)) )
+						out.setValueDenseUnsafe(i, colID-1, repl[j]);
+				}
 			}
-		}
+		});
+		out.recomputeNonZeros();
 		return out;
 	}
 	
@@ -29,8 +29,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -46,6 +50,7 @@ import org.apache.sysml.runtime.transform.MVImputeAgent.MVMethod;
 import org.apache.sysml.runtime.transform.decode.DecoderRecode;
 import org.apache.sysml.runtime.transform.encode.Encoder;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
@@ -375,6 +380,17 @@ public class RecodeAgent extends Encoder
 		}
 	}
 	
+	private double lookupRCDMapCode(int colID, String key) {
+		if( _finalMaps!=null ) {
+			String val = _finalMaps.get(colID).get(key);
+			return (val!=null) ? Double.parseDouble(val) : Double.NaN;
+		}
+		else { //used for cp, w/o string conversion
+			Long tmp = _rcdMaps.get(colID).get(key);
+			return (tmp!=null) ? tmp.doubleValue() : Double.NaN;
+		}
+	}
+	
 
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
@@ -410,6 +426,63 @@ public class RecodeAgent extends Encoder
 		}
 	}
 
+	/**
+	 * Multi-threaded build of recode maps, with tasks per column and 
+	 * row partition (if there are fewer columns than threads). Partial 
+	 * maps keep their tokens in order of first occurrence and are merged
+	 * in partition order, which yields the same codes as the sequential 
+	 * build.
+	 */
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() )
+			return;
+		final int nrow = in.getNumRows();
+		if( k <= 1 || nrow < PAR_NUMROWS_THRESHOLD ) {
+			build(in);
+			return;
+		}
+		
+		//determine number of row partitions per column
+		int nparts = (int)Math.min(Math.ceil((double)k/_colList.length),
+			Math.ceil((double)nrow/PAR_NUMROWS_THRESHOLD));
+		int blklen = (int)Math.ceil((double)nrow/nparts);
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			
+			//build partial recode maps (or final maps w/o row partitioning)
+			ArrayList<RecodeBuildTask> tasks = new ArrayList<RecodeBuildTask>();
+			for( int j=0; j<_colList.length; j++ ) {
+				int colID = _colList[j]; //1-based
+				if( !_rcdMaps.containsKey(colID) ) 
+					_rcdMaps.put(colID, new HashMap<String,Long>());
+				for( int p=0; p<nparts & p*blklen<nrow; p++ )
+					tasks.add(new RecodeBuildTask(in, colID, p*blklen, Math.min((p+1)*blklen, nrow),
+						(nparts==1) ? _rcdMaps.get(colID) : new LinkedHashMap<String,Long>()));
+			}
+			List<Future<HashMap<String,Long>>> rtasks = pool.invokeAll(tasks);
+			
+			//merge partial recode maps in order of row partitions
+			if( nparts > 1 ) {
+				ArrayList<RecodeMergeTask> mtasks = new ArrayList<RecodeMergeTask>();
+				for( int j=0, pos=0; j<_colList.length; j++ ) {
+					ArrayList<Future<HashMap<String,Long>>> parts = new ArrayList<Future<HashMap<String,Long>>>();
+					for( ; pos<tasks.size() && tasks.get(pos)._colID==_colList[j]; pos++ )
+						parts.add(rtasks.get(pos));
+					mtasks.add(new RecodeMergeTask(_rcdMaps.get(_colList[j]), parts));
+				}
+				rtasks = pool.invokeAll(mtasks);
+			}
+			for( Future<HashMap<String,Long>> task : rtasks )
+				task.get();
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
 	public void buildPartial(FrameBlock in) {
 		if( !isApplicable() )
 			return;		
@@ -459,17 +532,24 @@ public class RecodeAgent extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
-		//apply recode maps column wise
-		for( int j=0; j<_colList.length; j++ ) {
-			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
-				Object okey = in.get(i, colID-1);
-				String key = (okey!=null) ? okey.toString() : null;
-				String val = lookupRCDMap(colID, key);			
-				out.quickSetValue(i, colID-1, (val!=null) ? 
-						Double.parseDouble(val) : Double.NaN);
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//apply recode maps column wise, over disjoint row partitions
+		prepareDenseOutput(out);
+		executeRowPartitions(in.getNumRows(), k, (rl, ru) -> {
+			for( int j=0; j<_colList.length; j++ ) {
+				int colID = _colList[j];
+				for( int i=rl; i<ru; i++ ) {
+					Object okey = in.get(i, colID-1);
+					String key = (okey!=null) ? okey.toString() : null;
+					out.setValueDenseUnsafe(i, colID-1, lookupRCDMapCode(colID, key));
+				}
 			}
-		}
+		});
+		out.recomputeNonZeros();
 		
 		return out;
 	}
@@ -530,5 +610,54 @@ public class RecodeAgent extends Encoder
 	public static String constructRecodeMapEntry(String token, Long code) {
 		return token + Lop.DATATYPE_PREFIX + code.toString();
 	}
+	
+	private static class RecodeBuildTask implements Callable<HashMap<String,Long>>
+	{
+		private final FrameBlock _in;
+		private final int _colID;
+		private final int _rl;
+		private final int _ru;
+		private final HashMap<String,Long> _map;
+		
+		protected RecodeBuildTask(FrameBlock in, int colID, int rl, int ru, HashMap<String,Long> map) {
+			_in = in;
+			_colID = colID;
+			_rl = rl;
+			_ru = ru;
+			_map = map;
+		}
+		
+		@Override
+		public HashMap<String,Long> call() {
+			//probe and build column map for row partition
+			for( int i=_rl; i<_ru; i++ ) {
+				Object okey = _in.get(i, _colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				if( key!=null && !key.isEmpty() && !_map.containsKey(key) )
+					_map.put(key, Long.valueOf(_map.size()+1));
+			}
+			return _map;
+		}
+	}
+	
+	private static class RecodeMergeTask implements Callable<HashMap<String,Long>>
+	{
+		private final HashMap<String,Long> _map;
+		private final List<Future<HashMap<String,Long>>> _parts;
+		
+		protected RecodeMergeTask(HashMap<String,Long> map, List<Future<HashMap<String,Long>>> parts) {
+			_map = map;
+			_parts = parts;
+		}
+		
+		@Override
+		public HashMap<String,Long> call() throws Exception {
+			//append unseen tokens in order of first occurrence
+			for( Future<HashMap<String,Long>> part : _parts )
+				for( String key : part.get().keySet() )
+					if( !_map.containsKey(key) )
+						_map.put(key, Long.valueOf(_map.size()+1));
+			return _map;
+		}
+	}
 }
- 
\ No newline at end of file
@@ -21,8 +21,12 @@ package org.apache.sysml.runtime.transform.encode;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -33,6 +37,7 @@ import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.DistinctValue;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONArray;
 
@@ -45,6 +50,9 @@ public abstract class Encoder implements Serializable
 {
 	private static final long serialVersionUID = 2299156350718979064L;
 	
+	//minimum number of rows for multi-threaded build and apply
+	public static final int PAR_NUMROWS_THRESHOLD = 16*1024;
+	
 	protected int _clen = -1; 
 	protected int[] _colList = null;
 	
@@ -109,6 +117,20 @@ public abstract class Encoder implements Serializable
 	 * @return output matrix block
 	 */
 	public abstract MatrixBlock encode(FrameBlock in, MatrixBlock out);
+	
+	/**
+	 * Block encode: build and apply (transform encode) with the given
+	 * degree of parallelism. By default, this falls back to the 
+	 * single-threaded encode.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return encode(in, out);
+	}
 
 	/**
 	 * Build the transform meta data for the given block input. This call modifies
@@ -118,6 +140,18 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract void build(FrameBlock in);
 	
+	/**
+	 * Build the transform meta data for the given block input with the
+	 * given degree of parallelism. The resulting meta data is equivalent
+	 * to the single-threaded build, which is used by default.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		build(in);
+	}
+	
 	/**
 	 * Encode input data blockwise according to existing transform meta
 	 * data (transform apply).
@@ -128,6 +162,20 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
 	
+	/**
+	 * Encode input data blockwise according to existing transform meta
+	 * data (transform apply) with the given degree of parallelism. By 
+	 * default, this falls back to the single-threaded apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out);
+	}
+	
 	/**
 	 * Encode input data according to existing transform meta
 	 * data (transform apply).
@@ -154,6 +202,59 @@ public abstract class Encoder implements Serializable
 	public abstract void initMetaData(FrameBlock meta);
 	
 	
+	/**
+	 * Prepares the given output for concurrent writes of disjoint rows,
+	 * i.e., converts it into an allocated dense block.
+	 * 
+	 * @param out output matrix block
+	 */
+	protected static void prepareDenseOutput(MatrixBlock out) {
+		try {
+			if( out.isInSparseFormat() )
+				out.sparseToDense();
+			out.allocateDenseBlock(false);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Executes the given function over disjoint row partitions [rl, ru)
+	 * of the given number of rows, in parallel if the degree of parallelism
+	 * and number of rows are large enough.
+	 * 
+	 * @param nrow number of rows
+	 * @param k degree of parallelism
+	 * @param fn function over row partitions
+	 */
+	protected static void executeRowPartitions(int nrow, int k, RowPartitionFunction fn) {
+		if( k <= 1 || nrow < PAR_NUMROWS_THRESHOLD ) {
+			fn.execute(0, nrow);
+			return;
+		}
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+			int blklen = (int)(Math.ceil((double)nrow/k));
+			for( int i=0; i<k & i*blklen<nrow; i++ ) {
+				final int rl = i*blklen, ru = Math.min((i+1)*blklen, nrow);
+				tasks.add(() -> { fn.execute(rl, ru); return null; });
+			}
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	protected interface RowPartitionFunction {
+		public void execute(int rl, int ru);
+	}
+	
 	//OLD API: kept for a transition phase only
 	//TODO stage 2: refactor data and meta data IO into minimal set of ultility functions
 	abstract public void mapOutputTransformationMetadata(OutputCollector<IntWritable, DistinctValue> out, int taskID, TfUtils agents) throws IOException;
@@ -84,11 +84,33 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		//build meta data first (for all encoders)
+		build(in, k);
+		
+		//propagate meta data 
+		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
+		for( Encoder encoder : _encoders )
+			_meta = encoder.getMetaData(_meta);
+		for( Encoder encoder : _encoders )
+			encoder.initMetaData(_meta);
+		
+		//apply meta data
+		return apply(in, out, k);
+	}
+	
 	@Override
 	public void build(FrameBlock in) {
 		for( Encoder encoder : _encoders )
 			encoder.build(in);
 	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		for( Encoder encoder : _encoders )
+			encoder.build(in, k);
+	}
 
 
 	@Override
@@ -105,6 +127,14 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//apply encoders in order, each over row partitions
+		for( Encoder encoder : _encoders )
+			out = encoder.apply(in, out, k);
+		return out;
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		if( _meta != null )
@@ -65,16 +65,25 @@ public class EncoderPassThrough extends Encoder
 	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
-		for( int j=0; j<_colList.length; j++ ) {
-			int col = _colList[j]-1;
-			ValueType vt = in.getSchema()[col];
-			for( int i=0; i<in.getNumRows(); i++ ) {
-				Object val = in.get(i, col);
-				out.quickSetValue(i, col, (val==null||(vt==ValueType.STRING 
-						&& val.toString().isEmpty())) ? Double.NaN : 
-						UtilFunctions.objectToDouble(vt, val));
+		return apply(in, out, 1);
+	}
+	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		prepareDenseOutput(out);
+		executeRowPartitions(in.getNumRows(), k, (rl, ru) -> {
+			for( int j=0; j<_colList.length; j++ ) {
+				int col = _colList[j]-1;
+				ValueType vt = in.getSchema()[col];
+				for( int i=rl; i<ru; i++ ) {
+					Object val = in.get(i, col);
+					out.setValueDenseUnsafe(i, col, (val==null||(vt==ValueType.STRING 
+							&& val.toString().isEmpty())) ? Double.NaN : 
+							UtilFunctions.objectToDouble(vt, val));
+				}
 			}
-		}
+		});
+		out.recomputeNonZeros();
 		
 		return out;
 	}
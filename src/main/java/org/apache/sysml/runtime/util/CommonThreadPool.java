@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Process-wide, work-stealing thread pool for all multi-threaded operations
+ * (matrix kernels, codegen operators, compression, and parallel readers/writers).
+ * Instead of creating and shutting down a fixed thread pool per operation, each
+ * operation obtains a light-weight executor view via {@link #get(int)}, which
+ * submits to the shared pool of size local parallelism but never runs more than
+ * the requested k tasks concurrently. This bound preserves the semantics of the
+ * previous per-operation pools (e.g., k preallocated scratch buffers) and ensures
+ * that concurrent parfor workers with k=par/dop each do not oversubscribe the
+ * available cores. Calls from within the shared pool itself (nested parallelism)
+ * fall back to a dedicated pool in order to prevent blocked workers.
+ * The lifecycle methods (shutdown, awaitTermination, etc) apply to the 
+ * tasks of an individual view and never affect the shared pool.
+ *
+ */
+public class CommonThreadPool extends AbstractExecutorService
+{
+	//shared work-stealing pool, lazily created on first use
+	private static volatile ForkJoinPool _shared = null;
+
+	private final ExecutorService _pool;
+	private final int _k;
+	private final ConcurrentLinkedQueue<Runnable> _queue;
+	private final AtomicInteger _active;
+	private volatile boolean _shutdown;
+
+	private CommonThreadPool(ExecutorService pool, int k) {
+		_pool = pool;
+		_k = k;
+		_queue = new ConcurrentLinkedQueue<Runnable>();
+		_active = new AtomicInteger(0);
+		_shutdown = false;
+	}
+
+	/**
+	 * Obtains an executor service for the given degree of parallelism.
+	 * Note that shutdown of the returned executor does not affect the
+	 * shared pool, so callers can keep the existing invokeAll/shutdown
+	 * pattern of dedicated thread pools.
+	 *
+	 * @param k maximum number of concurrently running tasks
+	 * @return executor service
+	 */
+	public static ExecutorService get(int k) {
+		//use dedicated pool if disabled or called from a shared pool worker,
+		//where a blocking invokeAll could otherwise exhaust all pool threads
+		if( !ConfigurationManager.isSharedThreadPool() || isSharedPoolWorker() )
+			return Executors.newFixedThreadPool(k);
+		return new CommonThreadPool(getSharedPool(), Math.max(k, 1));
+	}
+
+	/**
+	 * Gets the number of threads of the shared pool.
+	 *
+	 * @return size of the shared pool
+	 */
+	public static int getPoolSize() {
+		return InfrastructureAnalyzer.getLocalParallelism();
+	}
+
+	/**
+	 * Gets the number of tasks currently queued in the shared pool.
+	 *
+	 * @return number of queued tasks
+	 */
+	public static long getQueuedTaskCount() {
+		ForkJoinPool pool = _shared;
+		return (pool != null) ?
+			pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount() : 0;
+	}
+
+	private static synchronized ForkJoinPool getSharedPool() {
+		if( _shared == null )
+			_shared = new ForkJoinPool(getPoolSize());
+		return _shared;
+	}
+
+	private static boolean isSharedPoolWorker() {
+		Thread t = Thread.currentThread();
+		return t instanceof ForkJoinWorkerThread
+			&& ((ForkJoinWorkerThread)t).getPool() == _shared;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if( _shutdown )
+			throw new RejectedExecutionException("Thread pool view already shut down.");
+		_queue.add( DMLScript.STATISTICS ?
+			new TimedTask(command) : command );
+		if( DMLScript.STATISTICS )
+			Statistics.maintainThreadPoolQueueDepth(_queue.size());
+		schedule();
+	}
+
+	private void schedule() {
+		//start a new drain task if less than k active and pending tasks
+		while( !_queue.isEmpty() ) {
+			int active = _active.get();
+			if( active >= _k )
+				return;
+			if( _active.compareAndSet(active, active+1) ) {
+				_pool.execute(new DrainTask());
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		//reject new tasks of this view, pending tasks are still executed
+		_shutdown = true;
+		notifyIfTerminated();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		//remove pending tasks of this view (running tasks are not interrupted)
+		_shutdown = true;
+		List<Runnable> ret = new ArrayList<Runnable>();
+		Runnable r = null;
+		while( (r = _queue.poll()) != null )
+			ret.add(r);
+		notifyIfTerminated();
+		return ret;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return _shutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return _shutdown && _queue.isEmpty() && _active.get() == 0;
+	}
+
+	@Override
+	public synchronized boolean awaitTermination(long timeout, TimeUnit unit) 
+		throws InterruptedException 
+	{
+		long nanos = unit.toNanos(timeout);
+		long end = System.nanoTime() + nanos;
+		while( !isTerminated() ) {
+			if( nanos <= 0 )
+				return false;
+			TimeUnit.NANOSECONDS.timedWait(this, nanos);
+			nanos = end - System.nanoTime();
+		}
+		return true;
+	}
+
+	private void notifyIfTerminated() {
+		if( isTerminated() ) {
+			synchronized( this ) {
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Drain task that executes pending tasks of this view until the
+	 * queue is empty, which avoids the submission of k individual tasks
+	 * to the shared pool and bounds the view's degree of parallelism.
+	 */
+	private class DrainTask implements Runnable
+	{
+		@Override
+		public void run() {
+			try {
+				Runnable r = null;
+				while( (r = _queue.poll()) != null )
+					r.run();
+			}
+			finally {
+				_active.decrementAndGet();
+				//handle tasks added after the final poll
+				schedule();
+				notifyIfTerminated();
+			}
+		}
+	}
+
+	private static class TimedTask implements Runnable
+	{
+		private final Runnable _task;
+		private final long _t0;
+
+		public TimedTask(Runnable task) {
+			_task = task;
+			_t0 = System.nanoTime();
+		}
+
+		@Override
+		public void run() {
+			Statistics.incrementThreadPoolTasks(System.nanoTime() - _t0);
+			_task.run();
+		}
+	}
+}
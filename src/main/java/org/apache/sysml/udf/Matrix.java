@@ -38,7 +38,9 @@ import org.apache.sysml.runtime.util.DataConverter;
 /**
  * Class to represent the matrix input type
  * 
- * 
+ * For CP external functions (exectype="mem"), inputs and outputs can be exchanged 
+ * in memory without copies via {@link #getMatrixBlock()} and {@link #setMatrixBlock(MatrixBlock)}, 
+ * while file-based access requires an explicit {@link #exportData()}.
  * 
  */
 public class Matrix extends FunctionParameter 
@@ -51,6 +53,8 @@ public class Matrix extends FunctionParameter
 	private long 		 _cols;
 	private ValueType 	 _vType;
 	private MatrixObject _mo;
+	private MatrixBlock  _mb; //pinned input block
+	private boolean      _pinned = false;
 
 	public enum ValueType {
 		Double,
@@ -135,6 +139,60 @@ public class Matrix extends FunctionParameter
 		return _vType;
 	}
 
+	/**
+	 * Method to get the matrix as a matrix block. For CP external functions, this 
+	 * returns the in-memory block of the input without copy, which remains pinned 
+	 * until the end of the function invocation (and hence, requires no release). 
+	 * The returned block must not be modified.
+	 * 
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBlock getMatrixBlock() 
+		throws DMLRuntimeException, IOException 
+	{
+		if( _mb == null ) {
+			if( _mo != null ) { //CP ext function
+				_mb = _mo.acquireRead();
+				_pinned = true;
+			}
+			else { //traditional ext function (matrix file produced by reblock)
+				MatrixReader reader = MatrixReaderFactory.createMatrixReader(InputInfo.TextCellInputInfo);
+				_mb = reader.readMatrixFromHDFS(this.getFilePath(), _rows, _cols, -1, -1, -1);
+			}
+		}
+		return _mb;
+	}
+	
+	/**
+	 * Method to release a pinned input matrix block (see {@link #getMatrixBlock()}), 
+	 * invoked by the runtime after the function execution.
+	 * 
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public void releaseMatrixBlock() 
+		throws DMLRuntimeException 
+	{
+		if( _pinned )
+			_mo.release();
+		_pinned = false;
+		_mb = null;
+	}
+	
+	/**
+	 * Method to export the matrix to its file path, which is required only if 
+	 * a CP external function explicitly accesses the input via {@link #getFilePath()}.
+	 * 
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public void exportData() 
+		throws DMLRuntimeException 
+	{
+		if( _mo != null )
+			_mo.exportData();
+	}
+	
 	/**
 	 * Method to get matrix as double array. This should only be used if the
 	 * user knows the matrix fits in memory. We are using the dense
@@ -164,6 +222,20 @@ public class Matrix extends FunctionParameter
 
 	}
 
+	/**
+	 * Method to set the matrix block of an output without copy. The given 
+	 * block is passed to the invoking program as is and hence, must not be
+	 * modified afterwards or shared with any input.
+	 * 
+	 * @param mb matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public void setMatrixBlock(MatrixBlock mb) 
+		throws IOException 
+	{
+		setMatrixDoubleArray(mb, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+	}
+	
 	/**
 	 * Method to set matrix as double array. This should only be used if the
 	 * user knows the matrix fits in memory. We are using the dense
@@ -21,13 +21,10 @@ package org.apache.sysml.udf.lib;
 
 import java.io.IOException;
 import java.util.Iterator;
-import java.util.Random;
 
-import org.apache.sysml.runtime.controlprogram.caching.CacheException;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.IJV;
-import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.udf.FunctionParameter;
 import org.apache.sysml.udf.Matrix;
 import org.apache.sysml.udf.PackageFunction;
@@ -51,7 +48,6 @@ public class SGDNesterovUpdate extends PackageFunction {
 
 	private Matrix updatedX;
 	private Matrix updatedV;
-	private Random rand = new Random();
 	
 	@Override
 	public int getNumFunctionOutputs() {
@@ -71,35 +67,32 @@ public class SGDNesterovUpdate extends PackageFunction {
 	@Override
 	public void execute() {
 		try {
-			MatrixBlock X = ((Matrix) getFunctionInput(0)).getMatrixObject().acquireRead();
-			MatrixBlock dX = ((Matrix) getFunctionInput(1)).getMatrixObject().acquireRead();
+			//zero-copy access to pinned inputs (released by the runtime)
+			MatrixBlock X = ((Matrix) getFunctionInput(0)).getMatrixBlock();
+			MatrixBlock dX = ((Matrix) getFunctionInput(1)).getMatrixBlock();
 			double lr = Double.parseDouble(((Scalar)getFunctionInput(2)).getValue());
 			double mu = Double.parseDouble(((Scalar)getFunctionInput(3)).getValue());
-			MatrixBlock v = ((Matrix) getFunctionInput(4)).getMatrixObject().acquireRead();
+			MatrixBlock v = ((Matrix) getFunctionInput(4)).getMatrixBlock();
 			
 			// v = mu * v - lr * dX
-			updatedV = new Matrix( "tmp_" + rand.nextLong(), v.getNumRows(), v.getNumColumns(), ValueType.Double );
+			updatedV = new Matrix( v.getNumRows(), v.getNumColumns(), ValueType.Double );
 			MatrixBlock updatedVMB = allocateDenseMatrixBlock(updatedV);
 			double [] updatedVData = updatedVMB.getDenseBlock();
 			multiplyByConstant(v, mu, updatedVData);
 			multiplyByConstant(dX, -lr, updatedVData);
 			updatedVMB.setNonZeros(-1); // rather than updatedVMB.recomputeNonZeros();
-			updatedV.setMatrixDoubleArray(updatedVMB, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+			updatedV.setMatrixBlock(updatedVMB);
 			
 			// X = X - mu * v_prev + (1 + mu) * v
-			updatedX = new Matrix( "tmp_" + rand.nextLong(), X.getNumRows(), X.getNumColumns(), ValueType.Double );
+			updatedX = new Matrix( X.getNumRows(), X.getNumColumns(), ValueType.Double );
 			MatrixBlock updatedXMB = allocateDenseMatrixBlock(updatedX);
 			double [] updatedXData = updatedXMB.getDenseBlock();
 			copy(X, updatedXData);
 			multiplyByConstant(v, -mu, updatedXData);
 			multiplyByConstant(updatedVData, 1+mu, updatedXData);
 			updatedXMB.setNonZeros(-1); // rather than updatedXMB.recomputeNonZeros();
-			updatedX.setMatrixDoubleArray(updatedXMB, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
-			
-			((Matrix) getFunctionInput(0)).getMatrixObject().release();
-			((Matrix) getFunctionInput(1)).getMatrixObject().release();
-			((Matrix) getFunctionInput(4)).getMatrixObject().release();
-		} catch (CacheException e) {
+			updatedX.setMatrixBlock(updatedXMB);
+		} catch (DMLRuntimeException e) {
 			throw new RuntimeException("Exception while executing SGDNesterovUpdate", e);
 		} catch (IOException e) {
 			throw new RuntimeException("Exception while executing SGDNesterovUpdate", e);
@@ -128,7 +121,7 @@ public class SGDNesterovUpdate extends PackageFunction {
 			Iterator<IJV> iter = in.getSparseBlockIterator();
 			while(iter.hasNext()) {
 				IJV ijv = iter.next();
-				out[ijv.getI()*ijv.getJ()] += ijv.getV() * constant;
+				out[ijv.getI()*in.getNumColumns() + ijv.getJ()] += ijv.getV() * constant;
 			}
 		}
 		else {
@@ -148,7 +141,7 @@ public class SGDNesterovUpdate extends PackageFunction {
 			Iterator<IJV> iter = src.getSparseBlockIterator();
 			while(iter.hasNext()) {
 				IJV ijv = iter.next();
-				dest[ijv.getI()*ijv.getJ()] = ijv.getV();
+				dest[ijv.getI()*src.getNumColumns() + ijv.getJ()] = ijv.getV();
 			}
 		}
 		else {
@@ -28,12 +28,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.codegen.SpoofCompiler;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -71,15 +73,26 @@ public class Statistics
 	private static final LongAdder hopRecompileTime = new LongAdder(); //in nano sec
 	private static final LongAdder hopRecompilePred = new LongAdder(); //count
 	private static final LongAdder hopRecompileSB = new LongAdder();   //count
+	private static final LongAdder hopRecompilePlanHits = new LongAdder();   //count
+	private static final LongAdder hopRecompilePlanMisses = new LongAdder(); //count
 
 	//CODEGEN
 	private static final LongAdder codegenCompileTime = new LongAdder(); //in nano
 	private static final LongAdder codegenClassCompileTime = new LongAdder(); //in nano
+	private static final LongAdder codegenJavaCompileTime = new LongAdder(); //in nano
+	private static final LongAdder codegenClassLoadTime = new LongAdder(); //in nano
 	private static final LongAdder codegenHopCompile = new LongAdder(); //count
 	private static final LongAdder codegenCPlanCompile = new LongAdder(); //count
 	private static final LongAdder codegenClassCompile = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheHits = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheTotal = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheHits = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheTotal = new LongAdder(); //count
+	
+	//Shared thread pool stats (potentially high update frequency)
+	private static final LongAdder threadPoolTasks = new LongAdder(); //count
+	private static final LongAdder threadPoolWaitTime = new LongAdder(); //in nano sec
+	private static final AtomicLong threadPoolMaxQueue = new AtomicLong(0); //count
 	
 	//Function recompile stats 
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
@@ -99,6 +112,7 @@ public class Statistics
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static long parforQueueWaitTime = 0; //in milli sec
 	
 	//heavy hitter counts and times 
 	private static HashMap<String,Long> _cpInstTime = new HashMap<String, Long>();
@@ -223,6 +237,13 @@ public class Statistics
 		hopRecompileSB.add(delta);
 	}
 	
+	public static void incrementHOPRecompilePlanCache(boolean hit) {
+		if( hit )
+			hopRecompilePlanHits.increment();
+		else
+			hopRecompilePlanMisses.increment();
+	}
+	
 	public static void incrementCodegenDAGCompile() {
 		codegenHopCompile.increment();
 	}
@@ -243,6 +264,11 @@ public class Statistics
 		codegenClassCompileTime.add(delta);
 	}
 	
+	public static void incrementCodegenClassCompileTime(long compileDelta, long loadDelta) {
+		codegenJavaCompileTime.add(compileDelta);
+		codegenClassLoadTime.add(loadDelta);
+	}
+	
 	public static void incrementCodegenPlanCacheHits() {
 		codegenPlanCacheHits.increment();
 	}
@@ -251,6 +277,12 @@ public class Statistics
 		codegenPlanCacheTotal.increment();
 	}
 	
+	public static void incrementCodegenClassCacheTotal(boolean hit) {
+		if( hit )
+			codegenClassCacheHits.increment();
+		codegenClassCacheTotal.increment();
+	}
+	
 	public static long getCodegenDAGCompile() {
 		return codegenHopCompile.longValue();
 	}
@@ -271,6 +303,14 @@ public class Statistics
 		return codegenClassCompileTime.longValue();
 	}
 	
+	public static long getCodegenJavaCompileTime() {
+		return codegenJavaCompileTime.longValue();
+	}
+	
+	public static long getCodegenClassLoadTime() {
+		return codegenClassLoadTime.longValue();
+	}
+	
 	public static long getCodegenPlanCacheHits() {
 		return codegenPlanCacheHits.longValue();
 	}
@@ -278,6 +318,37 @@ public class Statistics
 	public static long getCodegenPlanCacheTotal() {
 		return codegenPlanCacheTotal.longValue();
 	}
+	
+	public static long getCodegenClassCacheHits() {
+		return codegenClassCacheHits.longValue();
+	}
+	
+	public static long getCodegenClassCacheTotal() {
+		return codegenClassCacheTotal.longValue();
+	}
+
+	public static void incrementThreadPoolTasks(long waitTime) {
+		threadPoolTasks.increment();
+		threadPoolWaitTime.add(waitTime);
+	}
+	
+	public static void maintainThreadPoolQueueDepth(long depth) {
+		long max = threadPoolMaxQueue.get();
+		while( depth > max && !threadPoolMaxQueue.compareAndSet(max, depth) )
+			max = threadPoolMaxQueue.get();
+	}
+	
+	public static long getThreadPoolTasks() {
+		return threadPoolTasks.longValue();
+	}
+	
+	public static long getThreadPoolWaitTime() {
+		return threadPoolWaitTime.longValue();
+	}
+	
+	public static long getThreadPoolMaxQueueDepth() {
+		return threadPoolMaxQueue.get();
+	}
 
 	public static void incrementFunRecompileTime( long delta ) {
 		funRecompileTime.add(delta);
@@ -302,6 +373,10 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForQueueWaitTime( long time ) {
+		parforQueueWaitTime += time;
+	}
 
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
@@ -347,14 +422,21 @@ public class Statistics
 		hopRecompileTime.reset();
 		hopRecompilePred.reset();
 		hopRecompileSB.reset();
+		hopRecompilePlanHits.reset();
+		hopRecompilePlanMisses.reset();
 		
 		funRecompiles.reset();
 		funRecompileTime.reset();
 		
+		threadPoolTasks.reset();
+		threadPoolWaitTime.reset();
+		threadPoolMaxQueue.set(0);
+		
 		parforOptCount = 0;
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforQueueWaitTime = 0;
 		
 		lTotalLix.reset();
 		lTotalLixUIP.reset();
@@ -557,6 +639,14 @@ public class Statistics
 		return hopRecompileSB.longValue();
 	}
 	
+	public static long getHopRecompilePlanCacheHits(){
+		return hopRecompilePlanHits.longValue();
+	}
+	
+	public static long getHopRecompilePlanCacheMisses(){
+		return hopRecompilePlanMisses.longValue();
+	}
+	
 	public static long getFunRecompileTime(){
 		return funRecompileTime.longValue();
 	}
@@ -580,6 +670,10 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforQueueWaitTime(){
+		return parforQueueWaitTime;
+	}
 
 	/**
 	 * Returns statistics of the DML program that was recently completed as a string
@@ -624,17 +718,31 @@ public class Statistics
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			sb.append("Cache evictions (sync/async, time):\t" + CacheStatistics.displayEvictions() + ".\n");
+			sb.append("Cache policies (WB hit/miss/sync/async):\t" + CacheStatistics.displayPolicyStats() + ".\n");
+			sb.append("Buffer pool (hits/misses, put/drop/evict):\t" + CacheStatistics.displayBufferPool() + ".\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
+			if( getHopRecompilePlanCacheHits()+getHopRecompilePlanCacheMisses()>0 )
+				sb.append("HOP DAGs plan cache (hit, miss):\t" + getHopRecompilePlanCacheHits() + "/" + getHopRecompilePlanCacheMisses() + ".\n");
 			if( getFunRecompiles()>0 ) {
 				sb.append("Functions recompiled:\t\t" + getFunRecompiles() + ".\n");
 				sb.append("Functions recompile time:\t" + String.format("%.3f", ((double)getFunRecompileTime())/1000000000) + " sec.\n");	
 			}
+			if( getThreadPoolTasks()>0 ) {
+				sb.append("Thread pool tasks (num, maxq):\t" + getThreadPoolTasks() + "/" + getThreadPoolMaxQueueDepth() + ".\n");
+				sb.append("Thread pool task wait time:\t" + String.format("%.3f", ((double)getThreadPoolWaitTime())/1000000000) + " sec.\n");
+			}
 			if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN) ) {
 				sb.append("Codegen compile (DAG, CP, JC):\t" + getCodegenDAGCompile() + "/" + getCodegenCPlanCompile() + "/" + getCodegenClassCompile() + ".\n");
 				sb.append("Codegen compile times (DAG,JC):\t" + String.format("%.3f", (double)getCodegenCompileTime()/1000000000) + "/" + 
 						String.format("%.3f", (double)getCodegenClassCompileTime()/1000000000)  + " sec.\n");
+				sb.append("Codegen class times ("+SpoofCompiler.JAVA_COMPILER.name().toLowerCase()+", JC/CL):\t" + 
+						String.format("%.3f", (double)getCodegenJavaCompileTime()/1000000000) + "/" + 
+						String.format("%.3f", (double)getCodegenClassLoadTime()/1000000000) + " sec.\n");
 				sb.append("Codegen plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
+				if( getCodegenClassCacheTotal() > 0 )
+					sb.append("Codegen class cache hits:\t" + getCodegenClassCacheHits() + "/" + getCodegenClassCacheTotal() + ".\n");
 			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
@@ -654,6 +762,7 @@ public class Statistics
 				sb.append("ParFor optimize time:\t\t" + String.format("%.3f", ((double)getParforOptTime())/1000) + " sec.\n");	
 				sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getParforInitTime())/1000) + " sec.\n");	
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
+				sb.append("ParFor task queue wait time:\t" + String.format("%.3f", ((double)getParforQueueWaitTime())/1000) + " sec.\n");
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
 			}
 
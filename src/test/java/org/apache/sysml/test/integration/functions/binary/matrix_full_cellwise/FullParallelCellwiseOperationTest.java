@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix_full_cellwise;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the multi-threaded cell-wise matrix-matrix,
+ * matrix-vector, and matrix-scalar operations, compared against the
+ * single-threaded operations. The inputs exceed the parallelization
+ * threshold of 1M cells (and 1M non-zeros for sparse inputs).
+ */
+public class FullParallelCellwiseOperationTest extends AutomatedTestBase
+{
+	private final static int rows = 3100;
+	private final static int cols = 1000;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.35;
+	private final static int k = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testMatrixMatrixPlusDenseDense() {
+		runParallelBinaryTest(Plus.getPlusFnObject(), sparsity1, sparsity1, rows);
+	}
+
+	@Test
+	public void testMatrixMatrixMinusSparseDense() {
+		runParallelBinaryTest(Minus.getMinusFnObject(), sparsity2, sparsity1, rows);
+	}
+
+	@Test
+	public void testMatrixMatrixPlusDenseSparse() {
+		runParallelBinaryTest(Plus.getPlusFnObject(), sparsity1, sparsity2, rows);
+	}
+
+	@Test
+	public void testMatrixMatrixMultSparseDense() {
+		runParallelBinaryTest(Multiply.getMultiplyFnObject(), sparsity2, sparsity1, rows);
+	}
+
+	@Test
+	public void testMatrixRowVectorMultDense() {
+		runParallelBinaryTest(Multiply.getMultiplyFnObject(), sparsity1, sparsity1, 1);
+	}
+
+	@Test
+	public void testMatrixColVectorMinusDense() {
+		runParallelBinaryTest(Minus.getMinusFnObject(), sparsity1, sparsity1, -1);
+	}
+
+	@Test
+	public void testScalarMultDense() {
+		runParallelBinaryScalarTest(Multiply.getMultiplyFnObject(), sparsity1);
+	}
+
+	@Test
+	public void testScalarMultSparse() {
+		runParallelBinaryScalarTest(Multiply.getMultiplyFnObject(), sparsity2);
+	}
+
+	@Test
+	public void testScalarPlusSparse() {
+		runParallelBinaryScalarTest(Plus.getPlusFnObject(), sparsity2);
+	}
+
+	/**
+	 * @param fn value function
+	 * @param sp1 sparsity of the left input
+	 * @param sp2 sparsity of the right input
+	 * @param rows2 number of rows of the right input (-1 for column vector)
+	 */
+	private void runParallelBinaryTest(ValueFunction fn, double sp1, double sp2, int rows2)
+	{
+		try
+		{
+			MatrixBlock m1 = MatrixBlock.randOperations(rows, cols, sp1, -1, 1, "uniform", 7);
+			MatrixBlock m2 = MatrixBlock.randOperations((rows2<0) ? rows : rows2,
+				(rows2<0) ? 1 : cols, sp2, -1, 1, "uniform", 3);
+			Assert.assertEquals(sp1 < 0.4, m1.isInSparseFormat());
+
+			//execute single- and multi-threaded operations
+			MatrixBlock ret1 = (MatrixBlock) m1.binaryOperations(
+				new BinaryOperator(fn, 1), m2, new MatrixBlock());
+			MatrixBlock ret2 = (MatrixBlock) m1.binaryOperations(
+				new BinaryOperator(fn, k), m2, new MatrixBlock());
+
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runParallelBinaryScalarTest(ValueFunction fn, double sp)
+	{
+		try
+		{
+			MatrixBlock m1 = MatrixBlock.randOperations(rows, cols, sp, -1, 1, "uniform", 7);
+			Assert.assertEquals(sp < 0.4, m1.isInSparseFormat());
+			Assert.assertTrue(m1.getNonZeros() >= 1024*1024);
+
+			//execute single- and multi-threaded operations
+			MatrixBlock ret1 = (MatrixBlock) m1.scalarOperations(
+				new RightScalarOperator(fn, 7, 1), new MatrixBlock());
+			MatrixBlock ret2 = (MatrixBlock) m1.scalarOperations(
+				new RightScalarOperator(fn, 7, k), new MatrixBlock());
+
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void compareResults(MatrixBlock ret1, MatrixBlock ret2)
+		throws Exception
+	{
+		Assert.assertEquals(ret1.isInSparseFormat(), ret2.isInSparseFormat());
+		Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.BufferPool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the thread-safe buffer pool, which checks 
+ * reuse and 0-initialization of pooled arrays, reuse with many different
+ * array lengths, as well as that concurrent workers never obtain the same 
+ * array twice.
+ * 
+ */
+public class BufferPoolTest extends AutomatedTestBase 
+{
+	private final static int len1 = 64 * 1024;
+	private final static int len2 = 96 * 1024;
+	private final static int numThreads = 8;
+	private final static int numIterations = 2000;
+	private final static int numSizes = 3000;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		BufferPool.clear();
+	}
+	
+	@Test
+	public void testBufferPoolReuseDoubles() {
+		double[] a = BufferPool.getDoubles(len1);
+		a[7] = 3;
+		BufferPool.putDoubles(a);
+		double[] b = BufferPool.getDoubles(len1);
+		Assert.assertSame(a, b);
+		Assert.assertEquals(0, b[7], 0);
+		Assert.assertEquals(0, BufferPool.getSize());
+	}
+	
+	@Test
+	public void testBufferPoolReuseInts() {
+		int[] a = BufferPool.getInts(len1);
+		a[7] = 3;
+		BufferPool.putInts(a);
+		Assert.assertNotSame(a, BufferPool.getInts(len2));
+		int[] b = BufferPool.getInts(len1);
+		Assert.assertSame(a, b);
+		Assert.assertEquals(0, b[7]);
+	}
+	
+	@Test
+	public void testBufferPoolReuseBytes() {
+		byte[] a = BufferPool.getBytes(len2);
+		BufferPool.putBytes(a);
+		Assert.assertEquals(len2, BufferPool.getSize());
+		Assert.assertSame(a, BufferPool.getBytes(len2));
+	}
+	
+	@Test
+	public void testBufferPoolSmallArrays() {
+		double[] a = BufferPool.getDoubles(16);
+		BufferPool.putDoubles(a);
+		Assert.assertEquals(0, BufferPool.getSize());
+		Assert.assertNotSame(a, BufferPool.getDoubles(16));
+	}
+	
+	@Test
+	public void testBufferPoolManySizeClasses() {
+		//more distinct array lengths than max size classes (w/ empty classes after reuse)
+		for( int i=0; i<numSizes; i++ ) {
+			byte[] a = BufferPool.getBytes(len1 + i);
+			BufferPool.putBytes(a);
+			Assert.assertSame(a, BufferPool.getBytes(len1 + i));
+		}
+		Assert.assertEquals(0, BufferPool.getSize());
+	}
+	
+	@Test
+	public void testBufferPoolConcurrent() {
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			final Set<double[]> inUse = Collections.newSetFromMap(
+				Collections.synchronizedMap(new IdentityHashMap<double[], Boolean>()));
+			ArrayList<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+			for( int i=0; i<numThreads; i++ )
+				tasks.add(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						boolean ret = true;
+						for( int j=0; j<numIterations; j++ ) {
+							double[] a = BufferPool.getDoubles((j%2==0) ? len1 : len2);
+							ret &= inUse.add(a);
+							ret &= (a[len1-1] == 0);
+							a[len1-1] = 7;
+							inUse.remove(a);
+							BufferPool.putDoubles(a);
+						}
+						return ret;
+					}
+				});
+			for( Future<Boolean> task : pool.invokeAll(tasks) )
+				Assert.assertTrue(task.get());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
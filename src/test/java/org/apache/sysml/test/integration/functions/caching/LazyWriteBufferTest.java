@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.MappedSpillFile;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the concurrent write buffer, which checks
+ * the victim selection of all replacement policies, as well as concurrent
+ * writes, reads, deletes, and (synchronous and asynchronous) evictions
+ * with the per-policy statistics.
+ *
+ */
+public class LazyWriteBufferTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LazyWriteBufferTest.class.getSimpleName() + "/";
+
+	private final static int rows = 100;
+	private final static int cols = 100;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.35;
+	private final static int numThreads = 4;
+	private final static int numIterations = 60;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testVictimSelectionFIFO() {
+		runVictimSelectionTest(RPolicy.FIFO);
+	}
+
+	@Test
+	public void testVictimSelectionLRU() {
+		runVictimSelectionTest(RPolicy.LRU);
+	}
+
+	@Test
+	public void testVictimSelectionCOST() {
+		runVictimSelectionTest(RPolicy.COST);
+	}
+
+	@Test
+	public void testConcurrentWriteReadEvictFIFO() {
+		runConcurrentTest(RPolicy.FIFO);
+	}
+
+	@Test
+	public void testConcurrentWriteReadEvictLRU() {
+		runConcurrentTest(RPolicy.LRU);
+	}
+
+	@Test
+	public void testConcurrentWriteReadEvictCOST() {
+		runConcurrentTest(RPolicy.COST);
+	}
+
+	/**
+	 * Writes three blocks A, B, C (and reads A in between), where the
+	 * buffer limit only allows for two blocks. FIFO evicts A, LRU evicts
+	 * B (as A was accessed), and COST evicts the sparse block B (which
+	 * requires no serialization on eviction) although A is older.
+	 *
+	 * @param policy replacement policy
+	 */
+	private void runVictimSelectionTest(RPolicy policy)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		try
+		{
+			DMLScript.STATISTICS = true;
+			String dir = createTestDir("victim"+policy.name());
+
+			//create dense A, C and sparse B (COST)
+			MatrixBlock A = createBlock(sparsity1, 1);
+			MatrixBlock B = createBlock((policy==RPolicy.COST) ? sparsity2 : sparsity1, 2);
+			MatrixBlock C = createBlock(sparsity1, 3);
+			long sA = getSize(A), sB = getSize(B), sC = getSize(C);
+			long limit = sA + sB + sC - Math.min(sA, Math.min(sB, sC))/2;
+			LazyWriteBuffer.cleanup();
+			LazyWriteBuffer.init(policy, limit);
+			CacheStatistics.reset();
+
+			//write blocks and read A in between
+			LazyWriteBuffer.writeBlock(dir+"A", A);
+			LazyWriteBuffer.writeBlock(dir+"B", B);
+			checkBlock(A, LazyWriteBuffer.readBlock(dir+"A", true));
+			LazyWriteBuffer.writeBlock(dir+"C", C);
+
+			//check evicted victim (written to local FS)
+			boolean evictA = (policy == RPolicy.FIFO);
+			Assert.assertEquals(evictA, new File(dir+"A").exists());
+			Assert.assertEquals(!evictA, new File(dir+"B").exists());
+			Assert.assertFalse(new File(dir+"C").exists());
+			Assert.assertEquals(evictA ? sB+sC : sA+sC, LazyWriteBuffer.getSize());
+
+			//check per-policy statistics and correct reads
+			Assert.assertEquals(1, CacheStatistics.getEvictions(policy, false));
+			Assert.assertEquals(1, CacheStatistics.getWriteBufferHits(policy));
+			checkBlock(A, LazyWriteBuffer.readBlock(dir+"A", true));
+			checkBlock(B, LazyWriteBuffer.readBlock(dir+"B", true));
+			checkBlock(C, LazyWriteBuffer.readBlock(dir+"C", true));
+			Assert.assertEquals(3, CacheStatistics.getWriteBufferHits(policy));
+			Assert.assertEquals(1, CacheStatistics.getWriteBufferMisses(policy));
+			for( RPolicy p : RPolicy.values() )
+				if( p != policy )
+					Assert.assertEquals(0, CacheStatistics.getWriteBufferHits(p));
+
+			//check delete of buffered and evicted entries
+			LazyWriteBuffer.deleteBlock(dir+"A");
+			LazyWriteBuffer.deleteBlock(dir+"B");
+			LazyWriteBuffer.deleteBlock(dir+"C");
+			Assert.assertEquals(0, LazyWriteBuffer.getSize());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.STATISTICS = oldStats;
+			LazyWriteBuffer.cleanup();
+			LazyWriteBuffer.init();
+		}
+	}
+
+	/**
+	 * Concurrent workers write, read, and delete their own blocks, where
+	 * the buffer limit allows only a few blocks, which forces both
+	 * synchronous evictions of writers and background evictions.
+	 *
+	 * @param policy replacement policy
+	 */
+	private void runConcurrentTest(final RPolicy policy)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try
+		{
+			DMLScript.STATISTICS = true;
+			final String dir = createTestDir("concurrent"+policy.name());
+			final MatrixBlock[] blocks = new MatrixBlock[4];
+			for( int i=0; i<blocks.length; i++ )
+				blocks[i] = createBlock((i%2==0) ? sparsity1 : sparsity2, i+1);
+			LazyWriteBuffer.cleanup();
+			LazyWriteBuffer.init(policy, 5 * getSize(blocks[0]));
+			CacheStatistics.reset();
+
+			ArrayList<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+			for( int i=0; i<numThreads; i++ ) {
+				final int tid = i;
+				tasks.add(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						for( int j=0; j<numIterations; j++ ) {
+							//write new block, and read current and previous block
+							String fname = dir + tid + "_" + j;
+							LazyWriteBuffer.writeBlock(fname, blocks[j%blocks.length]);
+							checkBlock(blocks[j%blocks.length], LazyWriteBuffer.readBlock(fname, true));
+							if( j > 0 )
+								checkBlock(blocks[(j-1)%blocks.length],
+									LazyWriteBuffer.readBlock(dir + tid + "_" + (j-1), true));
+							//delete older blocks (buffered or evicted)
+							if( j > 1 )
+								LazyWriteBuffer.deleteBlock(dir + tid + "_" + (j-2));
+						}
+						return true;
+					}
+				});
+			}
+			for( Future<Boolean> task : pool.invokeAll(tasks) )
+				Assert.assertTrue(task.get());
+
+			//check remaining blocks after eviction of all entries
+			LazyWriteBuffer.forceEviction();
+			Assert.assertEquals(0, LazyWriteBuffer.getSize());
+			for( int i=0; i<numThreads; i++ )
+				for( int j=numIterations-2; j<numIterations; j++ ) {
+					String fname = dir + i + "_" + j;
+					checkBlock(blocks[j%blocks.length], LazyWriteBuffer.readBlock(fname, true));
+					LazyWriteBuffer.deleteBlock(fname);
+				}
+
+			//check per-policy statistics
+			long evictions = CacheStatistics.getEvictions(policy, false)
+				+ CacheStatistics.getEvictions(policy, true);
+			Assert.assertTrue(evictions > 0);
+			Assert.assertTrue(CacheStatistics.getWriteBufferHits(policy) > 0);
+			Assert.assertTrue(CacheStatistics.getWriteBufferMisses(policy) >= 2*numThreads);
+			Assert.assertEquals(CacheStatistics.getFSBuffHits() + CacheStatistics.getFSHits(),
+				CacheStatistics.getWriteBufferHits(policy) + CacheStatistics.getWriteBufferMisses(policy));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+			DMLScript.STATISTICS = oldStats;
+			LazyWriteBuffer.cleanup();
+			LazyWriteBuffer.init();
+		}
+	}
+
+	private String createTestDir(String name) {
+		String dir = TEST_DATA_DIR + TEST_CLASS_DIR + name + "/";
+		LocalFileUtils.deleteFileIfExists(dir);
+		LocalFileUtils.createLocalFileIfNotExist(dir);
+		return dir;
+	}
+
+	private MatrixBlock createBlock(double sparsity, long seed) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(
+			getRandomMatrix(rows, cols, -10, 10, sparsity, seed));
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static long getSize(MatrixBlock mb) {
+		return MappedSpillFile.isApplicable(mb) ?
+			MappedSpillFile.getSpillSize(mb) : mb.getExactSerializedSize();
+	}
+
+	private static void checkBlock(MatrixBlock expected, Object actual) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock mb = (MatrixBlock) actual;
+		Assert.assertEquals(expected.getNonZeros(), mb.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(mb), rows, cols, 0);
+	}
+}
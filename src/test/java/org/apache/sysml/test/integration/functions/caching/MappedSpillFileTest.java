@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MappedSpillFile;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the local spill format of evicted matrix 
+ * blocks, which checks round trips through memory-mapped local files and 
+ * in-memory byte buffers for dense, sparse (MCSR, CSR), empty, and compressed
+ * blocks.
+ * 
+ */
+public class MappedSpillFileTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + MappedSpillFileTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1172;
+	private final static int cols = 349;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double sparsity3 = 0.0;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSpillFileDense() {
+		runSpillTest(sparsity1, null, true);
+	}
+	
+	@Test
+	public void testSpillFileSparseMCSR() {
+		runSpillTest(sparsity2, SparseBlock.Type.MCSR, true);
+	}
+	
+	@Test
+	public void testSpillFileSparseCSR() {
+		runSpillTest(sparsity2, SparseBlock.Type.CSR, true);
+	}
+	
+	@Test
+	public void testSpillFileEmpty() {
+		runSpillTest(sparsity3, null, true);
+	}
+	
+	@Test
+	public void testSpillBufferDense() {
+		runSpillTest(sparsity1, null, false);
+	}
+	
+	@Test
+	public void testSpillBufferSparseMCSR() {
+		runSpillTest(sparsity2, SparseBlock.Type.MCSR, false);
+	}
+	
+	@Test
+	public void testSpillBufferSparseCSR() {
+		runSpillTest(sparsity2, SparseBlock.Type.CSR, false);
+	}
+	
+	@Test
+	public void testSpillBufferEmpty() {
+		runSpillTest(sparsity3, null, false);
+	}
+	
+	@Test
+	public void testSpillFileCompressed() {
+		runSpillTest(sparsity1, null, true, true);
+	}
+	
+	@Test
+	public void testSpillBufferCompressed() {
+		runSpillTest(sparsity1, null, false, true);
+	}
+	
+	private void runSpillTest(double sparsity, SparseBlock.Type stype, boolean file) {
+		runSpillTest(sparsity, stype, file, false);
+	}
+	
+	private void runSpillTest(double sparsity, SparseBlock.Type stype, boolean file, boolean compress)
+	{
+		try
+		{
+			//generate input matrix block of requested format
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7654321); 
+			if( compress )
+				A = TestUtils.round(A);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			mbA.examSparsity();
+			if( stype != null )
+				mbA = new MatrixBlock(mbA, stype, true);
+			if( compress ) {
+				mbA = new CompressedMatrixBlock(mbA);
+				((CompressedMatrixBlock)mbA).compress();
+				Assert.assertTrue(((CompressedMatrixBlock)mbA).isCompressed());
+			}
+			
+			//spill and restore matrix block
+			MatrixBlock mbB = null;
+			long size = MappedSpillFile.getSpillSize(mbA);
+			if( file ) {
+				String dir = TEST_DATA_DIR + TEST_CLASS_DIR;
+				LocalFileUtils.createLocalFileIfNotExist(dir);
+				String fname = dir + "spill" + (stype!=null ? stype.name() : "") + (compress ? "C" : "");
+				MappedSpillFile.writeToLocal(fname, mbA);
+				Assert.assertEquals(size, new File(fname).length());
+				mbB = MappedSpillFile.readFromLocal(fname);
+				LocalFileUtils.deleteFileIfExists(fname);
+			}
+			else {
+				byte[] data = new byte[(int)size];
+				MappedSpillFile.writeToBuffer(mbA, data);
+				mbB = MappedSpillFile.readFromBuffer(data);
+			}
+			
+			//check meta data and sparse block type
+			Assert.assertEquals(mbA.getNumRows(), mbB.getNumRows());
+			Assert.assertEquals(mbA.getNumColumns(), mbB.getNumColumns());
+			Assert.assertEquals(mbA.getNonZeros(), mbB.getNonZeros());
+			if( !compress )
+				Assert.assertEquals(mbA.isInSparseFormat(), mbB.isInSparseFormat());
+			if( stype == SparseBlock.Type.MCSR )
+				Assert.assertTrue(mbB.getSparseBlock() instanceof SparseBlockMCSR);
+			if( stype == SparseBlock.Type.CSR )
+				Assert.assertTrue(mbB.getSparseBlock() instanceof SparseBlockCSR);
+			if( compress ) {
+				Assert.assertTrue(mbB instanceof CompressedMatrixBlock);
+				Assert.assertTrue(((CompressedMatrixBlock)mbB).isCompressed());
+				mbB = ((CompressedMatrixBlock)mbB).decompress();
+			}
+			
+			//check restored values
+			double[][] B = DataConverter.convertToDoubleMatrix(mbB);
+			TestUtils.compareMatrices(A, B, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
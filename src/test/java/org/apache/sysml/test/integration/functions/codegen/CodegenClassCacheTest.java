@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * This is a component test for the persistent, content-addressed codegen
+ * class cache, which checks cache hits across compiler instances (i.e.,
+ * after clearing the in-memory class cache), cache misses after source
+ * changes, and the fallback to compilation for corrupted or unreadable
+ * class files.
+ */
+public class CodegenClassCacheTest extends AutomatedTestBase
+{
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + CodegenClassCacheTest.class.getSimpleName() + "/";
+
+	private static final String SRC = "package codegen;\n"
+		+ "public final class %NAME% {\n"
+		+ "  public double getValue() { return %VAL%; }\n"
+		+ "}\n";
+
+	private enum CorruptionType {
+		NONE,
+		CORRUPT,
+		UNREADABLE,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testClassCacheHitAcrossCompilers() {
+		runClassCacheTest("Hit", false, CorruptionType.NONE);
+	}
+
+	@Test
+	public void testClassCacheMissSourceChange() {
+		runClassCacheTest("Change", true, CorruptionType.NONE);
+	}
+
+	@Test
+	public void testClassCacheCorruptFile() {
+		runClassCacheTest("Corrupt", false, CorruptionType.CORRUPT);
+	}
+
+	@Test
+	public void testClassCacheUnreadableFile() {
+		runClassCacheTest("Unreadable", false, CorruptionType.UNREADABLE);
+	}
+
+	private void runClassCacheTest(String testname, boolean change, CorruptionType ctype)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		String dir = TEST_DATA_DIR + TEST_CLASS_DIR + testname + "/";
+		try
+		{
+			DMLScript.STATISTICS = true;
+			LocalFileUtils.deleteFileIfExists(dir);
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CODEGEN_CLASSCACHE, dir);
+			ConfigurationManager.setLocalConfig(conf);
+			CodegenUtils.clearClassCache();
+
+			//first compilation (cache miss, persisted class file)
+			long hits = Statistics.getCodegenClassCacheHits();
+			long total = Statistics.getCodegenClassCacheTotal();
+			String name1 = "TMP" + testname + "1";
+			Class<?> cla1 = CodegenUtils.compileClass(name1, createSource(name1, 7));
+			Assert.assertEquals(7, getValue(cla1), 0);
+			File[] files = new File(dir).listFiles();
+			Assert.assertEquals(1, files.length);
+			Assert.assertTrue(files[0].getName().endsWith(".class"));
+			Assert.assertEquals(hits, Statistics.getCodegenClassCacheHits());
+			Assert.assertEquals(total+1, Statistics.getCodegenClassCacheTotal());
+
+			//corrupt or replace class file, if required
+			if( ctype == CorruptionType.CORRUPT )
+				Files.write(files[0].toPath(), new byte[]{(byte)0xCA, (byte)0xFE, 1, 2, 3});
+			else if( ctype == CorruptionType.UNREADABLE ) {
+				LocalFileUtils.deleteFileIfExists(files[0].getPath());
+				LocalFileUtils.createLocalFileIfNotExist(files[0].getPath());
+			}
+
+			//second compilation w/ new compiler instance and class name
+			CodegenUtils.clearClassCache();
+			String name2 = "TMP" + testname + "2";
+			Class<?> cla2 = CodegenUtils.compileClass(name2, createSource(name2, change ? 8 : 7));
+			Assert.assertEquals(change ? 8 : 7, getValue(cla2), 0);
+			Assert.assertNotSame(cla1, cla2);
+
+			//check cache hits/misses and persisted class files
+			boolean hit = !change && ctype == CorruptionType.NONE;
+			Assert.assertEquals(hits + (hit ? 1 : 0), Statistics.getCodegenClassCacheHits());
+			Assert.assertEquals(total+2, Statistics.getCodegenClassCacheTotal());
+			Assert.assertEquals(!change, cla1.getName().equals(cla2.getName()));
+			Assert.assertEquals(change ? 2 : 1, new File(dir).listFiles().length);
+
+			//third compilation after repair of corrupted class file
+			if( ctype == CorruptionType.CORRUPT ) {
+				CodegenUtils.clearClassCache();
+				String name3 = "TMP" + testname + "3";
+				Class<?> cla3 = CodegenUtils.compileClass(name3, createSource(name3, 7));
+				Assert.assertEquals(7, getValue(cla3), 0);
+				Assert.assertEquals(hits + 1, Statistics.getCodegenClassCacheHits());
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.STATISTICS = oldStats;
+			ConfigurationManager.clearLocalConfigs();
+			CodegenUtils.clearClassCache();
+			LocalFileUtils.deleteFileIfExists(dir);
+		}
+	}
+
+	private static String createSource(String name, double val) {
+		return SRC.replace("%NAME%", name).replace("%VAL%", String.valueOf(val));
+	}
+
+	private static double getValue(Class<?> cla) throws Exception {
+		Object obj = CodegenUtils.createInstance(cla);
+		return (Double) cla.getMethod("getValue").invoke(obj);
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupUncompressed;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.instructions.cp.DoubleObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class BasicMatrixLeftIndexingTest extends AutomatedTestBase
+{	
+	private static final int rows = 2071;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum IndexingType {
+		MATRIX, //row and column range
+		SCALAR, //single cell
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testMatrixDenseRandDataCompression() {
+		runLeftIndexingTest(SparsityType.DENSE, ValueType.RAND, IndexingType.MATRIX, true);
+	}
+	
+	@Test
+	public void testMatrixSparseRandDataCompression() {
+		runLeftIndexingTest(SparsityType.SPARSE, ValueType.RAND, IndexingType.MATRIX, true);
+	}
+	
+	@Test
+	public void testMatrixEmptyCompression() {
+		runLeftIndexingTest(SparsityType.EMPTY, ValueType.RAND, IndexingType.MATRIX, true);
+	}
+	
+	@Test
+	public void testMatrixDenseRoundRandDataOLECompression() {
+		runLeftIndexingTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, IndexingType.MATRIX, true);
+	}
+	
+	@Test
+	public void testMatrixSparseRoundRandDataDDCCompression() {
+		runLeftIndexingTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, IndexingType.MATRIX, true);
+	}
+	
+	@Test
+	public void testMatrixDenseConstDataCompression() {
+		runLeftIndexingTest(SparsityType.DENSE, ValueType.CONST, IndexingType.MATRIX, true);
+	}
+	
+	@Test
+	public void testScalarDenseRoundRandDataOLECompression() {
+		runLeftIndexingTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, IndexingType.SCALAR, true);
+	}
+	
+	@Test
+	public void testScalarSparseRoundRandDataDDCCompression() {
+		runLeftIndexingTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, IndexingType.SCALAR, true);
+	}
+	
+	@Test
+	public void testScalarEmptyCompression() {
+		runLeftIndexingTest(SparsityType.EMPTY, ValueType.RAND, IndexingType.SCALAR, true);
+	}
+	
+	@Test
+	public void testMatrixDenseRandDataNoCompression() {
+		runLeftIndexingTest(SparsityType.DENSE, ValueType.RAND, IndexingType.MATRIX, false);
+	}
+	
+	@Test
+	public void testScalarDenseRandDataNoCompression() {
+		runLeftIndexingTest(SparsityType.DENSE, ValueType.RAND, IndexingType.SCALAR, false);
+	}
+	
+	private void runLeftIndexingTest(SparsityType sptype, ValueType vtype, IndexingType itype, boolean compress)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//left indexing uncompressed and compressed (inclusive bounds)
+			int rl = 1031, ru = 1777, cl = 3, cu = 25;
+			MatrixBlock ret1 = null, ret2 = null;
+			if( itype == IndexingType.MATRIX ) {
+				MatrixBlock rhs = DataConverter.convertToMatrixBlock(
+					TestUtils.generateTestMatrix(ru-rl+1, cu-cl+1, -5, 5, 0.7, 3));
+				ret1 = mb.leftIndexingOperations(rhs, rl, ru, cl, cu, new MatrixBlock(), UpdateType.COPY);
+				ret2 = cmb.leftIndexingOperations(rhs, rl, ru, cl, cu, new MatrixBlock(), UpdateType.COPY);
+			}
+			else {
+				ret1 = mb.leftIndexingOperations(new DoubleObject(-3), rl, cl, new MatrixBlock(), UpdateType.COPY);
+				ret2 = cmb.leftIndexingOperations(new DoubleObject(-3), rl, cl, new MatrixBlock(), UpdateType.COPY);
+			}
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+			if( compress ) {
+				//check untouched column groups remain compressed and shared
+				CompressedMatrixBlock cret2 = (CompressedMatrixBlock)ret2;
+				Assert.assertTrue(cret2.isCompressed());
+				for( ColGroup grp : cret2.getColGroups() )
+					Assert.assertTrue(grp instanceof ColGroupUncompressed
+						|| cmb.getColGroups().contains(grp));
+				ret2 = cret2.decompress();
+			}
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+			
+			//check unmodified input
+			TestUtils.compareMatrices(input, DataConverter.convertToDoubleMatrix(
+				compress ? cmb.decompress() : cmb), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
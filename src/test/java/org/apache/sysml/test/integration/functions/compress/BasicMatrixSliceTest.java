@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class BasicMatrixSliceTest extends AutomatedTestBase
+{	
+	private static final int rows = 2071;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum SliceType {
+		COLS, //all rows, column range
+		ROWS, //row range, all columns
+		BLOCK, //row and column range
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testColSliceDenseRandDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceDenseRandDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceDenseRandDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceDenseConstDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.CONST, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceDenseConstDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.CONST, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceDenseConstDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.CONST, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceDenseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceDenseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceDenseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceDenseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceDenseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceDenseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceSparseRandDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceSparseRandDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceSparseRandDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceSparseConstDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.CONST, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceSparseConstDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.CONST, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceSparseConstDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.CONST, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceSparseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceSparseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceSparseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceSparseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceSparseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceSparseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceEmptyCompression() {
+		runSliceTest(SparsityType.EMPTY, ValueType.RAND, SliceType.COLS, true);
+	}
+	
+	@Test
+	public void testRowSliceEmptyCompression() {
+		runSliceTest(SparsityType.EMPTY, ValueType.RAND, SliceType.ROWS, true);
+	}
+	
+	@Test
+	public void testBlockSliceEmptyCompression() {
+		runSliceTest(SparsityType.EMPTY, ValueType.RAND, SliceType.BLOCK, true);
+	}
+	
+	@Test
+	public void testColSliceDenseRandDataNoCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.COLS, false);
+	}
+	
+	@Test
+	public void testRowSliceDenseRandDataNoCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.ROWS, false);
+	}
+	
+	@Test
+	public void testBlockSliceDenseRandDataNoCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.BLOCK, false);
+	}
+	
+	private void runSliceTest(SparsityType sptype, ValueType vtype, SliceType stype, boolean compress)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//slice uncompressed and compressed (inclusive bounds)
+			int rl = (stype==SliceType.COLS) ? 0 : 1031;
+			int ru = (stype==SliceType.COLS) ? rows-1 : 1777;
+			int cl = (stype==SliceType.ROWS) ? 0 : 3;
+			int cu = (stype==SliceType.ROWS) ? cols-1 : 25;
+			MatrixBlock ret1 = mb.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+			MatrixBlock ret2 = cmb.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+			if( ret2 instanceof CompressedMatrixBlock )
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, ru-rl+1, cu-cl+1, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
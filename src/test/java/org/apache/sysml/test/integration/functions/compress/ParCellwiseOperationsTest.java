@@ -0,0 +1,399 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Multi-threaded cell-wise operations (unary, matrix-row vector, and 
+ * matrix-scalar) that are applied directly on compressed column groups.
+ */
+public class ParCellwiseOperationsTest extends AutomatedTestBase
+{	
+	private static final int rows = 2071;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum OpType {
+		EXP, //sparse-unsafe
+		ABS, //sparse-safe
+		PLUS_VECTOR, //sparse-unsafe
+		MULT_VECTOR, //sparse-safe
+		PLUS_SCALAR, //sparse-unsafe
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testExpDenseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpDenseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpDenseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpDenseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpSparseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpSparseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpSparseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpSparseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpEmptyCompression() {
+		runCellwiseOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpDenseRandDataNoCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.EXP, false);
+	}
+	
+	@Test
+	public void testAbsDenseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsDenseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsDenseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsDenseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsSparseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsSparseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsSparseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsSparseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsEmptyCompression() {
+		runCellwiseOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsDenseRandDataNoCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.ABS, false);
+	}
+	
+	@Test
+	public void testPlusVectorDenseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorDenseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorDenseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorDenseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorSparseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorSparseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorSparseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorSparseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorEmptyCompression() {
+		runCellwiseOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.PLUS_VECTOR, true);
+	}
+	
+	@Test
+	public void testPlusVectorDenseRandDataNoCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.PLUS_VECTOR, false);
+	}
+	
+	@Test
+	public void testMultVectorDenseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorDenseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorDenseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorDenseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorSparseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorSparseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorSparseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorSparseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorEmptyCompression() {
+		runCellwiseOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.MULT_VECTOR, true);
+	}
+	
+	@Test
+	public void testMultVectorDenseRandDataNoCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.MULT_VECTOR, false);
+	}
+	
+	@Test
+	public void testPlusDenseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusDenseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusDenseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusDenseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusSparseRandDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusSparseConstDataCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusSparseRoundRandDataOLECompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusSparseRoundRandDataDDCCompression() {
+		runCellwiseOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusEmptyCompression() {
+		runCellwiseOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.PLUS_SCALAR, true);
+	}
+	
+	@Test
+	public void testPlusDenseRandDataNoCompression() {
+		runCellwiseOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.PLUS_SCALAR, false);
+	}
+	
+	private void runCellwiseOperationsTest(SparsityType sptype, ValueType vtype, OpType otype, boolean compress)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock vect = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(1, cols, -1, 1, 1.0, 3));
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//cell-wise operations uncompressed and compressed
+			int k = InfrastructureAnalyzer.getLocalParallelism();
+			MatrixBlock ret1 = null, ret2 = null;
+			switch( otype ) {
+				case EXP:
+				case ABS: {
+					UnaryOperator uop = new UnaryOperator(Builtin.getBuiltinFnObject(
+						otype==OpType.EXP ? "exp" : "abs"), k);
+					ret1 = (MatrixBlock)mb.unaryOperations(uop, new MatrixBlock());
+					ret2 = (MatrixBlock)cmb.unaryOperations(uop, new MatrixBlock());
+					break;
+				}
+				case PLUS_VECTOR:
+				case MULT_VECTOR: {
+					BinaryOperator bop = new BinaryOperator(otype==OpType.PLUS_VECTOR ?
+						Plus.getPlusFnObject() : Multiply.getMultiplyFnObject(), k);
+					ret1 = (MatrixBlock)mb.binaryOperations(bop, vect, new MatrixBlock());
+					ret2 = (MatrixBlock)cmb.binaryOperations(bop, vect, new MatrixBlock());
+					break;
+				}
+				case PLUS_SCALAR: {
+					ScalarOperator sop = new RightScalarOperator(Plus.getPlusFnObject(), 7, k);
+					ret1 = (MatrixBlock)mb.scalarOperations(sop, new MatrixBlock());
+					ret2 = (MatrixBlock)cmb.scalarOperations(sop, new MatrixBlock());
+					break;
+				}
+			}
+			
+			//check that compressed inputs stay compressed
+			if( compress ) {
+				Assert.assertTrue(ret2 instanceof CompressedMatrixBlock);
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			}
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
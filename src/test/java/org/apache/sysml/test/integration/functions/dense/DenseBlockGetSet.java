@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockDRB;
+import org.apache.sysml.runtime.matrix.data.DenseBlockLDRB;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for init, get, set, 
+ * and nnz functionality. In order to cover the segmented large dense
+ * row block without allocating more than 2^31 cells, we use small 
+ * fixed row blocks sizes for the LDRB.
+ * 
+ */
+public class DenseBlockGetSet extends AutomatedTestBase 
+{
+	private final static int rows = 732;
+	private final static int cols = 354;	
+	private final static double sparsity1 = 0.3;
+	private final static double sparsity2 = 0.9;
+	
+	private enum InitType {
+		SEQ_SET,
+		ROW_SET,
+		COPY,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseBlockDRB1Seq()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.DRB, -1, sparsity1, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testDenseBlockDRB2Seq()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.DRB, -1, sparsity2, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testDenseBlockDRB1Row()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.DRB, -1, sparsity1, InitType.ROW_SET);
+	}
+	
+	@Test
+	public void testDenseBlockDRB1Copy()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.DRB, -1, sparsity1, InitType.COPY);
+	}
+	
+	@Test
+	public void testDenseBlockLDRB1Seq()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, 7, sparsity1, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testDenseBlockLDRB2Seq()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, 7, sparsity2, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testDenseBlockLDRB1Row()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, 64, sparsity1, InitType.ROW_SET);
+	}
+	
+	@Test
+	public void testDenseBlockLDRB1Copy()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, 100, sparsity1, InitType.COPY);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBSingleSegment()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, -1, sparsity2, InitType.SEQ_SET);
+	}
+	
+	private void runDenseBlockGetSetTest( DenseBlock.Type btype, int blen, double sparsity, InitType itype)
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7654321); 
+			
+			//init dense block
+			DenseBlock dblock = (btype == DenseBlock.Type.DRB) ?
+				new DenseBlockDRB(rows, cols) : new DenseBlockLDRB(rows, cols, blen);
+			if( itype == InitType.SEQ_SET ) {
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						dblock.set(i, j, A[i][j]);
+			}
+			else if( itype == InitType.ROW_SET ) {
+				for( int i=0; i<rows; i++ )
+					dblock.set(i, A[i]);
+			}
+			else if( itype == InitType.COPY ) {
+				DenseBlock tmp = new DenseBlockLDRB(rows, cols, 13);
+				for( int i=0; i<rows; i++ )
+					tmp.set(i, A[i]);
+				dblock.set(tmp);
+			}
+			
+			//check basic meta data
+			if( dblock.numRows() != rows || dblock.numCols() != cols )
+				Assert.fail("Wrong dimensions: "+dblock.numRows()+"x"+dblock.numCols());
+			if( dblock.size() != (long)rows*cols )
+				Assert.fail("Wrong size: "+dblock.size()+", expected: "+((long)rows*cols));
+			int blocks = 0; long len = 0;
+			for( int bix=0; bix<dblock.numBlocks(); bix++ ) {
+				blocks++; len += dblock.size(bix);
+			}
+			if( len != dblock.size() )
+				Assert.fail("Wrong aggregate block sizes: "+len+" (in "+blocks+" blocks)");
+			
+			//check for correct number of non-zeros
+			int[] rnnz = new int[rows]; long nnz = 0;
+			for( int i=0; i<rows; i++ ) {
+				for( int j=0; j<cols; j++ )
+					rnnz[i] += (A[i][j]!=0) ? 1 : 0;
+				nnz += rnnz[i];
+			}
+			if( nnz != dblock.countNonZeros() )
+				Assert.fail("Wrong number of non-zeros: "+dblock.countNonZeros()+", expected: "+nnz);
+			for( int i=0; i<rows; i++ )
+				if( dblock.countNonZeros(i) != rnnz[i] )
+					Assert.fail("Wrong row nnz: "+dblock.countNonZeros(i)+", expected: "+rnnz[i]);
+			
+			//check correct values via get and row-segment access
+			for( int i=0; i<rows; i++ ) {
+				double[] avals = dblock.values(i);
+				int apos = dblock.pos(i);
+				for( int j=0; j<cols; j++ ) {
+					if( dblock.get(i, j) != A[i][j] )
+						Assert.fail("Wrong get value for cell ("+i+","+j+"): "+dblock.get(i, j)+", expected: "+A[i][j]);
+					if( avals[apos+j] != A[i][j] )
+						Assert.fail("Wrong values value for cell ("+i+","+j+"): "+avals[apos+j]+", expected: "+A[i][j]);
+				}
+			}
+			
+			//check reset to constant and empty
+			dblock.reset(rows, cols, 7);
+			if( dblock.countNonZeros() != (long)rows*cols || dblock.get(rows-1, cols-1) != 7 )
+				Assert.fail("Wrong reset with constant value.");
+			dblock.reset();
+			if( dblock.countNonZeros() != 0 )
+				Assert.fail("Wrong number of non-zeros after reset: "+dblock.countNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.external;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Test for the in-memory (zero-copy) exchange of matrix inputs and outputs
+ * of CP external functions, compared against builtin operations.
+ */
+public class SGDNesterovUpdateTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "SGDNesterovUpdate";
+	private final static String TEST_DIR = "functions/external/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + SGDNesterovUpdateTest.class.getSimpleName() + "/";
+
+	private final static double eps = 1e-10;
+
+	private final static int rows = 200;
+	private final static int cols = 150;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static int iterations = 5;
+
+	@Override
+	public void setUp()
+	{
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R1", "R2" }) );
+	}
+
+	@Test
+	public void testUpdateDenseGradient()
+	{
+		runSGDNesterovUpdateTest(sparsity1);
+	}
+
+	@Test
+	public void testUpdateSparseGradient()
+	{
+		runSGDNesterovUpdateTest(sparsity2);
+	}
+
+	private void runSGDNesterovUpdateTest( double sparsity )
+	{
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-args", input("X"), input("dX"), input("v"),
+			Integer.toString(iterations), output("R1"), output("R2") };
+
+		double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+		double[][] dX = getRandomMatrix(rows, cols, -1, 1, sparsity, 3);
+		double[][] v = getRandomMatrix(rows, cols, -1, 1, sparsity1, 11);
+		writeInputMatrixWithMTD("X", X, true);
+		writeInputMatrixWithMTD("dX", dX, true);
+		writeInputMatrixWithMTD("v", v, true);
+
+		runTest(true, false, null, -1);
+
+		HashMap<CellIndex, Double> R1 = readDMLMatrixFromHDFS("R1");
+		HashMap<CellIndex, Double> R2 = readDMLMatrixFromHDFS("R2");
+		TestUtils.compareMatrices(R1, R2, eps, "UDF", "Builtin");
+	}
+}
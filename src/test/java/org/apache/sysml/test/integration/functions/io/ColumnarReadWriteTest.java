@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupDDC;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.CompressionCPInstruction;
+import org.apache.sysml.runtime.io.ColumnarBlockFormat.ChunkEncoding;
+import org.apache.sysml.runtime.io.ColumnarBlockFormat.FileMetadata;
+import org.apache.sysml.runtime.io.FrameReaderColumnarBlock;
+import org.apache.sysml.runtime.io.FrameWriterColumnarBlock;
+import org.apache.sysml.runtime.io.ReaderColumnarBlock;
+import org.apache.sysml.runtime.io.WriterColumnarBlock;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the columnar block format for matrices and frames, including round 
+ * trips with mixed column characteristics (and thus chunk encodings), column 
+ * projection and row ranges, direct reads into compressed blocks, and the 
+ * format="columnar" write and read in DML.
+ */
+public class ColumnarReadWriteTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "ColumnarWrite";
+	private final static String TEST_NAME2 = "ColumnarRead";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ColumnarReadWriteTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 150000; //3 chunks
+	private final static int cols = 6;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.01;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "B" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "x" }) );
+	}
+	
+	@Test
+	public void testMatrixDenseSequential() {
+		runMatrixTest(sparsity1, false);
+	}
+	
+	@Test
+	public void testMatrixSparseSequential() {
+		runMatrixTest(sparsity2, false);
+	}
+	
+	@Test
+	public void testMatrixDenseParallel() {
+		runMatrixTest(sparsity1, true);
+	}
+	
+	@Test
+	public void testMatrixSparseParallel() {
+		runMatrixTest(sparsity2, true);
+	}
+	
+	@Test
+	public void testFrameSequential() {
+		runFrameTest(false);
+	}
+	
+	@Test
+	public void testFrameParallel() {
+		runFrameTest(true);
+	}
+	
+	@Test
+	public void testMatrixNegativeZeroCompressed() {
+		runNegativeZeroTest();
+	}
+	
+	@Test(expected = RuntimeException.class)
+	public void testMatrixUnsortedProjection() {
+		runProjectionTest(new int[]{4, 1});
+	}
+	
+	@Test(expected = RuntimeException.class)
+	public void testMatrixDuplicateProjection() {
+		runProjectionTest(new int[]{1, 1});
+	}
+	
+	@Test
+	public void testCompressionDirectRead() {
+		runCompressionInstructionTest(false);
+	}
+	
+	@Test
+	public void testCompressionCachedInput() {
+		runCompressionInstructionTest(true);
+	}
+	
+	@Test
+	public void testWriteReadDML() {
+		RUNTIME_PLATFORM oldPlatform = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			
+			//write binary input and convert it to columnar in DML
+			MatrixBlock mb = createMatrix(sparsity1);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, input("A"), OutputInfo.BinaryBlockOutputInfo, mc);
+			MapReduceTool.writeMetaDataFile(input("A.mtd"), ValueType.DOUBLE, mc, OutputInfo.BinaryBlockOutputInfo);
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			String fnameB = output("B");
+			programArgs = new String[]{"-args", input("A"), fnameB};
+			runTest(true, false, null, -1);
+			compareMatrices(mb, new ReaderColumnarBlock(false).readMatrixFromHDFS(fnameB, rows, cols, -1, -1, -1));
+			
+			//read columnar file in DML (format from meta data file)
+			getAndLoadTestConfiguration(TEST_NAME2);
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-args", fnameB, output("x")};
+			runTest(true, false, null, -1);
+			Assert.assertEquals(mb.sum(), TestUtils.readDMLScalar(output("x")), 1e-6);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = oldPlatform;
+		}
+	}
+	
+	private void runMatrixTest(double sparsity, boolean parallel) 
+	{
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			//write matrix with mixed column characteristics
+			MatrixBlock mb = createMatrix(sparsity);
+			String fname = output("B");
+			new WriterColumnarBlock().writeMatrixToHDFS(mb, fname, rows, cols, -1, -1, mb.getNonZeros());
+			
+			//check meta data and chunk statistics
+			FileMetadata meta = ReaderColumnarBlock.readMetadata(fname);
+			Assert.assertEquals(rows, meta.getNumRows());
+			Assert.assertEquals(cols, meta.getNumColumns());
+			Assert.assertEquals(3, meta.getNumChunks());
+			Assert.assertEquals(mb.getNonZeros(), meta.getNonZeros());
+			Assert.assertTrue(meta.hasDictionary(1));
+			Assert.assertEquals(ChunkEncoding.CONST, meta.getChunkEncoding(3, 0));
+			Assert.assertEquals(ChunkEncoding.EMPTY, meta.getChunkEncoding(4, 0));
+			Assert.assertEquals(ChunkEncoding.RLE, meta.getChunkEncoding(5, 2));
+			MatrixBlock col0 = mb.sliceOperations(0, meta.getChunkRows()-1, 0, 0, new MatrixBlock());
+			Assert.assertEquals(col0.min(), meta.getChunkMin(0, 0), 0);
+			Assert.assertEquals(col0.max(), meta.getChunkMax(0, 0), 0);
+			
+			//full read
+			ReaderColumnarBlock reader = new ReaderColumnarBlock(parallel);
+			MatrixBlock mb2 = reader.readMatrixFromHDFS(fname, rows, cols, -1, -1, -1);
+			compareMatrices(mb, mb2);
+			
+			//projected read of two columns and a row range across chunks
+			int rl = 60000, ru = 140000;
+			MatrixBlock mb3 = reader.readMatrixFromHDFS(fname, new int[]{1, 4}, rl, ru);
+			Assert.assertEquals(ru-rl+1, mb3.getNumRows());
+			Assert.assertEquals(2, mb3.getNumColumns());
+			for( int i=rl; i<=ru; i++ ) {
+				Assert.assertEquals(mb.getValue(i, 1), mb3.getValue(i-rl, 0), 0);
+				Assert.assertEquals(mb.getValue(i, 4), mb3.getValue(i-rl, 1), 0);
+			}
+			
+			//read into compressed block w/ ddc column groups
+			CompressedMatrixBlock cmb = reader.readCompressedMatrixFromHDFS(fname);
+			Assert.assertTrue(cmb.isCompressed());
+			boolean ddc = false;
+			for( ColGroup grp : cmb.getColGroups() )
+				ddc |= (grp instanceof ColGroupDDC);
+			Assert.assertTrue(ddc);
+			AggregateUnaryOperator uasum = InstructionUtils.parseBasicAggregateUnaryOperator("uak+");
+			MatrixBlock sum = (MatrixBlock) cmb.aggregateUnaryOperations(uasum, new MatrixBlock(), -1, -1, null);
+			Assert.assertEquals(mb.sum(), sum.quickGetValue(0, 0), 1e-6);
+			compareMatrices(mb, cmb.decompress());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runNegativeZeroTest() 
+	{
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			//create dictionary column with -0 (instead of 0), where the first
+			//chunk holds only -0 and is thus encoded as empty chunk
+			MatrixBlock mb = createMatrix(sparsity1);
+			for( int i=0; i<rows; i++ )
+				if( i < 70000 || mb.quickGetValue(i, 1) == 0 )
+					mb.quickSetValue(i, 1, -0d);
+			mb.recomputeNonZeros();
+			String fname = output("B");
+			new WriterColumnarBlock().writeMatrixToHDFS(mb, fname, rows, cols, -1, -1, mb.getNonZeros());
+			FileMetadata meta = ReaderColumnarBlock.readMetadata(fname);
+			Assert.assertTrue(meta.hasDictionary(1));
+			Assert.assertEquals(ChunkEncoding.EMPTY, meta.getChunkEncoding(1, 0));
+			
+			//read into compressed block and compare
+			ReaderColumnarBlock reader = new ReaderColumnarBlock(false);
+			CompressedMatrixBlock cmb = reader.readCompressedMatrixFromHDFS(fname);
+			Assert.assertTrue(cmb.isCompressed());
+			compareMatrices(mb, cmb.decompress());
+			compareMatrices(mb, reader.readMatrixFromHDFS(fname, rows, cols, -1, -1, -1));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runProjectionTest(int[] pcols) 
+	{
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			MatrixBlock mb = createMatrix(sparsity1);
+			String fname = output("B");
+			new WriterColumnarBlock().writeMatrixToHDFS(mb, fname, rows, cols, -1, -1, mb.getNonZeros());
+			new ReaderColumnarBlock(false).readMatrixFromHDFS(fname, pcols, 0, rows-1);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runCompressionInstructionTest(boolean cached) 
+	{
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			MatrixBlock mb = createMatrix(sparsity1);
+			String fname = output("B");
+			new WriterColumnarBlock().writeMatrixToHDFS(mb, fname, rows, cols, -1, -1, mb.getNonZeros());
+			
+			//create input and output variables
+			ExecutionContext ec = ExecutionContextFactory.createContext();
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, mb.getNonZeros());
+			MatrixObject in = new MatrixObject(ValueType.DOUBLE, fname, new MatrixFormatMetaData(
+				mc, OutputInfo.ColumnarBlockOutputInfo, InputInfo.ColumnarBlockInputInfo));
+			MatrixObject out = new MatrixObject(ValueType.DOUBLE, output("C"), new MatrixFormatMetaData(
+				mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+			ec.setVariable("A", in);
+			ec.setVariable("C", out);
+			if( cached ) {
+				in.acquireRead();
+				in.release();
+			}
+			
+			//execute compression, which reads unread columnar inputs directly
+			//into ddc column groups (w/o caching the uncompressed input)
+			new CompressionCPInstruction(null, new CPOperand("A", ValueType.DOUBLE, DataType.MATRIX),
+				new CPOperand("C", ValueType.DOUBLE, DataType.MATRIX), "compress", "").processInstruction(ec);
+			Assert.assertEquals(cached, in.isCached(true));
+			MatrixBlock ret = ec.getMatrixInput("C");
+			Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+			Assert.assertTrue(((CompressedMatrixBlock)ret).isCompressed());
+			compareMatrices(mb, ((CompressedMatrixBlock)ret).decompress());
+			ec.releaseMatrixInput("C");
+			in.clearData();
+			out.clearData();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runFrameTest(boolean parallel) 
+	{
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			//create frame with low/high-cardinality strings, incl nulls
+			ValueType[] schema = new ValueType[]{ValueType.STRING, 
+				ValueType.STRING, ValueType.INT, ValueType.DOUBLE, ValueType.BOOLEAN};
+			FrameBlock fb = new FrameBlock(schema);
+			Random rand = new Random(7);
+			Object[] row = new Object[schema.length];
+			for( int i=0; i<rows; i++ ) {
+				row[0] = (i % 97 == 0) ? null : "cat" + rand.nextInt(12);
+				row[1] = "id" + i;
+				row[2] = (long) rand.nextInt(1000);
+				row[3] = (i < 70000) ? 0d : rand.nextDouble();
+				row[4] = rand.nextBoolean();
+				fb.appendRow(row);
+			}
+			String fname = output("F");
+			new FrameWriterColumnarBlock().writeFrameToHDFS(fb, fname, rows, schema.length);
+			
+			//full read and comparison
+			FrameReaderColumnarBlock reader = new FrameReaderColumnarBlock(parallel);
+			FrameBlock fb2 = reader.readFrameFromHDFS(fname, schema, rows, schema.length);
+			Assert.assertArrayEquals(fb.getSchema(), fb2.getSchema());
+			Assert.assertArrayEquals(fb.getColumnNames(), fb2.getColumnNames());
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<schema.length; j++ )
+					Assert.assertEquals(fb.get(i, j), fb2.get(i, j));
+			
+			//projected read of a row range
+			int rl = 1000, ru = 80000;
+			FrameBlock fb3 = reader.readFrameFromHDFS(fname, new int[]{0, 3}, rl, ru);
+			Assert.assertEquals(ru-rl+1, fb3.getNumRows());
+			for( int i=rl; i<=ru; i++ ) {
+				Assert.assertEquals(fb.get(i, 0), fb3.get(i-rl, 0));
+				Assert.assertEquals(fb.get(i, 3), fb3.get(i-rl, 1));
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private MatrixBlock createMatrix(double sparsity) 
+		throws DMLRuntimeException 
+	{
+		double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7);
+		Random rand = new Random(3);
+		for( int i=0; i<rows; i++ ) {
+			A[i][1] = rand.nextInt(20);                //low cardinality
+			A[i][3] = 3;                               //constant
+			A[i][4] = (i < 70000) ? 0 : A[i][4];       //empty first chunks
+			A[i][5] = (i < 140000) ? 0 : i / 1000;     //runs
+		}
+		return DataConverter.convertToMatrixBlock(A);
+	}
+	
+	private static void compareMatrices(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		Assert.assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		for( int i=0; i<expected.getNumRows(); i++ )
+			for( int j=0; j<expected.getNumColumns(); j++ )
+				Assert.assertEquals(expected.getValue(i, j), actual.getValue(i, j), 0);
+	}
+}
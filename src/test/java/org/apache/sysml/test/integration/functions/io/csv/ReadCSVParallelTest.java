@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameReader;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderTextCSV;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the single-pass parallel csv readers for matrices and frames against
+ * the sequential readers and the expected values of the written tokens, for 
+ * inputs of multiple files (and thus splits) with varying number formats.
+ */
+public class ReadCSVParallelTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadCSVParallelTest";
+	private final static String TEST_DIR = "functions/io/csv/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadCSVParallelTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1764;
+	private final static int cols = 23;
+	private final static int numFiles = 5;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "B" }) );
+	}
+	
+	@Test
+	public void testReadMatrixDense() {
+		runReadMatrixTest(sparsity1, ",", false, false);
+	}
+	
+	@Test
+	public void testReadMatrixSparse() {
+		runReadMatrixTest(sparsity2, ",", false, false);
+	}
+	
+	@Test
+	public void testReadMatrixDenseHeaderFill() {
+		runReadMatrixTest(sparsity1, ",", true, true);
+	}
+	
+	@Test
+	public void testReadMatrixSparseHeaderFill() {
+		runReadMatrixTest(sparsity2, ",", true, true);
+	}
+	
+	@Test
+	public void testReadMatrixDenseTab() {
+		runReadMatrixTest(sparsity1, "\t", false, false);
+	}
+	
+	@Test
+	public void testReadMatrixSparseMultiCharDelim() {
+		runReadMatrixTest(sparsity2, "::", true, false);
+	}
+	
+	@Test
+	public void testReadFrameHeader() {
+		runReadFrameTest(",", true);
+	}
+	
+	@Test
+	public void testReadFrameNoHeader() {
+		runReadFrameTest("|", false);
+	}
+	
+	private void runReadMatrixTest(double sparsity, String delim, boolean header, boolean fill) 
+	{
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//write csv files with mixed number formats, incl empty cells
+			double fillValue = fill ? 7 : 0;
+			double[][] expected = new double[rows][cols];
+			String fname = input("A");
+			Random rand = new Random(7);
+			String[][] tokens = new String[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					double v = (rand.nextDouble() < sparsity) ? rand.nextDouble()*200-100 : 0;
+					tokens[i][j] = toToken(v, (i+j) % 6);
+					if( fill && v != 0 && rand.nextDouble() < 0.05 )
+						tokens[i][j] = (j%2==0) ? "" : " ";
+					expected[i][j] = tokens[i][j].trim().isEmpty() ?
+						fillValue : Double.parseDouble(tokens[i][j].trim());
+				}
+			writeCSVFiles(fname, tokens, delim, header);
+			
+			//read via sequential and parallel readers
+			CSVFileFormatProperties props = new CSVFileFormatProperties(header, delim, fill, fillValue, "");
+			MatrixReader reader1 = new ReaderTextCSV(props);
+			MatrixReader reader2 = new ReaderTextCSVParallel(props);
+			MatrixBlock mb1 = reader1.readMatrixFromHDFS(fname, rows, cols, -1, -1, -1);
+			MatrixBlock mb2 = reader2.readMatrixFromHDFS(fname, rows, cols, -1, -1, -1);
+			
+			//compare matrices and nnz
+			Assert.assertEquals(rows, mb2.getNumRows());
+			Assert.assertEquals(cols, mb2.getNumColumns());
+			Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+			long nnz = mb2.getNonZeros();
+			mb2.recomputeNonZeros();
+			Assert.assertEquals(nnz, mb2.getNonZeros());
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					Assert.assertEquals(expected[i][j], mb2.getValue(i, j), 0);
+					Assert.assertEquals(mb1.getValue(i, j), mb2.getValue(i, j), 0);
+				}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runReadFrameTest(String delim, boolean header) 
+	{
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//write csv files with string, int and double columns
+			String fname = input("F");
+			ValueType[] schema = new ValueType[cols];
+			String[][] tokens = new String[rows][cols];
+			Random rand = new Random(3);
+			for( int j=0; j<cols; j++ )
+				schema[j] = (j%3==0) ? ValueType.STRING : (j%3==1) ? ValueType.INT : ValueType.DOUBLE;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					tokens[i][j] = (j%3==0) ? "s"+rand.nextInt(100) : (j%3==1) ? 
+						String.valueOf(rand.nextInt(1000)) : toToken(rand.nextDouble(), i%6);
+			writeCSVFiles(fname, tokens, delim, header);
+			
+			//read via sequential and parallel readers
+			CSVFileFormatProperties props = new CSVFileFormatProperties(header, delim, false, 0, "");
+			FrameReader reader1 = new FrameReaderTextCSV(props);
+			FrameReader reader2 = new FrameReaderTextCSVParallel(props);
+			FrameBlock fb1 = reader1.readFrameFromHDFS(fname, schema, -1, -1);
+			FrameBlock fb2 = reader2.readFrameFromHDFS(fname, schema, -1, -1);
+			
+			//compare frames and column names
+			Assert.assertEquals(rows, fb2.getNumRows());
+			Assert.assertEquals(cols, fb2.getNumColumns());
+			Assert.assertArrayEquals(fb1.getColumnNames(), fb2.getColumnNames());
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(fb1.get(i, j), fb2.get(i, j));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static String toToken(double v, int type) {
+		switch( type ) {
+			case 0: return String.valueOf(v);
+			case 1: return String.format("%.4f", v);
+			case 2: return String.format("%.6e", v);
+			case 3: return " " + String.format("%.2f", v) + " ";
+			case 4: return String.valueOf(Math.round(v));
+			default: return String.format("%.8E", v/1e10);
+		}
+	}
+	
+	private static void writeCSVFiles(String fname, String[][] tokens, String delim, boolean header) 
+		throws Exception
+	{
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		File dir = new File(fname);
+		dir.mkdirs();
+		int blen = (int)Math.ceil((double)tokens.length / numFiles);
+		for( int k=0; k<numFiles; k++ ) {
+			BufferedWriter bw = new BufferedWriter(new FileWriter(
+				new File(dir, String.format("0-m-%05d", k))));
+			try {
+				if( k==0 && header ) {
+					for( int j=0; j<tokens[0].length; j++ )
+						bw.write(((j>0)?delim:"") + "C" + (j+1));
+					bw.write("\n");
+				}
+				for( int i=k*blen; i<Math.min((k+1)*blen, tokens.length); i++ ) {
+					for( int j=0; j<tokens[i].length; j++ )
+						bw.write(((j>0)?delim:"") + tokens[i][j]);
+					bw.write("\n");
+				}
+			}
+			finally {
+				bw.close();
+			}
+		}
+	}
+}
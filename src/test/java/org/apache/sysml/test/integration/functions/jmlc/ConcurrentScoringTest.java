@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Concurrent scoring with a single prepared script shared by all threads,
+ * which also serves as a basic throughput benchmark over 1..N threads.
+ */
+public class ConcurrentScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "reuse-glm-predict";
+	private final static String TEST_NAME2 = "reuse-msvm-predict";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ConcurrentScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRuns = 32;
+	private final static int[] nThreads = new int[]{1, 2, 4, 8};
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "predicted_y" }) ); 
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "predicted_y" }) );
+	}
+	
+	@Test
+	public void testConcurrentScoreGLMDense() throws IOException {
+		runConcurrentScoringTest(TEST_NAME1, false);
+	}
+	
+	@Test
+	public void testConcurrentScoreGLMSparse() throws IOException {
+		runConcurrentScoringTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testConcurrentScoreMSVMDense() throws IOException {
+		runConcurrentScoringTest(TEST_NAME2, false);
+	}
+	
+	@Test
+	public void testConcurrentScoreMSVMSparse() throws IOException {
+		runConcurrentScoringTest(TEST_NAME2, true);
+	}
+
+	@Test
+	public void testConcurrentOrderParameters() throws IOException {
+		runConcurrentOrderTest();
+	}
+
+	@Test
+	public void testConcurrentScalarParameters() throws IOException {
+		runConcurrentScalarTest();
+	}
+
+	/**
+	 * Concurrent order with per-execution sort column and direction, which
+	 * requires that the shared sort instruction does not modify its operator.
+	 */
+	private void runConcurrentOrderTest() 
+		throws IOException
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME1));
+		String script = "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+			+ "c = read(\"./tmp/c\", data_type=\"scalar\", value_type=\"int\");\n"
+			+ "d = read(\"./tmp/d\", data_type=\"scalar\", value_type=\"boolean\");\n"
+			+ "Y = order(target=X, by=c, decreasing=d, index.return=FALSE);\n"
+			+ "write(Y, \"./tmp/Y\");";
+		
+		Connection conn = new Connection();
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads[nThreads.length-1]);
+		try
+		{
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","c","d"}, new String[]{"Y"}, false);
+			ArrayList<Callable<double[][]>> tasks = new ArrayList<Callable<double[][]>>();
+			for( int i=0; i<nRuns; i++ ) {
+				final double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity1, i+7);
+				final int c = i % cols + 1;
+				final boolean d = (i % 2 == 0);
+				tasks.add(() -> {
+					pstmt.setMatrix("X", X);
+					pstmt.setScalar("c", c);
+					pstmt.setScalar("d", d);
+					double[][] Y = pstmt.executeScript().getMatrix("Y");
+					//check sort order of the requested column
+					for( int r=1; r<rows; r++ )
+						Assert.assertTrue(d ? Y[r-1][c-1] >= Y[r][c-1] : Y[r-1][c-1] <= Y[r][c-1]);
+					return Y;
+				});
+			}
+			
+			//compare concurrent results with sequential execution
+			List<Future<double[][]>> rt = pool.invokeAll(tasks);
+			for( int i=0; i<nRuns; i++ ) {
+				double[][] Yref = tasks.get(i).call();
+				TestUtils.compareMatrices(Yref, rt.get(i).get(), rows, cols, 0);
+			}
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+		finally {
+			pool.shutdown();
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+
+	/**
+	 * Concurrent matrix-scalar operations with per-execution scalars (incl.
+	 * zero for sparse-safe variants), which requires that the shared 
+	 * arithmetic, relational, builtin, and plus-mult instructions do not 
+	 * modify the constants of their operators.
+	 */
+	private void runConcurrentScalarTest() 
+		throws IOException
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME1));
+		String script = "X = read(\"./tmp/X\", rows=-1, cols=-1);\n"
+			+ "Z = read(\"./tmp/Z\", rows=-1, cols=-1);\n"
+			+ "s = read(\"./tmp/s\", data_type=\"scalar\", value_type=\"double\");\n"
+			+ "Y1 = X * s;\n"
+			+ "Y2 = X > s;\n"
+			+ "Y3 = max(X, s);\n"
+			+ "Y4 = X + s * Z;\n"
+			+ "write(Y1, \"./tmp/Y1\");\n"
+			+ "write(Y2, \"./tmp/Y2\");\n"
+			+ "write(Y3, \"./tmp/Y3\");\n"
+			+ "write(Y4, \"./tmp/Y4\");";
+		
+		Connection conn = new Connection();
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads[nThreads.length-1]);
+		try
+		{
+			final PreparedScript pstmt = conn.prepareScript(script, 
+				new String[]{"X","Z","s"}, new String[]{"Y1","Y2","Y3","Y4"}, false);
+			final double[][] Z = getRandomMatrix(rows, cols, -1, 1, sparsity1, 3);
+			ArrayList<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+			for( int i=0; i<nRuns*4; i++ ) {
+				final double[][] X = getRandomMatrix(rows, cols, -1, 1, (i%2==0)?sparsity1:sparsity2, i+7);
+				final double s = (i % 4 == 0) ? 0 : (i % 7) - 3.5;
+				tasks.add(() -> {
+					pstmt.setMatrix("X", X);
+					pstmt.setMatrix("Z", Z);
+					pstmt.setScalar("s", s);
+					ResultVariables rs = pstmt.executeScript();
+					double[][] Y1 = rs.getMatrix("Y1"), Y2 = rs.getMatrix("Y2");
+					double[][] Y3 = rs.getMatrix("Y3"), Y4 = rs.getMatrix("Y4");
+					//check results against the scalar of this execution
+					for( int r=0; r<rows; r++ )
+						for( int c=0; c<cols; c++ ) {
+							Assert.assertEquals(X[r][c] * s, Y1[r][c], 1e-10);
+							Assert.assertEquals((X[r][c] > s) ? 1 : 0, Y2[r][c], 0);
+							Assert.assertEquals(Math.max(X[r][c], s), Y3[r][c], 1e-10);
+							Assert.assertEquals(X[r][c] + s * Z[r][c], Y4[r][c], 1e-10);
+						}
+					return true;
+				});
+			}
+			for( Future<Boolean> task : pool.invokeAll(tasks) )
+				Assert.assertTrue(task.get());
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+		finally {
+			pool.shutdown();
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+
+	private void runConcurrentScoringTest( String testname, boolean sparse ) 
+		throws IOException
+	{
+		loadTestConfiguration(getTestConfiguration(testname));
+		
+		//generate inputs
+		ArrayList<double[][]> Xset = new ArrayList<double[][]>();
+		for( int i=0; i<nRuns; i++ )
+			Xset.add(getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, i+7));
+		
+		Connection conn = new Connection();
+		try
+		{
+			//prepare script once, w/ pinned model
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, rows, cols); 
+			pstmt.setMatrix("W", W, true);
+			
+			//reference results via sequential execution
+			ArrayList<double[][]> Yref = new ArrayList<double[][]>();
+			for( double[][] X : Xset ) {
+				pstmt.setMatrix("X", X);
+				Yref.add(pstmt.executeScript().getMatrix("predicted_y"));
+			}
+			
+			//concurrent execution of shared prepared script
+			for( int k : nThreads ) {
+				ExecutorService pool = Executors.newFixedThreadPool(k);
+				try {
+					Timing time = new Timing(true);
+					ArrayList<ScoreTask> tasks = new ArrayList<ScoreTask>();
+					for( int i=0; i<nRuns; i++ )
+						tasks.add(new ScoreTask(pstmt, Xset.get(i)));
+					List<Future<double[][]>> rt = pool.invokeAll(tasks);
+					for( int i=0; i<nRuns; i++ )
+						TestUtils.compareMatrices(Yref.get(i), rt.get(i).get(), 
+							Yref.get(i).length, Yref.get(i)[0].length, 1e-10);
+					double t = time.stop();
+					System.out.println("JMLC concurrent scoring w/ "+k+" threads: "
+						+nRuns+" runs in "+t+"ms ("+(nRuns*1000/t)+" runs/s).");
+				}
+				finally {
+					pool.shutdown();
+				}
+			}
+			
+			//pinned model still valid after concurrent execution
+			pstmt.setMatrix("X", Xset.get(0));
+			double[][] Y = pstmt.executeScript().getMatrix("predicted_y");
+			TestUtils.compareMatrices(Yref.get(0), Y, Y.length, Y[0].length, 1e-10);
+			Assert.assertEquals(nRuns, Yref.size());
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static class ScoreTask implements Callable<double[][]>
+	{
+		private final PreparedScript _pstmt;
+		private final double[][] _X;
+		
+		protected ScoreTask(PreparedScript pstmt, double[][] X) {
+			_pstmt = pstmt;
+			_X = X;
+		}
+		
+		@Override
+		public double[][] call() throws Exception {
+			_pstmt.setMatrix("X", _X);
+			ResultVariables rs = _pstmt.executeScript();
+			return rs.getMatrix("predicted_y");
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.LatencyStatistics;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class PinnedInputsScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "reuse-glm-predict";
+	private final static String TEST_NAME2 = "reuse-msvm-predict";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static String TEST_CLASS_DIR = TEST_DIR + PinnedInputsScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	private final static int nRuns = 50;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "predicted_y" }) ); 
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "predicted_y" }) );
+	}
+	
+	@Test
+	public void testPinnedScoreGLM() throws IOException {
+		runPinnedScoringTest(TEST_NAME1);
+	}
+	
+	@Test
+	public void testPinnedScoreMSVM() throws IOException {
+		runPinnedScoringTest(TEST_NAME2);
+	}
+	
+	@Test
+	public void testPinnedMatrixObjectReadRelease() throws Exception {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(getRandomMatrix(1, 100, -1, 1, 1.0, 7));
+		MatrixCharacteristics mc = new MatrixCharacteristics(1, 100, -1, -1);
+		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, "pinned", 
+			new MatrixFormatMetaData(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		mo.acquireModify(mb);
+		mo.release();
+		mo.setPinnedInMemory(true);
+		
+		//nested read acquires w/o status transitions
+		Assert.assertTrue(mo.acquireRead() == mb);
+		Assert.assertTrue(mo.acquireRead() == mb);
+		mo.release();
+		mo.release();
+		Assert.assertTrue(mo.isCached(false));
+		
+		//redundant release still detected
+		try {
+			mo.release();
+			Assert.fail("Redundant release not detected.");
+		}
+		catch(CacheException ex) {
+			//expected
+		}
+		
+		//modify and cleanup still possible
+		mo.acquireModify(new MatrixBlock(1, 100, true));
+		mo.release();
+		mo.clearData();
+		Assert.assertFalse(mo.isCached(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedConnectionConfig() {
+		new Connection(ConfigType.ALLOW_DYN_RECOMPILATION);
+	}
+	
+	private void runPinnedScoringTest( String testname ) 
+		throws IOException
+	{
+		loadTestConfiguration(getTestConfiguration(testname));
+		ArrayList<double[][]> Xset = new ArrayList<double[][]>();
+		for( int i=0; i<nRuns; i++ )
+			Xset.add(getRandomMatrix(1, cols, -1, 1, 0.7, i+7));
+		
+		ArrayList<double[][]> Y1 = execDMLScriptviaJMLC(testname, Xset, new Connection());
+		Connection conn = new Connection(ConfigType.JMLC_PINNED_INPUTS);
+		ArrayList<double[][]> Y2 = execDMLScriptviaJMLC(testname, Xset, conn);
+		
+		//compare results of default and pinned inputs
+		for( int i=0; i<nRuns; i++ )
+			TestUtils.compareMatrices(Y1.get(i), Y2.get(i), 1, Y1.get(i)[0].length, 1e-10);
+		
+		//check latency statistics
+		LatencyStatistics stats = conn.getLatencyStatistics();
+		Assert.assertEquals(nRuns, stats.getCount());
+		Assert.assertTrue(stats.getP50() > 0);
+		Assert.assertTrue(stats.getP50() <= stats.getP99());
+		Assert.assertTrue(stats.getP99() <= stats.getMax());
+		System.out.println("JMLC pinned scoring: "+stats);
+		stats.reset();
+		Assert.assertEquals(0, stats.getCount());
+	}
+
+	private ArrayList<double[][]> execDMLScriptviaJMLC( String testname, ArrayList<double[][]> X, Connection conn) 
+		throws IOException
+	{
+		ArrayList<double[][]> ret = new ArrayList<double[][]>();
+		try {
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			pstmt.setMatrix("W", conn.convertToDoubleMatrix(modelData, rows, cols), true);
+			for( int i=0; i<X.size(); i++ ) {
+				pstmt.setMatrix("X", X.get(i));
+				ret.add(pstmt.executeScript().getMatrix("predicted_y"));
+			}
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+		return ret;
+	}
+}
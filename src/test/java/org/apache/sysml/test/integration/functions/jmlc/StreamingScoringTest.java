@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.jmlc.BatchResultHandler;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.MatrixBatchReader;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class StreamingScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "reuse-glm-predict";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static String TEST_CLASS_DIR = TEST_DIR + StreamingScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1000;
+	private final static int cols = 46; //fixed
+	private final static int mrows = 107; //fixed
+	private final static int batchSize = 128;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "predicted_y" }) ); 
+	}
+	
+	@Test
+	public void testBatchedScoringDenseReuse() throws IOException {
+		runBatchedScoringTest(false, true);
+	}
+	
+	@Test
+	public void testBatchedScoringSparseReuse() throws IOException {
+		runBatchedScoringTest(true, true);
+	}
+	
+	@Test
+	public void testBatchedScoringDenseNoReuse() throws IOException {
+		runBatchedScoringTest(false, false);
+	}
+	
+	@Test
+	public void testBatchedScoringSparseNoReuse() throws IOException {
+		runBatchedScoringTest(true, false);
+	}
+
+	private void runBatchedScoringTest( boolean sparse, boolean modelReuse ) 
+		throws IOException
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		double[][] X = getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+		
+		Connection conn = new Connection();
+		try
+		{
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, mrows, cols);
+			
+			//reference result over the full input
+			pstmt.setMatrix("W", W);
+			pstmt.setMatrix("X", X);
+			final double[][] Y = pstmt.executeScript().getMatrix("predicted_y");
+			
+			//batched execution over csv input stream
+			pstmt.clearParameters();
+			pstmt.setMatrix("W", W, modelReuse);
+			final double[][] Y2 = new double[Y.length][];
+			final int[] nbatches = new int[1];
+			InputStream is = IOUtilFunctions.toInputStream(toCSV(X));
+			MatrixBatchReader reader = conn.readDoubleMatrixBatches(is, cols, batchSize);
+			long n = pstmt.executeScriptBatched("X", reader, new BatchResultHandler() {
+				@Override
+				public void handleBatch(int batchIndex, long rowOffset, ResultVariables results) 
+					throws DMLException 
+				{
+					Assert.assertEquals(nbatches[0]++, batchIndex);
+					Assert.assertEquals((long)batchIndex * batchSize, rowOffset);
+					double[][] tmp = results.getMatrix("predicted_y");
+					System.arraycopy(tmp, 0, Y2, (int)rowOffset, tmp.length);
+				}
+			});
+			reader.close();
+			
+			//compare results of full and batched execution
+			Assert.assertEquals(rows, n);
+			Assert.assertEquals(rows, reader.getNumRowsRead());
+			Assert.assertEquals((rows+batchSize-1)/batchSize, nbatches[0]);
+			TestUtils.compareMatrices(Y, Y2, Y.length, Y[0].length, 1e-10);
+			
+			//execute again w/ preserved model binding
+			pstmt.setMatrix("X", X);
+			double[][] Y3 = pstmt.executeScript().getMatrix("predicted_y");
+			TestUtils.compareMatrices(Y, Y3, Y.length, Y[0].length, 1e-10);
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static String toCSV(double[][] X) {
+		StringBuilder sb = new StringBuilder();
+		for( double[] row : X ) {
+			for( int j=0; j<row.length; j++ ) {
+				if( j > 0 )
+					sb.append(',');
+				sb.append(row[j]);
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
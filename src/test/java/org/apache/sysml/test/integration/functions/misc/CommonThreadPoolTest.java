@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the lifecycle of executor views of the 
+ * shared thread pool, which checks that shutdown rejects new tasks but 
+ * executes pending tasks, that awaitTermination waits for these tasks 
+ * or the given timeout, and that shutdownNow returns pending tasks.
+ * 
+ */
+public class CommonThreadPoolTest extends AutomatedTestBase 
+{
+	private final static int numThreads = 2;
+	private final static int numTasks = 16;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testShutdownAwaitTermination() throws Exception {
+		ExecutorService pool = getSharedPoolView(numThreads);
+		final AtomicInteger count = new AtomicInteger(0);
+		for( int i=0; i<numTasks; i++ )
+			pool.submit(new Runnable() {
+				@Override
+				public void run() {
+					sleep(10);
+					count.incrementAndGet();
+				}
+			});
+		pool.shutdown();
+		Assert.assertTrue(pool.isShutdown());
+		Assert.assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+		Assert.assertTrue(pool.isTerminated());
+		Assert.assertEquals(numTasks, count.get());
+	}
+	
+	@Test
+	public void testAwaitTerminationTimeout() throws Exception {
+		ExecutorService pool = getSharedPoolView(numThreads);
+		final CountDownLatch latch = new CountDownLatch(1);
+		pool.submit(new BlockingTask(null, latch));
+		pool.shutdown();
+		Assert.assertFalse(pool.awaitTermination(50, TimeUnit.MILLISECONDS));
+		Assert.assertFalse(pool.isTerminated());
+		latch.countDown();
+		Assert.assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+	}
+	
+	@Test(expected = RejectedExecutionException.class)
+	public void testRejectAfterShutdown() {
+		ExecutorService pool = getSharedPoolView(numThreads);
+		pool.shutdown();
+		pool.submit(new BlockingTask(null, null));
+	}
+	
+	@Test
+	public void testShutdownNowPendingTasks() throws Exception {
+		ExecutorService pool = getSharedPoolView(1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch latch = new CountDownLatch(1);
+		pool.submit(new BlockingTask(started, latch));
+		started.await();
+		for( int i=0; i<numTasks; i++ )
+			pool.submit(new BlockingTask(null, null));
+		List<Runnable> pending = pool.shutdownNow();
+		Assert.assertEquals(numTasks, pending.size());
+		latch.countDown();
+		Assert.assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+	}
+	
+	private static ExecutorService getSharedPoolView(int k) {
+		ExecutorService pool = CommonThreadPool.get(k);
+		Assert.assertTrue(pool instanceof CommonThreadPool);
+		return pool;
+	}
+	
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch(InterruptedException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static class BlockingTask implements Runnable
+	{
+		private final CountDownLatch _started;
+		private final CountDownLatch _latch;
+		
+		public BlockingTask(CountDownLatch started, CountDownLatch latch) {
+			_started = started;
+			_latch = latch;
+		}
+		
+		@Override
+		public void run() {
+			if( _started != null )
+				_started.countDown();
+			try {
+				if( _latch != null )
+					_latch.await();
+			}
+			catch(InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.misc;
+
+import org.apache.sysml.hops.Hop.FileFormatTypes;
+import org.apache.sysml.lops.Binary;
+import org.apache.sysml.lops.BinaryScalar;
+import org.apache.sysml.lops.Data;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysml.runtime.instructions.CPInstructionParser;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.DoubleObject;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that instructions constructed directly from lops (w/o instruction
+ * parsing) are equivalent to the instructions parsed from their strings.
+ */
+public class DirectInstructionConstructionTest extends AutomatedTestBase
+{
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testScalarScalarArithmetic() throws Exception {
+		Lop lit = Data.createLiteralLop(ValueType.DOUBLE, "7.0");
+		Lop var = createVariable("a", DataType.SCALAR, ValueType.DOUBLE);
+		checkBinaryScalar(var, lit, BinaryScalar.OperationTypes.ADD, ValueType.DOUBLE);
+	}
+	
+	@Test
+	public void testScalarScalarRelational() throws Exception {
+		Lop lit = Data.createLiteralLop(ValueType.INT, "3");
+		Lop var = createVariable("i", DataType.SCALAR, ValueType.INT);
+		checkBinaryScalar(var, lit, BinaryScalar.OperationTypes.LESS_THAN, ValueType.BOOLEAN);
+	}
+	
+	@Test
+	public void testScalarScalarBoolean() throws Exception {
+		Lop lit = Data.createLiteralLop(ValueType.BOOLEAN, "true");
+		Lop var = createVariable("b", DataType.SCALAR, ValueType.BOOLEAN);
+		checkBinaryScalar(var, lit, BinaryScalar.OperationTypes.AND, ValueType.BOOLEAN);
+	}
+	
+	@Test
+	public void testScalarScalarBuiltin() throws Exception {
+		Lop lit = Data.createLiteralLop(ValueType.DOUBLE, "1.0");
+		Lop var = createVariable("a", DataType.SCALAR, ValueType.DOUBLE);
+		checkBinaryScalar(lit, var, BinaryScalar.OperationTypes.MAX, ValueType.DOUBLE);
+	}
+	
+	@Test
+	public void testMatrixMatrixArithmetic() throws Exception {
+		Lop X = createVariable("X", DataType.MATRIX, ValueType.DOUBLE);
+		Lop Y = createVariable("Y", DataType.MATRIX, ValueType.DOUBLE);
+		checkBinary(X, Y, Binary.OperationTypes.MULTIPLY, DataType.MATRIX, ValueType.DOUBLE);
+	}
+	
+	@Test
+	public void testMatrixScalarRelational() throws Exception {
+		Lop X = createVariable("X", DataType.MATRIX, ValueType.DOUBLE);
+		Lop lit = Data.createLiteralLop(ValueType.DOUBLE, "0.5");
+		checkBinary(X, lit, Binary.OperationTypes.GREATER_THAN, DataType.MATRIX, ValueType.DOUBLE);
+	}
+	
+	@Test
+	public void testScalarMatrixBuiltin() throws Exception {
+		Lop X = createVariable("X", DataType.MATRIX, ValueType.DOUBLE);
+		Lop lit = Data.createLiteralLop(ValueType.DOUBLE, "0");
+		checkBinary(X, lit, Binary.OperationTypes.MIN, DataType.MATRIX, ValueType.DOUBLE);
+	}
+	
+	@Test
+	public void testMatrixMult() throws Exception {
+		Lop X = createVariable("X", DataType.MATRIX, ValueType.DOUBLE);
+		Lop Y = createVariable("Y", DataType.MATRIX, ValueType.DOUBLE);
+		checkBinary(X, Y, Binary.OperationTypes.MATMULT, DataType.MATRIX, ValueType.DOUBLE);
+	}
+	
+	@Test
+	public void testVariableInstructions() throws Exception {
+		MatrixCharacteristics mc = new MatrixCharacteristics(1000, 10, 1000, 1000, 7000);
+		checkVariable(VariableCPInstruction.prepareRemoveInstruction("_mVar1"));
+		checkVariable(VariableCPInstruction.prepareCopyInstruction("_mVar1", "X"));
+		checkVariable(VariableCPInstruction.prepareMoveInstruction("_mVar1", "X"));
+		checkVariable(VariableCPInstruction.prepareMoveInstruction("_mVar1", "scratch/out", "binaryblock"));
+		checkVariable(VariableCPInstruction.prepareCreateMatrixVariableInstruction("_mVar2", "scratch/_mVar2", true, "binaryblock"));
+		checkVariable(VariableCPInstruction.prepareCreateVariableInstruction("_mVar3", "scratch/_mVar3", 
+			false, DataType.MATRIX, "textcell", mc, UpdateType.INPLACE));
+		checkVariable(VariableCPInstruction.prepareCreateVariableInstruction("_mVar4", "scratch/_mVar4", 
+			true, DataType.MATRIX, "csv", mc, UpdateType.COPY, true, ";", false));
+	}
+	
+	private static Lop createVariable(String name, DataType dt, ValueType vt) throws Exception {
+		return new Data(Data.OperationTypes.READ, null, null, name, null, dt, vt, true, FileFormatTypes.BINARY);
+	}
+	
+	private static void checkBinaryScalar(Lop in1, Lop in2, BinaryScalar.OperationTypes op, ValueType vt) 
+		throws Exception 
+	{
+		Lop lop = new BinaryScalar(in1, in2, op, DataType.SCALAR, vt);
+		lop.getOutputParameters().setLabel("_Var10");
+		checkBinaryInstruction(lop);
+	}
+	
+	private static void checkBinary(Lop in1, Lop in2, Binary.OperationTypes op, DataType dt, ValueType vt) 
+		throws Exception 
+	{
+		Lop lop = new Binary(in1, in2, op, dt, vt, ExecType.CP, 4);
+		lop.getOutputParameters().setLabel("_mVar10");
+		checkBinaryInstruction(lop);
+	}
+	
+	private static void checkBinaryInstruction(Lop lop) throws Exception {
+		String str = lop.getInstructions(
+			lop.getInputs().get(0).getOutputParameters().getLabel(),
+			lop.getInputs().get(1).getOutputParameters().getLabel(),
+			lop.getOutputParameters().getLabel());
+		CPInstruction direct = CPInstructionParser.createInstruction(lop, str);
+		CPInstruction parsed = CPInstructionParser.parseSingleInstruction(str);
+		Assert.assertNotNull(direct);
+		checkInstruction(direct, parsed);
+		
+		BinaryCPInstruction dbin = (BinaryCPInstruction) direct;
+		BinaryCPInstruction pbin = (BinaryCPInstruction) parsed;
+		checkOperand(pbin.input1, dbin.input1);
+		checkOperand(pbin.input2, dbin.input2);
+		checkOperand(pbin.output, dbin.output);
+		
+		//compare results of scalar operations
+		if( lop.getDataType() == DataType.SCALAR )
+			Assert.assertEquals(executeScalar(pbin), executeScalar(dbin));
+	}
+	
+	private static String executeScalar(BinaryCPInstruction inst) throws Exception {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		for( CPOperand in : new CPOperand[]{inst.input1, inst.input2} )
+			if( !in.isLiteral() )
+				ec.setScalarOutput(in.getName(), in.getValueType()==ValueType.BOOLEAN ?
+					new BooleanObject(true) : new DoubleObject(2));
+		inst.processInstruction(ec);
+		return ec.getScalarInput(inst.output.getName(), inst.output.getValueType(), false).getStringValue();
+	}
+	
+	private static void checkVariable(Instruction inst) throws Exception {
+		VariableCPInstruction direct = (VariableCPInstruction) inst;
+		VariableCPInstruction parsed = VariableCPInstruction.parseInstruction(inst.toString());
+		checkInstruction(direct, parsed);
+		checkOperand(parsed.getInput1(), direct.getInput1());
+		checkOperand(parsed.getInput2(), direct.getInput2());
+		checkOperand(parsed.getInput3(), direct.getInput3());
+		
+		//compare created matrix objects
+		if( direct.getOpcode().equals("createvar") ) {
+			MatrixObject mo1 = executeCreateVariable(parsed);
+			MatrixObject mo2 = executeCreateVariable(direct);
+			if( !Boolean.parseBoolean(direct.getInput3().getName()) ) //w/o unique file name suffix
+				Assert.assertEquals(mo1.getFileName(), mo2.getFileName());
+			Assert.assertEquals(mo1.getMatrixCharacteristics().toString(), mo2.getMatrixCharacteristics().toString());
+			Assert.assertEquals(mo1.getUpdateType(), mo2.getUpdateType());
+			FileFormatProperties p1 = mo1.getFileFormatProperties();
+			FileFormatProperties p2 = mo2.getFileFormatProperties();
+			Assert.assertEquals(p1 != null, p2 != null);
+			if( p1 instanceof CSVFileFormatProperties ) {
+				Assert.assertEquals(((CSVFileFormatProperties)p1).getDelim(), ((CSVFileFormatProperties)p2).getDelim());
+				Assert.assertEquals(((CSVFileFormatProperties)p1).hasHeader(), ((CSVFileFormatProperties)p2).hasHeader());
+			}
+		}
+	}
+	
+	private static MatrixObject executeCreateVariable(VariableCPInstruction inst) throws Exception {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		inst.processInstruction(ec);
+		return ec.getMatrixObject(inst.getInput1().getName());
+	}
+	
+	private static void checkInstruction(CPInstruction direct, CPInstruction parsed) {
+		Assert.assertEquals(parsed.getClass(), direct.getClass());
+		Assert.assertEquals(parsed.getCPInstructionType(), direct.getCPInstructionType());
+		Assert.assertEquals(parsed.getOpcode(), direct.getOpcode());
+		Assert.assertEquals(parsed.toString(), direct.toString());
+		Assert.assertEquals(parsed.requiresLabelUpdate(), direct.requiresLabelUpdate());
+	}
+	
+	private static void checkOperand(CPOperand expected, CPOperand actual) {
+		if( expected == null ) {
+			Assert.assertNull(actual);
+			return;
+		}
+		Assert.assertEquals(expected.getName(), actual.getName());
+		Assert.assertEquals(expected.getDataType(), actual.getDataType());
+		Assert.assertEquals(expected.getValueType(), actual.getValueType());
+		Assert.assertEquals(expected.isLiteral(), actual.isLiteral());
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.ProgramBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysml.runtime.controlprogram.parfor.ParForBody;
+import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
+import org.apache.sysml.runtime.instructions.CPInstructionParser;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the binary parfor body serialization, which 
+ * checks that concurrent workers of the same cached program template obtain 
+ * their own instructions (with worker-specific thread ids) and compute 
+ * correct results, as well as the rejection of unsupported format versions.
+ */
+public class ParForBinaryBodyTemplateTest extends AutomatedTestBase
+{
+	private final static int rows = 300;
+	private final static int cols = 5;
+	private final static int numWorkers = 2;
+	private final static int numIterations = 50;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testConcurrentWorkersSharedTemplate() {
+		runConcurrentWorkersTest();
+	}
+	
+	@Test
+	public void testUnsupportedFormatVersion() {
+		runFormatVersionTest();
+	}
+	
+	private void runConcurrentWorkersTest()
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(numWorkers);
+		try
+		{
+			final byte[] body = createBinaryBody();
+			final MatrixBlock X = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, 1.0, 7));
+			
+			//parse worker bodies from the same cached template
+			ParForBody body1 = ProgramConverter.parseParForBody(body, 1);
+			ParForBody body2 = ProgramConverter.parseParForBody(body, 2);
+			ArrayList<Instruction> insts1 = body1.getChildBlocks().get(0).getInstructions();
+			ArrayList<Instruction> insts2 = body2.getChildBlocks().get(0).getInstructions();
+			Assert.assertEquals(insts1.size(), insts2.size());
+			for( int i=0; i<insts1.size(); i++ )
+				Assert.assertNotSame(insts1.get(i), insts2.get(i));
+			Assert.assertTrue(insts1.get(0).toString().contains(ProgramConverter.CP_CHILD_THREAD+1));
+			Assert.assertTrue(insts2.get(0).toString().contains(ProgramConverter.CP_CHILD_THREAD+2));
+			
+			//execute workers concurrently w/ different sort parameters
+			ArrayList<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+			for( int i=0; i<numWorkers; i++ ) {
+				final ParForBody wbody = (i==0) ? body1 : body2;
+				final int wid = i+1;
+				tasks.add(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						ExecutionContext ec = wbody.getEc();
+						ProgramBlock pb = wbody.getChildBlocks().get(0);
+						for( int j=0; j<numIterations; j++ ) {
+							int c = (j + wid) % cols + 1;
+							boolean desc = (wid % 2 == 0);
+							ec.setVariable("X", createMatrixObject(X));
+							ec.setScalarOutput("c", new IntObject(c));
+							ec.setScalarOutput("d", new BooleanObject(desc));
+							pb.execute(ec);
+							MatrixObject mo = ec.getMatrixObject("_mVar1");
+							Assert.assertTrue(mo.getFileName().contains(ProgramConverter.CP_CHILD_THREAD+wid));
+							checkSorted(X, ec.getMatrixInput("_mVar1"), c, desc);
+							ec.releaseMatrixInput("_mVar1");
+							ec.removeVariable("_mVar1");
+						}
+						return true;
+					}
+				});
+			}
+			for( Future<Boolean> task : pool.invokeAll(tasks) )
+				Assert.assertTrue(task.get());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private void runFormatVersionTest()
+	{
+		try
+		{
+			//modify the format version in the header (after the magic number)
+			byte[] body = createBinaryBody();
+			int version = ProgramConverter.BINARY_FORMAT_VERSION + 1;
+			body[4] = (byte)(version >>> 24);
+			body[5] = (byte)(version >>> 16);
+			body[6] = (byte)(version >>> 8);
+			body[7] = (byte)version;
+			try {
+				ProgramConverter.parseParForBody(body, 1);
+				Assert.fail("Unsupported format version not rejected.");
+			}
+			catch(DMLRuntimeException ex) {
+				Assert.assertTrue(ex.getMessage().contains("version: "+version));
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Creates a binary parfor body of a single program block with a createvar 
+	 * (w/ thread id placeholder) and a sort by the scalar inputs c and d.
+	 */
+	private static byte[] createBinaryBody() 
+		throws Exception 
+	{
+		Program prog = new Program();
+		ProgramBlock pb = new ProgramBlock(prog);
+		ArrayList<Instruction> insts = new ArrayList<Instruction>();
+		insts.add(VariableCPInstruction.prepareCreateMatrixVariableInstruction("_mVar1", 
+			"scratch_space/"+ProgramConverter.CP_ROOT_THREAD_ID+"/temp1", false, "binaryblock"));
+		insts.add(CPInstructionParser.parseSingleInstruction("CP" + Lop.OPERAND_DELIMITOR + "rsort"
+			+ Lop.OPERAND_DELIMITOR + "X" + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "DOUBLE"
+			+ Lop.OPERAND_DELIMITOR + "c" + Lop.DATATYPE_PREFIX + "SCALAR" + Lop.VALUETYPE_PREFIX + "INT" + Lop.LITERAL_PREFIX + "false"
+			+ Lop.OPERAND_DELIMITOR + "d" + Lop.DATATYPE_PREFIX + "SCALAR" + Lop.VALUETYPE_PREFIX + "BOOLEAN" + Lop.LITERAL_PREFIX + "false"
+			+ Lop.OPERAND_DELIMITOR + "false" + Lop.DATATYPE_PREFIX + "SCALAR" + Lop.VALUETYPE_PREFIX + "BOOLEAN" + Lop.LITERAL_PREFIX + "true"
+			+ Lop.OPERAND_DELIMITOR + "_mVar1" + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "DOUBLE"));
+		pb.setInstructions(insts);
+		
+		ArrayList<ProgramBlock> pbs = new ArrayList<ProgramBlock>();
+		pbs.add(pb);
+		ExecutionContext ec = ExecutionContextFactory.createContext(prog);
+		return ProgramConverter.serializeParForBodyBinary(
+			new ParForBody(pbs, new ArrayList<String>(), ec), new HashMap<String,byte[]>());
+	}
+	
+	private static MatrixObject createMatrixObject(MatrixBlock mb) 
+		throws Exception 
+	{
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1);
+		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, "X", 
+			new MatrixFormatMetaData(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+	
+	private static void checkSorted(MatrixBlock X, MatrixBlock Y, int c, boolean desc) 
+		throws DMLRuntimeException 
+	{
+		Assert.assertEquals(X.getNumRows(), Y.getNumRows());
+		Assert.assertEquals(X.getNumColumns(), Y.getNumColumns());
+		Assert.assertEquals(X.sum(), Y.sum(), 1e-10);
+		for( int i=1; i<rows; i++ ) {
+			double v1 = Y.quickGetValue(i-1, c-1);
+			double v2 = Y.quickGetValue(i, c-1);
+			Assert.assertTrue(desc ? v1 >= v2 : v1 <= v2);
+		}
+	}
+}
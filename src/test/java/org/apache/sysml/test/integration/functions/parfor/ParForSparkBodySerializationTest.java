@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ParForSparkBodySerializationTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "parfor_spark_funct";
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForSparkBodySerializationTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 20;
+	private final static int cols = 10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R", "S" }) );
+	}
+
+	@Test
+	public void testParForSparkFunctSerializationDense() {
+		runParForSparkTest(1.0);
+	}
+	
+	@Test
+	public void testParForSparkFunctSerializationSparse() {
+		runParForSparkTest(0.1);
+	}
+	
+	private void runParForSparkTest( double sparsity )
+	{
+		RUNTIME_PLATFORM oldRT = rtplatform;
+		boolean oldUseSparkConfig = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		rtplatform = RUNTIME_PLATFORM.HYBRID_SPARK;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", input("V"), 
+				Integer.toString(rows), Integer.toString(cols), output("R"), output("S") };
+			
+			double[][] V = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			writeInputMatrix("V", V, true);
+	
+			runTest(true, false, null, -1);
+			
+			//compare remote parfor results with reference results
+			HashMap<CellIndex, Double> dmlR = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> dmlS = readDMLMatrixFromHDFS("S");
+			TestUtils.compareMatrices(dmlR, dmlS, eps, "R", "S");
+		}
+		finally {
+			rtplatform = oldRT;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = oldUseSparkConfig;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.WorkStealingTaskQueue;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that the work-stealing task queue hands out each task exactly once, 
+ * including tasks stolen from other workers' deques.
+ */
+public class WorkStealingTaskQueueTest extends AutomatedTestBase
+{
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSingleWorker() throws Exception {
+		runQueueTest(1, 1000);
+	}
+	
+	@Test
+	public void testMultipleWorkers() throws Exception {
+		runQueueTest(4, 10000);
+	}
+	
+	@Test
+	public void testMoreWorkersThanTasks() throws Exception {
+		runQueueTest(8, 3);
+	}
+	
+	@Test
+	public void testStealFromOtherDeques() throws Exception {
+		WorkStealingTaskQueue<Integer> q = new WorkStealingTaskQueue<Integer>(4);
+		for( int i=0; i<8; i++ )
+			q.enqueueTask(i);
+		q.closeInput();
+		
+		//a single worker drains all deques
+		int count = 0;
+		while( q.dequeueTask(2) != LocalTaskQueue.NO_MORE_TASKS )
+			count++;
+		Assert.assertEquals(8, count);
+	}
+	
+	private static void runQueueTest(int numWorkers, int numTasks) throws Exception {
+		final WorkStealingTaskQueue<Integer> q = new WorkStealingTaskQueue<Integer>(numWorkers);
+		final ConcurrentHashMap<Integer, Integer> seen = new ConcurrentHashMap<Integer, Integer>();
+		final AtomicInteger dups = new AtomicInteger(0);
+		
+		Thread[] threads = new Thread[numWorkers];
+		for( int i=0; i<numWorkers; i++ ) {
+			final int pos = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						Integer t = null;
+						while( (t = q.dequeueTask(pos)) != LocalTaskQueue.NO_MORE_TASKS )
+							if( seen.put(t, pos) != null )
+								dups.incrementAndGet();
+					}
+					catch(InterruptedException ex) {
+						throw new RuntimeException(ex);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		
+		//streaming task creation while workers are running
+		for( int i=0; i<numTasks; i++ )
+			q.enqueueTask(i);
+		q.closeInput();
+		
+		for( Thread t : threads )
+			t.join();
+		
+		Assert.assertEquals(0, dups.get());
+		Assert.assertEquals(numTasks, seen.size());
+	}
+}
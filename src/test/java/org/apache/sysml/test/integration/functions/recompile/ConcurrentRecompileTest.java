@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.recompile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.recompile.Recompiler;
+import org.apache.sysml.parser.AParserWrapper;
+import org.apache.sysml.parser.DMLProgram;
+import org.apache.sysml.parser.DMLTranslator;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.parser.ForStatement;
+import org.apache.sysml.parser.ForStatementBlock;
+import org.apache.sysml.parser.StatementBlock;
+import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.ProgramBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Concurrent recompilation of a shared loop body hop dag (R = R + t(Y) %*% Y)
+ * with data-dependent input sizes, where each recompiled plan is executed 
+ * and checked for correct result dimensions and values.
+ */
+public class ConcurrentRecompileTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "recompile_plancache";
+	private final static String TEST_DIR = "functions/recompile/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ConcurrentRecompileTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 100;
+	private final static int cols = 10;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	private final static int nRuns = 64;
+	private final static int nThreads = 4;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R", "S" }) );
+	}
+	
+	@Test
+	public void testConcurrentRecompileDense() throws Exception {
+		runConcurrentRecompileTest(sparsity1);
+	}
+	
+	@Test
+	public void testConcurrentRecompileSparse() throws Exception {
+		runConcurrentRecompileTest(sparsity2);
+	}
+	
+	private void runConcurrentRecompileTest( double sparsity ) 
+		throws Exception
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME1));
+		writeInputMatrixWithMTD("X", getRandomMatrix(rows, cols, 0, 1, 1.0, 7), true);
+		
+		//compile script and obtain the hop dag of the loop body
+		StatementBlock sb = compileLoopBody(SCRIPT_DIR + TEST_DIR + TEST_NAME1 + ".dml");
+		ArrayList<Hop> hops = sb.get_hops();
+		
+		//concurrent recompilation and execution w/ data-dependent number of rows
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		try {
+			ArrayList<RecompileTask> tasks = new ArrayList<RecompileTask>();
+			for( int i=0; i<nRuns; i++ )
+				tasks.add(new RecompileTask(sb, hops, rows+i, sparsity, i+3));
+			List<Future<double[][]>> rt = pool.invokeAll(tasks);
+			
+			//compare with reference results
+			for( int i=0; i<nRuns; i++ ) {
+				RecompileTask task = tasks.get(i);
+				double[][] R = rt.get(i).get();
+				Assert.assertEquals(cols, R.length);
+				Assert.assertEquals(cols, R[0].length);
+				TestUtils.compareMatrices(computeReference(task._Y, task._R), R, cols, cols, eps);
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private StatementBlock compileLoopBody(String fname) 
+		throws Exception
+	{
+		HashMap<String, String> args = new HashMap<String,String>();
+		args.put("$1", input("X"));
+		args.put("$2", "10");
+		args.put("$3", output("R"));
+		args.put("$4", output("S"));
+		
+		AParserWrapper parser = AParserWrapper.createParser(false);
+		DMLProgram prog = parser.parse(fname, null, args);
+		DMLTranslator dmlt = new DMLTranslator(prog);
+		dmlt.liveVariableAnalysis(prog);
+		dmlt.validateParseTree(prog);
+		dmlt.constructHops(prog);
+		dmlt.rewriteHopsDAG(prog);
+		
+		for( StatementBlock sb : prog.getStatementBlocks() )
+			if( sb instanceof ForStatementBlock )
+				return ((ForStatement)sb.getStatement(0)).getBody().get(0);
+		throw new RuntimeException("No loop body found.");
+	}
+	
+	private static double[][] computeReference(double[][] Y, double[][] R) {
+		double[][] ret = new double[cols][];
+		for( int j=0; j<cols; j++ )
+			ret[j] = R[j].clone();
+		for( int i=0; i<Y.length; i++ )
+			for( int j=0; j<cols; j++ )
+				for( int k=0; k<cols; k++ )
+					ret[j][k] += Y[i][j] * Y[i][k];
+		return ret;
+	}
+	
+	private static MatrixObject createMatrixObject(double[][] data, String fname) 
+		throws Exception
+	{
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(data);
+		MatrixCharacteristics mc = new MatrixCharacteristics(mb.getNumRows(), 
+			mb.getNumColumns(), 1000, 1000, mb.getNonZeros());
+		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, fname, new MatrixFormatMetaData(
+			mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+	
+	private class RecompileTask implements Callable<double[][]>
+	{
+		private final StatementBlock _sb;
+		private final ArrayList<Hop> _hops;
+		private final double[][] _Y;
+		private final double[][] _R;
+		
+		protected RecompileTask(StatementBlock sb, ArrayList<Hop> hops, int nrow, double sparsity, long seed) {
+			_sb = sb;
+			_hops = hops;
+			_Y = getRandomMatrix(nrow, cols, 0, 1, sparsity, seed);
+			_R = getRandomMatrix(cols, cols, 0, 1, 1.0, seed+1);
+		}
+		
+		@Override
+		public double[][] call() throws Exception {
+			//recompile the shared hop dag w.r.t. the task-local inputs
+			LocalVariableMap vars = new LocalVariableMap();
+			vars.put("Y", createMatrixObject(_Y, "./tmp/Y"+_Y.length));
+			vars.put("R", createMatrixObject(_R, "./tmp/R"+_Y.length));
+			ArrayList<Instruction> inst = Recompiler.recompileHopsDag(_sb, _hops, vars, null, false, 0);
+			
+			//execute recompiled instructions and obtain the result
+			Program prog = new Program();
+			ProgramBlock pb = new ProgramBlock(prog);
+			pb.setInstructions(inst);
+			ExecutionContext ec = ExecutionContextFactory.createContext(prog);
+			ec.setVariables(vars);
+			pb.execute(ec);
+			
+			MatrixObject mo = ec.getMatrixObject("R");
+			Assert.assertEquals(cols, mo.getNumRows());
+			Assert.assertEquals(cols, mo.getNumColumns());
+			MatrixBlock mb = mo.acquireRead();
+			Assert.assertEquals(cols, mb.getNumRows());
+			Assert.assertEquals(cols, mb.getNumColumns());
+			double[][] ret = DataConverter.convertToDoubleMatrix(mb);
+			mo.release();
+			return ret;
+		}
+	}
+}
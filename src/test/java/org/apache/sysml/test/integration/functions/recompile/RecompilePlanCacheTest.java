@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.recompile;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+public class RecompilePlanCacheTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "recompile_plancache";
+	private final static String TEST_NAME2 = "recompile_plancache_dims";
+	private final static String TEST_NAME3 = "recompile_plancache_literal";
+	private final static String TEST_DIR = "functions/recompile/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + RecompilePlanCacheTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-plancache.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 100;
+	private final static int cols = 10;
+	private final static int iters = 10;
+	
+	private boolean _enablePlanCache = false;
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R", "S" }) );
+		addTestConfiguration(TEST_NAME2, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME3, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testLoopRecompileDenseWithPlanCache() {
+		runPlanCacheTest(1.0, true);
+	}
+	
+	@Test
+	public void testLoopRecompileSparseWithPlanCache() {
+		runPlanCacheTest(0.1, true);
+	}
+	
+	@Test
+	public void testLoopRecompileDenseWithoutPlanCache() {
+		runPlanCacheTest(1.0, false);
+	}
+	
+	@Test
+	public void testLoopRecompileSparseWithoutPlanCache() {
+		runPlanCacheTest(0.1, false);
+	}
+
+	@Test
+	public void testChangingInputCharacteristicsDense() {
+		runChangingInputCharacteristicsTest(1.0);
+	}
+	
+	@Test
+	public void testChangingInputCharacteristicsSparse() {
+		runChangingInputCharacteristicsTest(0.1);
+	}
+	
+	@Test
+	public void testValueDependentLiteralReplacement() {
+		runValueDependentLiteralReplacementTest();
+	}
+
+	private void runPlanCacheTest( double sparsity, boolean planCache )
+	{
+		_enablePlanCache = planCache;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME1);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), 
+				Integer.toString(iters), output("R"), output("S") };
+	
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			runTest(true, false, null, -1); 
+			
+			//check that repeated recompilation of the loop body reused plans
+			long hits = Statistics.getHopRecompilePlanCacheHits();
+			if( planCache )
+				Assert.assertTrue("Expected recompile plan cache hits.", hits > 0);
+			else
+				Assert.assertEquals("Unexpected recompile plan cache hits.", 0, hits);
+			
+			//compare iterative and reference results
+			HashMap<CellIndex, Double> dmlR = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> dmlS = readDMLMatrixFromHDFS("S");
+			TestUtils.compareMatrices(dmlR, dmlS, eps, "R", "S");
+		}
+		finally {
+			_enablePlanCache = false;
+		}
+	}
+	
+	/**
+	 * Loop with changing dimensions (rbind) and number of non-zeros of the
+	 * inputs of a recompiled statement block, which requires new plans.
+	 * 
+	 * @param sparsity sparsity of the input matrix
+	 */
+	private void runChangingInputCharacteristicsTest( double sparsity )
+	{
+		_enablePlanCache = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME2);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), 
+				Integer.toString(iters), output("R") };
+	
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			runTest(true, false, null, -1); 
+			Assert.assertTrue("Expected recompile plan cache misses.", 
+				Statistics.getHopRecompilePlanCacheMisses() >= iters);
+			
+			//compute reference result
+			double[][] Y = X;
+			double[][] R = new double[cols][cols];
+			for( int i=1; i<=iters; i++ ) {
+				Y = (i % 2 == 0) ? rbind(Y, X) : mask(Y, 0.5);
+				R = plus(R, tmm(Y));
+			}
+			
+			//compare dimensions and results
+			HashMap<CellIndex, Double> dmlR = readDMLMatrixFromHDFS("R");
+			for( CellIndex ix : dmlR.keySet() )
+				Assert.assertTrue(ix.row <= cols && ix.column <= cols);
+			TestUtils.compareMatrices(R, TestUtils.convertHashMapToDoubleArray(dmlR, cols, cols), cols, cols, eps);
+		}
+		finally {
+			_enablePlanCache = false;
+		}
+	}
+	
+	/**
+	 * Loop with a full aggregate over a matrix with changing values but 
+	 * unchanged characteristics, which is replaced by a literal during 
+	 * recompilation and hence must never be served from the plan cache.
+	 */
+	private void runValueDependentLiteralReplacementTest()
+	{
+		_enablePlanCache = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME3);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME3 + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), 
+				Integer.toString(iters), output("R") };
+	
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, 1.0, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			runTest(true, false, null, -1); 
+			
+			//only the loop body w/o literal replacement is served from the cache
+			Assert.assertTrue(Statistics.getHopRecompilePlanCacheHits() <= iters-1);
+			
+			//compute reference result
+			double sum = 0, tmp = 0;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					tmp += X[i][j];
+			for( int i=1; i<=iters; i++ )
+				sum += (tmp *= 2);
+			
+			HashMap<CellIndex, Double> dmlR = readDMLMatrixFromHDFS("R");
+			Assert.assertEquals(cols, dmlR.size());
+			for( Double val : dmlR.values() )
+				Assert.assertEquals(sum, val, eps * sum);
+		}
+		finally {
+			_enablePlanCache = false;
+		}
+	}
+	
+	private static double[][] rbind(double[][] A, double[][] B) {
+		double[][] ret = new double[A.length + B.length][];
+		System.arraycopy(A, 0, ret, 0, A.length);
+		System.arraycopy(B, 0, ret, A.length, B.length);
+		return ret;
+	}
+	
+	private static double[][] mask(double[][] A, double threshold) {
+		double[][] ret = new double[A.length][A[0].length];
+		for( int i=0; i<A.length; i++ )
+			for( int j=0; j<A[i].length; j++ )
+				ret[i][j] = (A[i][j] > threshold) ? A[i][j] : 0;
+		return ret;
+	}
+	
+	private static double[][] tmm(double[][] A) {
+		double[][] ret = new double[A[0].length][A[0].length];
+		for( int i=0; i<A.length; i++ )
+			for( int j=0; j<A[i].length; j++ )
+				for( int k=0; k<A[i].length; k++ )
+					ret[j][k] += A[i][j] * A[i][k];
+		return ret;
+	}
+	
+	private static double[][] plus(double[][] A, double[][] B) {
+		double[][] ret = new double[A.length][A[0].length];
+		for( int i=0; i<A.length; i++ )
+			for( int j=0; j<A[i].length; j++ )
+				ret[i][j] = A[i][j] + B[i][j];
+		return ret;
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to 
+	 * enable the recompile plan cache if required.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		if( !_enablePlanCache )
+			return super.getConfigTemplateFile();
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
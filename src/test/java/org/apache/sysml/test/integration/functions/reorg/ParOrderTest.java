@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.apache.sysml.runtime.functionobjects.SortIndex;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Multi-threaded order (data and index-returning sort), which is 
+ * compared against the single-threaded, stable order. Inputs are
+ * rounded in order to create many duplicates, i.e., runs of equal
+ * values spanning multiple partitions.
+ */
+public class ParOrderTest extends AutomatedTestBase
+{
+	private final static int rows = LibMatrixReorg.PAR_NUMCELL_THRESHOLD_SORT + 4037;
+	private final static int cols = 7;
+	private final static int by = 3;
+	private final static int k = 4;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testOrderVectorDataAscDense() {
+		runParOrderTest(false, false, false, false);
+	}
+	
+	@Test
+	public void testOrderVectorDataDescDense() {
+		runParOrderTest(false, false, true, false);
+	}
+	
+	@Test
+	public void testOrderVectorIndexAscDense() {
+		runParOrderTest(false, false, false, true);
+	}
+	
+	@Test
+	public void testOrderVectorIndexDescDense() {
+		runParOrderTest(false, false, true, true);
+	}
+	
+	@Test
+	public void testOrderVectorDataAscSparse() {
+		runParOrderTest(false, true, false, false);
+	}
+	
+	@Test
+	public void testOrderVectorDataDescSparse() {
+		runParOrderTest(false, true, true, false);
+	}
+	
+	@Test
+	public void testOrderVectorIndexAscSparse() {
+		runParOrderTest(false, true, false, true);
+	}
+	
+	@Test
+	public void testOrderVectorIndexDescSparse() {
+		runParOrderTest(false, true, true, true);
+	}
+	
+	@Test
+	public void testOrderMatrixDataAscDense() {
+		runParOrderTest(true, false, false, false);
+	}
+	
+	@Test
+	public void testOrderMatrixDataDescDense() {
+		runParOrderTest(true, false, true, false);
+	}
+	
+	@Test
+	public void testOrderMatrixIndexAscDense() {
+		runParOrderTest(true, false, false, true);
+	}
+	
+	@Test
+	public void testOrderMatrixIndexDescDense() {
+		runParOrderTest(true, false, true, true);
+	}
+	
+	@Test
+	public void testOrderMatrixDataAscSparse() {
+		runParOrderTest(true, true, false, false);
+	}
+	
+	@Test
+	public void testOrderMatrixDataDescSparse() {
+		runParOrderTest(true, true, true, false);
+	}
+	
+	@Test
+	public void testOrderMatrixIndexAscSparse() {
+		runParOrderTest(true, true, false, true);
+	}
+	
+	@Test
+	public void testOrderMatrixIndexDescSparse() {
+		runParOrderTest(true, true, true, true);
+	}
+	
+	private void runParOrderTest(boolean matrix, boolean sparse, boolean desc, boolean ixret)
+	{
+		try
+		{
+			//generate input data w/ many duplicates
+			int cols2 = matrix ? cols : 1;
+			int bycol = matrix ? by : 1;
+			double sparsity = sparse ? sparsity2 : sparsity1;
+			double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, cols2, -30, 30, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//single- and multi-threaded order
+			SortIndex fn = SortIndex.getSortIndexFnObject(bycol, desc, ixret);
+			MatrixBlock ret1 = (MatrixBlock)mb.reorgOperations(new ReorgOperator(fn, 1), new MatrixBlock(), 0, 0, 0);
+			MatrixBlock ret2 = (MatrixBlock)mb.reorgOperations(new ReorgOperator(fn, k), new MatrixBlock(), 0, 0, 0);
+			
+			//compare results (exact, due to stable order)
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, ixret ? 1 : cols2, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Equals;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for the two-phase (parallel)
+ * construction of CSR outputs in transpose, sparse-safe scalar operations, 
+ * and row selection matrix multiplications. For MCSR and CSR inputs, we 
+ * check format-preserving outputs of single- and multi-threaded operations
+ * against results computed on the dense input arrays.
+ * 
+ */
+public class SparseBlockTwoPhaseCSR extends AutomatedTestBase 
+{
+	private final static int rows = 4000;
+	private final static int cols = 1000;
+	private final static int rowsSel = 20000;
+	private final static int colsSel = 200;
+	private final static double sparsity1 = 0.1;
+	private final static double sparsity2 = 0.3;
+	private final static int numThreads = 4;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSparseBlockMCSRTranspose()  {
+		runSparseBlockTransposeTest(SparseBlock.Type.MCSR, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockCSRTranspose()  {
+		runSparseBlockTransposeTest(SparseBlock.Type.CSR, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockMCSRScalarMult()  {
+		runSparseBlockScalarTest(SparseBlock.Type.MCSR, sparsity2, false);
+	}
+	
+	@Test
+	public void testSparseBlockCSRScalarMult()  {
+		runSparseBlockScalarTest(SparseBlock.Type.CSR, sparsity2, false);
+	}
+	
+	@Test
+	public void testSparseBlockMCSRScalarEqualsCompact()  {
+		runSparseBlockScalarTest(SparseBlock.Type.MCSR, sparsity2, true);
+	}
+	
+	@Test
+	public void testSparseBlockCSRScalarEqualsCompact()  {
+		runSparseBlockScalarTest(SparseBlock.Type.CSR, sparsity2, true);
+	}
+	
+	@Test
+	public void testSparseBlockMCSRRowSelection()  {
+		runSparseBlockRowSelectionTest(SparseBlock.Type.MCSR, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockCSRRowSelection()  {
+		runSparseBlockRowSelectionTest(SparseBlock.Type.CSR, sparsity1);
+	}
+	
+	private void runSparseBlockTransposeTest( SparseBlock.Type btype, double sparsity)
+	{
+		try
+		{
+			//data generation and expected result
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 1234);
+			double[][] C = new double[cols][rows];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					C[j][i] = A[i][j];
+			MatrixBlock mb = createSparseBlock(A, btype);
+			
+			//single- and multi-threaded transpose
+			for( int k : new int[]{1, numThreads} ) {
+				MatrixBlock ret = new MatrixBlock(cols, rows, true);
+				checkResult(btype, LibMatrixReorg.transpose(mb, ret, k), C);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSparseBlockScalarTest( SparseBlock.Type btype, double sparsity, boolean equals)
+	{
+		try
+		{
+			//data generation (w/ integer values for equals) and expected result
+			double[][] A = getRandomMatrix(rows, cols, 1, 5, sparsity, 1234);
+			double[][] C = new double[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					A[i][j] = Math.round(A[i][j]);
+					C[i][j] = equals ? ((A[i][j]==3) ? 1 : 0) : A[i][j] * 7;
+				}
+			MatrixBlock mb = createSparseBlock(A, btype);
+			
+			//single- and multi-threaded scalar operations
+			for( int k : new int[]{1, numThreads} ) {
+				ScalarOperator sop = equals ?
+					new RightScalarOperator(Equals.getEqualsFnObject(), 3, k) :
+					new RightScalarOperator(Multiply.getMultiplyFnObject(), 7, k);
+				MatrixBlock ret = new MatrixBlock(rows, cols, true);
+				LibMatrixBincell.bincellOp(mb, ret, sop);
+				checkResult(btype, ret, C);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSparseBlockRowSelectionTest( SparseBlock.Type btype, double sparsity)
+	{
+		try
+		{
+			//data generation and expected result 
+			//(ultra-sparse selection matrix w/ every third row empty)
+			double[][] A = getRandomMatrix(rowsSel, colsSel, -10, 10, sparsity, 1234);
+			double[][] C = new double[rowsSel][colsSel];
+			MatrixBlock P = new MatrixBlock(rowsSel, rowsSel, true);
+			for( int i=0; i<rowsSel; i++ )
+				if( i%3 != 0 ) {
+					P.appendValue(i, (i*7)%rowsSel, 1);
+					System.arraycopy(A[(i*7)%rowsSel], 0, C[i], 0, colsSel);
+				}
+			MatrixBlock mb = createSparseBlock(A, btype);
+			
+			//single- and multi-threaded row selection
+			for( int k : new int[]{1, numThreads} ) {
+				MatrixBlock ret = new MatrixBlock(rowsSel, colsSel, true);
+				if( k > 1 )
+					LibMatrixMult.matrixMult(P, mb, ret, k);
+				else
+					LibMatrixMult.matrixMult(P, mb, ret);
+				checkResult(btype, ret, C);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock createSparseBlock(double[][] A, SparseBlock.Type btype) 
+		throws Exception
+	{
+		MatrixBlock mbtmp = DataConverter.convertToMatrixBlock(A);
+		Assert.assertTrue("Expected sparse input.", mbtmp.isInSparseFormat());
+		return new MatrixBlock(mbtmp, btype, true);
+	}
+	
+	private static void checkResult(SparseBlock.Type btype, MatrixBlock ret, double[][] C) 
+		throws Exception
+	{
+		//check format-preserving sparse output
+		Assert.assertTrue("Expected sparse output.", ret.isInSparseFormat());
+		if( btype == SparseBlock.Type.CSR )
+			Assert.assertTrue(ret.getSparseBlock() instanceof SparseBlockCSR);
+		else
+			Assert.assertTrue(ret.getSparseBlock() instanceof SparseBlockMCSR);
+		
+		//check number of non-zeros and values
+		long nnz = 0;
+		for( int i=0; i<C.length; i++ )
+			for( int j=0; j<C[i].length; j++ )
+				nnz += (C[i][j]!=0) ? 1 : 0;
+		Assert.assertEquals(nnz, ret.getNonZeros());
+		Assert.assertEquals(nnz, ret.getSparseBlock().size());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret), 
+			C, C.length, C[0].length, 0);
+	}
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.tensor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.ConvolutionParameters;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the direct conv2d (w/ and w/o bias), 
+ * conv2d_backward_filter, and conv2d_backward_data kernels for sparse inputs 
+ * (MCSR and CSR), compared against the looped im2col kernels for the same 
+ * inputs in dense format. Besides square images and filters with equal 
+ * strides and padding, we also test non-square configurations.
+ */
+public class Conv2DDirectSparseTest extends AutomatedTestBase
+{
+	private final static int numImg = 8;
+	private final static int imgSize = 12;
+	private final static int imgSize2 = 9;
+	private final static int numChannels = 3;
+	private final static int numFilters = 4;
+	private final static int filterSize = 3;
+	private final static int filterSize2 = 2;
+	private final static double sparsity1 = 0.1;
+	private final static double sparsity2 = 0.3;
+	private final static double eps = 1e-10;
+	private final static int numThreads = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testConv2DMCSRStride1Pad1() {
+		runConv2DTest(SparseBlock.Type.MCSR, sparsity1, 1, 1, true, false);
+	}
+
+	@Test
+	public void testConv2DCSRStride2Pad0() {
+		runConv2DTest(SparseBlock.Type.CSR, sparsity2, 2, 0, true, false);
+	}
+
+	@Test
+	public void testConv2DMCSRNonSquare() {
+		runConv2DTest(SparseBlock.Type.MCSR, sparsity1, 1, 1, false, false);
+	}
+
+	@Test
+	public void testConv2DCSRBias() {
+		runConv2DTest(SparseBlock.Type.CSR, sparsity2, 1, 1, true, true);
+	}
+
+	@Test
+	public void testConv2DCSRNonSquareBias() {
+		runConv2DTest(SparseBlock.Type.CSR, sparsity1, 2, 1, false, true);
+	}
+
+	@Test
+	public void testConv2DBwdFilterMCSRStride1Pad1() {
+		runConv2DBackwardFilterTest(SparseBlock.Type.MCSR, sparsity1, 1, 1, true, false);
+	}
+
+	@Test
+	public void testConv2DBwdFilterCSRStride2Pad1() {
+		runConv2DBackwardFilterTest(SparseBlock.Type.CSR, sparsity2, 2, 1, true, false);
+	}
+
+	@Test
+	public void testConv2DBwdFilterCSRNonSquare() {
+		runConv2DBackwardFilterTest(SparseBlock.Type.CSR, sparsity1, 1, 1, false, false);
+	}
+
+	@Test
+	public void testConv2DBwdFilterMCSRNonSquareSparseDout() {
+		runConv2DBackwardFilterTest(SparseBlock.Type.MCSR, sparsity2, 2, 1, false, true);
+	}
+
+	@Test
+	public void testConv2DBwdDataMCSRStride1Pad1() {
+		runConv2DBackwardDataTest(SparseBlock.Type.MCSR, sparsity1, 1, 1, true);
+	}
+
+	@Test
+	public void testConv2DBwdDataCSRStride2Pad1() {
+		runConv2DBackwardDataTest(SparseBlock.Type.CSR, sparsity2, 2, 1, true);
+	}
+
+	@Test
+	public void testConv2DBwdDataMCSRNonSquare() {
+		runConv2DBackwardDataTest(SparseBlock.Type.MCSR, sparsity1, 2, 1, false);
+	}
+
+	private void runConv2DTest( SparseBlock.Type btype, double sparsity, int stride, int pad, boolean square, boolean bias )
+	{
+		try
+		{
+			//data generation (sparse input, dense filter and bias)
+			ConvolutionParameters tmp = createParameters(stride, pad, square, 1);
+			MatrixBlock input = createSparseInput(numImg, tmp.C*tmp.H*tmp.W, btype, sparsity, 7);
+			MatrixBlock filter = createDenseInput(numFilters, tmp.C*tmp.R*tmp.S, 3);
+			MatrixBlock biasVect = bias ? createDenseInput(numFilters, 1, 11) : null;
+			
+			//execute conv2d on sparse (direct) and dense (looped) inputs
+			for( int k : new int[]{1, numThreads} ) {
+				ConvolutionParameters params1 = createParameters(stride, pad, square, k);
+				ConvolutionParameters params2 = createParameters(stride, pad, square, k);
+				params1.bias = biasVect;
+				params2.bias = biasVect;
+				MatrixBlock ret1 = createOutput(numImg, numFilters*tmp.P*tmp.Q);
+				MatrixBlock ret2 = createOutput(numImg, numFilters*tmp.P*tmp.Q);
+				LibMatrixDNN.conv2d(input, filter, ret1, params1);
+				LibMatrixDNN.conv2d(toDense(input), filter, ret2, params2);
+				compareResults(ret1, ret2);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runConv2DBackwardFilterTest( SparseBlock.Type btype, double sparsity, int stride, int pad, boolean square, boolean sparseDout )
+	{
+		try
+		{
+			//data generation (sparse input, dense or sparse dout)
+			ConvolutionParameters tmp = createParameters(stride, pad, square, 1);
+			MatrixBlock input = createSparseInput(numImg, tmp.C*tmp.H*tmp.W, btype, sparsity, 7);
+			MatrixBlock dout = sparseDout ?
+				createSparseInput(numImg, numFilters*tmp.P*tmp.Q, btype, sparsity, 3) :
+				createDenseInput(numImg, numFilters*tmp.P*tmp.Q, 3);
+			
+			//execute conv2d_backward_filter on sparse (direct) and dense (looped) inputs
+			for( int k : new int[]{1, numThreads} ) {
+				MatrixBlock ret1 = createOutput(numFilters, tmp.C*tmp.R*tmp.S);
+				MatrixBlock ret2 = createOutput(numFilters, tmp.C*tmp.R*tmp.S);
+				LibMatrixDNN.conv2dBackwardFilter(input, dout, ret1, createParameters(stride, pad, square, k));
+				LibMatrixDNN.conv2dBackwardFilter(toDense(input), toDense(dout), ret2, createParameters(stride, pad, square, k));
+				compareResults(ret1, ret2);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runConv2DBackwardDataTest( SparseBlock.Type btype, double sparsity, int stride, int pad, boolean square )
+	{
+		try
+		{
+			//data generation (dense filter, sparse dout)
+			ConvolutionParameters tmp = createParameters(stride, pad, square, 1);
+			MatrixBlock filter = createDenseInput(numFilters, tmp.C*tmp.R*tmp.S, 3);
+			MatrixBlock dout = createSparseInput(numImg, numFilters*tmp.P*tmp.Q, btype, sparsity, 7);
+			
+			//execute conv2d_backward_data on sparse (direct) and dense (looped) inputs
+			for( int k : new int[]{1, numThreads} ) {
+				MatrixBlock ret1 = createOutput(numImg, tmp.C*tmp.H*tmp.W);
+				MatrixBlock ret2 = createOutput(numImg, tmp.C*tmp.H*tmp.W);
+				LibMatrixDNN.conv2dBackwardData(filter, dout, ret1, createParameters(stride, pad, square, k));
+				LibMatrixDNN.conv2dBackwardData(filter, toDense(dout), ret2, createParameters(stride, pad, square, k));
+				compareResults(ret1, ret2);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Creates the convolution parameters, where non-square configurations
+	 * use different image and filter widths, strides, and padding.
+	 * 
+	 * @param stride stride (height)
+	 * @param pad padding (height)
+	 * @param square square images and filters, and equal strides and padding
+	 * @param k number of threads
+	 * @return convolution parameters
+	 */
+	private static ConvolutionParameters createParameters(int stride, int pad, boolean square, int k) {
+		return square ?
+			new ConvolutionParameters(numImg, numChannels, imgSize, imgSize,
+				numFilters, filterSize, filterSize, stride, stride, pad, pad, k) :
+			new ConvolutionParameters(numImg, numChannels, imgSize, imgSize2,
+				numFilters, filterSize, filterSize2, stride, stride+1, pad, 0, k);
+	}
+
+	private MatrixBlock createSparseInput(int rows, int cols, SparseBlock.Type btype, double sparsity, long seed) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(
+			getRandomMatrix(rows, cols, -1, 1, sparsity, seed));
+		Assert.assertTrue("Expected sparse input.", ret.isInSparseFormat());
+		return new MatrixBlock(ret, btype, true);
+	}
+
+	private MatrixBlock createDenseInput(int rows, int cols, long seed) 
+		throws DMLRuntimeException 
+	{
+		return toDense(DataConverter.convertToMatrixBlock(
+			getRandomMatrix(rows, cols, -1, 1, 1.0, seed)));
+	}
+
+	private static MatrixBlock createOutput(int rows, int cols) {
+		MatrixBlock ret = new MatrixBlock(rows, cols, false);
+		ret.allocateDenseBlock();
+		return ret;
+	}
+
+	private static MatrixBlock toDense(MatrixBlock in) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock ret = new MatrixBlock(in);
+		if( ret.isInSparseFormat() )
+			ret.sparseToDense();
+		return ret;
+	}
+
+	private static void compareResults(MatrixBlock ret1, MatrixBlock ret2) 
+		throws DMLRuntimeException 
+	{
+		Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+	}
+}
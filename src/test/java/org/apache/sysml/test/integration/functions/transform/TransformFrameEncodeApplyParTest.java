@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Random;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Multi-threaded transformencode and transformapply (with partitioned
+ * recode map build and row-partitioned apply), which is compared against
+ * the single-threaded encode and apply, including the recode codes.
+ */
+public class TransformFrameEncodeApplyParTest extends AutomatedTestBase 
+{
+	private final static int rows = 2 * Encoder.PAR_NUMROWS_THRESHOLD + 1031;
+	private final static int cols = 5;
+	private final static int k = 4;
+	
+	private final static String SPEC1 = "{\"ids\": true, \"recode\": [1, 2]}";
+	private final static String SPEC2 = "{\"ids\": true, \"dummycode\": [1, 2]}";
+	private final static String SPEC3 = "{\"ids\": true, \"recode\": [1, 2], \"bin\": "
+		+ "[{\"id\": 3, \"method\": \"equi-width\", \"numbins\": 4}]}";
+	private final static String SPEC4 = "{\"ids\": true, \"recode\": [1, 2], \"impute\": "
+		+ "[{\"id\": 1, \"method\": \"global_mode\"}, {\"id\": 4, \"method\": \"global_mean\"}]}";
+	private final static String SPEC5 = "{\"ids\": true, \"recode\": [1, 2], \"omit\": [4]}";
+	
+	public enum TransformType {
+		RECODE,
+		DUMMY,
+		BIN,
+		IMPUTE,
+		OMIT,
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testParRecode() {
+		runParTransformTest(TransformType.RECODE);
+	}
+	
+	@Test
+	public void testParDummycode() {
+		runParTransformTest(TransformType.DUMMY);
+	}
+	
+	@Test
+	public void testParBin() {
+		runParTransformTest(TransformType.BIN);
+	}
+	
+	@Test
+	public void testParImpute() {
+		runParTransformTest(TransformType.IMPUTE);
+	}
+	
+	@Test
+	public void testParOmit() {
+		runParTransformTest(TransformType.OMIT);
+	}
+	
+	private void runParTransformTest(TransformType type)
+	{
+		String spec = null;
+		switch( type ) {
+			case RECODE: spec = SPEC1; break;
+			case DUMMY:  spec = SPEC2; break;
+			case BIN:    spec = SPEC3; break;
+			case IMPUTE: spec = SPEC4; break;
+			case OMIT:   spec = SPEC5; break;
+		}
+		
+		try
+		{
+			//generate input frame with categorical and numeric columns
+			FrameBlock in = generateFrame(rows, 7);
+			String[] colnames = in.getColumnNames();
+			
+			//single- and multi-threaded transformencode
+			Encoder encoder1 = EncoderFactory.createEncoder(spec, colnames, cols, null);
+			MatrixBlock out1 = encoder1.encode(in, new MatrixBlock(rows, cols, false));
+			FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+			Encoder encoder2 = EncoderFactory.createEncoder(spec, colnames, cols, null);
+			MatrixBlock out2 = encoder2.encode(in, new MatrixBlock(rows, cols, false), k);
+			FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(cols, ValueType.STRING));
+			compareMatrices(out1, out2);
+			compareFrames(meta1, meta2);
+			
+			//multi-threaded transformapply w/ meta data of encode
+			meta1.setColumnNames(colnames);
+			Encoder encoder3 = EncoderFactory.createEncoder(spec, colnames, cols, meta1);
+			MatrixBlock out3 = encoder3.apply(in, new MatrixBlock(rows, cols, false), k);
+			compareMatrices(out1, out3);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static FrameBlock generateFrame(int rows, long seed) {
+		Random rand = new Random(seed);
+		String[][] data = new String[rows][cols];
+		for( int i=0; i<rows; i++ ) {
+			data[i][0] = (rand.nextDouble() < 0.01) ? null : "a" + rand.nextInt(37);
+			data[i][1] = "b" + (i % 53);
+			data[i][2] = String.valueOf(rand.nextDouble() * 100);
+			data[i][3] = (rand.nextDouble() < 0.02) ? null : String.valueOf(rand.nextInt(1000));
+			data[i][4] = String.valueOf(rand.nextGaussian());
+		}
+		FrameBlock ret = new FrameBlock(UtilFunctions.nCopies(cols, ValueType.STRING), data);
+		String[] colnames = new String[cols];
+		for( int j=0; j<cols; j++ )
+			colnames[j] = "C" + (j+1);
+		ret.setColumnNames(colnames);
+		return ret;
+	}
+	
+	private static void compareMatrices(MatrixBlock mb1, MatrixBlock mb2) {
+		Assert.assertEquals(mb1.getNumRows(), mb2.getNumRows());
+		Assert.assertEquals(mb1.getNumColumns(), mb2.getNumColumns());
+		Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(mb1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(mb2);
+		TestUtils.compareMatrices(d1, d2, mb1.getNumRows(), mb1.getNumColumns(), 0);
+	}
+	
+	private static void compareFrames(FrameBlock fb1, FrameBlock fb2) {
+		Assert.assertEquals(fb1.getNumRows(), fb2.getNumRows());
+		for( int i=0; i<fb1.getNumRows(); i++ )
+			for( int j=0; j<fb1.getNumColumns(); j++ )
+				Assert.assertEquals(fb1.get(i, j), fb2.get(i, j));
+		for( int j=0; j<fb1.getNumColumns(); j++ ) {
+			Assert.assertEquals(fb1.getColumnMetadata(j).getNumDistinct(), fb2.getColumnMetadata(j).getNumDistinct());
+			Assert.assertEquals(fb1.getColumnMetadata(j).getMvValue(), fb2.getColumnMetadata(j).getMvValue());
+		}
+	}
+}
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDecomp;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the blocked, multi-threaded decompositions
+ * and solvers of LibMatrixDecomp, compared against commons-math for square,
+ * non-square, and singular inputs. The inputs exceed the block size in
+ * order to cover the blocked and parallel code paths.
+ */
+public class LibMatrixDecompTest extends AutomatedTestBase
+{
+	private final static int rows = 300;
+	private final static int cols = 171;
+	private final static int k = 4;
+	private final static double eps = 1e-8;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSolveSquare() {
+		runSolveTest(rows, rows, false, 1);
+	}
+
+	@Test
+	public void testSolveSquareMT() {
+		runSolveTest(rows, rows, false, k);
+	}
+
+	@Test
+	public void testSolveOverdeterminedMT() {
+		runSolveTest(rows, cols, false, k);
+	}
+
+	@Test
+	public void testSolveSquareSingular() {
+		runSolveTest(rows, rows, true, k);
+	}
+
+	@Test
+	public void testSolveOverdeterminedSingular() {
+		runSolveTest(rows, cols, true, k);
+	}
+
+	@Test
+	public void testSolveUnderdetermined() {
+		runSolveTest(cols, rows, false, k);
+	}
+
+	@Test
+	public void testInverse() {
+		runInverseTest(rows, rows, false, 1);
+	}
+
+	@Test
+	public void testInverseMT() {
+		runInverseTest(rows, rows, false, k);
+	}
+
+	@Test
+	public void testInverseSingular() {
+		runInverseTest(rows, rows, true, k);
+	}
+
+	@Test
+	public void testInverseNonSquare() {
+		runInverseTest(rows, cols, false, k);
+	}
+
+	@Test
+	public void testQRSquare() {
+		runQRTest(rows, rows, 1);
+	}
+
+	@Test
+	public void testQRSquareMT() {
+		runQRTest(rows, rows, k);
+	}
+
+	@Test
+	public void testQRTallMT() {
+		runQRTest(rows, cols, k);
+	}
+
+	@Test
+	public void testQRWideMT() {
+		runQRTest(cols, rows, k);
+	}
+
+	@Test
+	public void testLU() {
+		runLUTest(rows, rows, false, 1);
+	}
+
+	@Test
+	public void testLUMT() {
+		runLUTest(rows, rows, false, k);
+	}
+
+	@Test
+	public void testLUSingular() {
+		runLUTest(rows, rows, true, k);
+	}
+
+	@Test
+	public void testLUNonSquare() {
+		runLUTest(rows, cols, false, k);
+	}
+
+	@Test
+	public void testEigen() {
+		runEigenTest(rows, rows, false, 1);
+	}
+
+	@Test
+	public void testEigenMT() {
+		runEigenTest(rows, rows, false, k);
+	}
+
+	@Test
+	public void testEigenSingularMT() {
+		runEigenTest(rows, rows, true, k);
+	}
+
+	@Test
+	public void testEigenNonSquare() {
+		runEigenTest(rows, cols, false, k);
+	}
+
+	private void runSolveTest(int m, int n, boolean singular, int k)
+	{
+		try
+		{
+			MatrixBlock A = createMatrix(m, n, singular, 7);
+			MatrixBlock B = createMatrix(m, 3, false, 3);
+
+			//check exceptions for singular and underdetermined systems
+			if( singular || m < n ) {
+				checkException(() -> LibMatrixDecomp.solve(A, B, k));
+				return;
+			}
+
+			//compare with commons-math LU (square) or QR (least squares) solver
+			RealMatrix mA = convert(A), mB = convert(B);
+			RealMatrix X = (m == n) ?
+				new LUDecomposition(mA).getSolver().solve(mB) :
+				new QRDecomposition(mA).getSolver().solve(mB);
+			compareMatrices(X, LibMatrixDecomp.solve(A, B, k));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runInverseTest(int m, int n, boolean singular, int k)
+	{
+		try
+		{
+			MatrixBlock A = createMatrix(m, n, singular, 7);
+
+			//check exceptions for singular and non-square inputs
+			if( singular || m != n ) {
+				checkException(() -> LibMatrixDecomp.inverse(A, k));
+				return;
+			}
+
+			//compare with commons-math LU-based inverse
+			RealMatrix X = new LUDecomposition(convert(A)).getSolver().getInverse();
+			compareMatrices(X, LibMatrixDecomp.inverse(A, k));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runQRTest(int m, int n, int k)
+	{
+		try
+		{
+			MatrixBlock A = createMatrix(m, n, false, 7);
+
+			//compare Householder vectors and R with commons-math
+			QRDecomposition qr = new QRDecomposition(convert(A));
+			MatrixBlock[] ret = LibMatrixDecomp.qr(A, k);
+			compareMatrices(qr.getH(), ret[0]);
+			compareMatrices(qr.getR(), ret[1]);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runLUTest(int m, int n, boolean singular, int k)
+	{
+		try
+		{
+			MatrixBlock A = createMatrix(m, n, singular, 7);
+
+			//check exceptions for singular and non-square inputs
+			if( singular || m != n ) {
+				checkException(() -> LibMatrixDecomp.lu(A, k));
+				return;
+			}
+
+			//compare P, L, and U with commons-math
+			LUDecomposition lu = new LUDecomposition(convert(A));
+			MatrixBlock[] ret = LibMatrixDecomp.lu(A, k);
+			compareMatrices(lu.getP(), ret[0]);
+			compareMatrices(lu.getL(), ret[1]);
+			compareMatrices(lu.getU(), ret[2]);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runEigenTest(int m, int n, boolean singular, int k)
+	{
+		try
+		{
+			//check exception for non-square inputs
+			MatrixBlock B = createMatrix(m, n, singular, 7);
+			if( m != n ) {
+				Assert.assertFalse(LibMatrixDecomp.isSupportedEigen(B));
+				checkException(() -> LibMatrixDecomp.eigenSymmetric(B, k));
+				return;
+			}
+
+			//create symmetric input (w/ empty last row and column if singular)
+			RealMatrix mB = convert(B);
+			if( singular )
+				mB.setRowMatrix(n-1, new Array2DRowRealMatrix(1, n));
+			MatrixBlock A = DataConverter.convertToMatrixBlock(mB.add(mB.transpose()).getData());
+			Assert.assertTrue(LibMatrixDecomp.isSupportedEigen(A));
+
+			//compare eigen values (increasing order) with commons-math
+			EigenDecomposition eig = new EigenDecomposition(convert(A));
+			double[] evals = eig.getRealEigenvalues().clone();
+			Arrays.sort(evals);
+			MatrixBlock[] ret = LibMatrixDecomp.eigenSymmetric(A, k);
+			double[] evals2 = DataConverter.convertToDoubleVector(ret[0]);
+			Assert.assertEquals(n, evals2.length);
+			for( int i=0; i<n; i++ )
+				Assert.assertEquals(evals[i], evals2[i], eps * Math.max(1, Math.abs(evals[i])));
+
+			//check eigen vectors via A V = V diag(evals) and V^T V = I,
+			//which are unique only up to sign (and rotation if not distinct)
+			RealMatrix V = convert(ret[1]);
+			RealMatrix AV = convert(A).multiply(V);
+			for( int j=0; j<n; j++ )
+				for( int i=0; i<n; i++ )
+					Assert.assertEquals(V.getEntry(i, j) * evals2[j], AV.getEntry(i, j), 1e-6);
+			RealMatrix VtV = V.transpose().multiply(V);
+			for( int i=0; i<n; i++ )
+				for( int j=0; j<n; j++ )
+					Assert.assertEquals((i==j) ? 1 : 0, VtV.getEntry(i, j), eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static MatrixBlock createMatrix(int m, int n, boolean singular, long seed)
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret = MatrixBlock.randOperations(m, n, 1.0, -1, 1, "uniform", seed);
+		//singular inputs via empty last column
+		if( singular )
+			for( int i=0; i<m; i++ )
+				ret.quickSetValue(i, n-1, 0);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static RealMatrix convert(MatrixBlock in) throws DMLRuntimeException {
+		return new Array2DRowRealMatrix(DataConverter.convertToDoubleMatrix(in), false);
+	}
+
+	private static void compareMatrices(RealMatrix expected, MatrixBlock actual)
+		throws DMLRuntimeException
+	{
+		Assert.assertEquals(expected.getRowDimension(), actual.getNumRows());
+		Assert.assertEquals(expected.getColumnDimension(), actual.getNumColumns());
+		TestUtils.compareMatrices(expected.getData(), DataConverter.convertToDoubleMatrix(actual),
+			actual.getNumRows(), actual.getNumColumns(), eps);
+	}
+
+	private static void checkException(DecompFunction fn) {
+		try {
+			fn.execute();
+			Assert.fail("Expected DMLRuntimeException.");
+		}
+		catch(DMLRuntimeException ex) {
+			//expected
+		}
+	}
+
+	private interface DecompFunction {
+		public Object execute() throws DMLRuntimeException;
+	}
+}
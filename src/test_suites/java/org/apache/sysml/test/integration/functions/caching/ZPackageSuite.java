@@ -26,7 +26,10 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	CachingPWriteExportTest.class
+	BufferPoolTest.class,
+	CachingPWriteExportTest.class,
+	LazyWriteBufferTest.class,
+	MappedSpillFileTest.class
 })
 
 
@@ -29,7 +29,10 @@ import org.junit.runners.Suite;
 	BasicCompressionTest.class,
 	BasicGetValueTest.class,
 	BasicMatrixAppendTest.class,
+	BasicMatrixLeftIndexingTest.class,
 	BasicMatrixMultChainTest.class,
+	BasicMatrixRbindTest.class,
+	BasicMatrixSliceTest.class,
 	BasicMatrixTransposeSelfMultTest.class,
 	BasicMatrixVectorMultTest.class,
 	BasicScalarOperationsSparseUnsafeTest.class,
@@ -44,6 +47,7 @@ import org.junit.runners.Suite;
 	LargeParMatrixVectorMultTest.class,
 	LargeParUnaryAggregateTest.class,
 	LargeVectorMatrixMultTest.class,
+	ParCellwiseOperationsTest.class,
 	ParCompressionTest.class,
 	ParMatrixMultChainTest.class,
 	ParMatrixVectorMultTest.class,
@@ -29,7 +29,8 @@ import org.junit.runners.Suite;
 	DynProjectTest.class,
 	DynReadWriteTest.class,
 	FunctionExpressionsTest.class,
-	OrderTest.class
+	OrderTest.class,
+	SGDNesterovUpdateTest.class
 })
 
 
@@ -26,6 +26,7 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	ConcurrentScoringTest.class,
 	FrameCastingTest.class,
 	FrameDecodeTest.class,
 	FrameEncodeTest.class,
@@ -34,7 +35,9 @@ import org.junit.runners.Suite;
 	FrameReadMetaTest.class,
 	FrameTransformTest.class,
 	JMLCInputOutputTest.class,
+	PinnedInputsScoringTest.class,
 	ReuseModelVariablesTest.class,
+	StreamingScoringTest.class,
 	SystemTMulticlassSVMScoreTest.class
 })
 
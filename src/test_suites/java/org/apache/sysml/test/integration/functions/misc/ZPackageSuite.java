@@ -26,9 +26,11 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	CommonThreadPoolTest.class,
 	ConditionalValidateTest.class,
 	DataTypeCastingTest.class,
 	DataTypeChangeTest.class,
+	DirectInstructionConstructionTest.class,
 	FunctionInliningTest.class,
 	FunctionNamespaceTest.class,
 	IfTest.class,
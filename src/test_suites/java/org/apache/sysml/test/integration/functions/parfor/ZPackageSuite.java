@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	ForLoopPredicateTest.class,
 	ParForAdversarialLiteralsTest.class,
+	ParForBinaryBodyTemplateTest.class,
 	ParForColwiseDataPartitioningTest.class,
 	ParForDataPartitionLeftIndexingTest.class,
 	ParForDependencyAnalysisTest.class,
@@ -36,11 +37,13 @@ import org.junit.runners.Suite;
 	ParForNaNResultMergeTest.class,
 	ParForReplaceThreadIDRecompileTest.class,
 	ParForRowwiseDataPartitioningTest.class,
+	ParForSparkBodySerializationTest.class,
 	
 	ParForParallelRemoteResultMergeTest.class,
 	ParForSerialRemoteResultMergeTest.class,
 	ParForRepeatedOptimizationTest.class,
-	ParForRulebasedOptimizerTest.class
+	ParForRulebasedOptimizerTest.class,
+	WorkStealingTaskQueueTest.class
 })
 
 
@@ -27,6 +27,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	BranchRemovalTest.class,
+	ConcurrentRecompileTest.class,
 	CSVReadUnknownSizeTest.class,
 	FunctionRecompileTest.class,
 	IPAAssignConstantPropagationTest.class,
@@ -40,6 +41,7 @@ import org.junit.runners.Suite;
 	RandRecompileTest.class,
 	RandSizeExpressionEvalTest.class,
 	ReblockRecompileTest.class,
+	RecompilePlanCacheTest.class,
 	RecursiveFunctionRecompileTest.class,
 	RemoveEmptyPotpourriTest.class,
 	RemoveEmptyRecompileTest.class,
@@ -36,6 +36,7 @@ import org.junit.runners.Suite;
 	SparseBlockMemEstimate.class,
 	SparseBlockScan.class,
 	SparseBlockSize.class,
+	SparseBlockTwoPhaseCSR.class,
 })
 
 
@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	Conv2DBackwardDataTest.class,
 	Conv2DBackwardTest.class,
+	Conv2DDirectSparseTest.class,
 	Conv2DTest.class,
 	PoolBackwardTest.class,
 	PoolTest.class
@@ -34,6 +34,7 @@ import org.junit.runners.Suite;
 	TransformCSVFrameEncodeReadTest.class,
 	TransformEncodeDecodeTest.class,
 	TransformFrameApplyTest.class,
+	TransformFrameEncodeApplyParTest.class,
 	TransformFrameEncodeApplyTest.class,
 	TransformFrameEncodeDecodeTest.class,
 	TransformFrameEncodeDecodeTokenTest.class,
@@ -31,6 +31,7 @@ import org.junit.runners.Suite;
 	ASinTest.class,
 	ATanTest.class,
 	CastAsScalarTest.class,
+	CholeskyFactorizeTest.class,
 	CosTest.class,
 	DiagTest.class,
 	EigenFactorizeTest.class,
@@ -41,6 +42,7 @@ import org.junit.runners.Suite;
 	FullSelectPosTest.class,
 	FullSignTest.class,
 	IQMTest.class,
+	LibMatrixDecompTest.class,
 	LUFactorizeTest.class,
 	MatrixInverseTest.class,
 	MinusTest.class,